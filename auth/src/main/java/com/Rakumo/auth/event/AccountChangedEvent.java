@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.auth.event;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Published when a user's account changes in a way that makes earlier token validation
+ * results stale, such as logging out, being enabled or being deleted.
+ * Listeners should act on it only after the change is committed.
+ *
+ * @param userId the ID of the affected user
+ * @param changedAt when the change was made
+ */
+public record AccountChangedEvent(UUID userId, Instant changedAt) {
+
+  /**
+   * Creates an event for a change made now.
+   *
+   * @param userId the ID of the affected user
+   * @return the event
+   */
+  public static AccountChangedEvent now(UUID userId) {
+    return new AccountChangedEvent(userId, Instant.now());
+  }
+}
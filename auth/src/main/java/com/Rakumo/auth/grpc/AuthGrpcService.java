@@ -20,13 +20,25 @@
 package com.rakumo.auth.grpc;
 
 import com.rakumo.auth.entity.User;
+import com.rakumo.auth.exception.AuthException;
 import com.rakumo.auth.exception.GlobalExceptionHandler;
 import com.rakumo.auth.service.AuthService;
 import com.rakumo.auth.service.JwtService;
+import com.rakumo.auth.service.SigningKeyService;
 import com.rakumo.auth.service.UserService;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
+import io.jsonwebtoken.Claims;
+import java.math.BigInteger;
+import java.security.interfaces.ECPublicKey;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.server.service.GrpcService;
@@ -35,6 +47,8 @@ import net.devh.boot.grpc.server.service.GrpcService;
  * gRPC service implementation for authentication operations.
  * This class handles gRPC requests for user registration, login, email verification,
  * token refreshing, logout, token validation, and fetching user details from tokens.
+ * It also publishes the token signing keys and streams account changes to callers that
+ * cache validation results.
  */
 @Slf4j
 @GrpcService
@@ -45,6 +59,8 @@ public class AuthGrpcService extends AuthServiceGrpc.AuthServiceImplBase {
   private final UserService userService;
   private final JwtService jwtService;
   private final GlobalExceptionHandler exceptionHandler;
+  private final RevocationBroadcaster revocationBroadcaster;
+  private final SigningKeyService signingKeyService;
 
   @Override
   public void register(RegisterRequest request, StreamObserver<AuthResponse> responseObserver) {
@@ -224,16 +240,16 @@ public class AuthGrpcService extends AuthServiceGrpc.AuthServiceImplBase {
     try {
       log.info("gRPC ValidateToken request");
 
-      String token = request.getToken();
-      boolean isValid = jwtService.validateToken(token);
+      // One signature check for the validity, the user ID and the email
+      Optional<Claims> claims = jwtService.parseClaims(request.getToken());
 
       TokenValidationResponse.Builder responseBuilder =
               TokenValidationResponse.newBuilder()
-                      .setValid(isValid);
+                      .setValid(claims.isPresent());
 
-      if (isValid) {
-        String userId = jwtService.getUserIdFromToken(token);
-        String email = jwtService.getUsernameFromToken(token);
+      if (claims.isPresent()) {
+        String userId = claims.get().get("userId", String.class);
+        String email = claims.get().getSubject();
 
         // Get user to fetch roles
         User user = userService.findById(UUID.fromString(userId))
@@ -262,33 +278,14 @@ public class AuthGrpcService extends AuthServiceGrpc.AuthServiceImplBase {
     try {
       log.info("gRPC GetUserFromToken request");
 
-      String token = request.getToken();
+      Claims claims = jwtService.parseClaims(request.getToken())
+              .orElseThrow(() -> new AuthException("Invalid token"));
 
-      if (!jwtService.validateToken(token)) {
-        log.error("Invalid token");
-        return;
-      }
-
-      String userId = jwtService.getUserIdFromToken(token);
+      String userId = claims.get("userId", String.class);
       User user = userService.findById(UUID.fromString(userId))
               .orElseThrow(() -> new RuntimeException("User not found"));
 
-      UserResponse response =
-              UserResponse.newBuilder()
-                      .setId(user.getId().toString())
-                      .setEmail(user.getEmail())
-                      .setUsername(user.getUsername() != null
-                              ? user.getUsername()
-                              : "")
-                      .setIsEnabled(user.getIsEnabled())
-                      .addAllRoles(user.getRoles())
-                      .setCreatedAt(user.getCreatedAt().toString())
-                      .setUpdatedAt(user.getUpdatedAt() != null
-                              ? user.getUpdatedAt().toString()
-                              : "")
-                      .build();
-
-      responseObserver.onNext(response);
+      responseObserver.onNext(toUserResponse(user));
       responseObserver.onCompleted();
 
     } catch (Exception e) {
@@ -296,4 +293,125 @@ public class AuthGrpcService extends AuthServiceGrpc.AuthServiceImplBase {
       responseObserver.onError(exceptionHandler.handleException(e));
     }
   }
+
+  @Override
+  public void validateTokens(ValidateTokensRequest request,
+                             StreamObserver<ValidateTokensResponse> responseObserver) {
+    try {
+      log.debug("gRPC ValidateTokens request for {} tokens", request.getTokensCount());
+
+      // Check every signature first so that all the users come back in one query
+      List<UUID> userIds = new ArrayList<>(request.getTokensCount());
+      for (String token : request.getTokensList()) {
+        userIds.add(userIdOf(token));
+      }
+      Map<UUID, User> users = userService.findAllById(
+              userIds.stream().filter(Objects::nonNull).collect(Collectors.toSet()));
+
+      ValidateTokensResponse.Builder responseBuilder = ValidateTokensResponse.newBuilder();
+      for (UUID userId : userIds) {
+        TokenValidationResult.Builder result = TokenValidationResult.newBuilder();
+        User user = userId != null ? users.get(userId) : null;
+        if (user != null) {
+          result.setValid(true).setUser(toUserResponse(user));
+        } else {
+          result.setErrorMessage(userId != null ? "User not found" : "Invalid token");
+        }
+        responseBuilder.addResults(result);
+      }
+
+      responseObserver.onNext(responseBuilder.build());
+      responseObserver.onCompleted();
+
+    } catch (Exception e) {
+      log.error("Error in gRPC validateTokens: {}", e.getMessage());
+      responseObserver.onError(exceptionHandler.handleException(e));
+    }
+  }
+
+  /**
+   * Reads the user ID from a token inside a batch, where one bad token must not fail the
+   * others.
+   *
+   * @param token the compact JWT
+   * @return the user ID, or null if the token is invalid or its userId claim is missing or
+   *         malformed
+   */
+  private UUID userIdOf(String token) {
+    try {
+      return jwtService.parseClaims(token)
+              .map(claims -> claims.get("userId", String.class))
+              .map(UUID::fromString)
+              .orElse(null);
+    } catch (RuntimeException e) {
+      log.debug("Rejecting token in batch: {}", e.getMessage());
+      return null;
+    }
+  }
+
+  @Override
+  public void getJwks(GetJwksRequest request, StreamObserver<JwksResponse> responseObserver) {
+    try {
+      log.debug("gRPC GetJwks request");
+
+      JwksResponse.Builder responseBuilder = JwksResponse.newBuilder();
+      signingKeyService.publishedKeys().forEach((keyId, publicKey) ->
+              responseBuilder.addKeys(toJsonWebKey(keyId, publicKey)));
+
+      responseObserver.onNext(responseBuilder.build());
+      responseObserver.onCompleted();
+
+    } catch (Exception e) {
+      log.error("Error in gRPC getJwks: {}", e.getMessage());
+      responseObserver.onError(exceptionHandler.handleException(e));
+    }
+  }
+
+  @Override
+  public void watchRevocations(WatchRevocationsRequest request,
+                               StreamObserver<RevocationEvent> responseObserver) {
+    log.info("gRPC WatchRevocations request from: {}", request.getSubscriber());
+    revocationBroadcaster.subscribe(request.getSubscriber(),
+            (ServerCallStreamObserver<RevocationEvent>) responseObserver);
+  }
+
+  private static UserResponse toUserResponse(User user) {
+    return UserResponse.newBuilder()
+            .setId(user.getId().toString())
+            .setEmail(user.getEmail())
+            .setUsername(user.getUsername() != null
+                    ? user.getUsername()
+                    : "")
+            .setIsEnabled(user.getIsEnabled())
+            .addAllRoles(user.getRoles())
+            .setCreatedAt(user.getCreatedAt().toString())
+            .setUpdatedAt(user.getUpdatedAt() != null
+                    ? user.getUpdatedAt().toString()
+                    : "")
+            .build();
+  }
+
+  private static JsonWebKey toJsonWebKey(String keyId, ECPublicKey publicKey) {
+    return JsonWebKey.newBuilder()
+            .setKid(keyId)
+            .setKty("EC")
+            .setAlg("ES256")
+            .setUse("sig")
+            .setCrv("P-256")
+            .setX(encodeCoordinate(publicKey.getW().getAffineX()))
+            .setY(encodeCoordinate(publicKey.getW().getAffineY()))
+            .build();
+  }
+
+  /**
+   * Encodes a P-256 coordinate as its 32-byte big-endian value, which BigInteger pads with
+   * a sign byte or leaves short depending on the value.
+   */
+  private static String encodeCoordinate(BigInteger coordinate) {
+    byte[] bytes = coordinate.toByteArray();
+    byte[] fixed = new byte[32];
+    int length = Math.min(bytes.length, fixed.length);
+    System.arraycopy(bytes, bytes.length - length, fixed, fixed.length - length, length);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+  }
 }
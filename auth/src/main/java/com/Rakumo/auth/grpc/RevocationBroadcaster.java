@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.auth.grpc;
+
+import com.rakumo.auth.event.AccountChangedEvent;
+import io.grpc.stub.ServerCallStreamObserver;
+import jakarta.annotation.PreDestroy;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Fans account changes out to every open WatchRevocations stream.
+ * Events are sent once the change is committed, so a subscriber that re-validates a token
+ * straight away sees the new state. Nothing is kept for subscribers that are not connected;
+ * they clear their caches when they reconnect instead.
+ */
+@Slf4j
+@Component
+public class RevocationBroadcaster {
+
+  private final Set<ServerCallStreamObserver<RevocationEvent>> subscribers =
+          ConcurrentHashMap.newKeySet();
+
+  /**
+   * Registers a stream and sends it the marker event that starts every stream.
+   *
+   * @param subscriber the name the caller identified itself with, for logging
+   * @param observer the stream to send events to until the caller cancels it
+   */
+  public void subscribe(String subscriber, ServerCallStreamObserver<RevocationEvent> observer) {
+    observer.setOnCancelHandler(() -> {
+      subscribers.remove(observer);
+      log.info("Revocation subscriber {} disconnected", subscriber);
+    });
+    subscribers.add(observer);
+    send(observer, RevocationEvent.newBuilder()
+            .setRevokedAt(System.currentTimeMillis())
+            .build());
+    log.info("Revocation subscriber {} connected ({} open)", subscriber, subscribers.size());
+  }
+
+  /**
+   * Sends a committed account change to every subscriber.
+   *
+   * @param event the account change
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onAccountChanged(AccountChangedEvent event) {
+    RevocationEvent revocation = RevocationEvent.newBuilder()
+            .setUserId(event.userId().toString())
+            .setRevokedAt(event.changedAt().toEpochMilli())
+            .build();
+    subscribers.forEach(observer -> send(observer, revocation));
+    log.debug("Sent revocation for user {} to {} subscribers", event.userId(), subscribers.size());
+  }
+
+  /**
+   * Ends every stream so that subscribers reconnect to another instance.
+   */
+  @PreDestroy
+  public void close() {
+    for (ServerCallStreamObserver<RevocationEvent> observer : subscribers) {
+      synchronized (observer) {
+        try {
+          observer.onCompleted();
+        } catch (RuntimeException e) {
+          log.debug("Revocation stream already closed: {}", e.getMessage());
+        }
+      }
+    }
+    subscribers.clear();
+  }
+
+  private void send(ServerCallStreamObserver<RevocationEvent> observer, RevocationEvent event) {
+    // Events are rare and small, so they are buffered rather than held back for isReady()
+    synchronized (observer) {
+      try {
+        if (!observer.isCancelled()) {
+          observer.onNext(event);
+        }
+      } catch (RuntimeException e) {
+        log.warn("Dropping revocation subscriber: {}", e.getMessage());
+        subscribers.remove(observer);
+      }
+    }
+  }
+}
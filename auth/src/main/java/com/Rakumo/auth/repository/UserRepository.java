@@ -20,6 +20,8 @@
 package com.rakumo.auth.repository;
 
 import com.rakumo.auth.entity.User;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -82,4 +84,13 @@ public interface UserRepository extends JpaRepository<User, UUID> {
    */
   @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.id = :id")
   Optional<User> findByIdWithRoles(@Param("id") UUID id);
+
+  /**
+   * Finds the users with the given ids and fetches their roles.
+   *
+   * @param ids the ids of the users to search for.
+   * @return the users found, in no particular order; ids without a user are skipped.
+   */
+  @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles WHERE u.id IN :ids")
+  List<User> findAllByIdWithRoles(@Param("ids") Collection<UUID> ids);
 }
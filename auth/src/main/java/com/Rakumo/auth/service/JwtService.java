@@ -20,6 +20,8 @@
 package com.rakumo.auth.service;
 
 import com.rakumo.auth.entity.User;
+import io.jsonwebtoken.Claims;
+import java.util.Optional;
 
 /**
  * Service interface for managing JWT tokens.
@@ -50,6 +52,15 @@ public interface JwtService {
    */
   boolean validateToken(String token);
 
+  /**
+   * Validates the given JWT token and reads its claims in the same pass. Callers that need
+   * more than one claim should use this rather than verifying the token once per claim.
+   *
+   * @param token the JWT token to be validated
+   * @return the token's claims, or empty if the token is invalid or expired
+   */
+  Optional<Claims> parseClaims(String token);
+
   /**
    * Extracts the username from the given JWT token.
    *
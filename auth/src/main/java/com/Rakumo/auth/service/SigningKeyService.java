@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.auth.service;
+
+import java.security.PrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.util.Map;
+
+/**
+ * Service interface for the keys that tokens are signed with.
+ *
+ * <p>Tokens are signed with ES256 by the active key and carry its ID in the {@code kid}
+ * header. Retired keys stay published until every token they signed has expired, so that
+ * verifiers holding a copy of the published keys can check any live token offline.
+ */
+public interface SigningKeyService {
+
+  /**
+   * Returns the key new tokens are signed with.
+   *
+   * @return the active key
+   */
+  SigningKey activeKey();
+
+  /**
+   * Looks up a published key by its ID.
+   *
+   * @param keyId the {@code kid} header of a token
+   * @return the public key, or null if no such key is published
+   */
+  ECPublicKey findPublicKey(String keyId);
+
+  /**
+   * Returns every key a live token may have been signed with, the active key included.
+   *
+   * @return the public keys, keyed by their ID
+   */
+  Map<String, ECPublicKey> publishedKeys();
+
+  /**
+   * A key pair that signs tokens.
+   *
+   * @param keyId the ID written to the {@code kid} header of every token it signs
+   * @param privateKey the key tokens are signed with
+   * @param publicKey the key tokens are verified with
+   */
+  record SigningKey(String keyId, PrivateKey privateKey, ECPublicKey publicKey) {}
+}
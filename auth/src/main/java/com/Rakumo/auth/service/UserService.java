@@ -22,6 +22,8 @@ package com.rakumo.auth.service;
 import com.rakumo.auth.dto.reponse.UserProfileResponse;
 import com.rakumo.auth.dto.request.RegisterRequest;
 import com.rakumo.auth.entity.User;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -54,6 +56,14 @@ public interface UserService {
    */
   Optional<User> findById(UUID userId);
 
+  /**
+   * Finds several users at once, with their roles.
+   *
+   * @param userIds the unique identifiers of the users
+   * @return the users found, keyed by their identifier
+   */
+  Map<UUID, User> findAllById(Collection<UUID> userIds);
+
   /**
    * Retrieves the profile information of a user by their unique identifier.
    *
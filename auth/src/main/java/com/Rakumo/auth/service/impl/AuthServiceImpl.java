@@ -27,6 +27,7 @@ import com.rakumo.auth.dto.request.RefreshTokenRequest;
 import com.rakumo.auth.dto.request.RegisterRequest;
 import com.rakumo.auth.entity.User;
 import com.rakumo.auth.entity.VerificationToken;
+import com.rakumo.auth.event.AccountChangedEvent;
 import com.rakumo.auth.exception.AuthException;
 import com.rakumo.auth.exception.TokenRefreshException;
 import com.rakumo.auth.exception.UserAlreadyExistsException;
@@ -43,6 +44,7 @@ import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.auth.InvalidCredentialsException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -64,6 +66,7 @@ public class AuthServiceImpl implements AuthService {
   private final RefreshTokenService refreshTokenService;
   private final VerificationTokenService verificationTokenService;
   private final PasswordEncoder passwordEncoder;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Override
   @Transactional
@@ -271,6 +274,7 @@ public class AuthServiceImpl implements AuthService {
       refreshTokenService.findByToken(refreshToken)
               .ifPresent(token -> {
                 refreshTokenService.deleteByUser(token.getUser());
+                eventPublisher.publishEvent(AccountChangedEvent.now(token.getUser().getId()));
                 log.info("Refresh token revoked for user: {}", token.getUser().getEmail());
               });
     }
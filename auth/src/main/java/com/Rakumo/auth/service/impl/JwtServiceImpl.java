@@ -21,17 +21,26 @@ package com.rakumo.auth.service.impl;
 
 import com.rakumo.auth.entity.User;
 import com.rakumo.auth.service.JwtService;
+import com.rakumo.auth.service.SigningKeyService;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import io.jsonwebtoken.security.SignatureException;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import javax.crypto.SecretKey;
 import lombok.extern.slf4j.Slf4j;
@@ -40,22 +49,65 @@ import org.springframework.stereotype.Service;
 
 /**
  * JwtServiceImpl is an implementation of the JwtService interface.
+ *
+ * <p>Tokens are signed with ES256 by the active key of {@link SigningKeyService} and name that
+ * key in their {@code kid} header, so anyone holding the published keys can verify them
+ * without calling this service. Tokens without a {@code kid} were signed with the shared
+ * HMAC secret before the switch; they are accepted only while {@code app.jwt.secret} is set.
  */
 @Slf4j
 @Service
 public class JwtServiceImpl implements JwtService {
 
-  @Value("${app.jwt.secret}")
-  private String jwtSecret;
-
-  @Value("${app.jwt.access-token-expiration}")
-  private long accessTokenExpiration;
-
-  @Value("${app.jwt.refresh-token-expiration}")
-  private long refreshTokenExpiration;
+  private final SigningKeyService signingKeyService;
+  private final SecretKey legacyKey;
+  private final JwtParser parser;
+  private final long accessTokenExpiration;
+  private final long refreshTokenExpiration;
+
+  /**
+   * Creates the service. The legacy key and the parser are built here once; both are
+   * immutable and shared by every call.
+   *
+   * @param signingKeyService the keys tokens are signed and verified with
+   * @param legacySecret the HMAC secret older tokens were signed with, or blank to reject them
+   * @param accessTokenExpiration the lifetime of access tokens, in seconds
+   * @param refreshTokenExpiration the lifetime of refresh tokens, in seconds
+   */
+  public JwtServiceImpl(SigningKeyService signingKeyService,
+                        @Value("${app.jwt.secret:}") String legacySecret,
+                        @Value("${app.jwt.access-token-expiration}") long accessTokenExpiration,
+                        @Value("${app.jwt.refresh-token-expiration}") long refreshTokenExpiration) {
+    this.signingKeyService = signingKeyService;
+    this.accessTokenExpiration = accessTokenExpiration;
+    this.refreshTokenExpiration = refreshTokenExpiration;
+    this.legacyKey = legacySecret.isBlank()
+            ? null
+            : Keys.hmacShaKeyFor(legacySecret.getBytes(StandardCharsets.UTF_8));
+    this.parser = Jwts.parserBuilder()
+            .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+              @Override
+              @SuppressWarnings("rawtypes")
+              public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                return verificationKey(header);
+              }
+            })
+            .build();
+  }
 
-  private SecretKey getSigningKey() {
-    return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+  private Key verificationKey(JwsHeader<?> header) {
+    String keyId = header.getKeyId();
+    if (keyId == null) {
+      if (legacyKey == null) {
+        throw new SignatureException("Token names no signing key");
+      }
+      return legacyKey;
+    }
+    Key key = signingKeyService.findPublicKey(keyId);
+    if (key == null) {
+      throw new SignatureException("Unknown signing key: " + keyId);
+    }
+    return key;
   }
 
   @Override
@@ -65,40 +117,45 @@ public class JwtServiceImpl implements JwtService {
     claims.put("email", user.getEmail());
     claims.put("roles", user.getRoles());
 
+    SigningKeyService.SigningKey key = signingKeyService.activeKey();
+    Instant now = Instant.now();
     return Jwts.builder()
+            .setHeaderParam(JwsHeader.KEY_ID, key.keyId())
             .setClaims(claims)
             .setSubject(user.getEmail())
             .setId(UUID.randomUUID().toString())
-            .setIssuedAt(Date.from(Instant.now()))
-            .setExpiration(Date.from(Instant.now().plusSeconds(accessTokenExpiration)))
-            .signWith(getSigningKey())
+            .setIssuedAt(Date.from(now))
+            .setExpiration(Date.from(now.plusSeconds(accessTokenExpiration)))
+            .signWith(key.privateKey(), SignatureAlgorithm.ES256)
             .compact();
   }
 
   @Override
   public String generateRefreshToken(User user) {
+    SigningKeyService.SigningKey key = signingKeyService.activeKey();
+    Instant now = Instant.now();
     return Jwts.builder()
+            .setHeaderParam(JwsHeader.KEY_ID, key.keyId())
             .setSubject(user.getEmail())
             .claim("userId", user.getId().toString())
             .setId(UUID.randomUUID().toString())
-            .setIssuedAt(Date.from(Instant.now()))
-            .setExpiration(Date.from(Instant.now().plusSeconds(refreshTokenExpiration)))
-            .signWith(getSigningKey())
+            .setIssuedAt(Date.from(now))
+            .setExpiration(Date.from(now.plusSeconds(refreshTokenExpiration)))
+            .signWith(key.privateKey(), SignatureAlgorithm.ES256)
             .compact();
   }
 
   @Override
   public boolean validateToken(String token) {
-    try {
-      Jwts.parserBuilder()
-              .setSigningKey(getSigningKey())
-              .build()
-              .parseClaimsJws(token);
+    return parseClaims(token).isPresent();
+  }
 
-      return true;
+  @Override
+  public Optional<Claims> parseClaims(String token) {
+    try {
+      return Optional.of(parser.parseClaimsJws(token).getBody());
     } catch (ExpiredJwtException e) {
       log.error("JWT token is expired: {}", e.getMessage());
-      return false;
     } catch (SecurityException e) {
       log.error("Invalid JWT signature: {}", e.getMessage());
     } catch (MalformedJwtException e) {
@@ -108,7 +165,7 @@ public class JwtServiceImpl implements JwtService {
     } catch (IllegalArgumentException e) {
       log.error("JWT claims string is empty: {}", e.getMessage());
     }
-    return false;
+    return Optional.empty();
   }
 
   @Override
@@ -128,11 +185,7 @@ public class JwtServiceImpl implements JwtService {
 
   private Claims getClaimsFromToken(String token) {
     try {
-      return Jwts.parserBuilder()
-              .setSigningKey(getSigningKey())
-              .build()
-              .parseClaimsJws(token)
-              .getBody();
+      return parser.parseClaimsJws(token).getBody();
     } catch (Exception e) {
       log.error("Error parsing JWT token: {}", e.getMessage());
       throw new IllegalArgumentException("Invalid JWT token", e);
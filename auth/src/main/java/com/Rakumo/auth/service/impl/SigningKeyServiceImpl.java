@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.auth.service.impl;
+
+import com.rakumo.auth.service.SigningKeyService;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementation of SigningKeyService.
+ *
+ * <p>With {@code app.jwt.keys.location} set, keys are read from that directory at startup:
+ * {@code <kid>.pub} holds a P-256 public key (X.509 PEM) and {@code <kid>.key} the matching
+ * private key (PKCS#8 PEM). Every public key is published. The active key is
+ * {@code app.jwt.keys.active-key-id}, or else the greatest ID that has a private key, so a key
+ * is rotated by adding a new pair to every instance and restarting them; the old private key
+ * can go at once, the old public key once its tokens have expired.
+ *
+ * <p>A location is required unless {@code app.jwt.keys.generate} is set, as the dev profile
+ * does. A key pair is then generated in memory and replaced every
+ * {@code app.jwt.keys.rotation-interval}. Those keys die with the instance, so a restart
+ * invalidates every token and other instances cannot verify them.
+ */
+@Slf4j
+@Service
+public class SigningKeyServiceImpl implements SigningKeyService {
+
+  private static final String PUBLIC_KEY_SUFFIX = ".pub";
+  private static final String PRIVATE_KEY_SUFFIX = ".key";
+
+  private final String keysLocation;
+  private final boolean generateKeys;
+  private final String activeKeyId;
+  private final Duration rotationInterval;
+  private final Duration retention;
+
+  private volatile KeyRing keyRing;
+
+  /**
+   * Creates the service.
+   *
+   * @param keysLocation the directory to read keys from
+   * @param generateKeys whether to generate throwaway keys when no location is set
+   * @param activeKeyId the ID of the key to sign with, or blank for the greatest ID
+   * @param rotationInterval how long a generated key signs tokens before it is replaced
+   * @param accessTokenExpiration the lifetime of access tokens, in seconds
+   * @param refreshTokenExpiration the lifetime of refresh tokens, in seconds
+   */
+  public SigningKeyServiceImpl(
+          @Value("${app.jwt.keys.location:}") String keysLocation,
+          @Value("${app.jwt.keys.generate:false}") boolean generateKeys,
+          @Value("${app.jwt.keys.active-key-id:}") String activeKeyId,
+          @Value("${app.jwt.keys.rotation-interval:24h}") Duration rotationInterval,
+          @Value("${app.jwt.access-token-expiration}") long accessTokenExpiration,
+          @Value("${app.jwt.refresh-token-expiration}") long refreshTokenExpiration) {
+    this.keysLocation = keysLocation;
+    this.generateKeys = generateKeys;
+    this.activeKeyId = activeKeyId;
+    this.rotationInterval = rotationInterval;
+    // A retired key must outlive every token it signed
+    this.retention = Duration.ofSeconds(Math.max(accessTokenExpiration, refreshTokenExpiration));
+  }
+
+  /**
+   * Loads or generates the keys.
+   */
+  @PostConstruct
+  public void init() {
+    if (keysLocation.isBlank()) {
+      if (!generateKeys) {
+        throw new IllegalStateException("app.jwt.keys.location is not set; every auth instance "
+                + "must sign with the same keys. Set app.jwt.keys.generate=true (or run with the "
+                + "dev profile) to use throwaway keys on a single instance");
+      }
+      keyRing = new KeyRing(generate(), Map.of(), Instant.now().plus(rotationInterval));
+      log.warn("No app.jwt.keys.location set; signing with generated key {}, which will not "
+              + "survive a restart", keyRing.active().keyId());
+      return;
+    }
+    try {
+      keyRing = load(Paths.get(keysLocation));
+    } catch (IOException | GeneralSecurityException e) {
+      throw new IllegalStateException("Failed to load signing keys from " + keysLocation, e);
+    }
+    log.info("Signing with key {}; {} keys published", keyRing.active().keyId(),
+            publishedKeys().size());
+  }
+
+  @Override
+  public SigningKey activeKey() {
+    KeyRing ring = keyRing;
+    if (ring.rotatesAt() != null && Instant.now().isAfter(ring.rotatesAt())) {
+      ring = rotate();
+    }
+    return ring.active();
+  }
+
+  @Override
+  public ECPublicKey findPublicKey(String keyId) {
+    KeyRing ring = keyRing;
+    if (ring.active().keyId().equals(keyId)) {
+      return ring.active().publicKey();
+    }
+    RetiredKey retired = ring.retired().get(keyId);
+    return retired != null && retired.isPublished(Instant.now()) ? retired.publicKey() : null;
+  }
+
+  @Override
+  public Map<String, ECPublicKey> publishedKeys() {
+    KeyRing ring = keyRing;
+    Instant now = Instant.now();
+    Map<String, ECPublicKey> keys = new LinkedHashMap<>();
+    keys.put(ring.active().keyId(), ring.active().publicKey());
+    ring.retired().forEach((keyId, retired) -> {
+      if (retired.isPublished(now)) {
+        keys.put(keyId, retired.publicKey());
+      }
+    });
+    return keys;
+  }
+
+  private synchronized KeyRing rotate() {
+    KeyRing ring = keyRing;
+    Instant now = Instant.now();
+    if (!now.isAfter(ring.rotatesAt())) {
+      return ring;
+    }
+
+    Map<String, RetiredKey> retired = ring.retired().entrySet().stream()
+            .filter(entry -> entry.getValue().isPublished(now))
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    retired.put(ring.active().keyId(),
+            new RetiredKey(ring.active().publicKey(), now.plus(retention)));
+
+    keyRing = new KeyRing(generate(), Map.copyOf(retired), now.plus(rotationInterval));
+    log.info("Rotated signing key {} -> {}", ring.active().keyId(), keyRing.active().keyId());
+    return keyRing;
+  }
+
+  private KeyRing load(Path directory) throws IOException, GeneralSecurityException {
+    KeyFactory factory = KeyFactory.getInstance("EC");
+    NavigableMap<String, ECPublicKey> publicKeys = new TreeMap<>();
+    try (DirectoryStream<Path> files =
+                 Files.newDirectoryStream(directory, "*" + PUBLIC_KEY_SUFFIX)) {
+      for (Path file : files) {
+        String name = file.getFileName().toString();
+        publicKeys.put(name.substring(0, name.length() - PUBLIC_KEY_SUFFIX.length()),
+                (ECPublicKey) factory.generatePublic(new X509EncodedKeySpec(readPem(file))));
+      }
+    }
+
+    String active = activeKeyId.isBlank()
+            ? publicKeys.descendingKeySet().stream()
+                    .filter(keyId -> Files.exists(directory.resolve(keyId + PRIVATE_KEY_SUFFIX)))
+                    .findFirst()
+                    .orElse(null)
+            : activeKeyId;
+    Path privateKeyFile = directory.resolve(active + PRIVATE_KEY_SUFFIX);
+    if (active == null || !publicKeys.containsKey(active) || !Files.exists(privateKeyFile)) {
+      throw new IllegalStateException("No key pair for the active signing key in " + directory);
+    }
+    PrivateKey privateKey = factory.generatePrivate(
+            new PKCS8EncodedKeySpec(readPem(privateKeyFile)));
+
+    Map<String, RetiredKey> retired = new LinkedHashMap<>();
+    publicKeys.forEach((keyId, publicKey) -> {
+      if (!keyId.equals(active)) {
+        retired.put(keyId, new RetiredKey(publicKey, Instant.MAX));
+      }
+    });
+    return new KeyRing(new SigningKey(active, privateKey, publicKeys.get(active)),
+            retired, null);
+  }
+
+  private static byte[] readPem(Path file) throws IOException {
+    String base64 = Files.readAllLines(file).stream()
+            .filter(line -> !line.startsWith("-----"))
+            .collect(Collectors.joining());
+    return Base64.getMimeDecoder().decode(base64);
+  }
+
+  private static SigningKey generate() {
+    KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+    return new SigningKey(UUID.randomUUID().toString(), keyPair.getPrivate(),
+            (ECPublicKey) keyPair.getPublic());
+  }
+
+  /**
+   * The keys in use at one point in time; replaced as a whole on rotation.
+   *
+   * @param rotatesAt when the active key is replaced, or null if it never is
+   */
+  private record KeyRing(SigningKey active, Map<String, RetiredKey> retired,
+                         Instant rotatesAt) {}
+
+  private record RetiredKey(ECPublicKey publicKey, Instant publishedUntil) {
+
+    boolean isPublished(Instant now) {
+      return now.isBefore(publishedUntil);
+    }
+  }
+}
@@ -22,14 +22,20 @@ package com.rakumo.auth.service.impl;
 import com.rakumo.auth.dto.reponse.UserProfileResponse;
 import com.rakumo.auth.dto.request.RegisterRequest;
 import com.rakumo.auth.entity.User;
+import com.rakumo.auth.event.AccountChangedEvent;
 import com.rakumo.auth.exception.UserAlreadyExistsException;
 import com.rakumo.auth.repository.UserRepository;
 import com.rakumo.auth.service.UserService;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -44,6 +50,7 @@ public class UserServiceImpl implements UserService {
 
   private final UserRepository userRepository;
   private final PasswordEncoder passwordEncoder;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Override
   @Transactional
@@ -87,6 +94,17 @@ public class UserServiceImpl implements UserService {
     return userRepository.findByIdWithRoles(userId);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public Map<UUID, User> findAllById(Collection<UUID> userIds) {
+    log.debug("Finding {} users by ID", userIds.size());
+    if (userIds.isEmpty()) {
+      return Map.of();
+    }
+    return userRepository.findAllByIdWithRoles(userIds).stream()
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+  }
+
   @Override
   @Transactional(readOnly = true)
   public UserProfileResponse getUserProfile(UUID userId) {
@@ -108,6 +126,7 @@ public class UserServiceImpl implements UserService {
 
     user.setIsEnabled(true);
     userRepository.save(user);
+    eventPublisher.publishEvent(AccountChangedEvent.now(userId));
 
     log.info("User account enabled for: {}", user.getEmail());
   }
@@ -133,6 +152,7 @@ public class UserServiceImpl implements UserService {
             .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + userId));
 
     userRepository.delete(user);
+    eventPublisher.publishEvent(AccountChangedEvent.now(userId));
 
     log.info("User deleted successfully: {}", user.getEmail());
   }
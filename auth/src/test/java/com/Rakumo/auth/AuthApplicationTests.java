@@ -22,7 +22,7 @@ package com.rakumo.auth;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.jwt.keys.generate=true")
 class AuthApplicationTests {
 
 	@Test
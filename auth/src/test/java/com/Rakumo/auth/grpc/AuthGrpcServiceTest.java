@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.auth.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.rakumo.auth.entity.User;
+import com.rakumo.auth.exception.GlobalExceptionHandler;
+import com.rakumo.auth.service.AuthService;
+import com.rakumo.auth.service.JwtService;
+import com.rakumo.auth.service.SigningKeyService;
+import com.rakumo.auth.service.UserService;
+import io.grpc.stub.StreamObserver;
+import io.jsonwebtoken.Jwts;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AuthGrpcServiceTest {
+
+  @Mock
+  private AuthService authService;
+  @Mock
+  private UserService userService;
+  @Mock
+  private JwtService jwtService;
+  @Mock
+  private GlobalExceptionHandler exceptionHandler;
+  @Mock
+  private RevocationBroadcaster revocationBroadcaster;
+  @Mock
+  private SigningKeyService signingKeyService;
+  @Mock
+  private StreamObserver<ValidateTokensResponse> responseObserver;
+
+  private AuthGrpcService service;
+
+  @BeforeEach
+  void setUp() {
+    service = new AuthGrpcService(authService, userService, jwtService, exceptionHandler,
+            revocationBroadcaster, signingKeyService);
+  }
+
+  @Test
+  void malformedUserIdFailsOnlyItsOwnToken() {
+    User user = new User();
+    user.setId(UUID.randomUUID());
+    user.setEmail("user@rakumo.dev");
+    user.setIsEnabled(true);
+    user.setRoles(List.of("ROLE_USER"));
+    user.setCreatedAt(Instant.parse("2026-01-01T00:00:00Z"));
+    user.setUpdatedAt(Instant.parse("2026-01-02T00:00:00Z"));
+
+    when(jwtService.parseClaims("good"))
+            .thenReturn(Optional.of(Jwts.claims(Map.of("userId", user.getId().toString()))));
+    when(jwtService.parseClaims("bad-user-id"))
+            .thenReturn(Optional.of(Jwts.claims(Map.of("userId", "not-a-uuid"))));
+    when(jwtService.parseClaims("no-user-id"))
+            .thenReturn(Optional.of(Jwts.claims(Map.of("sub", "user@rakumo.dev"))));
+    when(jwtService.parseClaims("unsigned")).thenReturn(Optional.empty());
+    when(userService.findAllById(Set.of(user.getId()))).thenReturn(Map.of(user.getId(), user));
+
+    service.validateTokens(ValidateTokensRequest.newBuilder()
+            .addAllTokens(List.of("bad-user-id", "good", "no-user-id", "unsigned"))
+            .build(), responseObserver);
+
+    ArgumentCaptor<ValidateTokensResponse> response =
+            ArgumentCaptor.forClass(ValidateTokensResponse.class);
+    verify(responseObserver).onNext(response.capture());
+    verify(responseObserver).onCompleted();
+    verify(responseObserver, never()).onError(any());
+
+    List<TokenValidationResult> results = response.getValue().getResultsList();
+    assertThat(results).extracting(TokenValidationResult::getValid)
+            .containsExactly(false, true, false, false);
+    assertThat(results.get(0).getErrorMessage()).isEqualTo("Invalid token");
+    assertThat(results.get(1).getUser().getId()).isEqualTo(user.getId().toString());
+  }
+}
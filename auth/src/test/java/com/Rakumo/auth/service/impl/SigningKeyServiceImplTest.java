@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.auth.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.rakumo.auth.service.SigningKeyService;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SigningKeyServiceImplTest {
+
+  @TempDir
+  private Path keys;
+
+  @Test
+  void loadsPemKeysAndSignsWithGreatestIdThatHasPrivateKey() throws IOException {
+    KeyPair older = writeKeyPair("2024-01");
+    KeyPair active = writeKeyPair("2025-01");
+    // Published so its tokens still verify, but cannot sign
+    KeyPair publicOnly = writePublicKey("2026-01");
+
+    SigningKeyServiceImpl service = load("");
+
+    SigningKeyService.SigningKey key = service.activeKey();
+    assertThat(key.keyId()).isEqualTo("2025-01");
+    assertThat(key.privateKey()).isEqualTo(active.getPrivate());
+    assertThat(key.publicKey()).isEqualTo(active.getPublic());
+    assertThat(service.publishedKeys()).containsOnlyKeys("2024-01", "2025-01", "2026-01");
+    assertThat(service.findPublicKey("2024-01")).isEqualTo(older.getPublic());
+    assertThat(service.findPublicKey("2026-01")).isEqualTo(publicOnly.getPublic());
+    assertThat(service.findPublicKey("unknown")).isNull();
+  }
+
+  @Test
+  void configuredActiveKeyIdWins() throws IOException {
+    KeyPair older = writeKeyPair("2024-01");
+    writeKeyPair("2025-01");
+
+    SigningKeyServiceImpl service = load("2024-01");
+
+    assertThat(service.activeKey().keyId()).isEqualTo("2024-01");
+    assertThat(service.activeKey().privateKey()).isEqualTo(older.getPrivate());
+  }
+
+  @Test
+  void activeKeyWithoutPrivateKeyFailsStartup() throws IOException {
+    writeKeyPair("2024-01");
+    writePublicKey("2025-01");
+
+    assertThatThrownBy(() -> load("2025-01"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("No key pair");
+  }
+
+  @Test
+  void missingLocationFailsStartupUnlessGenerating() {
+    SigningKeyServiceImpl service =
+            new SigningKeyServiceImpl("", false, "", Duration.ofHours(24), 900, 604800);
+
+    assertThatThrownBy(service::init)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("app.jwt.keys.location");
+  }
+
+  @Test
+  void rotationKeepsRetiredKeyPublishedUntilItsTokensExpire() throws InterruptedException {
+    SigningKeyServiceImpl service =
+            new SigningKeyServiceImpl("", true, "", Duration.ofMillis(100), 1, 1);
+    service.init();
+    SigningKeyService.SigningKey first = service.activeKey();
+
+    Thread.sleep(150);
+    SigningKeyService.SigningKey second = service.activeKey();
+
+    assertThat(second.keyId()).isNotEqualTo(first.keyId());
+    assertThat(service.publishedKeys()).containsKeys(first.keyId(), second.keyId());
+    assertThat(service.findPublicKey(first.keyId())).isEqualTo(first.publicKey());
+
+    // Every token the first key signed has expired after the one-second lifetime
+    Thread.sleep(1_100);
+
+    assertThat(service.findPublicKey(first.keyId())).isNull();
+    assertThat(service.publishedKeys()).doesNotContainKey(first.keyId());
+  }
+
+  private SigningKeyServiceImpl load(String activeKeyId) {
+    SigningKeyServiceImpl service = new SigningKeyServiceImpl(keys.toString(), false, activeKeyId,
+            Duration.ofHours(24), 900, 604800);
+    service.init();
+    return service;
+  }
+
+  private KeyPair writeKeyPair(String keyId) throws IOException {
+    KeyPair keyPair = writePublicKey(keyId);
+    Files.writeString(keys.resolve(keyId + ".key"),
+            pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+    return keyPair;
+  }
+
+  private KeyPair writePublicKey(String keyId) throws IOException {
+    KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+    Files.writeString(keys.resolve(keyId + ".pub"),
+            pem("PUBLIC KEY", keyPair.getPublic().getEncoded()));
+    return keyPair;
+  }
+
+  private static String pem(String type, byte[] der) {
+    return "-----BEGIN " + type + "-----\n"
+            + Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(der)
+            + "\n-----END " + type + "-----\n";
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.benchmarks;
+
+import com.rakumo.object.enumeration.ChecksumAlgorithm;
+import com.rakumo.object.util.Checksum;
+import com.rakumo.object.util.ChecksumUtils;
+import com.rakumo.object.util.MultiDigest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Identity hash cost per bucket algorithm. {@code identity} is the hash alone;
+ * {@code ingest} is the full single-pass upload digest (plus MD5 and CRC32C), which
+ * MD5 bounds for every faster identity hash. Multiply ops/s by {@code size} for bytes/s. SHA-256 runs on the
+ * JDK's SHA intrinsics where the CPU has them, so compare on production hardware;
+ * {@code -jvmArgs -XX:-UseSHA} shows the figure for CPUs without them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChecksumAlgorithmBenchmark {
+
+    @Param({"SHA256", "BLAKE3", "XXH3"})
+    private ChecksumAlgorithm algorithm;
+
+    @Param({"4096", "1048576", "8388608"})
+    private int size;
+
+    private byte[] data;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = new byte[size];
+        ThreadLocalRandom.current().nextBytes(data);
+    }
+
+    @Benchmark
+    public Checksum identity() {
+        return ChecksumUtils.checksumOf(data, algorithm);
+    }
+
+    @Benchmark
+    public MultiDigest.Digests ingest() {
+        return ChecksumUtils.digestAll(data, algorithm);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.benchmarks;
+
+import com.rakumo.object.util.Checksum;
+import com.rakumo.object.util.ChecksumUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SHA-256 over in-memory buffers and files. The {@code legacy*} methods reproduce the
+ * previous ChecksumUtils (a new MessageDigest and 8KB buffer per call, hex result)
+ * as the baseline for the pooled API.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChecksumUtilsBenchmark {
+
+    private static final HexFormat HEX_FORMAT = HexFormat.of();
+
+    @Param({"1024", "65536", "1048576"})
+    private int size;
+
+    private byte[] data;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        data = new byte[size];
+        ThreadLocalRandom.current().nextBytes(data);
+        file = Files.createTempFile("checksum-bench", ".bin");
+        Files.write(file, data);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public String legacyBytes() throws IOException {
+        return legacySha256(new ByteArrayInputStream(data));
+    }
+
+    @Benchmark
+    public Checksum pooledBytes() {
+        return ChecksumUtils.sha256Of(data);
+    }
+
+    @Benchmark
+    public String legacyFile() throws IOException {
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(file))) {
+            return legacySha256(is);
+        }
+    }
+
+    @Benchmark
+    public Checksum pooledFile() throws IOException {
+        return ChecksumUtils.sha256Of(file);
+    }
+
+    private static String legacySha256(InputStream data) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int bytesRead;
+            while ((bytesRead = data.read(buffer)) != -1) {
+                digest.update(buffer, 0, bytesRead);
+            }
+            return HEX_FORMAT.formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.benchmarks;
+
+import com.rakumo.object.util.Xxh3Digest;
+import com.rakumo.object.util.Xxh3Kernel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Chunk-sized hashing: XXH3 on the startup-selected kernel (vector when the fork has
+ * {@code jdk.incubator.vector}), XXH3 on the scalar kernel, and the JDK's CRC32C
+ * intrinsic that part verification prefers. Multiply ops/s by {@code size} for bytes/s.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ChunkHashBenchmark {
+
+    @Param({"4096", "65536", "1048576", "8388608"})
+    private int size;
+
+    private byte[] data;
+    private Xxh3Digest selected;
+    private Xxh3Digest scalar;
+    private CRC32C crc32c;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = new byte[size];
+        ThreadLocalRandom.current().nextBytes(data);
+        selected = new Xxh3Digest();
+        scalar = new Xxh3Digest(Xxh3Kernel.scalar());
+        crc32c = new CRC32C();
+    }
+
+    @Benchmark
+    public byte[] xxh3Selected() {
+        selected.update(data);
+        return selected.digest();
+    }
+
+    @Benchmark
+    public byte[] xxh3Scalar() {
+        scalar.update(data);
+        return scalar.digest();
+    }
+
+    @Benchmark
+    public long crc32c() {
+        crc32c.reset();
+        crc32c.update(data, 0, data.length);
+        return crc32c.getValue();
+    }
+}
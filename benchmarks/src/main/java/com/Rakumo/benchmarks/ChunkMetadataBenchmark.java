@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.benchmarks;
+
+import com.rakumo.benchmarks.support.ObjectStorageFixture;
+import com.rakumo.object.entity.FileChunkInfo;
+import com.rakumo.object.entity.LocalObjectReference;
+import com.rakumo.object.enumeration.ChecksumAlgorithm;
+import com.rakumo.object.enumeration.DurabilityMode;
+import com.rakumo.object.service.implementation.FileChunkServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code FileChunkServiceImpl.addChunkMetadata} recording one more part on an upload
+ * that already has {@code existingParts}. The chunk list is reset before each
+ * invocation, so the cost is that of adding part {@code existingParts + 1}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChunkMetadataBenchmark {
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    private int existingParts;
+
+    private ObjectStorageFixture fixture;
+    private FileChunkServiceImpl chunks;
+    private String uploadId;
+    private List<FileChunkInfo> existing;
+    private FileChunkInfo next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = new ObjectStorageFixture(DurabilityMode.NONE, ChecksumAlgorithm.SHA256);
+        chunks = fixture.getFileChunkService();
+        uploadId = chunks.initiateMultipartUpload(LocalObjectReference.builder()
+                .ownerId(fixture.getOwnerId())
+                .bucketName("bench-bucket")
+                .objectKey("bench/multipart.bin")
+                .build());
+
+        existing = new ArrayList<>(existingParts);
+        for (int i = 0; i < existingParts; i++) {
+            existing.add(part(i));
+        }
+        next = part(existingParts);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetChunks() throws Exception {
+        chunks.saveChunkMetadata(uploadId, existing);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Benchmark
+    public void addChunkMetadata() throws Exception {
+        chunks.addChunkMetadata(uploadId, next);
+    }
+
+    private FileChunkInfo part(int index) {
+        return FileChunkInfo.builder()
+                .uploadId(uploadId)
+                .chunkIndex(index)
+                .chunkSize(8 * 1024 * 1024)
+                .checksum("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08")
+                .checksumAlgorithm(ChecksumAlgorithm.SHA256)
+                .md5("098f6bcd4621d373cade4e832627b4f6")
+                .crc32c("86a072c0")
+                .bucketName("bench-bucket")
+                .objectKey("bench/multipart.bin")
+                .filePath("/tmp/" + uploadId + "/" + index + "_chunk_.part")
+                .uploadedAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.benchmarks;
+
+import com.rakumo.object.enumeration.DurabilityMode;
+import com.rakumo.object.util.FileSyncer;
+import com.rakumo.object.util.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small-object upload latency across durability modes with many concurrent writers.
+ * Each invocation does what storeFile does on disk: write a temp file, append an intent
+ * to the shared journal, rename the file into place and sync journal, file and directory
+ * together. Sample time reports the p50/p99 per upload; GROUP_COMMIT should stay close to
+ * NONE while PER_OBJECT queues behind the disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(1)
+public class FileSyncerBenchmark {
+
+    // Objects per writer before paths are reused, to keep the directory small
+    private static final int OBJECTS_PER_WRITER = 1024;
+
+    @Param({"NONE", "PER_OBJECT", "GROUP_COMMIT"})
+    private DurabilityMode durability;
+
+    @Param({"4096"})
+    private int size;
+
+    private Path root;
+    private FileSyncer fileSyncer;
+    private Path journalPath;
+    private FileChannel journal;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("fsync-bench");
+        fileSyncer = new FileSyncer(durability, 500);
+        fileSyncer.start();
+        journalPath = root.resolve("intents.log");
+        journal = FileChannel.open(journalPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        payload = new byte[size];
+        Arrays.fill(payload, (byte) 'x');
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fileSyncer.stop();
+        journal.close();
+        FileUtils.deleteDirectory(root);
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+        private Path dir;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp(FileSyncerBenchmark benchmark) throws IOException {
+            dir = Files.createTempDirectory(benchmark.root, "writer");
+        }
+    }
+
+    @Benchmark
+    public Path store(Writer writer) throws IOException {
+        int index = writer.next++ % OBJECTS_PER_WRITER;
+        Path temp = Files.write(writer.dir.resolve(index + ".tmp"), payload);
+        Path target = writer.dir.resolve(index + ".obj");
+        synchronized (journal) {
+            journal.write(ByteBuffer.wrap((target + "\n").getBytes(StandardCharsets.UTF_8)));
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        fileSyncer.sync(journalPath, target, writer.dir);
+        return target;
+    }
+}
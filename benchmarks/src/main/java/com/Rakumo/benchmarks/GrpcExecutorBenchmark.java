@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.benchmarks;
+
+import com.rakumo.grpc.executor.VirtualThreadExecutor;
+import io.grpc.CallOptions;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+import io.grpc.Server;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unary calls whose handler blocks for {@code ioMillis}, standing in for a slow disk or
+ * database call, issued {@code concurrency} at a time over the in-process transport.
+ * Compares grpc-java's default cached pool, a fixed pool of platform threads and the
+ * virtual-thread executor the services use. The score is batches per second; multiply by
+ * {@code concurrency} for calls per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class GrpcExecutorBenchmark {
+
+    private static final int FIXED_POOL_SIZE = 200;
+    private static final byte[] PAYLOAD = new byte[128];
+
+    private static final MethodDescriptor.Marshaller<byte[]> BYTES = new MethodDescriptor.Marshaller<>() {
+        @Override
+        public InputStream stream(byte[] value) {
+            return new ByteArrayInputStream(value);
+        }
+
+        @Override
+        public byte[] parse(InputStream stream) {
+            try {
+                return stream.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    };
+
+    private static final MethodDescriptor<byte[], byte[]> SLOW_CALL = MethodDescriptor.<byte[], byte[]>newBuilder()
+            .setType(MethodDescriptor.MethodType.UNARY)
+            .setFullMethodName(MethodDescriptor.generateFullMethodName("bench.SlowIo", "Call"))
+            .setRequestMarshaller(BYTES)
+            .setResponseMarshaller(BYTES)
+            .build();
+
+    public enum ServerExecutor { DEFAULT, FIXED, VIRTUAL }
+
+    @Param({"DEFAULT", "FIXED", "VIRTUAL"})
+    private ServerExecutor executor;
+
+    @Param({"100", "1000", "10000"})
+    private int concurrency;
+
+    @Param({"10"})
+    private int ioMillis;
+
+    private AutoCloseable serverExecutor;
+    private Server server;
+    private ManagedChannel channel;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String name = "grpc-executor-bench-" + UUID.randomUUID();
+        ServerServiceDefinition service = ServerServiceDefinition.builder("bench.SlowIo")
+                .addMethod(SLOW_CALL, ServerCalls.asyncUnaryCall(this::slowCall))
+                .build();
+
+        InProcessServerBuilder builder = InProcessServerBuilder.forName(name).addService(service);
+        switch (executor) {
+            case DEFAULT -> serverExecutor = null;
+            case FIXED -> {
+                ExecutorService fixed = Executors.newFixedThreadPool(FIXED_POOL_SIZE);
+                builder.executor(fixed);
+                serverExecutor = fixed::shutdownNow;
+            }
+            case VIRTUAL -> {
+                VirtualThreadExecutor virtual = new VirtualThreadExecutor("grpc-bench", 0);
+                builder.executor(virtual);
+                serverExecutor = virtual;
+            }
+        }
+        server = builder.build().start();
+        // Responses complete on the server's threads, so the client adds no pool of its own
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        channel.shutdownNow().awaitTermination(10, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(10, TimeUnit.SECONDS);
+        if (serverExecutor != null) {
+            serverExecutor.close();
+        }
+    }
+
+    @Benchmark
+    public void batch() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(concurrency);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        StreamObserver<byte[]> observer = new StreamObserver<>() {
+            @Override
+            public void onNext(byte[] value) {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                failure.compareAndSet(null, t);
+                done.countDown();
+            }
+
+            @Override
+            public void onCompleted() {
+                done.countDown();
+            }
+        };
+
+        for (int i = 0; i < concurrency; i++) {
+            ClientCalls.asyncUnaryCall(channel.newCall(SLOW_CALL, CallOptions.DEFAULT), PAYLOAD, observer);
+        }
+        done.await();
+        if (failure.get() != null) {
+            throw new IllegalStateException("Call failed", failure.get());
+        }
+    }
+
+    private void slowCall(byte[] request, StreamObserver<byte[]> responseObserver) {
+        try {
+            Thread.sleep(ioMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        responseObserver.onNext(request);
+        responseObserver.onCompleted();
+    }
+}
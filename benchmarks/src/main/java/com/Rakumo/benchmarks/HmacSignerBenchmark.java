@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.benchmarks;
+
+import com.rakumo.object.util.ChecksumUtils;
+import com.rakumo.object.util.HmacSigner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing and verifying a pre-signed URL payload. {@code legacySign} reproduces the
+ * previous per-call Mac lookup, key setup and init.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HmacSignerBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-0123456789abcdef";
+    private static final String DATA =
+            "photos:2024/holiday/IMG_0042.jpg:DOWNLOAD:6f1c1e9a-3c55-4c8e-9a43-0f5b2f7d1e11:1767225600";
+
+    private HmacSigner signer;
+    private String signature;
+
+    @Setup
+    public void setUp() {
+        signer = ChecksumUtils.hmacSha256(SECRET);
+        signature = signer.sign(DATA).hex();
+    }
+
+    @Benchmark
+    public String legacySign() throws Exception {
+        Mac hmac = Mac.getInstance("HmacSHA256");
+        hmac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(hmac.doFinal(DATA.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public String pooledSign() {
+        return signer.sign(DATA).hex();
+    }
+
+    @Benchmark
+    public boolean pooledVerify() {
+        return signer.verify(DATA, signature);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.benchmarks;
+
+import com.rakumo.auth.entity.User;
+import com.rakumo.auth.service.impl.JwtServiceImpl;
+import com.rakumo.auth.service.impl.SigningKeyServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issuing and validating access tokens the way the auth service does. The {@code legacy*}
+ * methods reproduce the previous JwtServiceImpl (an HMAC key and a parser built on every
+ * call) and the previous ValidateToken handler, which verified the same token three times
+ * to read its validity, user ID and email.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "mySuperSecretKeyForRakumoAuthService12345678901234567890";
+    private static final long ACCESS_TOKEN_EXPIRATION = 86400;
+    private static final long REFRESH_TOKEN_EXPIRATION = 604800;
+
+    private JwtServiceImpl jwtService;
+    private User user;
+    private String token;
+    private String legacyToken;
+
+    @Setup
+    public void setUp() {
+        SigningKeyServiceImpl signingKeyService = new SigningKeyServiceImpl("", true, "",
+                Duration.ofDays(1), ACCESS_TOKEN_EXPIRATION, REFRESH_TOKEN_EXPIRATION);
+        signingKeyService.init();
+        jwtService = new JwtServiceImpl(signingKeyService, SECRET,
+                ACCESS_TOKEN_EXPIRATION, REFRESH_TOKEN_EXPIRATION);
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("bench@rakumo.dev");
+        user.setRoles(List.of("ROLE_USER"));
+
+        token = jwtService.generateAccessToken(user);
+        legacyToken = legacyIssue();
+    }
+
+    @Benchmark
+    public String legacyIssue() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", user.getId().toString());
+        claims.put("email", user.getEmail());
+        claims.put("roles", user.getRoles());
+
+        return Jwts.builder()
+                .setClaims(claims)
+                .setSubject(user.getEmail())
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(Date.from(Instant.now()))
+                .setExpiration(Date.from(Instant.now().plusSeconds(ACCESS_TOKEN_EXPIRATION)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    @Benchmark
+    public String issue() {
+        return jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public void legacyValidate(Blackhole bh) {
+        // validateToken, getUserIdFromToken and getUsernameFromToken each parsed the token
+        bh.consume(legacyParse(legacyToken));
+        bh.consume(legacyParse(legacyToken).get("userId", String.class));
+        bh.consume(legacyParse(legacyToken).getSubject());
+    }
+
+    @Benchmark
+    public void validateLegacyToken(Blackhole bh) {
+        Claims claims = jwtService.parseClaims(legacyToken).orElseThrow();
+        bh.consume(claims.get("userId", String.class));
+        bh.consume(claims.getSubject());
+    }
+
+    @Benchmark
+    public void validate(Blackhole bh) {
+        Claims claims = jwtService.parseClaims(token).orElseThrow();
+        bh.consume(claims.get("userId", String.class));
+        bh.consume(claims.getSubject());
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.benchmarks;
+
+import com.rakumo.benchmarks.support.ObjectStorageFixture;
+import com.rakumo.object.dto.UploadRequest;
+import com.rakumo.object.dto.UploadResponse;
+import com.rakumo.object.enumeration.ChecksumAlgorithm;
+import com.rakumo.object.enumeration.DurabilityMode;
+import com.rakumo.object.service.implementation.UploadManagerServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multipart uploads in {@code UploadManagerServiceImpl}. {@code completeOnly} times
+ * assembly of already uploaded parts into the final object; {@code fullUpload} adds
+ * initiate and the per-part uploads.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MultipartUploadBenchmark {
+
+    private static final int PART_SIZE = 256 * 1024;
+
+    @Param({"4", "16", "64"})
+    private int parts;
+
+    private ObjectStorageFixture fixture;
+    private UploadManagerServiceImpl uploads;
+    private UploadRequest request;
+    private byte[] part;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = new ObjectStorageFixture(DurabilityMode.NONE, ChecksumAlgorithm.SHA256);
+        uploads = fixture.getUploadManagerService();
+        request = UploadRequest.builder()
+                .ownerId(fixture.getOwnerId())
+                .bucketName("bench-bucket")
+                .objectKey("bench/multipart.bin")
+                .build();
+        part = new byte[PART_SIZE];
+        ThreadLocalRandom.current().nextBytes(part);
+    }
+
+    @TearDown(Level.Iteration)
+    public void drainJournal() throws Exception {
+        fixture.drainJournal();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    /**
+     * A multipart upload with every part already uploaded, recreated before each invocation.
+     */
+    @State(Scope.Thread)
+    public static class StagedUpload {
+        String uploadId;
+
+        @Setup(Level.Invocation)
+        public void stage(MultipartUploadBenchmark benchmark) throws Exception {
+            uploadId = benchmark.uploadParts();
+        }
+    }
+
+    @Benchmark
+    public UploadResponse completeOnly(StagedUpload staged) throws Exception {
+        return uploads.completeMultipartUpload(staged.uploadId);
+    }
+
+    @Benchmark
+    public UploadResponse fullUpload() throws Exception {
+        return uploads.completeMultipartUpload(uploadParts());
+    }
+
+    String uploadParts() throws Exception {
+        String uploadId = uploads.initiateMultipartUpload(request);
+        for (int i = 0; i < parts; i++) {
+            uploads.uploadChunk(uploadId, i, new ByteArrayInputStream(part));
+        }
+        return uploadId;
+    }
+}
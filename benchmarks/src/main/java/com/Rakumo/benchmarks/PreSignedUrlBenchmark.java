@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.benchmarks;
+
+import com.rakumo.benchmarks.support.ObjectStorageFixture;
+import com.rakumo.object.dto.PreSignedUrlRequest;
+import com.rakumo.object.dto.PreSignedUrlResponse;
+import com.rakumo.object.service.implementation.PreSignedUrlServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code PreSignedUrlServiceImpl} issuing and validating URLs, including token
+ * encoding, URL building and parsing on top of the HMAC measured by
+ * {@link HmacSignerBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PreSignedUrlBenchmark {
+
+    private static final String BUCKET = "photos";
+    private static final String KEY = "2024/holiday/IMG_0042.jpg";
+
+    private PreSignedUrlServiceImpl service;
+    private PreSignedUrlRequest request;
+    private String url;
+
+    @Setup
+    public void setUp() {
+        service = new PreSignedUrlServiceImpl();
+        ObjectStorageFixture.setField(service, "baseUrl", "http://localhost:9093");
+        ObjectStorageFixture.setField(service, "secretKey", "benchmark-secret-key-0123456789abcdef");
+        ObjectStorageFixture.invoke(service, "initSigner");
+
+        request = PreSignedUrlRequest.builder()
+                .bucketName(BUCKET)
+                .objectKey(KEY)
+                .versionId("6f1c1e9a-3c55-4c8e-9a43-0f5b2f7d1e11")
+                .operation(PreSignedUrlRequest.PreSignedUrlOperation.DOWNLOAD)
+                .expiration(Duration.ofHours(1))
+                .build();
+        url = service.generatePreSignedUrl(request).getPreSignedUrl();
+    }
+
+    @Benchmark
+    public PreSignedUrlResponse generate() {
+        return service.generatePreSignedUrl(request);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return service.validatePreSignedUrl(url, BUCKET, KEY,
+                PreSignedUrlRequest.PreSignedUrlOperation.DOWNLOAD);
+    }
+}
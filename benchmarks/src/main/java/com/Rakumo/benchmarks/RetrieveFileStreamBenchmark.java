@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.benchmarks;
+
+import com.rakumo.benchmarks.support.ObjectStorageFixture;
+import com.rakumo.object.entity.RegularObjectEntity;
+import com.rakumo.object.enumeration.ChecksumAlgorithm;
+import com.rakumo.object.enumeration.DurabilityMode;
+import com.rakumo.object.grpc.FileStorageGrpcService;
+import com.rakumo.object.storage.FileChunkMessage;
+import com.rakumo.object.storage.RetrieveFileRequestMessage;
+import io.grpc.stub.StreamObserver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code FileStorageGrpcService.retrieveFileStream} framing a stored object into
+ * {@link FileChunkMessage}s, with the frames delivered straight to a consuming
+ * observer instead of a transport. Covers the lookup, file read and per-frame copies.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RetrieveFileStreamBenchmark {
+
+    @Param({"65536", "1048576", "16777216"})
+    private int size;
+
+    private ObjectStorageFixture fixture;
+    private FileStorageGrpcService service;
+    private RetrieveFileRequestMessage request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = new ObjectStorageFixture(DurabilityMode.NONE, ChecksumAlgorithm.SHA256);
+        byte[] data = new byte[size];
+        ThreadLocalRandom.current().nextBytes(data);
+
+        RegularObjectEntity entity = fixture.getFileStorageService().storeFile(fixture.getOwnerId(),
+                "bench-bucket", "bench/download.bin", new ByteArrayInputStream(data), null, null);
+        fixture.getRegularObjectRepository().save(entity);
+        fixture.drainJournal();
+
+        service = new FileStorageGrpcService(fixture.getFileStorageService(), fixture.getPipelineMetrics());
+        request = RetrieveFileRequestMessage.newBuilder()
+                .setBucketName(entity.getBucketName())
+                .setObjectKey(entity.getObjectKey())
+                .setVersionId(entity.getVersionId())
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Benchmark
+    public void retrieveFileStream(Blackhole blackhole) {
+        service.retrieveFileStream(request, new StreamObserver<>() {
+            @Override
+            public void onNext(FileChunkMessage frame) {
+                blackhole.consume(frame);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                throw new IllegalStateException(t);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        });
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.benchmarks;
+
+import com.rakumo.benchmarks.support.ObjectStorageFixture;
+import com.rakumo.object.entity.RegularObjectEntity;
+import com.rakumo.object.enumeration.ChecksumAlgorithm;
+import com.rakumo.object.enumeration.DurabilityMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code FileStorageServiceImpl.storeFile} end to end against a temporary storage root:
+ * single-pass copy and digest, journal append, move into place and the durability
+ * mode's fsyncs. Every invocation overwrites the same object path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StoreFileBenchmark {
+
+    @Param({"4096", "1048576", "16777216"})
+    private int size;
+
+    @Param({"NONE", "PER_OBJECT"})
+    private DurabilityMode durability;
+
+    @Param({"SHA256", "XXH3"})
+    private ChecksumAlgorithm algorithm;
+
+    private ObjectStorageFixture fixture;
+    private byte[] data;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = new ObjectStorageFixture(durability, algorithm);
+        data = new byte[size];
+        ThreadLocalRandom.current().nextBytes(data);
+    }
+
+    @TearDown(Level.Iteration)
+    public void drainJournal() throws Exception {
+        fixture.drainJournal();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Benchmark
+    public RegularObjectEntity storeFile() throws Exception {
+        return fixture.getFileStorageService().storeFile(fixture.getOwnerId(), "bench-bucket", "bench/object.bin",
+                new ByteArrayInputStream(data), "application/octet-stream", null);
+    }
+}
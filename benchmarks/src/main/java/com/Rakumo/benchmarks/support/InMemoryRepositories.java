@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.benchmarks.support;
+
+import com.rakumo.object.entity.MetadataOutboxEntity;
+import com.rakumo.object.entity.MultipartUploadEntity;
+import com.rakumo.object.entity.RegularObjectEntity;
+import com.rakumo.object.repository.MetadataOutboxRepository;
+import com.rakumo.object.repository.MultipartUploadRepository;
+import com.rakumo.object.repository.RegularObjectRepository;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Map-backed stand-ins for the object module's Spring Data repositories, so services
+ * can be benchmarked without a database. Only the CRUD and query methods the
+ * benchmarked paths reach are implemented; anything else throws.
+ */
+public final class InMemoryRepositories {
+
+    private InMemoryRepositories() {}
+
+    public static RegularObjectRepository regularObjects() {
+        return create(RegularObjectRepository.class, RegularObjectEntity::getId, Map.of(
+                "findByBucketAndKeyAndVersion", (rows, args) -> rows.values().stream()
+                        .filter(e -> e.getBucketName().equals(args[0])
+                                && e.getObjectKey().equals(args[1])
+                                && Objects.equals(e.getVersionId(), args[2]))
+                        .findFirst(),
+                "existsByChecksumAndBucketId", (rows, args) -> rows.values().stream()
+                        .anyMatch(e -> Objects.equals(e.getChecksum(), args[0])
+                                && e.getBucketName().equals(args[1])),
+                "getChecksumById", (rows, args) -> Optional.ofNullable(rows.get(args[0]))
+                        .map(RegularObjectEntity::getChecksum)
+                        .orElse(null),
+                "findExistingIds", (rows, args) -> ((Collection<?>) args[0]).stream()
+                        .filter(rows::containsKey)
+                        .toList()));
+    }
+
+    public static MultipartUploadRepository multipartUploads() {
+        return create(MultipartUploadRepository.class, MultipartUploadEntity::getUploadId, Map.of(
+                "findByUserId", (rows, args) -> rows.values().stream()
+                        .filter(e -> e.getUserId().equals(args[0]))
+                        .toList(),
+                "findByBucketNameAndObjectKey", (rows, args) -> rows.values().stream()
+                        .filter(e -> e.getBucketName().equals(args[0]) && e.getObjectKey().equals(args[1]))
+                        .toList()));
+    }
+
+    public static MetadataOutboxRepository outbox() {
+        return create(MetadataOutboxRepository.class, MetadataOutboxEntity::getId, Map.of(
+                "findReady", (rows, args) -> rows.values().stream()
+                        .filter(e -> !e.getNextAttemptAt().isAfter((Instant) args[0]))
+                        .sorted(Comparator.comparing(MetadataOutboxEntity::getCreatedAt))
+                        .limit(((Pageable) args[1]).getPageSize())
+                        .toList(),
+                "deleteByObjectIdAndEventType", (rows, args) -> {
+                    int before = rows.size();
+                    rows.values().removeIf(e -> e.getObjectId().equals(args[0]) && e.getEventType() == args[1]);
+                    return before - rows.size();
+                }));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R, E, ID> R create(Class<R> type, Function<E, ID> idOf,
+                                       Map<String, BiFunction<Map<ID, E>, Object[], Object>> queries) {
+        return (R) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new Handler<>(type.getSimpleName(), idOf, queries));
+    }
+
+    private static final class Handler<E, ID> implements InvocationHandler {
+        private final String name;
+        private final Function<E, ID> idOf;
+        private final Map<String, BiFunction<Map<ID, E>, Object[], Object>> queries;
+        private final Map<ID, E> rows = new ConcurrentHashMap<>();
+
+        Handler(String name, Function<E, ID> idOf, Map<String, BiFunction<Map<ID, E>, Object[], Object>> queries) {
+            this.name = name;
+            this.idOf = idOf;
+            this.queries = queries;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> "InMemory" + name;
+                };
+            }
+
+            BiFunction<Map<ID, E>, Object[], Object> query = queries.get(method.getName());
+            if (query != null) {
+                return query.apply(rows, args);
+            }
+
+            int arity = args == null ? 0 : args.length;
+            switch (method.getName()) {
+                case "save", "saveAndFlush" -> {
+                    return put((E) args[0]);
+                }
+                case "saveAll", "saveAllAndFlush" -> {
+                    List<E> saved = new ArrayList<>();
+                    for (E entity : (Iterable<E>) args[0]) {
+                        saved.add(put(entity));
+                    }
+                    return saved;
+                }
+                case "findById" -> {
+                    return Optional.ofNullable(rows.get((ID) args[0]));
+                }
+                case "existsById" -> {
+                    return rows.containsKey((ID) args[0]);
+                }
+                case "findAll" -> {
+                    if (arity == 0) {
+                        return new ArrayList<>(rows.values());
+                    }
+                }
+                case "count" -> {
+                    return (long) rows.size();
+                }
+                case "delete" -> {
+                    rows.remove(idOf.apply((E) args[0]));
+                    return null;
+                }
+                case "deleteById" -> {
+                    rows.remove((ID) args[0]);
+                    return null;
+                }
+                case "deleteAllByIdInBatch", "deleteAllById" -> {
+                    ((Iterable<ID>) args[0]).forEach(rows::remove);
+                    return null;
+                }
+                case "deleteAll" -> {
+                    if (arity == 0) {
+                        rows.clear();
+                        return null;
+                    }
+                }
+                case "flush" -> {
+                    return null;
+                }
+                default -> {
+                }
+            }
+            throw new UnsupportedOperationException(name + "." + method.getName() + " is not stubbed");
+        }
+
+        @SuppressWarnings("unchecked")
+        private E put(E entity) {
+            // Generated ids are left null, as they would be before the first flush
+            ID id = idOf.apply(entity);
+            rows.put(id != null ? id : (ID) new Object(), entity);
+            return entity;
+        }
+    }
+}
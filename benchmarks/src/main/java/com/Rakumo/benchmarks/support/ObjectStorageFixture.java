@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.benchmarks.support;
+
+import com.rakumo.object.config.ChecksumProperties;
+import com.rakumo.object.enumeration.ChecksumAlgorithm;
+import com.rakumo.object.enumeration.DurabilityMode;
+import com.rakumo.object.grpc.MetadataGrpcClient;
+import com.rakumo.object.journal.IntentApplier;
+import com.rakumo.object.journal.IntentJournal;
+import com.rakumo.object.journal.StoreIntent;
+import com.rakumo.object.metrics.PipelineMetrics;
+import com.rakumo.object.repository.MetadataOutboxRepository;
+import com.rakumo.object.repository.MultipartUploadRepository;
+import com.rakumo.object.repository.RegularObjectRepository;
+import com.rakumo.object.service.implementation.FileChunkServiceImpl;
+import com.rakumo.object.service.implementation.FileStorageServiceImpl;
+import com.rakumo.object.service.implementation.UploadManagerServiceImpl;
+import com.rakumo.object.util.FileSyncer;
+import com.rakumo.object.util.FileUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The object module's storage services wired by hand against a temporary storage
+ * root and {@link InMemoryRepositories}, with no Spring context, database or metadata
+ * service. Finished objects are placed under {@code ./Object-Storage/<ownerId>}
+ * (FilePathUtils resolves them against the working directory), which {@link #close()}
+ * removes along with the temporary root.
+ */
+public final class ObjectStorageFixture implements AutoCloseable {
+
+    private final Path root;
+    private final String ownerId = "bench-" + UUID.randomUUID();
+    private final ChecksumProperties checksumProperties = new ChecksumProperties();
+    private final RegularObjectRepository regularObjectRepository = InMemoryRepositories.regularObjects();
+    private final MetadataOutboxRepository outboxRepository = InMemoryRepositories.outbox();
+    private final MultipartUploadRepository multipartUploadRepository = InMemoryRepositories.multipartUploads();
+    private final PipelineMetrics pipelineMetrics = new PipelineMetrics(new SimpleMeterRegistry(),
+            new StaticListableBeanFactory().getBeanProvider(Tracer.class), 8);
+    private final FileSyncer fileSyncer;
+    private final IntentJournal intentJournal;
+    private final FileStorageServiceImpl fileStorageService;
+    private final FileChunkServiceImpl fileChunkService;
+    private final UploadManagerServiceImpl uploadManagerService;
+
+    public ObjectStorageFixture(DurabilityMode durability, ChecksumAlgorithm checksumAlgorithm) throws IOException {
+        root = Files.createTempDirectory("rakumo-bench");
+        checksumProperties.setDefaultAlgorithm(checksumAlgorithm);
+
+        fileSyncer = new FileSyncer(durability, 500);
+        fileSyncer.start();
+
+        intentJournal = new IntentJournal(fileSyncer);
+        setField(intentJournal, "storageRoot", root.toString());
+        intentJournal.init();
+
+        IntentApplier intentApplier = new IntentApplier(intentJournal, regularObjectRepository, outboxRepository,
+                new TransactionTemplate(new NoTransactions()), pipelineMetrics);
+        fileStorageService = new FileStorageServiceImpl(regularObjectRepository, outboxRepository,
+                intentJournal, intentApplier, fileSyncer, checksumProperties, pipelineMetrics);
+        setField(fileStorageService, "storageRoot", root.toString());
+
+        fileChunkService = new FileChunkServiceImpl();
+        setField(fileChunkService, "tempRootPath", root.resolve(".tmp").toString());
+        fileChunkService.init();
+
+        uploadManagerService = new UploadManagerServiceImpl(fileStorageService, fileChunkService,
+                fileChunkService, multipartUploadRepository, new MetadataGrpcClient(), checksumProperties,
+                pipelineMetrics);
+    }
+
+    /**
+     * Marks every journaled intent applied, as IntentApplier would after writing the
+     * rows, so the journal and its pending set stay small between iterations.
+     */
+    public void drainJournal() throws IOException {
+        List<StoreIntent> pending;
+        while (!(pending = intentJournal.pending(1000)).isEmpty()) {
+            intentJournal.markApplied(pending.stream().map(StoreIntent::getObjectId).toList());
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        fileSyncer.stop();
+        intentJournal.close();
+        FileUtils.deleteDirectory(root);
+        FileUtils.deleteDirectory(Paths.get("Object-Storage", ownerId));
+    }
+
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    public RegularObjectRepository getRegularObjectRepository() {
+        return regularObjectRepository;
+    }
+
+    public FileStorageServiceImpl getFileStorageService() {
+        return fileStorageService;
+    }
+
+    public FileChunkServiceImpl getFileChunkService() {
+        return fileChunkService;
+    }
+
+    public UploadManagerServiceImpl getUploadManagerService() {
+        return uploadManagerService;
+    }
+
+    public PipelineMetrics getPipelineMetrics() {
+        return pipelineMetrics;
+    }
+
+    /**
+     * Sets a field Spring would inject, e.g. an {@code @Value}.
+     */
+    public static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + target.getClass().getSimpleName() + "." + name, e);
+        }
+    }
+
+    /**
+     * Calls a non-public no-argument method, e.g. a package-private {@code @PostConstruct}.
+     */
+    public static void invoke(Object target, String name) {
+        try {
+            Method method = target.getClass().getDeclaredMethod(name);
+            method.setAccessible(true);
+            method.invoke(target);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot call " + target.getClass().getSimpleName() + "." + name, e);
+        }
+    }
+
+    // The in-memory repositories have nothing to commit or roll back
+    private static final class NoTransactions extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
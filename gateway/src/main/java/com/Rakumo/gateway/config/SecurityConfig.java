@@ -96,7 +96,7 @@ public class SecurityConfig {
                                 "/api/auth/verify-email",
                                 "/api/auth/refresh-token",
                                 "/api/auth/check-token",
-                                "/api/objects/download-stream/**",
+                                "/api/auth/jwks",
 
                                 "/api/objects/presigned/generate",           // Generate pre-signed URLs
                                 "/api/objects/presigned/validate",           // Validate pre-signed URLs
@@ -117,6 +117,7 @@ public class SecurityConfig {
                         // Service-specific endpoints
                         .requestMatchers("/api/objects/upload").hasAnyRole("USER", "ADMIN")
                         .requestMatchers("/api/objects/download/**").hasAnyRole("USER", "ADMIN")
+                        .requestMatchers("/api/objects/download-stream/**").hasAnyRole("USER", "ADMIN")
                         .requestMatchers("/api/objects/delete/**").hasAnyRole("USER", "ADMIN")
                         .requestMatchers("/api/objects/list/**").hasAnyRole("USER", "ADMIN")
 
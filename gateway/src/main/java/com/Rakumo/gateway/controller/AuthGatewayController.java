@@ -33,7 +33,10 @@ import com.rakumo.auth.grpc.ValidateTokenRequest;
 import com.rakumo.gateway.dto.AuthDto;
 import com.rakumo.gateway.mapper.GrpcMapper;
 import com.rakumo.gateway.service.GrpcAuthClientService;
+import com.rakumo.gateway.service.JwksKeyCache;
+import java.time.Duration;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -52,6 +55,7 @@ public class AuthGatewayController {
 
   private final GrpcAuthClientService authClientService;
   private final GrpcMapper mapper;
+  private final JwksKeyCache jwksKeyCache;
 
   /**
    * Handles user registration requests by forwarding them to the Auth microservice via gRPC.
@@ -173,4 +177,17 @@ public class AuthGatewayController {
     boolean isValid = authClientService.isValidToken(token);
     return ResponseEntity.ok(isValid);
   }
+
+  /**
+   * Publishes the keys access tokens are signed with, as a JSON Web Key Set, so that other
+   * services can verify tokens offline. Served from the gateway's own copy of the keys.
+   *
+   * @return a ResponseEntity containing the key set
+   */
+  @GetMapping("/jwks")
+  public ResponseEntity<AuthDto.JwksDto> jwks() {
+    return ResponseEntity.ok()
+            .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+            .body(mapper.toDtoJwks(jwksKeyCache.current()));
+  }
 }
@@ -0,0 +1,277 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.gateway.controller;
+
+import com.rakumo.gateway.dto.MetadataDto;
+import com.rakumo.gateway.dto.ObjectDto;
+import com.rakumo.gateway.mapper.GrpcMapper;
+import com.rakumo.gateway.service.GrpcObjectClientService;
+import com.rakumo.gateway.service.ObjectDownload;
+import com.rakumo.object.storage.DeleteFileResponseMessage;
+import com.rakumo.object.storage.ObjectInfo;
+import com.rakumo.object.storage.StoreFileResponseMessage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Controller for handling object upload, download and deletion in the gateway service.
+ * Object data is streamed between the HTTP connection and the Object microservice in
+ * frames; the gateway never holds a whole object in memory.
+ */
+@RestController
+@RequestMapping("/api/objects")
+@RequiredArgsConstructor
+public class ObjectGatewayController {
+
+  // A single range; multiple ranges are answered with the whole object
+  private static final Pattern BYTE_RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+  private final GrpcObjectClientService objectClientService;
+  private final GrpcMapper mapper;
+
+  /**
+   * Handles an object upload by streaming the raw request body to the Object microservice.
+   *
+   * @param ownerId the ID of the owner of the object
+   * @param bucketName the name of the bucket to store the object in
+   * @param objectKey the key to store the object under
+   * @param expectedChecksum the checksum the content must match, if the client knows it
+   * @param contentType the content type of the object
+   * @param request the HTTP request whose body is the object's content
+   * @return ResponseEntity containing the response dto with the stored object's details
+   * @throws IOException if reading the request body fails
+   */
+  @PostMapping("/upload")
+  public ResponseEntity<ObjectDto.StoredObjectDto> upload(
+          @RequestParam String ownerId,
+          @RequestParam String bucketName,
+          @RequestParam String objectKey,
+          @RequestParam(required = false) String expectedChecksum,
+          @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+          HttpServletRequest request) throws IOException {
+    StoreFileResponseMessage grpcResponse = objectClientService.storeFile(
+            mapper.toGrpcStoreFileHeader(ownerId, bucketName, objectKey, contentType, expectedChecksum),
+            request.getInputStream(),
+            request.getContentLengthLong());
+    return ResponseEntity.ok(mapper.toDtoStoredObject(grpcResponse));
+  }
+
+  /**
+   * Handles an object download as an attachment, honouring Range and conditional headers.
+   *
+   * @param bucketName the name of the bucket containing the object
+   * @param objectKey the key of the object, which may contain slashes
+   * @param versionId the version to download, or the latest if absent
+   * @param request the HTTP request
+   * @param response the HTTP response the object is streamed to
+   * @throws IOException if writing the response fails
+   */
+  @GetMapping("/download/{bucketName}/{*objectKey}")
+  public void download(
+          @PathVariable String bucketName,
+          @PathVariable String objectKey,
+          @RequestParam(required = false) String versionId,
+          HttpServletRequest request,
+          HttpServletResponse response) throws IOException {
+    stream(bucketName, objectKey, versionId, false, request, response);
+  }
+
+  /**
+   * Handles an object download for inline display, e.g. media players seeking with Range.
+   *
+   * @param bucketName the name of the bucket containing the object
+   * @param objectKey the key of the object, which may contain slashes
+   * @param versionId the version to stream, or the latest if absent
+   * @param request the HTTP request
+   * @param response the HTTP response the object is streamed to
+   * @throws IOException if writing the response fails
+   */
+  @GetMapping("/download-stream/{bucketName}/{*objectKey}")
+  public void downloadStream(
+          @PathVariable String bucketName,
+          @PathVariable String objectKey,
+          @RequestParam(required = false) String versionId,
+          HttpServletRequest request,
+          HttpServletResponse response) throws IOException {
+    stream(bucketName, objectKey, versionId, true, request, response);
+  }
+
+  /**
+   * Handles the request to delete a stored object.
+   *
+   * @param bucketName the name of the bucket containing the object
+   * @param objectKey the key of the object, which may contain slashes
+   * @param ownerId the ID of the owner of the object
+   * @param fileId the file ID (checksum) returned when the object was stored
+   * @return ResponseEntity containing the response dto with the deletion result
+   */
+  @DeleteMapping("/delete/{bucketName}/{*objectKey}")
+  public ResponseEntity<MetadataDto.DeleteResponseDto> delete(
+          @PathVariable String bucketName,
+          @PathVariable String objectKey,
+          @RequestParam String ownerId,
+          @RequestParam String fileId) {
+    DeleteFileResponseMessage grpcResponse = objectClientService.deleteFile(
+            mapper.toGrpcDeleteFile(ownerId, bucketName, stripSlash(objectKey), fileId));
+    return ResponseEntity.ok(new MetadataDto.DeleteResponseDto(
+            grpcResponse.getSuccess(),
+            grpcResponse.getMessage()
+    ));
+  }
+
+  private void stream(String bucketName, String objectKey, String versionId, boolean inline,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+    String key = stripSlash(objectKey);
+    long[] range = parseRange(request.getHeader(HttpHeaders.RANGE));
+    ObjectDownload download = open(bucketName, key, versionId, range);
+    try {
+      ObjectInfo info = download.info();
+      String etag = info.getChecksum().isEmpty() ? null : "\"" + info.getChecksum() + "\"";
+      long lastModified = info.hasLastModified()
+              ? info.getLastModified().getSeconds() * 1000 + info.getLastModified().getNanos() / 1_000_000
+              : -1;
+
+      // Sets ETag and Last-Modified; answers 304 or 412 when a precondition says so
+      ServletWebRequest webRequest = new ServletWebRequest(request, response);
+      if (webRequest.checkNotModified(etag, lastModified)) {
+        return;
+      }
+
+      if (range != null && info.getSizeBytes() > 0
+              && !ifRangeMatches(request.getHeader(HttpHeaders.IF_RANGE), etag, lastModified)) {
+        // The client's copy is stale, so it gets the whole object instead of a piece
+        download.close();
+        range = null;
+        download = open(bucketName, key, versionId, null);
+        info = download.info();
+      }
+
+      boolean partial = range != null && info.getSizeBytes() > 0;
+      if (partial && info.getRangeLength() == 0) {
+        response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + info.getSizeBytes());
+        return;
+      }
+
+      response.setContentType(info.getContentType().isEmpty()
+              ? MediaType.APPLICATION_OCTET_STREAM_VALUE : info.getContentType());
+      response.setHeader(HttpHeaders.CONTENT_DISPOSITION, contentDisposition(key, inline));
+      response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+      response.setContentLengthLong(info.getRangeLength());
+      if (partial) {
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + info.getRangeStart() + "-"
+                + (info.getRangeStart() + info.getRangeLength() - 1) + "/" + info.getSizeBytes());
+      }
+      if (HttpMethod.HEAD.matches(request.getMethod())) {
+        return;
+      }
+
+      download.transferTo(response.getOutputStream());
+    } finally {
+      download.close();
+    }
+  }
+
+  private ObjectDownload open(String bucketName, String objectKey, String versionId, long[] range) {
+    return objectClientService.openObject(mapper.toGrpcRetrieveFile(bucketName, objectKey, versionId,
+            range != null ? range[0] : 0, range != null ? range[1] : 0));
+  }
+
+  /**
+   * Parses a single-range Range header into the object service's offset and length.
+   *
+   * @return {offset, length}, or null to send the whole object
+   */
+  private static long[] parseRange(String header) {
+    if (header == null) {
+      return null;
+    }
+    Matcher matcher = BYTE_RANGE.matcher(header.trim());
+    if (!matcher.matches()) {
+      return null;
+    }
+    try {
+      String first = matcher.group(1);
+      String last = matcher.group(2);
+      if (first.isEmpty()) {
+        // Suffix range: the last N bytes
+        long suffix = last.isEmpty() ? 0 : Long.parseLong(last);
+        return suffix > 0 ? new long[] {-suffix, 0} : null;
+      }
+      long offset = Long.parseLong(first);
+      if (last.isEmpty()) {
+        return new long[] {offset, 0};
+      }
+      long end = Long.parseLong(last);
+      return end >= offset ? new long[] {offset, end - offset + 1} : null;
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private static boolean ifRangeMatches(String ifRange, String etag, long lastModified) {
+    if (ifRange == null) {
+      return true;
+    }
+    if (ifRange.startsWith("\"")) {
+      return ifRange.equals(etag);
+    }
+    try {
+      // HTTP dates have whole seconds
+      long date = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+      return lastModified >= 0 && date == lastModified / 1000 * 1000;
+    } catch (DateTimeParseException e) {
+      return false;
+    }
+  }
+
+  private static String contentDisposition(String objectKey, boolean inline) {
+    String fileName = objectKey.substring(objectKey.lastIndexOf('/') + 1);
+    ContentDisposition.Builder builder = inline ? ContentDisposition.inline() : ContentDisposition.attachment();
+    return builder.filename(fileName, StandardCharsets.UTF_8).build().toString();
+  }
+
+  private static String stripSlash(String objectKey) {
+    return objectKey.startsWith("/") ? objectKey.substring(1) : objectKey;
+  }
+}
@@ -111,4 +111,23 @@ public class AuthDto {
    */
   public record MessageResponseDto(Boolean success, String message) {}
 
+  /**
+   * Dto for a public key in JSON Web Key form containing
+   * key ID, key type, algorithm, use, curve, and the point's coordinates.
+   */
+  public record JsonWebKeyDto(
+            String kid,
+            String kty,
+            String alg,
+            String use,
+            String crv,
+            String x,
+            String y
+  ) {}
+
+  /**
+   * Dto for a JSON Web Key Set containing the keys tokens may be signed with.
+   */
+  public record JwksDto(List<JsonWebKeyDto> keys) {}
+
 }
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.gateway.dto;
+
+/**
+ * Data Transfer Objects (Dtos) for object storage operations in the gateway service.
+ * Object data itself never goes through a Dto; it is streamed as the request or response body.
+ */
+public class ObjectDto {
+
+  /**
+   * Record class representing the result of storing an object.
+   *
+   * @param bucketName the name of the bucket the object was stored in
+   * @param objectKey the key of the stored object
+   * @param versionId the ID of the version that was created
+   * @param checksum the hex digest of the object's content
+   * @param checksumAlgorithm the algorithm the checksum was computed with
+   * @param sizeBytes the size of the object in bytes
+   * @param md5 the hex MD5 of the object's content, if it was computed
+   * @param crc32c the CRC32C of the object's content
+   */
+  public record StoredObjectDto(
+            String bucketName,
+            String objectKey,
+            String versionId,
+            String checksum,
+            String checksumAlgorithm,
+            Long sizeBytes,
+            String md5,
+            String crc32c
+  ) {}
+}
@@ -19,8 +19,13 @@
 
 package com.rakumo.gateway.filter;
 
-import com.rakumo.gateway.service.GrpcAuthClientService;
+import com.rakumo.gateway.service.AuthenticatedUser;
+import com.rakumo.gateway.service.JwtVerifier;
+import com.rakumo.gateway.service.TokenValidationCache;
+import com.rakumo.gateway.service.UserStatusCache;
 import io.grpc.StatusRuntimeException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,6 +35,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -39,15 +45,30 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 /**
  * Filter that intercepts incoming HTTP requests to validate JWT tokens.
- * It extracts the token from the Authorization header, validates it using the Auth service,
+ * It extracts the token from the Authorization header, validates it,
  * and sets the authentication in the security context if valid.
+ *
+ * <p>By default the signature and expiry are checked in-process and the authorities come from
+ * the token's claims, so role changes apply from the user's next token. The Auth service is
+ * only asked whether the account is still enabled, through {@link UserStatusCache}. With
+ * {@code app.jwt.local-verification=false} every token is validated by the Auth service,
+ * once per {@code app.jwt.validation-cache-ttl} through {@link TokenValidationCache}.
+ *
+ * <p>Validation runs inside a {@code gateway.authenticate} observation, so the auth service
+ * calls show up as children of the request's span and the trace context travels with them.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-  private final GrpcAuthClientService authClientService;
+  private final JwtVerifier jwtVerifier;
+  private final UserStatusCache userStatusCache;
+  private final TokenValidationCache tokenValidationCache;
+  private final ObservationRegistry observationRegistry;
+
+  @Value("${app.jwt.local-verification:true}")
+  private boolean localVerification;
 
   @Override
   protected void doFilterInternal(HttpServletRequest request,
@@ -59,20 +80,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     if (authHeader != null && authHeader.startsWith("Bearer ")) {
       String token = authHeader.substring(7);
 
-      try {
-        boolean isValid = authClientService.isValidToken(token);
-
-        if (isValid) {
-          var userResponse = authClientService.getUserInfo(token);
+      Observation observation = Observation.start("gateway.authenticate", observationRegistry);
+      try (Observation.Scope ignored = observation.openScope()) {
+        AuthenticatedUser user = localVerification
+                ? verifyLocally(token)
+                : tokenValidationCache.validate(token);
 
-          if (!userResponse.getIsEnabled()) {
-            log.warn("Authentication attempted with disabled account: {}", userResponse.getEmail());
+        if (user != null) {
+          if (!user.enabled()) {
+            log.warn("Authentication attempted with disabled account: {}", user.email());
+            observation.lowCardinalityKeyValue("outcome", "disabled");
             SecurityContextHolder.clearContext();
             sendErrorResponse(response, HttpServletResponse.SC_FORBIDDEN, "Account disabled");
             return;
           }
 
-          List<SimpleGrantedAuthority> authorities = userResponse.getRolesList().stream()
+          List<SimpleGrantedAuthority> authorities = user.roles().stream()
                   .map(role -> {
                     if (role.startsWith("ROLE_")) {
                       return role;
@@ -84,7 +107,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
           UsernamePasswordAuthenticationToken authentication =
                   new UsernamePasswordAuthenticationToken(
-                          userResponse.getEmail(),
+                          user.email(),
                           null,
                           authorities
                   );
@@ -92,26 +115,43 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
           authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
           SecurityContextHolder.getContext().setAuthentication(authentication);
-          log.debug("Authenticated user: {} with roles: {}", userResponse.getEmail(), authorities);
+          log.debug("Authenticated user: {} with roles: {}", user.email(), authorities);
+          observation.lowCardinalityKeyValue("outcome", "authenticated");
         } else {
           log.warn("Invalid JWT token received");
+          observation.lowCardinalityKeyValue("outcome", "invalid");
           SecurityContextHolder.clearContext();
         }
       } catch (StatusRuntimeException e) {
         log.error("Auth service unavailable during token validation: {}", e.getStatus());
+        observation.lowCardinalityKeyValue("outcome", "unavailable");
+        observation.error(e);
         SecurityContextHolder.clearContext();
         sendErrorResponse(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE,
                 "Authentication service unavailable");
         return;
       } catch (Exception e) {
         log.error("JWT validation failed: {}", e.getMessage());
+        observation.lowCardinalityKeyValue("outcome", "error");
+        observation.error(e);
         SecurityContextHolder.clearContext();
+      } finally {
+        observation.stop();
       }
     }
 
     filterChain.doFilter(request, response);
   }
 
+  private AuthenticatedUser verifyLocally(String token) {
+    JwtVerifier.VerifiedToken verified = jwtVerifier.verify(token);
+    if (verified == null) {
+      return null;
+    }
+    return new AuthenticatedUser(verified.userId(), verified.email(), verified.roles(),
+            userStatusCache.isEnabled(verified.userId(), token));
+  }
+
   private static void sendErrorResponse(HttpServletResponse response, int status, String message)
           throws IOException {
     response.setStatus(status);
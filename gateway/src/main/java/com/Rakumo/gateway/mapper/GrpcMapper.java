@@ -22,6 +22,7 @@ package com.rakumo.gateway.mapper;
 import com.google.protobuf.Timestamp;
 import com.rakumo.auth.grpc.AuthResponse;
 import com.rakumo.auth.grpc.EmailVerificationRequest;
+import com.rakumo.auth.grpc.JwksResponse;
 import com.rakumo.auth.grpc.JwtResponse;
 import com.rakumo.auth.grpc.LoginRequest;
 import com.rakumo.auth.grpc.LogoutRequest;
@@ -33,6 +34,7 @@ import com.rakumo.auth.grpc.UserResponse;
 import com.rakumo.auth.grpc.ValidateTokenRequest;
 import com.rakumo.gateway.dto.AuthDto;
 import com.rakumo.gateway.dto.MetadataDto;
+import com.rakumo.gateway.dto.ObjectDto;
 import com.rakumo.metadata.bucket.BucketListResponse;
 import com.rakumo.metadata.bucket.BucketResponse;
 import com.rakumo.metadata.bucket.CreateBucketRequest;
@@ -51,6 +53,10 @@ import com.rakumo.metadata.object.version.custom.CustomMetadataRequest;
 import com.rakumo.metadata.object.version.custom.CustomMetadataResponse;
 import com.rakumo.metadata.object.version.custom.GetMetadataRequest;
 import com.rakumo.metadata.object.version.custom.RemoveMetadataRequest;
+import com.rakumo.object.storage.DeleteFileRequestMessage;
+import com.rakumo.object.storage.RetrieveFileRequestMessage;
+import com.rakumo.object.storage.StoreFileHeader;
+import com.rakumo.object.storage.StoreFileResponseMessage;
 import java.time.Instant;
 import java.util.stream.Collectors;
 import org.springframework.stereotype.Component;
@@ -242,6 +248,26 @@ public class GrpcMapper {
     );
   }
 
+  /**
+   * Converts a JwksResponse gRPC message to a JwksDto.
+   *
+   * @param grpc the JwksResponse gRPC message containing the published keys
+   * @return a JwksDto built from the provided JwksResponse gRPC message
+   */
+  public AuthDto.JwksDto toDtoJwks(JwksResponse grpc) {
+    return new AuthDto.JwksDto(grpc.getKeysList().stream()
+            .map(key -> new AuthDto.JsonWebKeyDto(
+                    key.getKid(),
+                    key.getKty(),
+                    key.getAlg(),
+                    key.getUse(),
+                    key.getCrv(),
+                    key.getX(),
+                    key.getY()
+            ))
+            .collect(Collectors.toList()));
+  }
+
   // ========== BUCKET MAPPINGS ==========
 
   /**
@@ -506,4 +532,86 @@ public class GrpcMapper {
             grpc.getValue()
     );
   }
+
+  // ========== OBJECT MAPPINGS ==========
+
+  /**
+   * Builds the header that opens a streamed upload.
+   *
+   * @param ownerId the ID of the object's owner
+   * @param bucketName the name of the bucket to store the object in
+   * @param objectKey the key to store the object under
+   * @param contentType the object's content type, or null
+   * @param expectedChecksum the checksum the content must match, or null
+   * @return a StoreFileHeader gRPC message built from the provided values
+   */
+  public StoreFileHeader toGrpcStoreFileHeader(String ownerId, String bucketName, String objectKey,
+                                               String contentType, String expectedChecksum) {
+    return StoreFileHeader.newBuilder()
+            .setOwnerId(ownerId)
+            .setBucketName(bucketName)
+            .setObjectKey(objectKey)
+            .setContentType(contentType != null ? contentType : "")
+            .setExpectedChecksum(expectedChecksum != null ? expectedChecksum : "")
+            .build();
+  }
+
+  /**
+   * Builds a request to stream an object or a byte range of it.
+   *
+   * @param bucketName the name of the bucket containing the object
+   * @param objectKey the key of the object
+   * @param versionId the version to read, or null for the latest
+   * @param offset the first byte to send, or the number of trailing bytes when negative
+   * @param length the number of bytes to send, or 0 for up to the end
+   * @return a RetrieveFileRequestMessage gRPC message built from the provided values
+   */
+  public RetrieveFileRequestMessage toGrpcRetrieveFile(String bucketName, String objectKey,
+                                                       String versionId, long offset, long length) {
+    return RetrieveFileRequestMessage.newBuilder()
+            .setBucketName(bucketName)
+            .setObjectKey(objectKey)
+            .setVersionId(versionId != null ? versionId : "")
+            .setOffset(offset)
+            .setLength(length)
+            .build();
+  }
+
+  /**
+   * Builds a request to delete a stored object.
+   *
+   * @param ownerId the ID of the object's owner
+   * @param bucketName the name of the bucket containing the object
+   * @param objectKey the key of the object
+   * @param fileId the file ID returned when the object was stored
+   * @return a DeleteFileRequestMessage gRPC message built from the provided values
+   */
+  public DeleteFileRequestMessage toGrpcDeleteFile(String ownerId, String bucketName,
+                                                   String objectKey, String fileId) {
+    return DeleteFileRequestMessage.newBuilder()
+            .setOwnerId(ownerId)
+            .setBucketName(bucketName)
+            .setObjectKey(objectKey)
+            .setFileId(fileId)
+            .build();
+  }
+
+  /**
+   * Converts a StoreFileResponseMessage gRPC message to a StoredObjectDto.
+   *
+   * @param grpc the StoreFileResponseMessage gRPC message describing the stored object
+   * @return a StoredObjectDto built from the provided StoreFileResponseMessage gRPC message
+   */
+  public ObjectDto.StoredObjectDto toDtoStoredObject(StoreFileResponseMessage grpc) {
+    return new ObjectDto.StoredObjectDto(
+            grpc.getBucketName(),
+            grpc.getObjectKey(),
+            grpc.getVersionId(),
+            grpc.getChecksum(),
+            grpc.getChecksumAlgorithm(),
+            grpc.getSizeBytes(),
+            grpc.getMd5().isEmpty() ? null : grpc.getMd5(),
+            grpc.getCrc32C()
+    );
+  }
 }
@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.gateway.service;
+
+import java.util.List;
+
+/**
+ * The account behind a valid access token, as far as the gateway needs it to authorize
+ * a request.
+ *
+ * @param userId the ID of the user
+ * @param email the user's email, used as the principal name
+ * @param roles the user's roles, with or without the ROLE_ prefix
+ * @param enabled whether the account is enabled
+ */
+public record AuthenticatedUser(String userId, String email, List<String> roles,
+                                boolean enabled) {
+}
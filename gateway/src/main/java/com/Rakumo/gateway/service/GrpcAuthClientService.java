@@ -22,6 +22,8 @@ package com.rakumo.gateway.service;
 import com.rakumo.auth.grpc.AuthResponse;
 import com.rakumo.auth.grpc.AuthServiceGrpc;
 import com.rakumo.auth.grpc.EmailVerificationRequest;
+import com.rakumo.auth.grpc.GetJwksRequest;
+import com.rakumo.auth.grpc.JwksResponse;
 import com.rakumo.auth.grpc.JwtResponse;
 import com.rakumo.auth.grpc.LoginRequest;
 import com.rakumo.auth.grpc.LogoutRequest;
@@ -31,7 +33,12 @@ import com.rakumo.auth.grpc.RegisterRequest;
 import com.rakumo.auth.grpc.TokenValidationResponse;
 import com.rakumo.auth.grpc.UserResponse;
 import com.rakumo.auth.grpc.ValidateTokenRequest;
+import com.rakumo.auth.grpc.ValidateTokensRequest;
+import com.rakumo.auth.grpc.ValidateTokensResponse;
 import io.grpc.StatusRuntimeException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.client.inject.GrpcClient;
@@ -163,6 +170,43 @@ public class GrpcAuthClientService {
     }
   }
 
+  /**
+   * Calls the Auth service's validateTokens endpoint via gRPC.
+   *
+   * @param tokens the tokens to validate
+   * @param timeout how long to wait for the answer
+   * @return one result per token, in the same order, with the user for each valid token
+   */
+  public ValidateTokensResponse validateTokens(List<String> tokens, Duration timeout) {
+    try {
+      log.debug("Calling Auth service validateTokens for {} tokens", tokens.size());
+      return authStub.withDeadlineAfter(timeout.toMillis(), TimeUnit.MILLISECONDS)
+              .validateTokens(ValidateTokensRequest.newBuilder()
+              .addAllTokens(tokens)
+              .build());
+    } catch (StatusRuntimeException e) {
+      log.error("gRPC validateTokens call failed: {}", e.getStatus());
+      throw new RuntimeException("Auth service unavailable: " + e.getStatus().getDescription());
+    }
+  }
+
+  /**
+   * Calls the Auth service's getJwks endpoint via gRPC.
+   *
+   * @param timeout how long to wait for the answer
+   * @return the public keys that live tokens may be signed with
+   */
+  public JwksResponse getJwks(Duration timeout) {
+    try {
+      log.debug("Calling Auth service getJwks");
+      return authStub.withDeadlineAfter(timeout.toMillis(), TimeUnit.MILLISECONDS)
+              .getJwks(GetJwksRequest.getDefaultInstance());
+    } catch (StatusRuntimeException e) {
+      log.error("gRPC getJwks call failed: {}", e.getStatus());
+      throw new RuntimeException("Auth service unavailable: " + e.getStatus().getDescription());
+    }
+  }
+
   /**
    * method to check if a token is valid by calling the validateToken gRPC method.
    *
@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.gateway.service;
+
+import com.google.protobuf.ByteString;
+import com.rakumo.object.storage.DeleteFileRequestMessage;
+import com.rakumo.object.storage.DeleteFileResponseMessage;
+import com.rakumo.object.storage.FileChunkMessage;
+import com.rakumo.object.storage.FileStorageServiceProtoGrpc;
+import com.rakumo.object.storage.RetrieveFileRequestMessage;
+import com.rakumo.object.storage.StoreFileHeader;
+import com.rakumo.object.storage.StoreFileResponseMessage;
+import com.rakumo.object.storage.StoreFileStreamMessage;
+import io.grpc.Context;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.client.inject.GrpcClient;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Service for streaming objects to and from the Object service via gRPC.
+ * Uploads and downloads move through the gateway in {@value #CHUNK_SIZE}-byte frames, with
+ * gRPC flow control on both sides, so no object is ever held whole in the gateway heap.
+ */
+@Slf4j
+@Service
+public class GrpcObjectClientService {
+
+  /**
+   * Size of the frames a request body is cut into, matching what the object service sends.
+   */
+  public static final int CHUNK_SIZE = 64 * 1024;
+
+  // Read by the object service's upload admission control
+  private static final Metadata.Key<String> UPLOAD_SIZE =
+          Metadata.Key.of("x-upload-size", Metadata.ASCII_STRING_MARSHALLER);
+
+  @GrpcClient("object-service")
+  private FileStorageServiceProtoGrpc.FileStorageServiceProtoStub fileStorageAsyncStub;
+
+  @GrpcClient("object-service")
+  private FileStorageServiceProtoGrpc.FileStorageServiceProtoBlockingStub fileStorageStub;
+
+  /**
+   * Streams an upload to the Object service's StoreFileStream endpoint. Each frame is sent
+   * only once the transport is ready for it, so a slow object service holds back reading
+   * the request body instead of frames queueing up in memory.
+   *
+   * @param header where to store the object and how to check it
+   * @param body the object's bytes, typically the servlet request body
+   * @param contentLength the announced size, or -1 if unknown
+   * @return the stored object's version and checksums
+   * @throws IOException if reading the body fails
+   * @throws ResponseStatusException if the Object service rejects or fails the upload
+   */
+  public StoreFileResponseMessage storeFile(StoreFileHeader header, InputStream body, long contentLength)
+          throws IOException {
+    FileStorageServiceProtoGrpc.FileStorageServiceProtoStub stub = fileStorageAsyncStub;
+    if (contentLength >= 0) {
+      Metadata headers = new Metadata();
+      headers.put(UPLOAD_SIZE, Long.toString(contentLength));
+      stub = stub.withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers));
+    }
+
+    log.info("Streaming upload of {}/{}", header.getBucketName(), header.getObjectKey());
+    UploadCall call = new UploadCall();
+    StreamObserver<StoreFileStreamMessage> requests = stub.storeFileStream(call);
+    try {
+      requests.onNext(StoreFileStreamMessage.newBuilder().setHeader(header).build());
+      byte[] buffer = new byte[CHUNK_SIZE];
+      int bytesRead;
+      while ((bytesRead = body.readNBytes(buffer, 0, buffer.length)) > 0) {
+        if (!call.awaitReady()) {
+          // Failed early; the outcome is reported below
+          break;
+        }
+        requests.onNext(StoreFileStreamMessage.newBuilder()
+                .setData(ByteString.copyFrom(buffer, 0, bytesRead))
+                .build());
+      }
+      requests.onCompleted();
+    } catch (IOException | RuntimeException e) {
+      requests.onError(e);
+      throw e;
+    }
+
+    try {
+      return call.result();
+    } catch (StatusRuntimeException e) {
+      log.error("Streaming upload failed: {}", e.getStatus());
+      throw toResponseStatus(e);
+    }
+  }
+
+  /**
+   * Opens an object for streaming through the Object service's RetrieveFileStream endpoint
+   * and waits for its info. The caller must close the returned download.
+   *
+   * @param request the object and byte range to send
+   * @return the open download
+   * @throws ResponseStatusException if the object cannot be opened
+   */
+  public ObjectDownload openObject(RetrieveFileRequestMessage request) {
+    Context.CancellableContext context = Context.current().withCancellation();
+    Context previous = context.attach();
+    try {
+      Iterator<FileChunkMessage> frames = fileStorageStub.retrieveFileStream(request);
+      return new ObjectDownload(context, frames, frames.next().getInfo());
+    } catch (StatusRuntimeException e) {
+      context.cancel(e);
+      log.error("Opening {}/{} failed: {}", request.getBucketName(), request.getObjectKey(), e.getStatus());
+      throw toResponseStatus(e);
+    } finally {
+      context.detach(previous);
+    }
+  }
+
+  /**
+   * Deletes a stored object through the Object service.
+   *
+   * @param request the object to delete, identified by its file ID
+   * @return the deletion result
+   * @throws ResponseStatusException if the deletion fails
+   */
+  public DeleteFileResponseMessage deleteFile(DeleteFileRequestMessage request) {
+    try {
+      log.info("Deleting object: {}/{}", request.getBucketName(), request.getObjectKey());
+      return fileStorageStub.deleteFile(request);
+    } catch (StatusRuntimeException e) {
+      log.error("Object deletion failed: {}", e.getStatus());
+      throw toResponseStatus(e);
+    }
+  }
+
+  private static ResponseStatusException toResponseStatus(StatusRuntimeException e) {
+    HttpStatus status = switch (e.getStatus().getCode()) {
+      case NOT_FOUND -> HttpStatus.NOT_FOUND;
+      case INVALID_ARGUMENT -> HttpStatus.BAD_REQUEST;
+      case RESOURCE_EXHAUSTED, UNAVAILABLE -> HttpStatus.SERVICE_UNAVAILABLE;
+      case DEADLINE_EXCEEDED -> HttpStatus.GATEWAY_TIMEOUT;
+      default -> HttpStatus.BAD_GATEWAY;
+    };
+    return new ResponseStatusException(status, e.getStatus().getDescription(), e);
+  }
+
+  /**
+   * Response side of a StoreFileStream call, which also lets the sending thread wait for
+   * the transport to become ready.
+   */
+  private static final class UploadCall
+          implements ClientResponseObserver<StoreFileStreamMessage, StoreFileResponseMessage> {
+
+    private final CompletableFuture<StoreFileResponseMessage> outcome = new CompletableFuture<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private ClientCallStreamObserver<StoreFileStreamMessage> requests;
+
+    @Override
+    public void beforeStart(ClientCallStreamObserver<StoreFileStreamMessage> requests) {
+      this.requests = requests;
+      requests.setOnReadyHandler(this::signal);
+    }
+
+    @Override
+    public void onNext(StoreFileResponseMessage response) {
+      outcome.complete(response);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      outcome.completeExceptionally(t);
+      signal();
+    }
+
+    @Override
+    public void onCompleted() {
+      outcome.completeExceptionally(Status.INTERNAL
+              .withDescription("Upload completed without a response")
+              .asRuntimeException());
+      signal();
+    }
+
+    /**
+     * Waits until the transport can take another frame.
+     *
+     * @return false once the call has ended, in which case nothing more should be sent
+     */
+    boolean awaitReady() throws InterruptedIOException {
+      lock.lock();
+      try {
+        while (!requests.isReady() && !outcome.isDone()) {
+          changed.await();
+        }
+        return !outcome.isDone();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while streaming upload");
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    StoreFileResponseMessage result() throws InterruptedIOException {
+      try {
+        return outcome.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for upload result");
+      } catch (ExecutionException e) {
+        throw Status.fromThrowable(e.getCause()).asRuntimeException();
+      }
+    }
+
+    private void signal() {
+      lock.lock();
+      try {
+        changed.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+}
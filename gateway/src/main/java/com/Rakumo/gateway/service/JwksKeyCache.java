@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.gateway.service;
+
+import com.rakumo.auth.grpc.JsonWebKey;
+import com.rakumo.auth.grpc.JwksResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the Auth service's published signing keys, so that tokens can be verified without
+ * calling it. The keys are fetched with GetJwks at startup and every
+ * {@code app.jwt.jwks.refresh-interval}. A token naming a key that is not held yet (one
+ * that was just rotated in) triggers an early fetch, at most once per
+ * {@code app.jwt.jwks.min-refresh-interval} so that made-up key IDs cannot flood the Auth
+ * service.
+ *
+ * <p>No lock is held across the GetJwks call: concurrent lookups share the fetch already in
+ * flight and the new keys replace the old ones in a single volatile write.
+ */
+@Slf4j
+@Component
+public class JwksKeyCache {
+
+  private static final ECParameterSpec P256 = p256();
+
+  private final GrpcAuthClientService authClientService;
+  private final Duration refreshInterval;
+  private final long minRefreshIntervalNanos;
+  private final ScheduledExecutorService refresher =
+          Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                  .name("jwks-refresh")
+                  .daemon()
+                  .factory());
+
+  private final Duration fetchTimeout;
+  private final AtomicReference<CompletableFuture<Void>> inflight = new AtomicReference<>();
+
+  private volatile Jwks jwks = new Jwks(JwksResponse.getDefaultInstance(), Map.of());
+  private volatile long lastFetchNanos;
+  private volatile boolean fetched;
+
+  /**
+   * Creates the cache.
+   *
+   * @param authClientService the client used to fetch the keys
+   * @param refreshInterval how often the keys are fetched
+   * @param minRefreshInterval the shortest time between fetches triggered by unknown keys
+   * @param fetchTimeout how long a fetch may take before it is given up
+   */
+  public JwksKeyCache(GrpcAuthClientService authClientService,
+                      @Value("${app.jwt.jwks.refresh-interval:5m}") Duration refreshInterval,
+                      @Value("${app.jwt.jwks.min-refresh-interval:30s}")
+                      Duration minRefreshInterval,
+                      @Value("${app.jwt.jwks.fetch-timeout:5s}") Duration fetchTimeout) {
+    this.authClientService = authClientService;
+    this.refreshInterval = refreshInterval;
+    this.minRefreshIntervalNanos = minRefreshInterval.toNanos();
+    this.fetchTimeout = fetchTimeout;
+  }
+
+  /**
+   * Starts fetching the keys in the background.
+   */
+  @PostConstruct
+  public void start() {
+    refresher.scheduleWithFixedDelay(this::refreshQuietly, 0, refreshInterval.toMillis(),
+            TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops the background fetches.
+   */
+  @PreDestroy
+  public void stop() {
+    refresher.shutdownNow();
+  }
+
+  /**
+   * Looks up a signing key, fetching the keys again if it is unknown and the last fetch is
+   * old enough.
+   *
+   * @param keyId the {@code kid} header of a token
+   * @return the public key, or null if the Auth service does not publish it
+   */
+  public PublicKey find(String keyId) {
+    PublicKey key = jwks.keys().get(keyId);
+    return key != null ? key : refreshFor(keyId);
+  }
+
+  /**
+   * Returns the keys as last fetched, for republishing to other verifiers.
+   *
+   * @return the last GetJwks response, or an empty one before the first fetch succeeds
+   */
+  public JwksResponse current() {
+    return jwks.response();
+  }
+
+  private PublicKey refreshFor(String keyId) {
+    if (fetched && System.nanoTime() - lastFetchNanos < minRefreshIntervalNanos) {
+      // A fetch since the lookup in find may have brought it in
+      return jwks.keys().get(keyId);
+    }
+    log.info("Fetching signing keys for unknown key {}", keyId);
+    refreshQuietly();
+    return jwks.keys().get(keyId);
+  }
+
+  /**
+   * Fetches the keys, or waits for the fetch already in flight to finish.
+   */
+  private void refreshQuietly() {
+    CompletableFuture<Void> fetch = new CompletableFuture<>();
+    CompletableFuture<Void> running = inflight.compareAndExchange(null, fetch);
+    if (running != null) {
+      running.join();
+      return;
+    }
+    fetched = true;
+    lastFetchNanos = System.nanoTime();
+    try {
+      JwksResponse response = authClientService.getJwks(fetchTimeout);
+      Map<String, PublicKey> keys = new HashMap<>();
+      for (JsonWebKey key : response.getKeysList()) {
+        if (!"EC".equals(key.getKty()) || !"P-256".equals(key.getCrv())) {
+          log.warn("Skipping signing key {} of unsupported type {} {}", key.getKid(),
+                  key.getKty(), key.getCrv());
+          continue;
+        }
+        keys.put(key.getKid(), toPublicKey(key));
+      }
+      jwks = new Jwks(response, Map.copyOf(keys));
+      log.debug("Holding {} signing keys", keys.size());
+    } catch (RuntimeException | GeneralSecurityException e) {
+      log.warn("Failed to fetch signing keys, keeping {} held: {}", jwks.keys().size(),
+              e.getMessage());
+    } finally {
+      inflight.set(null);
+      fetch.complete(null);
+    }
+  }
+
+  private static PublicKey toPublicKey(JsonWebKey key) throws GeneralSecurityException {
+    Base64.Decoder decoder = Base64.getUrlDecoder();
+    ECPoint point = new ECPoint(new BigInteger(1, decoder.decode(key.getX())),
+            new BigInteger(1, decoder.decode(key.getY())));
+    return KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(point, P256));
+  }
+
+  private static ECParameterSpec p256() {
+    try {
+      AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+      parameters.init(new ECGenParameterSpec("secp256r1"));
+      return parameters.getParameterSpec(ECParameterSpec.class);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("P-256 not available", e);
+    }
+  }
+
+  private record Jwks(JwksResponse response, Map<String, PublicKey> keys) {}
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.gateway.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+import java.security.Key;
+import java.time.Instant;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Verifies access tokens in-process against the Auth service's published ES256 keys, so
+ * that authenticating a request needs no round-trip to the Auth service.
+ * The parser is built once; it is immutable and safe to share between threads, and looks
+ * each token's {@code kid} up in {@link JwksKeyCache}.
+ */
+@Slf4j
+@Component
+public class JwtVerifier {
+
+  private final JwtParser parser;
+
+  /**
+   * Creates a verifier for tokens signed with the Auth service's published keys.
+   *
+   * @param keyCache the keys the Auth service currently publishes
+   */
+  public JwtVerifier(JwksKeyCache keyCache) {
+    this.parser = Jwts.parserBuilder()
+            .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+              @Override
+              @SuppressWarnings("rawtypes")
+              public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                // Only ES256 is issued; refusing anything else rules out algorithm confusion
+                if (!SignatureAlgorithm.ES256.getValue().equals(header.getAlgorithm())) {
+                  throw new SignatureException("Unexpected algorithm: " + header.getAlgorithm());
+                }
+                Key key = header.getKeyId() != null ? keyCache.find(header.getKeyId()) : null;
+                if (key == null) {
+                  throw new SignatureException("Unknown signing key: " + header.getKeyId());
+                }
+                return key;
+              }
+            })
+            .build();
+  }
+
+  /**
+   * Checks the token's signature and expiry and reads its claims.
+   *
+   * @param token the compact JWT from the Authorization header
+   * @return the verified claims, or null if the token is invalid, expired or not an access token
+   */
+  public VerifiedToken verify(String token) {
+    Claims claims;
+    try {
+      claims = parser.parseClaimsJws(token).getBody();
+    } catch (JwtException | IllegalArgumentException e) {
+      log.debug("JWT rejected: {}", e.getMessage());
+      return null;
+    }
+
+    // Refresh tokens are signed with the same key but carry no roles
+    Object roles = claims.get("roles");
+    String userId = claims.get("userId", String.class);
+    if (!(roles instanceof List<?> roleList) || userId == null) {
+      log.debug("JWT rejected: not an access token");
+      return null;
+    }
+
+    return new VerifiedToken(
+            claims.getId(),
+            userId,
+            claims.get("email", String.class) != null ? claims.get("email", String.class) : claims.getSubject(),
+            roleList.stream().map(String::valueOf).toList(),
+            claims.getExpiration().toInstant()
+    );
+  }
+
+  /**
+   * Claims of a verified access token.
+   *
+   * @param tokenId the token's jti
+   * @param userId the ID of the user the token was issued to
+   * @param email the user's email
+   * @param roles the user's roles when the token was issued
+   * @param expiresAt when the token expires
+   */
+  public record VerifiedToken(String tokenId, String userId, String email, List<String> roles,
+                              Instant expiresAt) {}
+}
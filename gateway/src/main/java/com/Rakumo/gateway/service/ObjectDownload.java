@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.gateway.service;
+
+import com.rakumo.object.storage.FileChunkMessage;
+import com.rakumo.object.storage.ObjectInfo;
+import io.grpc.Context;
+import io.grpc.StatusRuntimeException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * An object being streamed from the object service. Its {@link ObjectInfo} has arrived;
+ * the data follows frame by frame as it is transferred. Closing cancels the call, so an
+ * abandoned download stops reading on the object service too.
+ */
+public final class ObjectDownload implements AutoCloseable {
+
+  private final Context.CancellableContext context;
+  private final Iterator<FileChunkMessage> frames;
+  private final ObjectInfo info;
+
+  ObjectDownload(Context.CancellableContext context, Iterator<FileChunkMessage> frames, ObjectInfo info) {
+    this.context = context;
+    this.frames = frames;
+    this.info = info;
+  }
+
+  /**
+   * Returns what the object service sent ahead of the data.
+   *
+   * @return the object's size, validators and the byte range being sent
+   */
+  public ObjectInfo info() {
+    return info;
+  }
+
+  /**
+   * Writes the data to the given stream as it arrives. The blocking stub requests one
+   * frame at a time, so at most one frame is held in memory.
+   *
+   * @param out the stream to write to, typically the servlet response
+   * @return the number of bytes written
+   * @throws IOException if writing fails, e.g. because the client went away
+   * @throws StatusRuntimeException if the object service fails mid-stream
+   */
+  public long transferTo(OutputStream out) throws IOException {
+    long transferred = 0;
+    while (frames.hasNext()) {
+      FileChunkMessage frame = frames.next();
+      frame.getData().writeTo(out);
+      transferred += frame.getData().size();
+    }
+    return transferred;
+  }
+
+  @Override
+  public void close() {
+    context.cancel(null);
+  }
+}
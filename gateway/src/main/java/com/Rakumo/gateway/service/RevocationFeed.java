@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.gateway.service;
+
+import com.rakumo.auth.grpc.AuthServiceGrpc;
+import com.rakumo.auth.grpc.RevocationEvent;
+import com.rakumo.auth.grpc.WatchRevocationsRequest;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.client.inject.GrpcClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps a WatchRevocations stream open to the Auth service and drops cached validation
+ * results for every user whose account changes, in {@link TokenValidationCache} and
+ * {@link UserStatusCache} alike.
+ *
+ * <p>The Auth service still decides whether a token is valid; an event only forces the next
+ * request to ask again. Events sent while the stream was down are lost, so both caches are
+ * cleared whenever a stream starts. If the stream cannot be opened the caches keep working
+ * on their TTLs alone, and the stream is retried with exponential backoff.
+ *
+ * <p>The stream goes to a single Auth instance, which only reports changes made through
+ * itself. With several Auth instances behind {@code auth-service}, changes made through the
+ * others reach this gateway only when the cached entries expire, so keep
+ * {@code app.jwt.validation-cache-ttl} and {@code app.jwt.status-ttl} as short as that
+ * staleness allows, or run one Auth instance per revocation domain.
+ */
+@Slf4j
+@Component
+public class RevocationFeed {
+
+  private final TokenValidationCache tokenValidationCache;
+  private final UserStatusCache userStatusCache;
+  private final String subscriber;
+  private final long initialBackoffMs;
+  private final long maxBackoffMs;
+  private final ScheduledExecutorService reconnector =
+          Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                  .name("revocation-feed")
+                  .daemon()
+                  .factory());
+
+  @GrpcClient("auth-service")
+  private AuthServiceGrpc.AuthServiceStub authAsyncStub;
+
+  private ClientCallStreamObserver<WatchRevocationsRequest> call;
+  private long backoffMs;
+  private boolean stopped;
+
+  /**
+   * Creates the feed.
+   *
+   * @param tokenValidationCache the cache of remotely validated tokens
+   * @param userStatusCache the cache of account statuses for locally verified tokens
+   * @param subscriber the name this gateway reports to the Auth service
+   * @param initialBackoff the wait before the first reconnect attempt
+   * @param maxBackoff the longest wait between reconnect attempts
+   */
+  public RevocationFeed(TokenValidationCache tokenValidationCache,
+                        UserStatusCache userStatusCache,
+                        @Value("${spring.application.name:gateway}") String subscriber,
+                        @Value("${app.jwt.revocation-feed.initial-backoff:1s}")
+                        Duration initialBackoff,
+                        @Value("${app.jwt.revocation-feed.max-backoff:30s}")
+                        Duration maxBackoff) {
+    this.tokenValidationCache = tokenValidationCache;
+    this.userStatusCache = userStatusCache;
+    this.subscriber = subscriber;
+    this.initialBackoffMs = initialBackoff.toMillis();
+    this.maxBackoffMs = maxBackoff.toMillis();
+    this.backoffMs = initialBackoffMs;
+  }
+
+  /**
+   * Opens the first stream.
+   */
+  @PostConstruct
+  public void start() {
+    reconnector.execute(this::connect);
+  }
+
+  /**
+   * Cancels the stream and stops reconnecting.
+   */
+  @PreDestroy
+  public synchronized void stop() {
+    stopped = true;
+    if (call != null) {
+      call.cancel("Gateway shutting down", null);
+    }
+    reconnector.shutdownNow();
+  }
+
+  private synchronized void connect() {
+    if (stopped) {
+      return;
+    }
+    log.info("Opening revocation feed from the Auth service");
+    authAsyncStub.watchRevocations(
+            WatchRevocationsRequest.newBuilder().setSubscriber(subscriber).build(),
+            new Watcher());
+  }
+
+  private synchronized void reconnectLater(Throwable cause) {
+    if (stopped) {
+      return;
+    }
+    log.warn("Revocation feed closed ({}), reconnecting in {} ms",
+            cause != null ? cause.getMessage() : "completed", backoffMs);
+    reconnector.schedule(this::connect, backoffMs, TimeUnit.MILLISECONDS);
+    backoffMs = Math.min(backoffMs * 2, maxBackoffMs);
+  }
+
+  private synchronized void connected() {
+    backoffMs = initialBackoffMs;
+  }
+
+  private class Watcher
+          implements ClientResponseObserver<WatchRevocationsRequest, RevocationEvent> {
+
+    @Override
+    public void beforeStart(ClientCallStreamObserver<WatchRevocationsRequest> requestStream) {
+      synchronized (RevocationFeed.this) {
+        call = requestStream;
+      }
+    }
+
+    @Override
+    public void onNext(RevocationEvent event) {
+      if (event.getUserId().isEmpty()) {
+        // Start of a stream: anything revoked while it was down went unreported
+        tokenValidationCache.invalidateAll();
+        userStatusCache.invalidateAll();
+        connected();
+        log.info("Revocation feed connected; cleared cached validations");
+        return;
+      }
+      tokenValidationCache.invalidateUser(event.getUserId());
+      userStatusCache.invalidate(event.getUserId());
+      log.debug("Dropped cached validations for user {}", event.getUserId());
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      reconnectLater(t);
+    }
+
+    @Override
+    public void onCompleted() {
+      reconnectLater(null);
+    }
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.gateway.service;
+
+import com.rakumo.auth.grpc.TokenValidationResult;
+import com.rakumo.auth.grpc.UserResponse;
+import com.rakumo.auth.grpc.ValidateTokensResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesces concurrent token validations into ValidateTokens calls to the Auth service.
+ *
+ * <p>Callers block on a future while a single collector thread gathers every token that
+ * arrives within {@code app.jwt.validation-batch.window} of the first, up to
+ * {@code app.jwt.validation-batch.max-size}, and sends them in one call. Each batch is sent
+ * from its own virtual thread, so the next window opens while the previous call is in
+ * flight. Under load this turns one or two calls per request into one call per window.
+ * Each call has a deadline of {@code app.jwt.validation-batch.timeout}, and no caller waits
+ * longer than that plus the window.
+ */
+@Slf4j
+@Component
+public class TokenValidationBatcher {
+
+  private final GrpcAuthClientService authClientService;
+  private final long windowNanos;
+  private final int maxBatch;
+  private final Duration timeout;
+  private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+  private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+  private volatile boolean running;
+  private Thread collector;
+
+  /**
+   * Creates the batcher.
+   *
+   * @param authClientService the client used to send each batch
+   * @param window how long a batch stays open after its first token
+   * @param maxBatch the most tokens sent in one call
+   * @param timeout the deadline of each call
+   */
+  public TokenValidationBatcher(GrpcAuthClientService authClientService,
+                                @Value("${app.jwt.validation-batch.window:1ms}") Duration window,
+                                @Value("${app.jwt.validation-batch.max-size:256}") int maxBatch,
+                                @Value("${app.jwt.validation-batch.timeout:5s}") Duration timeout) {
+    this.authClientService = authClientService;
+    this.windowNanos = window.toNanos();
+    this.maxBatch = maxBatch;
+    this.timeout = timeout;
+  }
+
+  /**
+   * Starts the collector thread.
+   */
+  @PostConstruct
+  public void start() {
+    running = true;
+    collector = new Thread(this::collectLoop, "token-validation-batcher");
+    collector.setDaemon(true);
+    collector.start();
+    log.info("Token validation batching enabled with a {}us window",
+            TimeUnit.NANOSECONDS.toMicros(windowNanos));
+  }
+
+  /**
+   * Sends whatever is queued and stops the collector thread.
+   *
+   * @throws InterruptedException if interrupted while waiting for the collector to finish
+   */
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    if (collector != null) {
+      collector.interrupt();
+      collector.join();
+    }
+    senders.close();
+    Pending pending;
+    while ((pending = queue.poll()) != null) {
+      pending.result().completeExceptionally(
+              new IllegalStateException("Token validation batcher is stopped"));
+    }
+  }
+
+  /**
+   * Validates the token as part of the next batch, blocking until the batch is answered.
+   *
+   * @param token the compact JWT from the Authorization header
+   * @return the account behind the token, or null if the Auth service rejected it
+   * @throws RuntimeException if the Auth service cannot be reached or does not answer in time
+   */
+  public AuthenticatedUser validate(String token) {
+    Pending pending = new Pending(token, new CompletableFuture<>());
+    if (!running) {
+      throw new IllegalStateException("Token validation batcher is stopped");
+    }
+    queue.add(pending);
+    try {
+      // The call's own deadline normally fires first; this also covers time spent queued
+      return pending.result().get(windowNanos + timeout.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      throw new IllegalStateException("Timed out waiting for token validation", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted waiting for token validation", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      throw new IllegalStateException("Token validation failed", e.getCause());
+    }
+  }
+
+  private void collectLoop() {
+    List<Pending> batch = new ArrayList<>();
+    while (running || !queue.isEmpty()) {
+      try {
+        Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+
+        // Give concurrent requests a short window to join this call
+        long deadline = System.nanoTime() + windowNanos;
+        while (batch.size() < maxBatch) {
+          long remaining = deadline - System.nanoTime();
+          Pending next = remaining > 0
+                  ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+                  : queue.poll();
+          if (next == null) {
+            break;
+          }
+          batch.add(next);
+        }
+      } catch (InterruptedException e) {
+        // Shutting down: send whatever is already queued
+        queue.drainTo(batch);
+      }
+
+      if (!batch.isEmpty()) {
+        List<Pending> toSend = List.copyOf(batch);
+        senders.execute(() -> send(toSend));
+        batch.clear();
+      }
+    }
+  }
+
+  private void send(List<Pending> batch) {
+    // The same token may be queued twice before the first answer is cached
+    Map<String, List<CompletableFuture<AuthenticatedUser>>> byToken = new LinkedHashMap<>();
+    batch.forEach(p -> byToken.computeIfAbsent(p.token(), t -> new ArrayList<>(1)).add(p.result()));
+    List<String> tokens = List.copyOf(byToken.keySet());
+
+    ValidateTokensResponse response;
+    try {
+      response = authClientService.validateTokens(tokens, timeout);
+    } catch (RuntimeException e) {
+      byToken.values().forEach(results -> results.forEach(r -> r.completeExceptionally(e)));
+      return;
+    }
+
+    for (int i = 0; i < tokens.size(); i++) {
+      AuthenticatedUser user = i < response.getResultsCount()
+              ? toAuthenticatedUser(response.getResults(i))
+              : null;
+      byToken.get(tokens.get(i)).forEach(r -> r.complete(user));
+    }
+    log.trace("Validated {} tokens for {} requests in one call", tokens.size(), batch.size());
+  }
+
+  private static AuthenticatedUser toAuthenticatedUser(TokenValidationResult result) {
+    if (!result.getValid()) {
+      return null;
+    }
+    UserResponse user = result.getUser();
+    return new AuthenticatedUser(user.getId(), user.getEmail(), user.getRolesList(),
+            user.getIsEnabled());
+  }
+
+  private record Pending(String token, CompletableFuture<AuthenticatedUser> result) {}
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.gateway.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the Auth service's verdict on each access token, for deployments that validate
+ * every token remotely. SPA clients send the same token thousands of times a minute; with
+ * this cache they cost one validation per token per {@code app.jwt.validation-cache-ttl},
+ * and concurrent misses for a token share it. Misses for different tokens are sent
+ * together by {@link TokenValidationBatcher}.
+ *
+ * <p>Entries are keyed by the SHA-256 of the whole token, never by a claim, so a forged
+ * token cannot reuse another token's entry. An entry lives until the earlier of the token's
+ * expiry and the TTL ceiling, which bounds how stale the account's enabled flag can get.
+ * Only valid tokens are cached.
+ *
+ * <p>When {@link RevocationFeed} reports a change to an account, the time is recorded for
+ * that user. An entry whose validation started before it is thrown away on its next read and
+ * the token validated again, which also catches validations that were still in flight when
+ * the change was reported.
+ */
+@Slf4j
+@Component
+public class TokenValidationCache {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  // Not a UUID, so it never collides with a user ID
+  private static final String ALL_USERS = "*";
+
+  private final TokenValidationBatcher batcher;
+  private final Cache<String, Validation> validated;
+  // User ID to System.nanoTime() of the last reported change; kept as long as an entry lives
+  private final Cache<String, Long> revokedAt;
+
+  /**
+   * Creates the cache.
+   *
+   * @param batcher the batcher that validates tokens on a miss
+   * @param ttl the longest a validation result is trusted
+   * @param maxTokens the most tokens kept at once
+   */
+  public TokenValidationCache(TokenValidationBatcher batcher,
+                              @Value("${app.jwt.validation-cache-ttl:30s}") Duration ttl,
+                              @Value("${app.jwt.validation-cache-size:100000}") long maxTokens) {
+    this.batcher = batcher;
+    this.validated = Caffeine.newBuilder()
+            .expireAfter(new TokenExpiry(ttl.toNanos()))
+            .maximumSize(maxTokens)
+            .build();
+    this.revokedAt = Caffeine.newBuilder()
+            .expireAfterWrite(ttl)
+            .build();
+  }
+
+  /**
+   * Returns the account behind the token, asking the Auth service on a miss.
+   *
+   * @param token the compact JWT from the Authorization header
+   * @return the account, or null if the Auth service rejected the token
+   * @throws RuntimeException if the Auth service cannot be reached on a miss
+   */
+  public AuthenticatedUser validate(String token) {
+    String key = key(token);
+    Validation validation = validated.get(key, k -> load(token));
+    if (validation != null && isRevoked(validation)) {
+      validated.asMap().remove(key, validation);
+      validation = validated.get(key, k -> load(token));
+    }
+    return validation != null ? validation.user() : null;
+  }
+
+  /**
+   * Marks every cached token of the user as stale, including validations still in flight,
+   * so that their next request is validated again.
+   *
+   * @param userId the ID of the user whose account changed
+   */
+  public void invalidateUser(String userId) {
+    revokedAt.put(userId, System.nanoTime());
+  }
+
+  /**
+   * Drops every cached token, including validations still in flight.
+   */
+  public void invalidateAll() {
+    revokedAt.put(ALL_USERS, System.nanoTime());
+    validated.invalidateAll();
+  }
+
+  private Validation load(String token) {
+    long startedNanos = System.nanoTime();
+    AuthenticatedUser user = batcher.validate(token);
+    return user != null ? new Validation(user, expiresAtMillis(token), startedNanos) : null;
+  }
+
+  private boolean isRevoked(Validation validation) {
+    return revokedSince(ALL_USERS, validation.startedNanos())
+            || revokedSince(validation.user().userId(), validation.startedNanos());
+  }
+
+  private boolean revokedSince(String userId, long startedNanos) {
+    Long revoked = revokedAt.getIfPresent(userId);
+    return revoked != null && revoked - startedNanos >= 0;
+  }
+
+  private static String key(String token) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256")
+              .digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  /**
+   * Reads the expiry from the token's payload without checking the signature. That is safe
+   * here because an entry only exists once the Auth service has accepted the exact token.
+   */
+  private static long expiresAtMillis(String token) {
+    int start = token.indexOf('.');
+    int end = token.indexOf('.', start + 1);
+    if (start < 0 || end < 0) {
+      return Long.MAX_VALUE;
+    }
+    try {
+      byte[] payload = Base64.getUrlDecoder().decode(token.substring(start + 1, end));
+      JsonNode exp = MAPPER.readTree(payload).get("exp");
+      return exp != null && exp.canConvertToLong()
+              ? TimeUnit.SECONDS.toMillis(exp.asLong())
+              : Long.MAX_VALUE;
+    } catch (IOException | IllegalArgumentException e) {
+      log.debug("Could not read token expiry: {}", e.getMessage());
+      return Long.MAX_VALUE;
+    }
+  }
+
+  private record Validation(AuthenticatedUser user, long expiresAtMillis, long startedNanos) {}
+
+  /**
+   * Expires an entry at the token's own expiry or after the ceiling, whichever comes first.
+   */
+  private record TokenExpiry(long ceilingNanos) implements Expiry<String, Validation> {
+
+    @Override
+    public long expireAfterCreate(String key, Validation value, long currentTime) {
+      long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+      if (remainingMillis <= 0) {
+        return 0;
+      }
+      return Math.min(ceilingNanos, TimeUnit.MILLISECONDS.toNanos(remainingMillis));
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, Validation value, long currentTime,
+                                  long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, Validation value, long currentTime,
+                                long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
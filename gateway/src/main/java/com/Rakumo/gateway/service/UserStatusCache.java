@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.gateway.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches whether each user's account is enabled, so that a locally verified token costs
+ * at most one Auth service call per user per {@code app.jwt.status-ttl}.
+ * Concurrent misses for the same user share a single call, and {@link RevocationFeed}
+ * drops a user's entry as soon as the Auth service reports a change to the account.
+ */
+@Slf4j
+@Component
+public class UserStatusCache {
+
+  private final GrpcAuthClientService authClientService;
+  private final Cache<String, Boolean> enabled;
+
+  /**
+   * Creates the cache.
+   *
+   * @param authClientService the client used to look users up on a miss
+   * @param ttl how long an account's status is trusted before asking again
+   * @param maxUsers the most users kept at once
+   */
+  public UserStatusCache(GrpcAuthClientService authClientService,
+                         @Value("${app.jwt.status-ttl:30s}") Duration ttl,
+                         @Value("${app.jwt.status-cache-size:100000}") long maxUsers) {
+    this.authClientService = authClientService;
+    this.enabled = Caffeine.newBuilder()
+            .expireAfterWrite(ttl)
+            .maximumSize(maxUsers)
+            .build();
+  }
+
+  /**
+   * Tells whether the user's account is enabled, asking the Auth service on a miss.
+   *
+   * @param userId the ID of the user, from the verified token
+   * @param token the token, which the Auth service needs to look the user up
+   * @return true if the account is enabled
+   * @throws io.grpc.StatusRuntimeException if the Auth service cannot be reached on a miss
+   */
+  public boolean isEnabled(String userId, String token) {
+    return enabled.get(userId, id -> {
+      log.debug("Fetching account status for user {}", id);
+      return authClientService.getUserInfo(token).getIsEnabled();
+    });
+  }
+
+  /**
+   * Forgets the user's status, so that it is fetched again on their next request.
+   *
+   * @param userId the ID of the user whose account changed
+   */
+  public void invalidate(String userId) {
+    enabled.invalidate(userId);
+  }
+
+  /**
+   * Forgets every user's status.
+   */
+  public void invalidateAll() {
+    enabled.invalidateAll();
+  }
+}
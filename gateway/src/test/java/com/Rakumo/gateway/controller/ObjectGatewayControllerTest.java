@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.gateway.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.protobuf.Timestamp;
+import com.rakumo.gateway.mapper.GrpcMapper;
+import com.rakumo.gateway.service.GrpcObjectClientService;
+import com.rakumo.gateway.service.ObjectDownload;
+import com.rakumo.object.storage.ObjectInfo;
+import com.rakumo.object.storage.RetrieveFileRequestMessage;
+import java.io.IOException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+@ExtendWith(MockitoExtension.class)
+class ObjectGatewayControllerTest {
+
+  private static final String ETAG = "\"abc123\"";
+
+  @Mock
+  private GrpcObjectClientService objectClientService;
+
+  @Mock
+  private ObjectDownload download;
+
+  private ObjectGatewayController controller;
+  private MockHttpServletRequest request;
+  private MockHttpServletResponse response;
+
+  @BeforeEach
+  void setUp() {
+    controller = new ObjectGatewayController(objectClientService, new GrpcMapper());
+    request = new MockHttpServletRequest("GET", "/api/objects/download/photos/cat.jpg");
+    response = new MockHttpServletResponse();
+    when(objectClientService.openObject(any())).thenReturn(download);
+  }
+
+  @Test
+  void servesSatisfiableRangeAsPartialContent() throws IOException {
+    request.addHeader(HttpHeaders.RANGE, "bytes=10-19");
+    when(download.info()).thenReturn(info(10, 10));
+
+    controller.download("photos", "/cat.jpg", null, request, response);
+
+    RetrieveFileRequestMessage sent = sentRequest();
+    assertThat(sent.getObjectKey()).isEqualTo("cat.jpg");
+    assertThat(sent.getOffset()).isEqualTo(10);
+    assertThat(sent.getLength()).isEqualTo(10);
+    assertThat(response.getStatus()).isEqualTo(206);
+    assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 10-19/100");
+    assertThat(response.getContentLengthLong()).isEqualTo(10);
+    verify(download).transferTo(any());
+    verify(download).close();
+  }
+
+  @Test
+  void sendsSuffixRangeAsNegativeOffset() throws IOException {
+    request.addHeader(HttpHeaders.RANGE, "bytes=-5");
+    when(download.info()).thenReturn(info(95, 5));
+
+    controller.download("photos", "/cat.jpg", null, request, response);
+
+    assertThat(sentRequest().getOffset()).isEqualTo(-5);
+    assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 95-99/100");
+  }
+
+  @Test
+  void answersUnsatisfiableRangeWith416() throws IOException {
+    request.addHeader(HttpHeaders.RANGE, "bytes=200-");
+    when(download.info()).thenReturn(info(100, 0));
+
+    controller.download("photos", "/cat.jpg", null, request, response);
+
+    assertThat(response.getStatus()).isEqualTo(416);
+    assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */100");
+    verify(download, never()).transferTo(any());
+  }
+
+  @Test
+  void answersMatchingEtagWith304() throws IOException {
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+    when(download.info()).thenReturn(info(0, 100));
+
+    controller.download("photos", "/cat.jpg", null, request, response);
+
+    assertThat(response.getStatus()).isEqualTo(304);
+    verify(download, never()).transferTo(any());
+    verify(download).close();
+  }
+
+  @Test
+  void staleIfRangeGetsTheWholeObject() throws IOException {
+    request.addHeader(HttpHeaders.RANGE, "bytes=0-9");
+    request.addHeader(HttpHeaders.IF_RANGE, "\"older\"");
+    when(download.info()).thenReturn(info(0, 10), info(0, 100));
+
+    controller.downloadStream("photos", "/cat.jpg", null, request, response);
+
+    ArgumentCaptor<RetrieveFileRequestMessage> sent =
+            ArgumentCaptor.forClass(RetrieveFileRequestMessage.class);
+    verify(objectClientService, times(2)).openObject(sent.capture());
+    assertThat(sent.getAllValues().get(1).getLength()).isZero();
+    assertThat(response.getStatus()).isEqualTo(200);
+    assertThat(response.getContentLengthLong()).isEqualTo(100);
+    assertThat(response.getHeader(HttpHeaders.CONTENT_DISPOSITION)).startsWith("inline");
+  }
+
+  private RetrieveFileRequestMessage sentRequest() {
+    ArgumentCaptor<RetrieveFileRequestMessage> sent =
+            ArgumentCaptor.forClass(RetrieveFileRequestMessage.class);
+    verify(objectClientService).openObject(sent.capture());
+    return sent.getValue();
+  }
+
+  private static ObjectInfo info(long rangeStart, long rangeLength) {
+    return ObjectInfo.newBuilder()
+            .setSizeBytes(100)
+            .setChecksum("abc123")
+            .setContentType("image/jpeg")
+            .setLastModified(Timestamp.newBuilder().setSeconds(1_700_000_000L))
+            .setRangeStart(rangeStart)
+            .setRangeLength(rangeLength)
+            .build();
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.gateway.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.rakumo.auth.grpc.JsonWebKey;
+import com.rakumo.auth.grpc.JwksResponse;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import java.math.BigInteger;
+import java.security.interfaces.ECPublicKey;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class JwksKeyCacheTest {
+
+  private static final ECPublicKey OLD_KEY = newKey();
+  private static final ECPublicKey NEW_KEY = newKey();
+
+  @Mock
+  private GrpcAuthClientService authClientService;
+
+  @Test
+  void unknownKeyIdTriggersOneRateLimitedFetch() throws InterruptedException {
+    when(authClientService.getJwks(any(Duration.class)))
+            .thenReturn(jwks(jwk("old", OLD_KEY)))
+            .thenReturn(jwks(jwk("old", OLD_KEY), jwk("new", NEW_KEY)));
+    JwksKeyCache cache = new JwksKeyCache(authClientService, Duration.ofMinutes(5),
+            Duration.ofMillis(200), Duration.ofSeconds(1));
+
+    assertThat(cache.find("old")).isEqualTo(OLD_KEY);
+    // Too soon after the last fetch: the rotated-in key is not looked for yet
+    assertThat(cache.find("new")).isNull();
+    Thread.sleep(250);
+
+    assertThat(cache.find("new")).isEqualTo(NEW_KEY);
+    for (int i = 0; i < 100; i++) {
+      assertThat(cache.find("forged-" + i)).isNull();
+    }
+
+    verify(authClientService, times(2)).getJwks(any(Duration.class));
+  }
+
+  @Test
+  void knownKeyIsServedWithoutFetching() {
+    when(authClientService.getJwks(any(Duration.class))).thenReturn(jwks(jwk("old", OLD_KEY)));
+    JwksKeyCache cache = new JwksKeyCache(authClientService, Duration.ofMinutes(5),
+            Duration.ZERO, Duration.ofSeconds(1));
+
+    for (int i = 0; i < 10; i++) {
+      assertThat(cache.find("old")).isEqualTo(OLD_KEY);
+    }
+
+    verify(authClientService, times(1)).getJwks(any(Duration.class));
+  }
+
+  @Test
+  void failedFetchKeepsTheKeysHeld() {
+    when(authClientService.getJwks(any(Duration.class)))
+            .thenReturn(jwks(jwk("old", OLD_KEY)))
+            .thenThrow(new RuntimeException("Auth service unavailable"));
+    JwksKeyCache cache = new JwksKeyCache(authClientService, Duration.ofMinutes(5),
+            Duration.ZERO, Duration.ofSeconds(1));
+
+    assertThat(cache.find("old")).isEqualTo(OLD_KEY);
+    assertThat(cache.find("new")).isNull();
+
+    assertThat(cache.find("old")).isEqualTo(OLD_KEY);
+    assertThat(cache.current().getKeysList()).extracting(JsonWebKey::getKid).containsExactly("old");
+  }
+
+  @Test
+  void skipsKeysOfOtherTypes() {
+    when(authClientService.getJwks(any(Duration.class))).thenReturn(jwks(
+            jwk("old", OLD_KEY),
+            jwk("rsa", NEW_KEY).toBuilder().setKty("RSA").build(),
+            jwk("p384", NEW_KEY).toBuilder().setCrv("P-384").build()));
+    JwksKeyCache cache = new JwksKeyCache(authClientService, Duration.ofMinutes(5),
+            Duration.ofMinutes(5), Duration.ofSeconds(1));
+
+    assertThat(cache.find("old")).isEqualTo(OLD_KEY);
+    assertThat(cache.find("rsa")).isNull();
+    assertThat(cache.find("p384")).isNull();
+  }
+
+  private static JwksResponse jwks(JsonWebKey... keys) {
+    return JwksResponse.newBuilder().addAllKeys(List.of(keys)).build();
+  }
+
+  private static JsonWebKey jwk(String keyId, ECPublicKey key) {
+    return JsonWebKey.newBuilder()
+            .setKid(keyId)
+            .setKty("EC")
+            .setAlg("ES256")
+            .setUse("sig")
+            .setCrv("P-256")
+            .setX(coordinate(key.getW().getAffineX()))
+            .setY(coordinate(key.getW().getAffineY()))
+            .build();
+  }
+
+  private static String coordinate(BigInteger value) {
+    byte[] bytes = value.toByteArray();
+    byte[] fixed = new byte[32];
+    int length = Math.min(bytes.length, fixed.length);
+    System.arraycopy(bytes, bytes.length - length, fixed, fixed.length - length, length);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+  }
+
+  private static ECPublicKey newKey() {
+    return (ECPublicKey) Keys.keyPairFor(SignatureAlgorithm.ES256).getPublic();
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.gateway.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import java.security.KeyPair;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class JwtVerifierTest {
+
+  private static final String KEY_ID = "key-1";
+  private static final KeyPair KEY_PAIR = Keys.keyPairFor(SignatureAlgorithm.ES256);
+
+  @Mock
+  private JwksKeyCache keyCache;
+
+  private JwtVerifier verifier;
+
+  @BeforeEach
+  void setUp() {
+    verifier = new JwtVerifier(keyCache);
+  }
+
+  @Test
+  void verifiesEs256AccessToken() {
+    when(keyCache.find(KEY_ID)).thenReturn(KEY_PAIR.getPublic());
+    Instant expiresAt = Instant.now().plus(15, ChronoUnit.MINUTES).truncatedTo(ChronoUnit.SECONDS);
+
+    String token = accessToken(KEY_ID)
+            .setExpiration(Date.from(expiresAt))
+            .signWith(KEY_PAIR.getPrivate(), SignatureAlgorithm.ES256)
+            .compact();
+
+    assertThat(verifier.verify(token)).isEqualTo(new JwtVerifier.VerifiedToken(
+            "token-1", "user-1", "user@rakumo.dev", List.of("ROLE_USER"), expiresAt));
+  }
+
+  @Test
+  void rejectsOtherEcAlgorithms() {
+    KeyPair p384 = Keys.keyPairFor(SignatureAlgorithm.ES384);
+
+    String token = accessToken(KEY_ID)
+            .signWith(p384.getPrivate(), SignatureAlgorithm.ES384)
+            .compact();
+
+    assertThat(verifier.verify(token)).isNull();
+    verify(keyCache, never()).find(anyString());
+  }
+
+  @Test
+  void rejectsHs256SignedWithThePublicKey() {
+    // The classic confusion attack: the published key used as an HMAC secret
+    String token = accessToken(KEY_ID)
+            .signWith(Keys.hmacShaKeyFor(KEY_PAIR.getPublic().getEncoded()), SignatureAlgorithm.HS256)
+            .compact();
+
+    assertThat(verifier.verify(token)).isNull();
+    verify(keyCache, never()).find(anyString());
+  }
+
+  @Test
+  void rejectsUnknownKeyId() {
+    String token = accessToken("forged")
+            .signWith(KEY_PAIR.getPrivate(), SignatureAlgorithm.ES256)
+            .compact();
+
+    assertThat(verifier.verify(token)).isNull();
+  }
+
+  @Test
+  void rejectsTokenSignedByAnotherKey() {
+    when(keyCache.find(KEY_ID)).thenReturn(KEY_PAIR.getPublic());
+    KeyPair other = Keys.keyPairFor(SignatureAlgorithm.ES256);
+
+    String token = accessToken(KEY_ID)
+            .signWith(other.getPrivate(), SignatureAlgorithm.ES256)
+            .compact();
+
+    assertThat(verifier.verify(token)).isNull();
+  }
+
+  @Test
+  void rejectsExpiredToken() {
+    when(keyCache.find(KEY_ID)).thenReturn(KEY_PAIR.getPublic());
+
+    String token = accessToken(KEY_ID)
+            .setExpiration(Date.from(Instant.now().minus(1, ChronoUnit.MINUTES)))
+            .signWith(KEY_PAIR.getPrivate(), SignatureAlgorithm.ES256)
+            .compact();
+
+    assertThat(verifier.verify(token)).isNull();
+  }
+
+  @Test
+  void rejectsRefreshTokenWithoutRoles() {
+    when(keyCache.find(KEY_ID)).thenReturn(KEY_PAIR.getPublic());
+
+    String token = Jwts.builder()
+            .setHeaderParam(JwsHeader.KEY_ID, KEY_ID)
+            .setSubject("user@rakumo.dev")
+            .claim("userId", "user-1")
+            .setId("token-1")
+            .setExpiration(Date.from(Instant.now().plus(7, ChronoUnit.DAYS)))
+            .signWith(KEY_PAIR.getPrivate(), SignatureAlgorithm.ES256)
+            .compact();
+
+    assertThat(verifier.verify(token)).isNull();
+  }
+
+  private static JwtBuilder accessToken(String keyId) {
+    return Jwts.builder()
+            .setHeaderParam(JwsHeader.KEY_ID, keyId)
+            .setSubject("user@rakumo.dev")
+            .claim("userId", "user-1")
+            .claim("email", "user@rakumo.dev")
+            .claim("roles", List.of("ROLE_USER"))
+            .setId("token-1")
+            .setExpiration(Date.from(Instant.now().plus(15, ChronoUnit.MINUTES)));
+  }
+}
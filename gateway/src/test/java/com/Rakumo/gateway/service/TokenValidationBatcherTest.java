@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.gateway.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+import com.rakumo.auth.grpc.TokenValidationResult;
+import com.rakumo.auth.grpc.UserResponse;
+import com.rakumo.auth.grpc.ValidateTokensResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TokenValidationBatcherTest {
+
+  @Mock
+  private GrpcAuthClientService authClientService;
+
+  private TokenValidationBatcher batcher;
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    if (batcher != null) {
+      batcher.stop();
+    }
+  }
+
+  @Test
+  void rejectedTokenDoesNotFailTheRest() {
+    when(authClientService.validateTokens(anyList(), any(Duration.class)))
+            .thenReturn(ValidateTokensResponse.newBuilder()
+                    .addResults(TokenValidationResult.newBuilder()
+                            .setValid(false)
+                            .setErrorMessage("Invalid token"))
+                    .build());
+    batcher = start(Duration.ofSeconds(5));
+
+    assertThat(batcher.validate("bad.token.value")).isNull();
+
+    when(authClientService.validateTokens(anyList(), any(Duration.class)))
+            .thenReturn(ValidateTokensResponse.newBuilder()
+                    .addResults(TokenValidationResult.newBuilder()
+                            .setValid(true)
+                            .setUser(UserResponse.newBuilder()
+                                    .setId("user-1")
+                                    .setEmail("user@rakumo.dev")
+                                    .addRoles("ROLE_USER")
+                                    .setIsEnabled(true)))
+                    .build());
+
+    assertThat(batcher.validate("good.token.value"))
+            .isEqualTo(new AuthenticatedUser("user-1", "user@rakumo.dev", List.of("ROLE_USER"), true));
+  }
+
+  @Test
+  void callerGivesUpWhenAuthDoesNotAnswer() {
+    CountDownLatch release = new CountDownLatch(1);
+    when(authClientService.validateTokens(anyList(), any(Duration.class)))
+            .thenAnswer(invocation -> {
+              // Ignores its deadline, as a wedged channel would
+              release.await();
+              return ValidateTokensResponse.getDefaultInstance();
+            });
+    batcher = start(Duration.ofMillis(50));
+
+    try {
+      assertThatThrownBy(() -> batcher.validate("slow.token.value"))
+              .isInstanceOf(IllegalStateException.class)
+              .hasMessageContaining("Timed out");
+    } finally {
+      release.countDown();
+    }
+  }
+
+  private TokenValidationBatcher start(Duration timeout) {
+    TokenValidationBatcher started =
+            new TokenValidationBatcher(authClientService, Duration.ofMillis(1), 16, timeout);
+    started.start();
+    return started;
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.gateway.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TokenValidationCacheTest {
+
+  private static final String TOKEN = "header.payload.signature";
+  private static final AuthenticatedUser USER =
+          new AuthenticatedUser("user-1", "user@rakumo.dev", List.of("ROLE_USER"), true);
+
+  @Mock
+  private TokenValidationBatcher batcher;
+
+  private TokenValidationCache cache;
+
+  @BeforeEach
+  void setUp() {
+    cache = new TokenValidationCache(batcher, Duration.ofMinutes(1), 100);
+  }
+
+  @Test
+  void reusesValidationUntilUserIsRevoked() {
+    when(batcher.validate(TOKEN)).thenReturn(USER);
+
+    assertThat(cache.validate(TOKEN)).isEqualTo(USER);
+    assertThat(cache.validate(TOKEN)).isEqualTo(USER);
+    verify(batcher, times(1)).validate(TOKEN);
+
+    cache.invalidateUser(USER.userId());
+    assertThat(cache.validate(TOKEN)).isEqualTo(USER);
+    verify(batcher, times(2)).validate(TOKEN);
+  }
+
+  @Test
+  void discardsValidationThatWasInFlightDuringRevocation() {
+    when(batcher.validate(TOKEN))
+            .thenAnswer(invocation -> {
+              // The account changes while auth is still answering
+              cache.invalidateUser(USER.userId());
+              return USER;
+            })
+            .thenReturn(null);
+
+    // The stale answer is not trusted; the fresh one rejects the token
+    assertThat(cache.validate(TOKEN)).isNull();
+    verify(batcher, times(2)).validate(TOKEN);
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.gateway.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.rakumo.auth.grpc.UserResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatusCacheTest {
+
+  @Mock
+  private GrpcAuthClientService authClientService;
+
+  private UserStatusCache cache;
+
+  @BeforeEach
+  void setUp() {
+    cache = new UserStatusCache(authClientService, Duration.ofMinutes(1), 100);
+  }
+
+  @Test
+  void asksAuthOncePerUser() {
+    when(authClientService.getUserInfo(anyString()))
+            .thenReturn(UserResponse.newBuilder().setId("user-1").setIsEnabled(true).build());
+
+    assertThat(cache.isEnabled("user-1", "token-a")).isTrue();
+    assertThat(cache.isEnabled("user-1", "token-b")).isTrue();
+
+    verify(authClientService, times(1)).getUserInfo(anyString());
+  }
+
+  @Test
+  void concurrentMissesShareOneCall() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    when(authClientService.getUserInfo(anyString())).thenAnswer(invocation -> {
+      release.await();
+      return UserResponse.newBuilder().setId("user-1").setIsEnabled(true).build();
+    });
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(executor.submit(() -> cache.isEnabled("user-1", "token")));
+      }
+      Thread.sleep(100);
+      release.countDown();
+      for (Future<Boolean> result : results) {
+        assertThat(result.get()).isTrue();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    verify(authClientService, times(1)).getUserInfo(anyString());
+  }
+
+  @Test
+  void invalidatedUserIsAskedAgain() {
+    when(authClientService.getUserInfo(anyString()))
+            .thenReturn(UserResponse.newBuilder().setId("user-1").setIsEnabled(true).build())
+            .thenReturn(UserResponse.newBuilder().setId("user-1").setIsEnabled(false).build());
+
+    assertThat(cache.isEnabled("user-1", "token")).isTrue();
+    cache.invalidate("user-1");
+
+    assertThat(cache.isEnabled("user-1", "token")).isFalse();
+    verify(authClientService, times(2)).getUserInfo(anyString());
+  }
+}
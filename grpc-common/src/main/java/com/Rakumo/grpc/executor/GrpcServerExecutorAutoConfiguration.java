@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.grpc.executor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Runs gRPC handlers on virtual threads instead of grpc-java's shared cached pool, so a
+ * call blocked on disk or the database parks a virtual thread rather than holding a
+ * platform thread. The connection pool bounds database work;
+ * {@code grpc.server.executor.max-concurrency} bounds how many handlers may wait for it.
+ * Set {@code grpc.server.executor.virtual-threads=false} to keep grpc-java's default.
+ *
+ * <p>The executor is not exposed as a bean, so it never stands in for Spring's own task
+ * executor.
+ */
+@AutoConfiguration
+@ConditionalOnClass(name = "net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer")
+@ConditionalOnProperty(prefix = "grpc.server.executor", name = "virtual-threads", matchIfMissing = true)
+public class GrpcServerExecutorAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    GrpcServerExecutorConfigurer grpcServerExecutorConfigurer(
+            @Value("${spring.application.name:grpc}") String applicationName,
+            @Value("${grpc.server.executor.max-concurrency:0}") int maxConcurrency) {
+        return new GrpcServerExecutorConfigurer(
+                new VirtualThreadExecutor("grpc-" + applicationName, maxConcurrency));
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.grpc.executor;
+
+import io.grpc.ServerBuilder;
+import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Hands the gRPC server a {@link VirtualThreadExecutor} and shuts it down with the context.
+ */
+public class GrpcServerExecutorConfigurer implements GrpcServerConfigurer, DisposableBean {
+
+    private final VirtualThreadExecutor executor;
+
+    public GrpcServerExecutorConfigurer(VirtualThreadExecutor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void accept(ServerBuilder<?> serverBuilder) {
+        serverBuilder.executor(executor);
+    }
+
+    @Override
+    public void destroy() {
+        executor.close();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.grpc.metrics;
+
+import io.grpc.MethodDescriptor;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Meters for one side, server or client, of every gRPC method, registered on first use.
+ *
+ * <ul>
+ *   <li>{@code <side>.calls} (service, method, status): latency timer with a percentile
+ *       histogram, one per status code the method has returned</li>
+ *   <li>{@code <side>.request.size} and {@code <side>.response.size} (service, method):
+ *       serialized size of each protobuf message</li>
+ *   <li>{@code <side>.inflight} (service, method): calls started but not yet closed</li>
+ * </ul>
+ *
+ * where side is {@code grpc.server} or {@code grpc.client}.
+ */
+public final class GrpcMetrics {
+
+    public static final String SERVER = "grpc.server";
+    public static final String CLIENT = "grpc.client";
+
+    private final MeterRegistry registry;
+    private final String side;
+    private final Map<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+
+    public GrpcMetrics(MeterRegistry registry, String side) {
+        this.registry = registry;
+        this.side = side;
+    }
+
+    MethodMetrics method(MethodDescriptor<?, ?> descriptor) {
+        // Plain get first: computeIfAbsent locks the bin even when the entry exists
+        MethodMetrics metrics = methods.get(descriptor.getFullMethodName());
+        if (metrics == null) {
+            metrics = methods.computeIfAbsent(descriptor.getFullMethodName(),
+                    name -> new MethodMetrics(registry, side, descriptor));
+        }
+        return metrics;
+    }
+}
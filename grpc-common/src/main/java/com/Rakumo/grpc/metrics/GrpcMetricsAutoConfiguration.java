@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.grpc.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.devh.boot.grpc.client.interceptor.GrpcGlobalClientInterceptor;
+import net.devh.boot.grpc.common.util.InterceptorOrder;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Registers {@link GrpcServerMetricsInterceptor} and {@link GrpcClientMetricsInterceptor} as
+ * global interceptors in every service that has a MeterRegistry, so handlers and
+ * {@code @GrpcClient} stubs are measured without code of their own.
+ *
+ * <p>Both sit at the tracing/metrics order, outside security and admission interceptors,
+ * so calls those reject are still counted with their status.
+ */
+@AutoConfiguration(afterName = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+@ConditionalOnClass({MeterRegistry.class, io.grpc.ServerInterceptor.class})
+@ConditionalOnBean(MeterRegistry.class)
+@ConditionalOnProperty(prefix = "grpc.metrics", name = "enabled", matchIfMissing = true)
+public class GrpcMetricsAutoConfiguration {
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor")
+    static class ServerMetricsConfiguration {
+
+        @GrpcGlobalServerInterceptor
+        @Order(InterceptorOrder.ORDER_TRACING_METRICS)
+        GrpcServerMetricsInterceptor grpcServerMetricsInterceptor(MeterRegistry registry) {
+            return new GrpcServerMetricsInterceptor(new GrpcMetrics(registry, GrpcMetrics.SERVER));
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "net.devh.boot.grpc.client.interceptor.GrpcGlobalClientInterceptor")
+    static class ClientMetricsConfiguration {
+
+        @GrpcGlobalClientInterceptor
+        @Order(InterceptorOrder.ORDER_TRACING_METRICS)
+        GrpcClientMetricsInterceptor grpcClientMetricsInterceptor(MeterRegistry registry) {
+            return new GrpcClientMetricsInterceptor(new GrpcMetrics(registry, GrpcMetrics.CLIENT));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.grpc.metrics;
+
+import com.google.protobuf.MessageLite;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The meters of a single method on one side. See {@link GrpcMetrics}.
+ */
+final class MethodMetrics {
+
+    // Matches grpc.server.max-inbound-message-size; bounds the size histogram buckets
+    private static final double MAX_EXPECTED_BYTES = 128 * 1024 * 1024;
+
+    private final MeterRegistry registry;
+    private final String side;
+    private final Tags tags;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final DistributionSummary requestSize;
+    private final DistributionSummary responseSize;
+    private final AtomicReferenceArray<Timer> timers = new AtomicReferenceArray<>(Status.Code.values().length);
+
+    MethodMetrics(MeterRegistry registry, String side, MethodDescriptor<?, ?> descriptor) {
+        this.registry = registry;
+        this.side = side;
+        this.tags = Tags.of(
+                "service", Objects.toString(descriptor.getServiceName(), "unknown"),
+                "method", descriptor.getBareMethodName());
+        this.requestSize = sizeSummary(side + ".request.size");
+        this.responseSize = sizeSummary(side + ".response.size");
+        Gauge.builder(side + ".inflight", inflight, AtomicInteger::get)
+                .tags(tags)
+                .register(registry);
+    }
+
+    Call begin() {
+        inflight.incrementAndGet();
+        return new Call(System.nanoTime());
+    }
+
+    private DistributionSummary sizeSummary(String name) {
+        return DistributionSummary.builder(name)
+                .baseUnit("bytes")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(MAX_EXPECTED_BYTES)
+                .register(registry);
+    }
+
+    private Timer timer(Status.Code code) {
+        Timer timer = timers.get(code.ordinal());
+        if (timer == null) {
+            // A racing registration is harmless, the registry hands back the same timer
+            timer = Timer.builder(side + ".calls")
+                    .tags(tags)
+                    .tag("status", code.name())
+                    .publishPercentileHistogram()
+                    .register(registry);
+            timers.set(code.ordinal(), timer);
+        }
+        return timer;
+    }
+
+    private static void recordSize(DistributionSummary summary, Object message) {
+        // Protobuf memoizes the size, so the marshaller does not compute it again
+        if (message instanceof MessageLite protobuf) {
+            summary.record(protobuf.getSerializedSize());
+        }
+    }
+
+    /**
+     * One call in flight. {@link #finish} may be reached from several callbacks
+     * (close and cancel); only the first counts.
+     */
+    final class Call {
+
+        private final long startNanos;
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        private Call(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        void request(Object message) {
+            recordSize(requestSize, message);
+        }
+
+        void response(Object message) {
+            recordSize(responseSize, message);
+        }
+
+        void finish(Status.Code code) {
+            if (finished.compareAndSet(false, true)) {
+                inflight.decrementAndGet();
+                timer(code).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
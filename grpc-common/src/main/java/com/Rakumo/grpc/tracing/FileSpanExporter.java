@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.grpc.tracing;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+/**
+ * Appends finished spans to a file, one JSON object per line, for offline analysis of
+ * critical paths. Spans reach it through the SDK's batch processor, so they are buffered
+ * in memory and written in batches off the request threads.
+ *
+ * <pre>
+ * {"service":"object","traceId":"...","spanId":"...","parentSpanId":"...","name":"...",
+ *  "kind":"SERVER","start":1700000000000000000,"end":1700000000004000000,
+ *  "durationMicros":4000,"status":"UNSET","attributes":{"rpc.method":"StoreFile"}}
+ * </pre>
+ *
+ * Several services may share a directory but should not share a file.
+ */
+public class FileSpanExporter implements SpanExporter {
+
+    private static final AttributeKey<String> SERVICE_NAME = AttributeKey.stringKey("service.name");
+
+    private final BufferedWriter writer;
+
+    public FileSpanExporter(Path file) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open span file " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        try {
+            StringBuilder line = new StringBuilder(512);
+            for (SpanData span : spans) {
+                line.setLength(0);
+                appendSpan(line, span);
+                writer.append(line).append('\n');
+            }
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode flush() {
+        try {
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        try {
+            writer.close();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    private static void appendSpan(StringBuilder out, SpanData span) {
+        out.append('{');
+        field(out, "service", span.getResource().getAttribute(SERVICE_NAME)).append(',');
+        field(out, "traceId", span.getTraceId()).append(',');
+        field(out, "spanId", span.getSpanId()).append(',');
+        field(out, "parentSpanId", span.getParentSpanContext().isValid() ? span.getParentSpanId() : null).append(',');
+        field(out, "name", span.getName()).append(',');
+        field(out, "kind", span.getKind().name()).append(',');
+        out.append("\"start\":").append(span.getStartEpochNanos()).append(',');
+        out.append("\"end\":").append(span.getEndEpochNanos()).append(',');
+        out.append("\"durationMicros\":").append((span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000).append(',');
+        field(out, "status", span.getStatus().getStatusCode().name()).append(',');
+        out.append("\"attributes\":{");
+        boolean[] first = {true};
+        span.getAttributes().forEach((key, value) -> {
+            if (!first[0]) {
+                out.append(',');
+            }
+            first[0] = false;
+            field(out, key.getKey(), String.valueOf(value));
+        });
+        out.append("}}");
+    }
+
+    private static StringBuilder field(StringBuilder out, String name, String value) {
+        quote(out, name).append(':');
+        return value == null ? out.append("null") : quote(out, value);
+    }
+
+    private static StringBuilder quote(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out.append('"');
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.grpc.tracing;
+
+import io.micrometer.core.instrument.binder.grpc.ObservationGrpcClientInterceptor;
+import io.micrometer.core.instrument.binder.grpc.ObservationGrpcServerInterceptor;
+import io.micrometer.observation.ObservationRegistry;
+import net.devh.boot.grpc.client.interceptor.GrpcGlobalClientInterceptor;
+import net.devh.boot.grpc.common.util.InterceptorOrder;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Registers Micrometer's observation interceptors as global gRPC interceptors. With a
+ * tracing bridge on the classpath every served call continues the caller's trace and
+ * every {@code @GrpcClient} call injects the current one (W3C traceparent by default),
+ * so a gateway request can be followed through auth, metadata and object.
+ *
+ * <p>Backs off when grpc-spring-boot registered the same interceptors itself.
+ */
+@AutoConfiguration(afterName = {
+        "org.springframework.boot.actuate.autoconfigure.observation.ObservationAutoConfiguration",
+        "net.devh.boot.grpc.server.autoconfigure.GrpcServerMicrometerTraceAutoConfiguration",
+        "net.devh.boot.grpc.client.autoconfigure.GrpcClientMicrometerTraceAutoConfiguration"})
+@ConditionalOnClass({ObservationRegistry.class, ObservationGrpcServerInterceptor.class})
+@ConditionalOnBean(ObservationRegistry.class)
+@ConditionalOnProperty(prefix = "grpc.tracing", name = "enabled", matchIfMissing = true)
+public class GrpcTracingAutoConfiguration {
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor")
+    static class ServerTracingConfiguration {
+
+        @GrpcGlobalServerInterceptor
+        @ConditionalOnMissingBean(ObservationGrpcServerInterceptor.class)
+        @Order(InterceptorOrder.ORDER_TRACING_METRICS)
+        ObservationGrpcServerInterceptor observationGrpcServerInterceptor(ObservationRegistry registry) {
+            return new ObservationGrpcServerInterceptor(registry);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "net.devh.boot.grpc.client.interceptor.GrpcGlobalClientInterceptor")
+    static class ClientTracingConfiguration {
+
+        @GrpcGlobalClientInterceptor
+        @ConditionalOnMissingBean(ObservationGrpcClientInterceptor.class)
+        @Order(InterceptorOrder.ORDER_TRACING_METRICS)
+        ObservationGrpcClientInterceptor observationGrpcClientInterceptor(ObservationRegistry registry) {
+            return new ObservationGrpcClientInterceptor(registry);
+        }
+    }
+}
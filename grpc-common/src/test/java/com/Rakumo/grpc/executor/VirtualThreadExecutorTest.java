@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.grpc.executor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadExecutorTest {
+
+    @Test
+    void runsTasksOnNamedVirtualThreads() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        Thread[] ran = new Thread[1];
+        try (VirtualThreadExecutor executor = new VirtualThreadExecutor("grpc-test", 0)) {
+            executor.execute(() -> {
+                ran[0] = Thread.currentThread();
+                done.countDown();
+            });
+            assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(ran[0].isVirtual()).isTrue();
+        assertThat(ran[0].getName()).startsWith("grpc-test-");
+    }
+
+    @Test
+    void capsConcurrentTasksWithoutBlockingCaller() throws InterruptedException {
+        int tasks = 20;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(tasks);
+
+        try (VirtualThreadExecutor executor = new VirtualThreadExecutor("grpc-test", 3)) {
+            for (int i = 0; i < tasks; i++) {
+                executor.execute(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        running.decrementAndGet();
+                        done.countDown();
+                    }
+                });
+            }
+            // Every task was accepted while the first three hold the permits
+            Thread.sleep(100);
+            assertThat(running.get()).isEqualTo(3);
+
+            release.countDown();
+            assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(maxRunning.get()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.grpc.metrics;
+
+import com.google.protobuf.StringValue;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GrpcClientMetricsInterceptorTest {
+
+    @Mock
+    private Channel channel;
+
+    @Mock
+    private ClientCall<StringValue, StringValue> call;
+
+    @Mock
+    private ClientCall.Listener<StringValue> listener;
+
+    private SimpleMeterRegistry registry;
+    private GrpcClientMetricsInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        interceptor = new GrpcClientMetricsInterceptor(new GrpcMetrics(registry, GrpcMetrics.CLIENT));
+        when(channel.newCall(TestMethods.ECHO, CallOptions.DEFAULT)).thenReturn(call);
+    }
+
+    @Test
+    void recordsSizesAndClosingStatus() {
+        ClientCall<StringValue, StringValue> intercepted =
+                interceptor.interceptCall(TestMethods.ECHO, CallOptions.DEFAULT, channel);
+
+        intercepted.start(listener, new Metadata());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ClientCall.Listener<StringValue>> wrapped = ArgumentCaptor.forClass(ClientCall.Listener.class);
+        verify(call).start(wrapped.capture(), any());
+
+        StringValue request = StringValue.of("hello");
+        StringValue response = StringValue.of("hello, world");
+        intercepted.sendMessage(request);
+        wrapped.getValue().onMessage(response);
+        wrapped.getValue().onClose(Status.UNAVAILABLE, new Metadata());
+
+        assertThat(registry.get("grpc.client.calls").tag("status", "UNAVAILABLE").timer().count()).isEqualTo(1);
+        assertThat(registry.get("grpc.client.request.size").summary().totalAmount())
+                .isEqualTo(request.getSerializedSize());
+        assertThat(registry.get("grpc.client.response.size").summary().totalAmount())
+                .isEqualTo(response.getSerializedSize());
+        assertThat(registry.get("grpc.client.inflight").gauge().value()).isZero();
+        verify(listener).onClose(eq(Status.UNAVAILABLE), any());
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.grpc.metrics;
+
+import com.google.protobuf.StringValue;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GrpcServerMetricsInterceptorTest {
+
+    @Mock
+    private ServerCall<StringValue, StringValue> call;
+
+    @Mock
+    private ServerCall.Listener<StringValue> listener;
+
+    private SimpleMeterRegistry registry;
+    private GrpcServerMetricsInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        interceptor = new GrpcServerMetricsInterceptor(new GrpcMetrics(registry, GrpcMetrics.SERVER));
+        when(call.getMethodDescriptor()).thenReturn(TestMethods.ECHO);
+    }
+
+    @Test
+    void recordsSizesStatusAndInflight() {
+        AtomicReference<ServerCall<StringValue, StringValue>> handled = new AtomicReference<>();
+        ServerCall.Listener<StringValue> intercepted = interceptor.interceptCall(call, new Metadata(),
+                (serverCall, headers) -> {
+                    handled.set(serverCall);
+                    return listener;
+                });
+        assertThat(inflight()).isEqualTo(1);
+
+        StringValue request = StringValue.of("hello");
+        StringValue response = StringValue.of("hello, world");
+        intercepted.onMessage(request);
+        handled.get().sendMessage(response);
+        handled.get().close(Status.OK, new Metadata());
+        // A cancel racing the close must not count the call again
+        intercepted.onCancel();
+
+        assertThat(registry.get("grpc.server.calls").tag("status", "OK").timer().count()).isEqualTo(1);
+        assertThat(registry.find("grpc.server.calls").tag("status", "CANCELLED").timer()).isNull();
+        assertThat(registry.get("grpc.server.request.size").summary().totalAmount())
+                .isEqualTo(request.getSerializedSize());
+        assertThat(registry.get("grpc.server.response.size").summary().totalAmount())
+                .isEqualTo(response.getSerializedSize());
+        assertThat(inflight()).isZero();
+    }
+
+    @Test
+    void recordsCancelledCall() {
+        ServerCall.Listener<StringValue> intercepted = interceptor.interceptCall(call, new Metadata(),
+                (serverCall, headers) -> listener);
+
+        intercepted.onCancel();
+
+        assertThat(registry.get("grpc.server.calls").tag("status", "CANCELLED").timer().count()).isEqualTo(1);
+        assertThat(inflight()).isZero();
+    }
+
+    @Test
+    void handlerThatThrowsIsRecordedAsUnknown() {
+        assertThatThrownBy(() -> interceptor.interceptCall(call, new Metadata(), (serverCall, headers) -> {
+            throw new IllegalStateException("handler failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(registry.get("grpc.server.calls").tag("status", "UNKNOWN").timer().count()).isEqualTo(1);
+        assertThat(inflight()).isZero();
+    }
+
+    private double inflight() {
+        return registry.get("grpc.server.inflight")
+                .tag("service", "rakumo.test.EchoService")
+                .tag("method", "Echo")
+                .gauge().value();
+    }
+}
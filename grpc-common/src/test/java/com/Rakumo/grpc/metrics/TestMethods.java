@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.grpc.metrics;
+
+import com.google.protobuf.StringValue;
+import io.grpc.MethodDescriptor;
+
+import java.io.InputStream;
+
+/**
+ * A unary method for driving the interceptors without a transport; nothing is marshalled.
+ */
+final class TestMethods {
+
+    static final MethodDescriptor<StringValue, StringValue> ECHO =
+            MethodDescriptor.<StringValue, StringValue>newBuilder()
+                    .setType(MethodDescriptor.MethodType.UNARY)
+                    .setFullMethodName(MethodDescriptor.generateFullMethodName("rakumo.test.EchoService", "Echo"))
+                    .setRequestMarshaller(new UnusedMarshaller())
+                    .setResponseMarshaller(new UnusedMarshaller())
+                    .build();
+
+    private TestMethods() {}
+
+    private static final class UnusedMarshaller implements MethodDescriptor.Marshaller<StringValue> {
+
+        @Override
+        public InputStream stream(StringValue value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public StringValue parse(InputStream stream) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
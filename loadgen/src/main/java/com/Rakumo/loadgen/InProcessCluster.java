@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.loadgen;
+
+import com.rakumo.object.ObjectApplication;
+import com.rakumo.object.util.FileUtils;
+import io.grpc.ManagedChannel;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The object and metadata services in one JVM: an embedded PostgreSQL with a database per
+ * service, one Spring context per service and in-process gRPC in both directions.
+ *
+ * <p>PostgreSQL rather than H2 because the metadata service's upserts rely on
+ * {@code ON CONFLICT}. Each context reads its own {@code loadgen-*.properties} instead of
+ * the services' application.properties, which share a name on this classpath.
+ *
+ * <p>With a span output directory, every call is traced and each service writes its
+ * finished spans to {@code spans-<service>.jsonl} there for critical-path analysis.
+ */
+final class InProcessCluster implements AutoCloseable {
+
+    static final String OBJECT_SERVER = "loadgen-object";
+    static final String METADATA_SERVER = "loadgen-metadata";
+
+    private final EmbeddedPostgres postgres;
+    private final Path storageRoot;
+    private final String ownerId = "loadgen-" + UUID.randomUUID();
+    private ConfigurableApplicationContext metadataContext;
+    private ConfigurableApplicationContext objectContext;
+    private ManagedChannel objectChannel;
+    private ManagedChannel metadataChannel;
+
+    private InProcessCluster(EmbeddedPostgres postgres, Path storageRoot) {
+        this.postgres = postgres;
+        this.storageRoot = storageRoot;
+    }
+
+    static InProcessCluster start(Path spanOutput) throws IOException, SQLException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE metadata_store");
+            statement.execute("CREATE DATABASE object_store");
+        }
+
+        InProcessCluster cluster = new InProcessCluster(postgres, Files.createTempDirectory("loadgen-storage"));
+        try {
+            // Metadata first: the object service's outbox relay starts calling it right away
+            cluster.metadataContext = new SpringApplicationBuilder(MetadataNode.class)
+                    .web(WebApplicationType.NONE)
+                    .bannerMode(Banner.Mode.OFF)
+                    .properties(
+                            "spring.config.name=" + METADATA_SERVER,
+                            "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "metadata_store"))
+                    .properties(tracing(spanOutput, "metadata"))
+                    .run();
+            cluster.objectContext = new SpringApplicationBuilder(ObjectApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .bannerMode(Banner.Mode.OFF)
+                    .properties(
+                            "spring.config.name=" + OBJECT_SERVER,
+                            "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "object_store"),
+                            "storage.root=" + cluster.storageRoot)
+                    .properties(tracing(spanOutput, "object"))
+                    .run();
+        } catch (RuntimeException e) {
+            cluster.close();
+            throw e;
+        }
+
+        cluster.objectChannel = InProcessChannelBuilder.forName(OBJECT_SERVER).build();
+        cluster.metadataChannel = InProcessChannelBuilder.forName(METADATA_SERVER).build();
+        return cluster;
+    }
+
+    private static String[] tracing(Path spanOutput, String service) {
+        if (spanOutput == null) {
+            return new String[0];
+        }
+        return new String[]{
+                "management.tracing.sampling.probability=1.0",
+                "tracing.export.file=" + spanOutput.resolve("spans-" + service + ".jsonl").toAbsolutePath()};
+    }
+
+    ManagedChannel objectChannel() {
+        return objectChannel;
+    }
+
+    ManagedChannel metadataChannel() {
+        return metadataChannel;
+    }
+
+    /**
+     * Owner of every object the run stores, so that cleanup only touches this run's files.
+     */
+    String ownerId() {
+        return ownerId;
+    }
+
+    /**
+     * Stop everything and delete what the run stored. Finished objects live under
+     * {@code ./Object-Storage/<ownerId>}, outside the storage root.
+     */
+    @Override
+    public void close() throws IOException {
+        for (ManagedChannel channel : new ManagedChannel[]{objectChannel, metadataChannel}) {
+            if (channel != null) {
+                channel.shutdownNow();
+                try {
+                    channel.awaitTermination(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        if (objectContext != null) {
+            objectContext.close();
+        }
+        if (metadataContext != null) {
+            metadataContext.close();
+        }
+        postgres.close();
+        FileUtils.deleteDirectory(storageRoot);
+        FileUtils.deleteDirectory(Paths.get("Object-Storage", ownerId));
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.loadgen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Starts the object and metadata services in-process, drives the configured workload
+ * against them and reports per-RPC throughput and latency. Exits with status 2 when a gate
+ * fails, so a run can guard performance work in CI. See {@link WorkloadConfig} for options.
+ *
+ * <p>Both services run in this JVM over the in-process gRPC transport against an embedded
+ * PostgreSQL. A typical run:
+ * <pre>
+ * java -jar loadgen/target/loadgen.jar --duration=2m --concurrency=32 --mix=upload:20,download:70,list:10
+ * </pre>
+ */
+public final class LoadGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadGenerator.class);
+
+    static final int GATE_FAILED = 2;
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        WorkloadConfig config = WorkloadConfig.fromArgs(args);
+        RpcLatencies latencies = new RpcLatencies();
+
+        List<String> violations;
+        try (InProcessCluster cluster = InProcessCluster.start(config.trace ? config.output : null)) {
+            Workload workload = new Workload(config, cluster, latencies);
+            workload.prepare();
+            Duration elapsed = workload.run();
+
+            Report report = new Report(config, latencies, elapsed);
+            report.write(System.out);
+            violations = report.violations();
+        }
+
+        if (violations.isEmpty()) {
+            log.info("All gates passed; results in {}", config.output.toAbsolutePath());
+            System.exit(0);
+        }
+        violations.forEach(violation -> log.error("Gate failed: {}", violation));
+        System.exit(GATE_FAILED);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.loadgen;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Objects uploaded by this run that have not been deleted, for picking download and
+ * delete targets at random.
+ */
+final class ObjectPool {
+
+    record StoredObject(String bucketId, String objectKey) {
+    }
+
+    private final List<StoredObject> objects = new ArrayList<>();
+    private final Map<StoredObject, Integer> positions = new HashMap<>();
+
+    synchronized void add(StoredObject object) {
+        positions.put(object, objects.size());
+        objects.add(object);
+    }
+
+    synchronized StoredObject pick(SplittableRandom random) {
+        return objects.isEmpty() ? null : objects.get(random.nextInt(objects.size()));
+    }
+
+    /**
+     * Remove an object, returning false if another worker already did.
+     */
+    synchronized boolean remove(StoredObject object) {
+        Integer position = positions.remove(object);
+        if (position == null) {
+            return false;
+        }
+        // Swap the last element into the hole to keep removal O(1)
+        StoredObject last = objects.remove(objects.size() - 1);
+        if (position < objects.size()) {
+            objects.set(position, last);
+            positions.put(last, position);
+        }
+        return true;
+    }
+
+    synchronized int size() {
+        return objects.size();
+    }
+}
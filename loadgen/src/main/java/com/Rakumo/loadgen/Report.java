@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.loadgen;
+
+import com.rakumo.loadgen.RpcLatencies.Stats;
+import com.rakumo.loadgen.WorkloadConfig.Operation;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Throughput and latency percentiles per RPC, printed and written to the output directory
+ * alongside one HdrHistogram percentile file ({@code .hgrm}, milliseconds) per RPC, then
+ * checked against the configured gates.
+ */
+final class Report {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final WorkloadConfig config;
+    private final Map<String, Stats> stats;
+    private final Map<Operation, Long> operations;
+    private final double seconds;
+
+    Report(WorkloadConfig config, RpcLatencies latencies, Duration elapsed) {
+        this.config = config;
+        this.stats = latencies.snapshot();
+        this.operations = latencies.operations();
+        this.seconds = elapsed.toNanos() / 1e9;
+    }
+
+    void write(PrintStream out) throws IOException {
+        Files.createDirectories(config.output);
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("%-38s %9s %10s %7s %9s %9s %9s %9s %9s %9s%n",
+                "rpc", "calls", "calls/s", "errors", "MB/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            Stats s = entry.getValue();
+            Histogram h = s.latency;
+            summary.append(String.format("%-38s %9d %10.1f %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), h.getTotalCount(), h.getTotalCount() / seconds, s.errorCount(),
+                    s.bytes.sum() / seconds / (1 << 20),
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                    millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)),
+                    millis(h.getMaxValue())));
+            if (!s.errors.isEmpty()) {
+                summary.append(String.format("    errors by status: %s%n", s.errors));
+            }
+
+            Path hgrm = config.output.resolve(entry.getKey().replace('/', '.') + ".hgrm");
+            try (PrintStream file = new PrintStream(Files.newOutputStream(hgrm))) {
+                h.outputPercentileDistribution(file, MICROS_PER_MILLI);
+            }
+        }
+        summary.append(String.format("%noperations in %.1fs: %s, %.1f ops/s%n",
+                seconds, operations, totalOperations() / seconds));
+
+        out.print(summary);
+        Files.writeString(config.output.resolve("summary.txt"), summary);
+    }
+
+    /**
+     * Every gate the run failed, empty when it passed.
+     */
+    List<String> violations() {
+        List<String> violations = new ArrayList<>();
+        config.maxP99.forEach((rpc, limit) -> {
+            Stats s = stats.get(rpc);
+            if (s == null) {
+                violations.add(rpc + " has a p99 gate but was never called");
+            } else if (s.latency.getValueAtPercentile(99) > limit.toNanos() / 1000) {
+                violations.add(String.format("%s p99 %.2f ms exceeds %d ms",
+                        rpc, millis(s.latency.getValueAtPercentile(99)), limit.toMillis()));
+            }
+        });
+        stats.forEach((rpc, s) -> {
+            double errorRate = (double) s.errorCount() / Math.max(1, s.latency.getTotalCount());
+            if (errorRate > config.maxErrorRate) {
+                violations.add(String.format("%s error rate %.4f exceeds %.4f", rpc, errorRate, config.maxErrorRate));
+            }
+        });
+        double throughput = totalOperations() / seconds;
+        if (throughput < config.minThroughput) {
+            violations.add(String.format("throughput %.1f ops/s is below %.1f", throughput, config.minThroughput));
+        }
+        return violations;
+    }
+
+    private long totalOperations() {
+        return operations.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.loadgen;
+
+import com.rakumo.loadgen.WorkloadConfig.Operation;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Per-RPC latency histograms (microseconds) and error counts. Nothing is recorded until
+ * {@link #startRecording()}, so warmup calls run the same code without skewing results.
+ */
+final class RpcLatencies {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private final Map<Operation, LongAdder> operations = new EnumMap<>(Operation.class);
+    private volatile boolean recording;
+
+    RpcLatencies() {
+        for (Operation operation : Operation.values()) {
+            operations.put(operation, new LongAdder());
+        }
+    }
+
+    void startRecording() {
+        stats.clear();
+        operations.values().forEach(LongAdder::reset);
+        recording = true;
+    }
+
+    void stopRecording() {
+        recording = false;
+    }
+
+    /**
+     * Run one RPC, timing it and counting a failure by status code. The exception is rethrown
+     * so callers can abandon the rest of a multi-call operation.
+     */
+    <T> T call(String rpc, Supplier<T> rpcCall) {
+        long start = System.nanoTime();
+        try {
+            T result = rpcCall.get();
+            if (recording) {
+                stats(rpc).latency.recordValue(micros(start));
+            }
+            return result;
+        } catch (StatusRuntimeException e) {
+            if (recording) {
+                Stats s = stats(rpc);
+                s.latency.recordValue(micros(start));
+                s.errors.computeIfAbsent(e.getStatus().getCode(), code -> new LongAdder()).increment();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Count a completed operation; those that failed part-way are only counted as RPC errors.
+     */
+    void countOperation(Operation operation) {
+        if (recording) {
+            operations.get(operation).increment();
+        }
+    }
+
+    void addBytes(String rpc, long bytes) {
+        if (recording) {
+            stats(rpc).bytes.add(bytes);
+        }
+    }
+
+    Map<String, Stats> snapshot() {
+        return new TreeMap<>(stats);
+    }
+
+    Map<Operation, Long> operations() {
+        Map<Operation, Long> counts = new EnumMap<>(Operation.class);
+        operations.forEach((operation, count) -> counts.put(operation, count.sum()));
+        return counts;
+    }
+
+    private Stats stats(String rpc) {
+        return stats.computeIfAbsent(rpc, name -> new Stats());
+    }
+
+    private static long micros(long startNanos) {
+        return Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos), HIGHEST_TRACKABLE_MICROS);
+    }
+
+    static final class Stats {
+        final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final Map<Status.Code, LongAdder> errors = new ConcurrentHashMap<>();
+        final LongAdder bytes = new LongAdder();
+
+        long errorCount() {
+            return errors.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+    }
+}
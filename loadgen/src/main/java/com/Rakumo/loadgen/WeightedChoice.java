@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.loadgen;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Picks values in proportion to integer weights, parsed from {@code value:weight,...}.
+ */
+final class WeightedChoice<T> {
+
+    private final List<T> values;
+    private final int[] cumulative;
+
+    private WeightedChoice(List<T> values, int[] cumulative) {
+        this.values = values;
+        this.cumulative = cumulative;
+    }
+
+    static <T> WeightedChoice<T> parse(String spec, Function<String, T> parser) {
+        List<T> values = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected value:weight but got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in: " + entry);
+            }
+            if (weight > 0) {
+                values.add(parser.apply(parts[0].trim()));
+                weights.add(weight);
+            }
+        }
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("No positive weights in: " + spec);
+        }
+
+        int[] cumulative = new int[weights.size()];
+        int total = 0;
+        for (int i = 0; i < cumulative.length; i++) {
+            total += weights.get(i);
+            cumulative[i] = total;
+        }
+        return new WeightedChoice<>(List.copyOf(values), cumulative);
+    }
+
+    T pick(SplittableRandom random) {
+        int target = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (target < cumulative[i]) {
+                return values.get(i);
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    List<T> values() {
+        return values;
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.loadgen;
+
+import com.google.protobuf.ByteString;
+import com.rakumo.loadgen.ObjectPool.StoredObject;
+import com.rakumo.loadgen.WorkloadConfig.Operation;
+import com.rakumo.metadata.bucket.BucketServiceGrpc;
+import com.rakumo.metadata.bucket.CreateBucketRequest;
+import com.rakumo.metadata.object.GetBucketObjectsRequest;
+import com.rakumo.metadata.object.ObjectListResponse;
+import com.rakumo.metadata.object.ObjectResponse;
+import com.rakumo.metadata.object.ObjectServiceGrpc;
+import com.rakumo.object.download.DownloadManagerServiceProtoGrpc;
+import com.rakumo.object.download.DownloadRequestMessage;
+import com.rakumo.object.download.DownloadResponseMessage;
+import com.rakumo.object.storage.DeleteFileRequestMessage;
+import com.rakumo.object.storage.FileStorageServiceProtoGrpc;
+import com.rakumo.object.upload.CompleteMultipartRequestMessage;
+import com.rakumo.object.upload.InitiateMultipartRequestMessage;
+import com.rakumo.object.upload.UploadChunkRequestMessage;
+import com.rakumo.object.upload.UploadFileRequestMessage;
+import com.rakumo.object.upload.UploadManagerServiceProtoGrpc;
+import io.grpc.StatusRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop workers replaying the configured operation mix against the cluster. Each
+ * operation maps to one or more RPCs, which are timed individually by {@link RpcLatencies}.
+ */
+final class Workload {
+
+    private static final Logger log = LoggerFactory.getLogger(Workload.class);
+
+    static final String HANDLE_REGULAR_UPLOAD = "UploadManager/HandleRegularUpload";
+    static final String INITIATE_MULTIPART = "UploadManager/InitiateMultipartUpload";
+    static final String UPLOAD_CHUNK = "UploadManager/UploadChunk";
+    static final String COMPLETE_MULTIPART = "UploadManager/CompleteMultipartUpload";
+    static final String RETRIEVE_FILE = "DownloadManager/RetrieveFile";
+    static final String DELETE_FILE = "FileStorage/DeleteFile";
+    static final String GET_BUCKET_OBJECTS = "ObjectService/GetBucketObjects";
+
+    private static final String CONTENT_TYPE = "application/octet-stream";
+    private static final Duration PREFILL_SETTLE_TIMEOUT = Duration.ofSeconds(60);
+
+    private final WorkloadConfig config;
+    private final RpcLatencies latencies;
+    private final String ownerId;
+    private final UploadManagerServiceProtoGrpc.UploadManagerServiceProtoBlockingStub uploads;
+    private final DownloadManagerServiceProtoGrpc.DownloadManagerServiceProtoBlockingStub downloads;
+    private final FileStorageServiceProtoGrpc.FileStorageServiceProtoBlockingStub files;
+    private final ObjectServiceGrpc.ObjectServiceBlockingStub objects;
+    private final BucketServiceGrpc.BucketServiceBlockingStub buckets;
+
+    private final ObjectPool pool = new ObjectPool();
+    private final AtomicLong keySequence = new AtomicLong();
+    private final List<String> bucketIds = new ArrayList<>();
+    // Random payload shared by all uploads; each upload stamps its key sequence over the
+    // first bytes so no two objects share a checksum and get deduplicated
+    private final byte[] payloadSource;
+
+    Workload(WorkloadConfig config, InProcessCluster cluster, RpcLatencies latencies) {
+        this.config = config;
+        this.latencies = latencies;
+        this.ownerId = cluster.ownerId();
+        this.uploads = UploadManagerServiceProtoGrpc.newBlockingStub(cluster.objectChannel());
+        this.downloads = DownloadManagerServiceProtoGrpc.newBlockingStub(cluster.objectChannel());
+        this.files = FileStorageServiceProtoGrpc.newBlockingStub(cluster.objectChannel());
+        this.objects = ObjectServiceGrpc.newBlockingStub(cluster.metadataChannel());
+        this.buckets = BucketServiceGrpc.newBlockingStub(cluster.metadataChannel());
+
+        long largest = config.sizes.values().stream().mapToLong(Long::longValue).max().orElseThrow();
+        this.payloadSource = new byte[Math.toIntExact(largest)];
+        new SplittableRandom(config.seed).nextBytes(payloadSource);
+    }
+
+    /**
+     * Create the buckets and upload the prefill objects, then wait until the outbox relay
+     * has made them visible to listing so that deletes have targets from the start.
+     */
+    void prepare() throws InterruptedException {
+        for (int i = 0; i < config.buckets; i++) {
+            bucketIds.add(buckets.createBucket(CreateBucketRequest.newBuilder()
+                    .setOwnerId(ownerId)
+                    .setName("loadgen-" + i)
+                    .build()).getBucketId());
+        }
+
+        SplittableRandom random = new SplittableRandom(config.seed - 1);
+        for (int i = 0; i < config.prefill; i++) {
+            upload(random);
+        }
+
+        long deadline = System.nanoTime() + PREFILL_SETTLE_TIMEOUT.toNanos();
+        while (listedObjects() < config.prefill) {
+            if (System.nanoTime() > deadline) {
+                log.warn("Only {}/{} prefill objects reached the metadata service", listedObjects(), config.prefill);
+                return;
+            }
+            Thread.sleep(100);
+        }
+        log.info("Prefilled {} objects across {} buckets", config.prefill, config.buckets);
+    }
+
+    /**
+     * Run the workers for warmup plus duration, recording only the latter.
+     *
+     * @return the measured wall-clock time
+     */
+    Duration run() throws InterruptedException {
+        long deadline = System.nanoTime() + config.warmup.plus(config.duration).toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(config.concurrency);
+        for (int i = 0; i < config.concurrency; i++) {
+            SplittableRandom random = new SplittableRandom(config.seed + i);
+            workers.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    runOnce(random);
+                }
+            });
+        }
+        workers.shutdown();
+
+        log.info("Warming up for {}", config.warmup);
+        Thread.sleep(config.warmup.toMillis());
+        latencies.startRecording();
+        long start = System.nanoTime();
+        log.info("Measuring for {}", config.duration);
+
+        // Workers finish the operation in flight, so wait well past the deadline
+        if (!workers.awaitTermination(config.duration.toMillis() + TimeUnit.MINUTES.toMillis(5), TimeUnit.MILLISECONDS)) {
+            workers.shutdownNow();
+        }
+        latencies.stopRecording();
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    private void runOnce(SplittableRandom random) {
+        Operation operation = config.mix.pick(random);
+        try {
+            switch (operation) {
+                case UPLOAD -> upload(random);
+                case DOWNLOAD -> download(random);
+                case LIST -> list(randomBucket(random));
+                case DELETE -> delete(random);
+            }
+            latencies.countOperation(operation);
+        } catch (StatusRuntimeException e) {
+            // Already counted against the RPC that failed
+            log.debug("{} failed: {}", operation, e.getStatus());
+        }
+    }
+
+    private void upload(SplittableRandom random) {
+        String bucketId = randomBucket(random);
+        long sequence = keySequence.incrementAndGet();
+        String objectKey = "object-" + sequence;
+        int size = Math.toIntExact(config.sizes.pick(random));
+        byte[] payload = payload(sequence, size);
+
+        if (random.nextDouble() < config.multipartFraction) {
+            String uploadId = latencies.call(INITIATE_MULTIPART, () -> uploads.initiateMultipartUpload(
+                    InitiateMultipartRequestMessage.newBuilder()
+                            .setBucketName(bucketId)
+                            .setObjectKey(objectKey)
+                            .setOwnerId(ownerId)
+                            .setContentType(CONTENT_TYPE)
+                            .build())).getUploadId();
+            for (int offset = 0, index = 0; offset < size || index == 0; offset += config.chunkSize, index++) {
+                int length = Math.min(config.chunkSize, size - offset);
+                UploadChunkRequestMessage chunk = UploadChunkRequestMessage.newBuilder()
+                        .setUploadId(uploadId)
+                        .setChunkIndex(index)
+                        .setChunkData(ByteString.copyFrom(payload, offset, length))
+                        .build();
+                latencies.call(UPLOAD_CHUNK, () -> uploads.uploadChunk(chunk));
+                latencies.addBytes(UPLOAD_CHUNK, length);
+            }
+            latencies.call(COMPLETE_MULTIPART, () -> uploads.completeMultipartUpload(
+                    CompleteMultipartRequestMessage.newBuilder().setUploadId(uploadId).build()));
+        } else {
+            UploadFileRequestMessage request = UploadFileRequestMessage.newBuilder()
+                    .setBucketName(bucketId)
+                    .setObjectKey(objectKey)
+                    .setOwnerId(ownerId)
+                    .setContentType(CONTENT_TYPE)
+                    .setFileData(ByteString.copyFrom(payload))
+                    .build();
+            latencies.call(HANDLE_REGULAR_UPLOAD, () -> uploads.handleRegularUpload(request));
+            latencies.addBytes(HANDLE_REGULAR_UPLOAD, size);
+        }
+        pool.add(new StoredObject(bucketId, objectKey));
+    }
+
+    private void download(SplittableRandom random) {
+        StoredObject target = pool.pick(random);
+        if (target == null) {
+            upload(random);
+            return;
+        }
+        // May race with a delete of the same object and fail with NOT_FOUND
+        DownloadResponseMessage response = latencies.call(RETRIEVE_FILE, () -> downloads.retrieveFile(
+                DownloadRequestMessage.newBuilder()
+                        .setBucketName(target.bucketId())
+                        .setObjectKey(target.objectKey())
+                        .build()));
+        latencies.addBytes(RETRIEVE_FILE, response.getFileData().size());
+    }
+
+    private ObjectListResponse list(String bucketId) {
+        return latencies.call(GET_BUCKET_OBJECTS, () -> objects.getBucketObjects(
+                GetBucketObjectsRequest.newBuilder().setBucketId(bucketId).build()));
+    }
+
+    /**
+     * Delete the way a client would: list a bucket, then delete one listed object by id.
+     */
+    private void delete(SplittableRandom random) {
+        String bucketId = randomBucket(random);
+        List<ObjectResponse> listed = list(bucketId).getObjectsList();
+        if (listed.isEmpty()) {
+            return;
+        }
+        // Start at a random entry and take the first one no other worker has claimed
+        int start = random.nextInt(listed.size());
+        for (int i = 0; i < listed.size(); i++) {
+            ObjectResponse object = listed.get((start + i) % listed.size());
+            if (pool.remove(new StoredObject(bucketId, object.getObjectKey()))) {
+                latencies.call(DELETE_FILE, () -> files.deleteFile(DeleteFileRequestMessage.newBuilder()
+                        .setOwnerId(ownerId)
+                        .setBucketName(bucketId)
+                        .setObjectKey(object.getObjectKey())
+                        .setFileId(object.getId())
+                        .build()));
+                return;
+            }
+        }
+    }
+
+    private String randomBucket(SplittableRandom random) {
+        return bucketIds.get(random.nextInt(bucketIds.size()));
+    }
+
+    private byte[] payload(long sequence, int size) {
+        byte[] payload = new byte[size];
+        System.arraycopy(payloadSource, 0, payload, 0, size);
+        if (size >= Long.BYTES) {
+            ByteBuffer.wrap(payload).putLong(sequence);
+        } else if (size > 0) {
+            payload[0] ^= (byte) sequence;
+        }
+        return payload;
+    }
+
+    private int listedObjects() {
+        int total = 0;
+        for (String bucketId : bucketIds) {
+            total += objects.getBucketObjects(
+                    GetBucketObjectsRequest.newBuilder().setBucketId(bucketId).build()).getObjectsCount();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.loadgen;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Workload options, read from {@code --key=value} arguments and optionally a properties
+ * file named by {@code --config}. Arguments win over the file.
+ *
+ * <pre>
+ * duration=60s             measured run length
+ * warmup=10s               unrecorded run before measuring
+ * concurrency=16           closed-loop workers
+ * buckets=4                buckets created up front
+ * prefill=200              objects uploaded before warmup so reads have targets
+ * seed=42                  makes operation and size choices repeatable
+ * sizes=4KiB:50,64KiB:30,1MiB:15,8MiB:5
+ * mix=upload:25,download:60,list:10,delete:5
+ * multipart-fraction=0.1   share of uploads sent as Initiate/UploadChunk/Complete
+ * chunk-size=1MiB          multipart chunk size
+ * output=loadgen-results   directory for .hgrm files and summary.txt
+ * trace=false              trace every call and write the spans to output/spans-*.jsonl
+ * gate.max-p99.&lt;rpc&gt;=250ms  fail when that RPC's p99 is higher (rpc as printed, e.g. DownloadManager/RetrieveFile)
+ * gate.max-error-rate=0.01 fail when errors/calls is higher for any RPC
+ * gate.min-throughput=500  fail when total operations per second is lower
+ * </pre>
+ */
+final class WorkloadConfig {
+
+    enum Operation { UPLOAD, DOWNLOAD, LIST, DELETE }
+
+    private static final String GATE_P99_PREFIX = "gate.max-p99.";
+
+    final Duration duration;
+    final Duration warmup;
+    final int concurrency;
+    final int buckets;
+    final int prefill;
+    final long seed;
+    final WeightedChoice<Long> sizes;
+    final WeightedChoice<Operation> mix;
+    final double multipartFraction;
+    final int chunkSize;
+    final Path output;
+    final boolean trace;
+    final Map<String, Duration> maxP99;
+    final double maxErrorRate;
+    final double minThroughput;
+
+    private WorkloadConfig(Properties props) {
+        this.duration = parseDuration(props.getProperty("duration", "60s"));
+        this.warmup = parseDuration(props.getProperty("warmup", "10s"));
+        this.concurrency = Integer.parseInt(props.getProperty("concurrency", "16"));
+        this.buckets = Integer.parseInt(props.getProperty("buckets", "4"));
+        this.prefill = Integer.parseInt(props.getProperty("prefill", "200"));
+        this.seed = Long.parseLong(props.getProperty("seed", "42"));
+        this.sizes = WeightedChoice.parse(props.getProperty("sizes", "4KiB:50,64KiB:30,1MiB:15,8MiB:5"),
+                WorkloadConfig::parseSize);
+        this.mix = WeightedChoice.parse(props.getProperty("mix", "upload:25,download:60,list:10,delete:5"),
+                name -> Operation.valueOf(name.toUpperCase(Locale.ROOT)));
+        this.multipartFraction = Double.parseDouble(props.getProperty("multipart-fraction", "0.1"));
+        this.chunkSize = Math.toIntExact(parseSize(props.getProperty("chunk-size", "1MiB")));
+        this.output = Path.of(props.getProperty("output", "loadgen-results"));
+        this.trace = Boolean.parseBoolean(props.getProperty("trace", "false"));
+        this.maxErrorRate = Double.parseDouble(props.getProperty("gate.max-error-rate", "1"));
+        this.minThroughput = Double.parseDouble(props.getProperty("gate.min-throughput", "0"));
+
+        Map<String, Duration> p99 = new LinkedHashMap<>();
+        for (String name : props.stringPropertyNames()) {
+            if (name.startsWith(GATE_P99_PREFIX)) {
+                p99.put(name.substring(GATE_P99_PREFIX.length()), parseDuration(props.getProperty(name)));
+            }
+        }
+        this.maxP99 = Map.copyOf(p99);
+
+        if (concurrency < 1 || buckets < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("concurrency, buckets and chunk-size must be positive");
+        }
+        if (multipartFraction < 0 || multipartFraction > 1) {
+            throw new IllegalArgumentException("multipart-fraction must be between 0 and 1");
+        }
+    }
+
+    static WorkloadConfig fromArgs(String[] args) throws IOException {
+        Properties cli = new Properties();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            cli.setProperty(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        Properties props = new Properties();
+        String file = cli.getProperty("config");
+        if (file != null) {
+            try (Reader reader = Files.newBufferedReader(Path.of(file))) {
+                props.load(reader);
+            }
+        }
+        props.putAll(cli);
+        return new WorkloadConfig(props);
+    }
+
+    static Duration parseDuration(String value) {
+        String v = value.trim().toLowerCase(Locale.ROOT);
+        if (v.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        }
+        long amount = Long.parseLong(v.substring(0, v.length() - 1));
+        return switch (v.charAt(v.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Unknown duration unit in: " + value);
+        };
+    }
+
+    static long parseSize(String value) {
+        String v = value.trim();
+        int unit = 0;
+        while (unit < v.length() && Character.isDigit(v.charAt(unit))) {
+            unit++;
+        }
+        long amount = Long.parseLong(v.substring(0, unit));
+        return switch (v.substring(unit).toUpperCase(Locale.ROOT)) {
+            case "", "B" -> amount;
+            case "KB", "KIB", "K" -> amount << 10;
+            case "MB", "MIB", "M" -> amount << 20;
+            case "GB", "GIB", "G" -> amount << 30;
+            default -> throw new IllegalArgumentException("Unknown size unit in: " + value);
+        };
+    }
+}
@@ -20,24 +20,37 @@
 package com.rakumo.metadata.grpc;
 
 import com.google.protobuf.Timestamp;
+import com.rakumo.metadata.dto.BatchResultDto;
+import com.rakumo.metadata.dto.CustomMetadataDto;
 import com.rakumo.metadata.dto.ObjectMetadataDto;
+import com.rakumo.metadata.dto.ObjectVersionDto;
+import com.rakumo.metadata.dto.ObjectWithVersionDto;
 import com.rakumo.metadata.entity.ObjectMetadata;
 import com.rakumo.metadata.exceptions.ObjectNotFoundException;
+import com.rakumo.metadata.object.BatchItemStatus;
+import com.rakumo.metadata.object.BatchObjectResponse;
 import com.rakumo.metadata.object.CreateObjectRequest;
+import com.rakumo.metadata.object.CreateObjectWithVersionRequest;
+import com.rakumo.metadata.object.CreateObjectsRequest;
+import com.rakumo.metadata.object.CreateObjectsWithVersionRequest;
 import com.rakumo.metadata.object.DeleteObjectRequest;
+import com.rakumo.metadata.object.DeleteObjectsRequest;
 import com.rakumo.metadata.object.DeleteResponse;
 import com.rakumo.metadata.object.GetBucketObjectsRequest;
 import com.rakumo.metadata.object.GetObjectRequest;
 import com.rakumo.metadata.object.ObjectListResponse;
 import com.rakumo.metadata.object.ObjectResponse;
 import com.rakumo.metadata.object.ObjectServiceGrpc;
+import com.rakumo.metadata.object.ObjectVersion;
 import com.rakumo.metadata.object.UpdateObjectRequest;
 import com.rakumo.metadata.services.ObjectMetadataService;
 import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import net.devh.boot.grpc.server.service.GrpcService;
 
@@ -169,6 +182,166 @@ public class ObjectMetadataGrpcService extends ObjectServiceGrpc.ObjectServiceIm
     }
   }
 
+  @Override
+  public void createObjects(CreateObjectsRequest request,
+                            StreamObserver<BatchObjectResponse> responseObserver) {
+    try {
+      responseObserver.onNext(runBatch(request.getObjectsList(),
+              CreateObjectRequest::getId,
+              item -> {
+                ObjectMetadataDto dto = new ObjectMetadataDto();
+                dto.setId(UUID.fromString(item.getId()));
+                dto.setBucketId(UUID.fromString(item.getBucketId()));
+                dto.setObjectKey(item.getObjectKey());
+                dto.setLatestVersionId(item.getLatestVersionId());
+                dto.setLatestEtag(item.getLatestEtag());
+                dto.setLatestSize(item.getLatestSize());
+                return dto;
+              },
+              objectMetadataService::createObjects));
+      responseObserver.onCompleted();
+    } catch (Exception e) {
+      responseObserver.onError(Status.INTERNAL
+              .withDescription("Batch create failed: " + e.getMessage())
+              .asRuntimeException());
+    }
+  }
+
+  @Override
+  public void deleteObjects(DeleteObjectsRequest request,
+                            StreamObserver<BatchObjectResponse> responseObserver) {
+    try {
+      responseObserver.onNext(runBatch(request.getObjectsList(),
+              DeleteObjectRequest::getObjectId,
+              item -> {
+                ObjectMetadataDto dto = new ObjectMetadataDto();
+                dto.setId(UUID.fromString(item.getObjectId()));
+                dto.setBucketId(UUID.fromString(item.getBucketId()));
+                return dto;
+              },
+              objectMetadataService::deleteObjects));
+      responseObserver.onCompleted();
+    } catch (Exception e) {
+      responseObserver.onError(Status.INTERNAL
+              .withDescription("Batch delete failed: " + e.getMessage())
+              .asRuntimeException());
+    }
+  }
+
+  @Override
+  public void createObjectWithVersion(CreateObjectWithVersionRequest request,
+                                      StreamObserver<ObjectResponse> responseObserver) {
+    try {
+      ObjectWithVersionDto objectWithVersion = toObjectWithVersion(request);
+      ObjectMetadataDto dto = objectMetadataService.createObjectWithVersion(objectWithVersion);
+
+      ObjectVersionDto version = objectWithVersion.getVersion();
+      responseObserver.onNext(toObjectResponse(dto).toBuilder()
+              .addVersions(ObjectVersion.newBuilder()
+                      .setVersionId(version.getVersionId().toString())
+                      .setObjectId(dto.getId().toString())
+                      .setEtag(version.getEtag())
+                      .setSize(version.getSize())
+                      .setCreatedAt(toTimestamp(dto.getUpdatedAt()))
+                      .setIsLatest(true)
+                      .build())
+              .build());
+      responseObserver.onCompleted();
+    } catch (IllegalArgumentException e) {
+      responseObserver.onError(Status.INVALID_ARGUMENT
+              .withDescription(e.getMessage())
+              .asRuntimeException());
+    } catch (Exception e) {
+      responseObserver.onError(Status.INTERNAL
+              .withDescription("Create with version failed: " + e.getMessage())
+              .asRuntimeException());
+    }
+  }
+
+  @Override
+  public void createObjectsWithVersion(CreateObjectsWithVersionRequest request,
+                                       StreamObserver<BatchObjectResponse> responseObserver) {
+    try {
+      responseObserver.onNext(runBatch(request.getObjectsList(),
+              CreateObjectWithVersionRequest::getId,
+              ObjectMetadataGrpcService::toObjectWithVersion,
+              objectMetadataService::createObjectsWithVersion));
+      responseObserver.onCompleted();
+    } catch (Exception e) {
+      responseObserver.onError(Status.INTERNAL
+              .withDescription("Batch create with version failed: " + e.getMessage())
+              .asRuntimeException());
+    }
+  }
+
+  private static ObjectWithVersionDto toObjectWithVersion(CreateObjectWithVersionRequest request) {
+    ObjectMetadataDto object = new ObjectMetadataDto();
+    object.setId(UUID.fromString(request.getId()));
+    object.setBucketId(UUID.fromString(request.getBucketId()));
+    object.setObjectKey(request.getObjectKey());
+
+    ObjectVersionDto version = new ObjectVersionDto();
+    version.setVersionId(UUID.fromString(request.getVersionId()));
+    version.setObjectId(object.getId());
+    version.setEtag(request.getEtag());
+    version.setSize(request.getSize());
+    version.setStorageLocation(request.getStorageLocation());
+    version.setContentType(request.getContentType());
+    version.setStorageClass(request.getStorageClass());
+    version.setCustomMetadata(request.getCustomMetadataMap().entrySet().stream()
+            .map(entry -> new CustomMetadataDto(null, entry.getKey(), entry.getValue()))
+            .toList());
+
+    return new ObjectWithVersionDto(object, version);
+  }
+
+  /**
+   * Converts request items, runs the valid ones as a single batch and reports one
+   * status per item in request order. Items that fail conversion never reach the service.
+   */
+  private static <T, D> BatchObjectResponse runBatch(List<T> items,
+                                                     Function<T, String> idOf,
+                                                     Function<T, D> toDto,
+                                                     Function<List<D>, List<BatchResultDto>> batch) {
+    BatchItemStatus[] statuses = new BatchItemStatus[items.size()];
+    List<D> valid = new ArrayList<>(items.size());
+    List<Integer> validIndexes = new ArrayList<>(items.size());
+
+    for (int i = 0; i < items.size(); i++) {
+      T item = items.get(i);
+      try {
+        valid.add(toDto.apply(item));
+        validIndexes.add(i);
+      } catch (IllegalArgumentException e) {
+        statuses[i] = BatchItemStatus.newBuilder()
+                .setObjectId(idOf.apply(item))
+                .setSuccess(false)
+                .setMessage("Invalid id: " + e.getMessage())
+                .build();
+      }
+    }
+
+    List<BatchResultDto> results = valid.isEmpty() ? List.of() : batch.apply(valid);
+    for (int i = 0; i < results.size(); i++) {
+      BatchResultDto result = results.get(i);
+      statuses[validIndexes.get(i)] = BatchItemStatus.newBuilder()
+              .setObjectId(result.getObjectId())
+              .setSuccess(result.isSuccess())
+              .setMessage(result.getMessage())
+              .build();
+    }
+
+    BatchObjectResponse.Builder response = BatchObjectResponse.newBuilder();
+    int succeeded = 0;
+    for (BatchItemStatus status : statuses) {
+      response.addResults(status);
+      if (status.getSuccess()) {
+        succeeded++;
+      }
+    }
+    return response.setSucceededCount(succeeded).build();
+  }
+
   private static ObjectResponse toObjectResponse(ObjectMetadataDto dto) {
     ObjectResponse.Builder builder = ObjectResponse.newBuilder()
             .setId(dto.getId().toString())
@@ -19,7 +19,9 @@
 
 package com.rakumo.metadata.services;
 
+import com.rakumo.metadata.dto.BatchResultDto;
 import com.rakumo.metadata.dto.ObjectMetadataDto;
+import com.rakumo.metadata.dto.ObjectWithVersionDto;
 import com.rakumo.metadata.entity.ObjectMetadata;
 import com.rakumo.metadata.exceptions.ObjectNotFoundException;
 import com.rakumo.metadata.exceptions.UnauthorizedAccessException;
@@ -81,4 +83,40 @@ public interface ObjectMetadataService {
    */
   void deleteObject(UUID bucketId, UUID objectId)
       throws ObjectNotFoundException, UnauthorizedAccessException;
+
+  /**
+   * Creates or replaces metadata records for many objects in a single transaction.
+   *
+   * @param objects the objects to write, each carrying its id and bucket id
+   * @return one result per input object, in input order
+   */
+  List<BatchResultDto> createObjects(List<ObjectMetadataDto> objects);
+
+  /**
+   * Deletes many objects, together with their versions and custom metadata, in a
+   * single transaction. Objects that no longer exist are reported as successful.
+   *
+   * @param objects the objects to delete, each carrying its id and bucket id
+   * @return one result per input object, in input order
+   */
+  List<BatchResultDto> deleteObjects(List<ObjectMetadataDto> objects);
+
+  /**
+   * Creates or updates an object and inserts its new latest version, together with
+   * the version's custom metadata, in a single transaction.
+   *
+   * @param objectWithVersion the object and the version to record
+   * @return the object metadata DTO after the write
+   * @throws IllegalArgumentException if the bucket does not exist
+   */
+  ObjectMetadataDto createObjectWithVersion(ObjectWithVersionDto objectWithVersion);
+
+  /**
+   * Batch form of {@link #createObjectWithVersion(ObjectWithVersionDto)}; every object
+   * is written in one transaction.
+   *
+   * @param objects the objects and versions to record
+   * @return one result per input object, in input order
+   */
+  List<BatchResultDto> createObjectsWithVersion(List<ObjectWithVersionDto> objects);
 }
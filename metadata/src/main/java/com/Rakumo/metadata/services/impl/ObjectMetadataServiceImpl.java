@@ -19,7 +19,11 @@
 
 package com.rakumo.metadata.services.impl;
 
+import com.rakumo.metadata.dto.BatchResultDto;
+import com.rakumo.metadata.dto.CustomMetadataDto;
 import com.rakumo.metadata.dto.ObjectMetadataDto;
+import com.rakumo.metadata.dto.ObjectVersionDto;
+import com.rakumo.metadata.dto.ObjectWithVersionDto;
 import com.rakumo.metadata.entity.Bucket;
 import com.rakumo.metadata.entity.ObjectMetadata;
 import com.rakumo.metadata.exceptions.ObjectNotFoundException;
@@ -28,11 +32,15 @@ import com.rakumo.metadata.mapper.ObjectMetadataMapper;
 import com.rakumo.metadata.repository.BucketRepo;
 import com.rakumo.metadata.repository.ObjectMetadataRepo;
 import com.rakumo.metadata.services.ObjectMetadataService;
+import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -45,22 +53,56 @@ public class ObjectMetadataServiceImpl implements ObjectMetadataService {
   private static final Logger LOGGER =
           Logger.getLogger(ObjectMetadataServiceImpl.class.getName());
 
+  private static final String UPSERT_OBJECT_SQL =
+          "INSERT INTO object_metadata (id, bucket_id, object_key, latest_version_id, latest_etag, "
+          + "latest_size, created_at, updated_at, is_deleted) VALUES (?, ?, ?, ?, ?, ?, ?, ?, false) "
+          + "ON CONFLICT (id) DO UPDATE SET bucket_id = EXCLUDED.bucket_id, "
+          + "object_key = EXCLUDED.object_key, latest_version_id = EXCLUDED.latest_version_id, "
+          + "latest_etag = EXCLUDED.latest_etag, latest_size = EXCLUDED.latest_size, "
+          + "updated_at = EXCLUDED.updated_at, is_deleted = false";
+
+  private static final String DELETE_CUSTOM_METADATA_SQL =
+          "DELETE FROM custom_metadata WHERE version_id IN (SELECT v.version_id FROM object_version v "
+          + "JOIN object_metadata o ON v.object_id = o.id WHERE o.id = ? AND o.bucket_id = ?)";
+
+  private static final String DELETE_VERSIONS_SQL =
+          "DELETE FROM object_version WHERE object_id IN "
+          + "(SELECT id FROM object_metadata WHERE id = ? AND bucket_id = ?)";
+
+  private static final String DELETE_OBJECT_SQL =
+          "DELETE FROM object_metadata WHERE id = ? AND bucket_id = ?";
+
+  private static final String INSERT_VERSION_SQL =
+          "INSERT INTO object_version (version_id, object_id, etag, storage_location, size, content_type, "
+          + "created_at, is_delete_marker, storage_class) VALUES (?, ?, ?, ?, ?, ?, ?, false, ?) "
+          + "ON CONFLICT (version_id) DO NOTHING";
+
+  private static final String DELETE_VERSION_CUSTOM_METADATA_SQL =
+          "DELETE FROM custom_metadata WHERE version_id = ?";
+
+  private static final String INSERT_CUSTOM_METADATA_SQL =
+          "INSERT INTO custom_metadata (custom_metadata_id, key, value, version_id) VALUES (?, ?, ?, ?)";
+
   private final ObjectMetadataRepo objectMetadataRepo;
   private final BucketRepo bucketRepo;
   private final ObjectMetadataMapper objectMapper;
+  private final JdbcTemplate jdbcTemplate;
 
   /**
    * Constructor for ObjectMetadataServiceImpl
    * @param objectMetadataRepo Repository for object metadata operations
    * @param bucketRepo Repository for bucket operations
    * @param objectMapper Mapper for converting between ObjectMetadata and ObjectMetadataDto
+   * @param jdbcTemplate JDBC template used for batch writes
    */
   public ObjectMetadataServiceImpl(ObjectMetadataRepo objectMetadataRepo,
                                      BucketRepo bucketRepo,
-                                     ObjectMetadataMapper objectMapper) {
+                                     ObjectMetadataMapper objectMapper,
+                                     JdbcTemplate jdbcTemplate) {
     this.objectMetadataRepo = objectMetadataRepo;
     this.bucketRepo = bucketRepo;
     this.objectMapper = objectMapper;
+    this.jdbcTemplate = jdbcTemplate;
   }
 
   @Override
@@ -174,4 +216,156 @@ public class ObjectMetadataServiceImpl implements ObjectMetadataService {
     objectMetadataRepo.delete(objectMetadata);
     LOGGER.warning("Object " + objectId + " deleted successfully");
   }
+
+  @Override
+  @Transactional
+  public List<BatchResultDto> createObjects(List<ObjectMetadataDto> objects) {
+    LOGGER.info("Batch creating " + objects.size() + " objects");
+
+    Set<UUID> existingBuckets = existingBuckets(objects.stream()
+            .map(ObjectMetadataDto::getBucketId)
+            .collect(Collectors.toSet()));
+
+    Timestamp now = Timestamp.from(Instant.now());
+    List<Object[]> rows = new ArrayList<>(objects.size());
+    List<BatchResultDto> results = new ArrayList<>(objects.size());
+
+    for (ObjectMetadataDto object : objects) {
+      String objectId = object.getId().toString();
+      if (!existingBuckets.contains(object.getBucketId())) {
+        results.add(BatchResultDto.failed(objectId, "Bucket not found: " + object.getBucketId()));
+        continue;
+      }
+      rows.add(new Object[] {
+          object.getId(),
+          object.getBucketId(),
+          object.getObjectKey(),
+          object.getLatestVersionId(),
+          object.getLatestEtag(),
+          object.getLatestSize(),
+          now,
+          now
+      });
+      results.add(BatchResultDto.ok(objectId, "Created"));
+    }
+
+    if (!rows.isEmpty()) {
+      jdbcTemplate.batchUpdate(UPSERT_OBJECT_SQL, rows);
+    }
+    LOGGER.info("Batch created " + rows.size() + "/" + objects.size() + " objects");
+    return results;
+  }
+
+  @Override
+  @Transactional
+  public List<BatchResultDto> deleteObjects(List<ObjectMetadataDto> objects) {
+    LOGGER.info("Batch deleting " + objects.size() + " objects");
+
+    List<Object[]> keys = objects.stream()
+            .map(object -> new Object[] {object.getId(), object.getBucketId()})
+            .collect(Collectors.toList());
+
+    // Children first: versions reference objects and custom metadata references versions
+    jdbcTemplate.batchUpdate(DELETE_CUSTOM_METADATA_SQL, keys);
+    jdbcTemplate.batchUpdate(DELETE_VERSIONS_SQL, keys);
+    int[] deleted = jdbcTemplate.batchUpdate(DELETE_OBJECT_SQL, keys);
+
+    List<BatchResultDto> results = new ArrayList<>(objects.size());
+    for (int i = 0; i < objects.size(); i++) {
+      String objectId = objects.get(i).getId().toString();
+      results.add(BatchResultDto.ok(objectId, deleted[i] == 0 ? "Object not found" : "Deleted"));
+    }
+    return results;
+  }
+
+  @Override
+  @Transactional
+  public ObjectMetadataDto createObjectWithVersion(ObjectWithVersionDto objectWithVersion) {
+    UUID objectId = objectWithVersion.getObject().getId();
+    BatchResultDto result = createObjectsWithVersion(List.of(objectWithVersion)).get(0);
+    if (!result.isSuccess()) {
+      throw new IllegalArgumentException(result.getMessage());
+    }
+
+    ObjectMetadataDto dto = objectMetadataRepo.findById(objectId)
+            .map(objectMapper::toDto)
+            .orElseThrow(() -> new IllegalStateException("Object not written: " + objectId));
+    dto.setBucketId(objectWithVersion.getObject().getBucketId());
+    return dto;
+  }
+
+  @Override
+  @Transactional
+  public List<BatchResultDto> createObjectsWithVersion(List<ObjectWithVersionDto> objects) {
+    LOGGER.info("Batch creating " + objects.size() + " objects with versions");
+
+    Set<UUID> existingBuckets = existingBuckets(objects.stream()
+            .map(item -> item.getObject().getBucketId())
+            .collect(Collectors.toSet()));
+
+    Timestamp now = Timestamp.from(Instant.now());
+    List<Object[]> objectRows = new ArrayList<>(objects.size());
+    List<Object[]> versionRows = new ArrayList<>(objects.size());
+    List<Object[]> versionIds = new ArrayList<>(objects.size());
+    List<Object[]> customMetadataRows = new ArrayList<>();
+    List<BatchResultDto> results = new ArrayList<>(objects.size());
+
+    for (ObjectWithVersionDto item : objects) {
+      ObjectMetadataDto object = item.getObject();
+      ObjectVersionDto version = item.getVersion();
+      String objectId = object.getId().toString();
+      if (!existingBuckets.contains(object.getBucketId())) {
+        results.add(BatchResultDto.failed(objectId, "Bucket not found: " + object.getBucketId()));
+        continue;
+      }
+
+      objectRows.add(new Object[] {
+          object.getId(),
+          object.getBucketId(),
+          object.getObjectKey(),
+          version.getVersionId().toString(),
+          version.getEtag(),
+          version.getSize(),
+          now,
+          now
+      });
+      versionRows.add(new Object[] {
+          version.getVersionId(),
+          object.getId(),
+          version.getEtag(),
+          version.getStorageLocation(),
+          version.getSize(),
+          version.getContentType(),
+          now,
+          version.getStorageClass()
+      });
+      versionIds.add(new Object[] {version.getVersionId()});
+      if (version.getCustomMetadata() != null) {
+        for (CustomMetadataDto metadata : version.getCustomMetadata()) {
+          customMetadataRows.add(new Object[] {
+              UUID.randomUUID(), metadata.getKey(), metadata.getValue(), version.getVersionId()
+          });
+        }
+      }
+      results.add(BatchResultDto.ok(objectId, "Created"));
+    }
+
+    if (!objectRows.isEmpty()) {
+      // Parents first; custom metadata is replaced so a retried request converges
+      jdbcTemplate.batchUpdate(UPSERT_OBJECT_SQL, objectRows);
+      jdbcTemplate.batchUpdate(INSERT_VERSION_SQL, versionRows);
+      jdbcTemplate.batchUpdate(DELETE_VERSION_CUSTOM_METADATA_SQL, versionIds);
+    }
+    if (!customMetadataRows.isEmpty()) {
+      jdbcTemplate.batchUpdate(INSERT_CUSTOM_METADATA_SQL, customMetadataRows);
+    }
+    LOGGER.info("Batch created " + objectRows.size() + "/" + objects.size() + " objects with versions");
+    return results;
+  }
+
+  private Set<UUID> existingBuckets(Set<UUID> bucketIds) {
+    return bucketRepo.findAllById(bucketIds).stream()
+            .map(Bucket::getBucketId)
+            .collect(Collectors.toSet());
+  }
 }
@@ -21,8 +21,10 @@ package com.rakumo.object;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ObjectApplication {
 
 	public static void main(String[] args) {
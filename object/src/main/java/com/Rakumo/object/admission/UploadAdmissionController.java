@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.admission;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Tracks the bytes of uploads in flight against a memory budget and the free space left
+ * under the storage root.
+ *
+ * <p>Unary uploads ask with {@link #tryReserve} and are turned away when the budget is
+ * spent; streaming uploads queue with {@link #reserve} and are granted in arrival order as
+ * reservations are released. A request larger than the whole budget is admitted only when
+ * nothing else is in flight, so it can never be starved outright.
+ */
+@Slf4j
+@Component
+public class UploadAdmissionController {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${upload.admission.memory-budget-bytes:0}")
+    private long configuredBudget;
+
+    @Value("${upload.admission.min-free-disk-bytes:1073741824}")
+    private long minFreeDiskBytes;
+
+    @Value("${storage.root:./storage}")
+    private String storageRoot;
+
+    private long budget;
+    private FileStore fileStore;
+
+    // Guarded by this
+    private long inflight;
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+
+    public UploadAdmissionController(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        // Unset means a quarter of the heap, leaving the rest for everything else
+        budget = configuredBudget > 0 ? configuredBudget : Runtime.getRuntime().maxMemory() / 4;
+        Path root = Paths.get(storageRoot);
+        Files.createDirectories(root);
+        fileStore = Files.getFileStore(root);
+
+        Gauge.builder("upload.admission.budget", () -> budget).baseUnit("bytes")
+                .description("Memory budget for upload bytes in flight").register(meterRegistry);
+        Gauge.builder("upload.admission.inflight", this, UploadAdmissionController::inflightBytes).baseUnit("bytes")
+                .description("Upload bytes currently admitted").register(meterRegistry);
+        Gauge.builder("upload.admission.utilization", this, c -> (double) c.inflightBytes() / c.budget)
+                .description("Share of the upload memory budget in use").register(meterRegistry);
+        Gauge.builder("upload.admission.waiting", this, UploadAdmissionController::waitingCount)
+                .description("Streaming upload messages waiting for budget").register(meterRegistry);
+        Gauge.builder("upload.admission.disk.usable", this, UploadAdmissionController::usableDiskBytes).baseUnit("bytes")
+                .description("Usable space under the storage root").register(meterRegistry);
+        log.info("Upload admission budget is {} bytes, keeping {} bytes of disk free", budget, minFreeDiskBytes);
+    }
+
+    /**
+     * Admit {@code bytes} now or not at all.
+     */
+    public synchronized Optional<Reservation> tryReserve(long bytes) {
+        if (!waiters.isEmpty() || !fits(bytes)) {
+            return Optional.empty();
+        }
+        inflight += bytes;
+        return Optional.of(new Reservation(bytes));
+    }
+
+    /**
+     * Admit {@code bytes} as soon as the budget allows, handing the reservation to
+     * {@code onGranted} on the releasing thread (or the calling one, if it fits now).
+     *
+     * @return a handle that withdraws the request if it has not been granted yet
+     */
+    public Waiter reserve(long bytes, Consumer<Reservation> onGranted) {
+        Waiter waiter = new Waiter(bytes, onGranted);
+        Reservation granted = null;
+        synchronized (this) {
+            if (waiters.isEmpty() && fits(bytes)) {
+                inflight += bytes;
+                granted = new Reservation(bytes);
+            } else {
+                waiters.addLast(waiter);
+            }
+        }
+        if (granted != null) {
+            waiter.grant(granted);
+        }
+        return waiter;
+    }
+
+    /**
+     * Whether the storage root is too full to take more uploads, counting bytes already
+     * admitted but not yet written.
+     */
+    public boolean isDiskLow() {
+        return usableDiskBytes() - inflightBytes() < minFreeDiskBytes;
+    }
+
+    public synchronized long inflightBytes() {
+        return inflight;
+    }
+
+    public long getBudget() {
+        return budget;
+    }
+
+    private synchronized int waitingCount() {
+        return waiters.size();
+    }
+
+    private long usableDiskBytes() {
+        try {
+            return fileStore.getUsableSpace();
+        } catch (IOException e) {
+            log.warn("Failed to read usable space under {}: {}", storageRoot, e.getMessage());
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private boolean fits(long bytes) {
+        return inflight + bytes <= budget || inflight == 0;
+    }
+
+    private void release(long bytes) {
+        List<Waiter> granted = new ArrayList<>();
+        List<Reservation> reservations = new ArrayList<>();
+        synchronized (this) {
+            inflight -= bytes;
+            while (!waiters.isEmpty() && fits(waiters.peekFirst().bytes)) {
+                Waiter waiter = waiters.pollFirst();
+                inflight += waiter.bytes;
+                granted.add(waiter);
+                reservations.add(new Reservation(waiter.bytes));
+            }
+        }
+        // Callbacks run outside the lock; they typically ask gRPC for the next message
+        for (int i = 0; i < granted.size(); i++) {
+            granted.get(i).grant(reservations.get(i));
+        }
+    }
+
+    private synchronized boolean withdraw(Waiter waiter) {
+        return waiters.remove(waiter);
+    }
+
+    /**
+     * Admitted bytes, returned to the budget by {@link #close}.
+     */
+    public final class Reservation implements AutoCloseable {
+
+        private long bytes;
+        private boolean released;
+
+        private Reservation(long bytes) {
+            this.bytes = bytes;
+        }
+
+        /**
+         * Replace the estimate with the actual size once it is known. The data is already
+         * in memory by then, so this never blocks or fails; it may overshoot the budget.
+         */
+        public void resize(long actualBytes) {
+            long delta;
+            synchronized (UploadAdmissionController.this) {
+                if (released) {
+                    return;
+                }
+                delta = actualBytes - bytes;
+                bytes = actualBytes;
+                inflight += delta;
+            }
+            if (delta < 0) {
+                release(0);
+            }
+        }
+
+        @Override
+        public void close() {
+            long freed;
+            synchronized (UploadAdmissionController.this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+                freed = bytes;
+            }
+            release(freed);
+        }
+    }
+
+    /**
+     * A queued {@link #reserve} request.
+     */
+    public final class Waiter {
+
+        private final long bytes;
+        private final Consumer<Reservation> onGranted;
+        private boolean cancelled;
+        private boolean granted;
+
+        private Waiter(long bytes, Consumer<Reservation> onGranted) {
+            this.bytes = bytes;
+            this.onGranted = onGranted;
+        }
+
+        /**
+         * Withdraw the request. If it was granted meanwhile, the reservation is left to
+         * whoever received it.
+         */
+        public void cancel() {
+            synchronized (UploadAdmissionController.this) {
+                cancelled = true;
+            }
+            withdraw(this);
+        }
+
+        public boolean isGranted() {
+            synchronized (UploadAdmissionController.this) {
+                return granted;
+            }
+        }
+
+        private void grant(Reservation reservation) {
+            boolean wanted;
+            synchronized (UploadAdmissionController.this) {
+                granted = true;
+                wanted = !cancelled;
+            }
+            if (wanted) {
+                onGranted.accept(reservation);
+            } else {
+                reservation.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,336 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.admission;
+
+import com.google.protobuf.Duration;
+import com.google.protobuf.MessageLite;
+import com.google.rpc.Code;
+import com.google.rpc.RetryInfo;
+import com.rakumo.object.admission.UploadAdmissionController.Reservation;
+import com.rakumo.object.admission.UploadAdmissionController.Waiter;
+import com.rakumo.object.storage.FileStorageServiceProtoGrpc;
+import com.rakumo.object.upload.UploadManagerServiceProtoGrpc;
+import io.grpc.Context;
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.protobuf.StatusProto;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Admits upload calls against the {@link UploadAdmissionController} before their payload
+ * is read off the wire.
+ *
+ * <p>Unary uploads reserve the size announced in {@value #UPLOAD_SIZE_HEADER} (or a default
+ * estimate) and fail fast with RESOURCE_EXHAUSTED plus retry hints when it does not fit.
+ * Streaming uploads are never refused for memory: each message is requested from the
+ * transport only once its reservation is granted, so HTTP/2 flow control holds the client
+ * back. Either way the reservation is trued up to the parsed message size.
+ *
+ * <p>A streaming message's reservation is released when the service returns from
+ * {@code onNext}, unless the service takes it with {@link #claimReservation} to keep the
+ * message counted until it has actually been consumed.
+ */
+@Slf4j
+@GrpcGlobalServerInterceptor
+@RequiredArgsConstructor
+public class UploadAdmissionInterceptor implements ServerInterceptor {
+
+    public static final String UPLOAD_SIZE_HEADER = "x-upload-size";
+
+    private static final Metadata.Key<String> UPLOAD_SIZE =
+            Metadata.Key.of(UPLOAD_SIZE_HEADER, Metadata.ASCII_STRING_MARSHALLER);
+    // Honoured by grpc-java and other clients configured with a retry policy
+    private static final Metadata.Key<String> RETRY_PUSHBACK =
+            Metadata.Key.of("grpc-retry-pushback-ms", Metadata.ASCII_STRING_MARSHALLER);
+
+    private static final Set<String> UPLOAD_METHODS = Set.of(
+            UploadManagerServiceProtoGrpc.getHandleRegularUploadMethod().getFullMethodName(),
+            UploadManagerServiceProtoGrpc.getUploadChunkMethod().getFullMethodName(),
+            FileStorageServiceProtoGrpc.getStoreFileMethod().getFullMethodName(),
+            FileStorageServiceProtoGrpc.getStoreFileStreamMethod().getFullMethodName());
+
+    private static final Context.Key<Handoff> HANDOFF = Context.key("upload-reservation");
+
+    private final UploadAdmissionController admission;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${upload.admission.default-reservation-bytes:8388608}")
+    private long defaultReservation;
+
+    @Value("${upload.admission.retry-after-ms:1000}")
+    private long retryAfterMs;
+
+    @Value("${grpc.server.max-inbound-message-size:4194304}")
+    private long maxMessageSize;
+
+    /**
+     * Take over the reservation of the streaming message being delivered. The caller must
+     * close it once the message's data is no longer held.
+     *
+     * @return the reservation, or null outside a streaming upload's {@code onNext}
+     */
+    public static Reservation claimReservation() {
+        Handoff handoff = HANDOFF.get();
+        if (handoff == null) {
+            return null;
+        }
+        Reservation reservation = handoff.reservation;
+        handoff.reservation = null;
+        return reservation;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        String method = call.getMethodDescriptor().getFullMethodName();
+        if (!UPLOAD_METHODS.contains(method)) {
+            return next.startCall(call, headers);
+        }
+        if (admission.isDiskLow()) {
+            return reject(call, method, "disk", "Storage is nearly full");
+        }
+
+        long estimate = estimate(headers);
+        if (call.getMethodDescriptor().getType().clientSendsOneMessage()) {
+            return admitUnary(call, headers, next, method, estimate);
+        }
+        return admitStreaming(call, headers, next, estimate);
+    }
+
+    private <ReqT, RespT> ServerCall.Listener<ReqT> admitUnary(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                               ServerCallHandler<ReqT, RespT> next,
+                                                               String method, long estimate) {
+        Optional<Reservation> admitted = admission.tryReserve(estimate);
+        if (admitted.isEmpty()) {
+            return reject(call, method, "memory", "Upload memory budget exhausted");
+        }
+        Reservation reservation = admitted.get();
+
+        ServerCall.Listener<ReqT> delegate;
+        try {
+            delegate = next.startCall(call, headers);
+        } catch (RuntimeException e) {
+            reservation.close();
+            throw e;
+        }
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(delegate) {
+            @Override
+            public void onMessage(ReqT message) {
+                if (message instanceof MessageLite lite) {
+                    reservation.resize(lite.getSerializedSize());
+                }
+                super.onMessage(message);
+            }
+
+            @Override
+            public void onComplete() {
+                try {
+                    super.onComplete();
+                } finally {
+                    reservation.close();
+                }
+            }
+
+            @Override
+            public void onCancel() {
+                try {
+                    super.onCancel();
+                } finally {
+                    reservation.close();
+                }
+            }
+        };
+    }
+
+    private <ReqT, RespT> ServerCall.Listener<ReqT> admitStreaming(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                   ServerCallHandler<ReqT, RespT> next,
+                                                                   long estimate) {
+        // Per-message estimate; the header announces the whole upload
+        long perMessage = Math.min(estimate, defaultReservation);
+        StreamingAdmission<ReqT, RespT> gated = new StreamingAdmission<>(call, perMessage);
+        ServerCall.Listener<ReqT> delegate = next.startCall(gated, headers);
+
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(delegate) {
+            @Override
+            public void onMessage(ReqT message) {
+                Reservation reservation = gated.nextGranted();
+                if (reservation != null && message instanceof MessageLite lite) {
+                    reservation.resize(lite.getSerializedSize());
+                }
+                Handoff handoff = new Handoff(reservation);
+                Context context = Context.current().withValue(HANDOFF, handoff);
+                Context previous = context.attach();
+                try {
+                    super.onMessage(message);
+                } finally {
+                    context.detach(previous);
+                    // Not claimed, so the service is done with the message
+                    if (handoff.reservation != null) {
+                        handoff.reservation.close();
+                    }
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                try {
+                    super.onComplete();
+                } finally {
+                    gated.releaseAll();
+                }
+            }
+
+            @Override
+            public void onCancel() {
+                try {
+                    super.onCancel();
+                } finally {
+                    gated.releaseAll();
+                }
+            }
+        };
+    }
+
+    private <ReqT, RespT> ServerCall.Listener<ReqT> reject(ServerCall<ReqT, RespT> call, String method,
+                                                           String reason, String description) {
+        meterRegistry.counter("upload.admission.rejected", "method", method, "reason", reason).increment();
+        log.debug("Rejected {}: {}", method, description);
+
+        com.google.rpc.Status status = com.google.rpc.Status.newBuilder()
+                .setCode(Code.RESOURCE_EXHAUSTED_VALUE)
+                .setMessage(description + "; retry after " + retryAfterMs + " ms")
+                .addDetails(com.google.protobuf.Any.pack(RetryInfo.newBuilder()
+                        .setRetryDelay(Duration.newBuilder()
+                                .setSeconds(retryAfterMs / 1000)
+                                .setNanos((int) (retryAfterMs % 1000) * 1_000_000))
+                        .build()))
+                .build();
+        StatusRuntimeException exception = StatusProto.toStatusRuntimeException(status);
+        Metadata trailers = exception.getTrailers() != null ? exception.getTrailers() : new Metadata();
+        trailers.put(RETRY_PUSHBACK, Long.toString(retryAfterMs));
+        call.close(Status.fromThrowable(exception), trailers);
+        return new ServerCall.Listener<>() {
+        };
+    }
+
+    private long estimate(Metadata headers) {
+        String announced = headers.get(UPLOAD_SIZE);
+        if (announced != null) {
+            try {
+                return Math.min(Math.max(Long.parseLong(announced), 0), maxMessageSize);
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring malformed {} header: {}", UPLOAD_SIZE_HEADER, announced);
+            }
+        }
+        return defaultReservation;
+    }
+
+    /**
+     * Passes each {@code request(n)} on to the transport one message at a time, as
+     * reservations are granted.
+     */
+    private final class StreamingAdmission<ReqT, RespT>
+            extends ForwardingServerCall.SimpleForwardingServerCall<ReqT, RespT> {
+
+        private final long perMessage;
+        // Granted in request order, consumed in message order
+        private final Queue<Reservation> granted = new ArrayDeque<>();
+        private final List<Waiter> pending = new ArrayList<>();
+        private boolean closed;
+
+        StreamingAdmission(ServerCall<ReqT, RespT> call, long perMessage) {
+            super(call);
+            this.perMessage = perMessage;
+        }
+
+        @Override
+        public void request(int numMessages) {
+            for (int i = 0; i < numMessages; i++) {
+                Waiter waiter = admission.reserve(perMessage, this::onGranted);
+                synchronized (this) {
+                    if (closed) {
+                        waiter.cancel();
+                        return;
+                    }
+                    if (!waiter.isGranted()) {
+                        pending.add(waiter);
+                    }
+                }
+            }
+        }
+
+        private void onGranted(Reservation reservation) {
+            synchronized (this) {
+                // May run inside request(), before its waiter was recorded
+                pending.removeIf(Waiter::isGranted);
+                if (closed) {
+                    reservation.close();
+                    return;
+                }
+                granted.add(reservation);
+            }
+            // ServerCall.request may be called from any thread
+            delegate().request(1);
+        }
+
+        synchronized Reservation nextGranted() {
+            return granted.poll();
+        }
+
+        void releaseAll() {
+            List<Reservation> toRelease;
+            List<Waiter> toCancel;
+            synchronized (this) {
+                closed = true;
+                toRelease = new ArrayList<>(granted);
+                toCancel = new ArrayList<>(pending);
+                granted.clear();
+                pending.clear();
+            }
+            toCancel.forEach(Waiter::cancel);
+            toRelease.forEach(Reservation::close);
+        }
+    }
+
+    private static final class Handoff {
+        private Reservation reservation;
+
+        Handoff(Reservation reservation) {
+            this.reservation = reservation;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.config;
+
+import com.rakumo.object.enumeration.ChecksumAlgorithm;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Which hash identifies objects in each bucket, e.g.
+ * {@code storage.checksum.buckets.scratch=XXH3}. Buckets without an entry use the default.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "storage.checksum")
+public class ChecksumProperties {
+
+    private ChecksumAlgorithm defaultAlgorithm = ChecksumAlgorithm.SHA256;
+
+    private Map<String, ChecksumAlgorithm> buckets = new HashMap<>();
+
+    public ChecksumAlgorithm forBucket(String bucketName) {
+        return buckets.getOrDefault(bucketName, defaultAlgorithm);
+    }
+}
@@ -35,6 +35,8 @@ public class DownloadResponse {
     private InputStream dataStream;
     private String contentType;
     private String checksum;
+    private String md5;
+    private String crc32c;
     private Long contentLength;
     private Instant lastModified;
 }
@@ -33,6 +33,8 @@ public class UploadResponse {
     private String objectKey;
     private String versionId;
     private String checksum;
+    private String md5;
+    private String crc32c;
     private Long sizeBytes;
     private Instant uploadedAt;
     private String objectId;
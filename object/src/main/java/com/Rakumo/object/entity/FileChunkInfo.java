@@ -19,6 +19,7 @@
 
 package com.rakumo.object.entity;
 
+import com.rakumo.object.enumeration.ChecksumAlgorithm;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -35,6 +36,9 @@ public class FileChunkInfo {
     private int chunkIndex;
     private long chunkSize;
     private String checksum;
+    private ChecksumAlgorithm checksumAlgorithm;
+    private String md5;
+    private String crc32c;
     private String bucketName;
     private String objectKey;
     private String filePath;     // Path to the chunk file on disk
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.entity;
+
+import com.rakumo.object.enumeration.OutboxEventType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Pending metadata-service change, written in the same transaction as the
+ * {@link RegularObjectEntity} it describes and removed once relayed.
+ */
+@Entity
+@Table(name = "metadata_outbox", indexes = @Index(name = "idx_metadata_outbox_next_attempt",
+        columnList = "next_attempt_at, created_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetadataOutboxEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "object_id", nullable = false)
+    private UUID objectId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private OutboxEventType eventType;
+
+    @Column(name = "bucket_name", nullable = false)
+    private String bucketName;
+
+    @Column(name = "object_key", nullable = false)
+    private String objectKey;
+
+    @Column(name = "version_id")
+    private String versionId;
+
+    @Column(name = "etag")
+    private String etag;
+
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "storage_location")
+    private String storageLocation;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "attempts")
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    public static MetadataOutboxEntity created(RegularObjectEntity object) {
+        return of(OutboxEventType.CREATE, object);
+    }
+
+    public static MetadataOutboxEntity deleted(RegularObjectEntity object) {
+        return of(OutboxEventType.DELETE, object);
+    }
+
+    private static MetadataOutboxEntity of(OutboxEventType type, RegularObjectEntity object) {
+        Instant now = Instant.now();
+        return MetadataOutboxEntity.builder()
+                .objectId(object.getId())
+                .eventType(type)
+                .bucketName(object.getBucketName())
+                .objectKey(object.getObjectKey())
+                .versionId(object.getVersionId())
+                .etag(etagOf(object))
+                .sizeBytes(object.getSizeBytes())
+                .contentType(object.getContentType())
+                .storageLocation(object.getPhysicalPath())
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build();
+    }
+
+    /**
+     * S3 clients expect the MD5 as the ETag; rows stored before MD5 was
+     * recorded fall back to the identity checksum.
+     */
+    static String etagOf(RegularObjectEntity object) {
+        return object.getMd5() != null ? object.getMd5() : object.getChecksum();
+    }
+}
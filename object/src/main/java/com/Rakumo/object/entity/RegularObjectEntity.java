@@ -19,11 +19,14 @@
 
 package com.rakumo.object.entity;
 
+import com.rakumo.object.enumeration.ChecksumAlgorithm;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 import java.util.UUID;
 
@@ -33,9 +36,9 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class RegularObjectEntity {
+public class RegularObjectEntity implements Persistable<UUID> {
+    // Assigned by the upload before the row exists, see StoreIntent
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
     @Column(name = "owner_id", nullable = false)
@@ -56,6 +59,16 @@ public class RegularObjectEntity {
     @Column(name = "checksum")
     private String checksum;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "checksum_algorithm")
+    private ChecksumAlgorithm checksumAlgorithm;
+
+    @Column(name = "md5")
+    private String md5;
+
+    @Column(name = "crc32c")
+    private String crc32c;
+
     @Column(name = "size_bytes")
     private Long sizeBytes;
 
@@ -64,4 +77,21 @@ public class RegularObjectEntity {
 
     @Column(name = "physical_path")
     private String physicalPath;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    // The id is always set, so Spring Data can't tell a new row from it and would merge instead of persist
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
 }
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.enumeration;
+
+import com.rakumo.object.util.Blake3Digest;
+import com.rakumo.object.util.Xxh3Digest;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public enum ChecksumAlgorithm {
+    SHA256,     // default; cryptographic, hardware-accelerated on most x86/ARM servers
+    BLAKE3,     // cryptographic, pure Java; faster than SHA-256 where there are no SHA instructions
+    XXH3;       // not cryptographic; for scratch and cache buckets that only need corruption detection
+
+    public MessageDigest newDigest() {
+        return switch (this) {
+            case SHA256 -> {
+                try {
+                    yield MessageDigest.getInstance("SHA-256");
+                } catch (NoSuchAlgorithmException e) {
+                    throw new IllegalStateException("SHA-256 not supported", e);
+                }
+            }
+            case BLAKE3 -> new Blake3Digest();
+            case XXH3 -> new Xxh3Digest();
+        };
+    }
+
+    /**
+     * Objects stored before the algorithm was recorded were hashed with SHA-256.
+     */
+    public static ChecksumAlgorithm orDefault(ChecksumAlgorithm algorithm) {
+        return algorithm != null ? algorithm : SHA256;
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.enumeration;
+
+/**
+ * Operations broken down by {@link com.rakumo.object.metrics.PipelineMetrics}.
+ */
+public enum Pipeline {
+    STORE("store"),                             // FileStorageService.storeFile, plus the async DB save and metadata relay
+    REGULAR_UPLOAD("regular-upload"),
+    CHUNK_UPLOAD("chunk-upload"),
+    MULTIPART_COMPLETE("multipart-complete"),
+    DOWNLOAD("download"),
+    STREAM("stream"),                           // FileStorageGrpcService.retrieveFileStream
+    DELETE("delete");                           // metadata relay of deletes
+
+    private final String tag;
+
+    Pipeline(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
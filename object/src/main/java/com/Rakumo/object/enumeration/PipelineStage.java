@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.enumeration;
+
+/**
+ * Stages timed within a {@link Pipeline}; not every pipeline has every stage.
+ */
+public enum PipelineStage {
+    RECEIVE("receive"),                 // reading request bytes
+    HASH("hash"),
+    TEMP_WRITE("temp-write"),
+    DEDUPE_CHECK("dedupe-check"),
+    JOURNAL("journal"),
+    MOVE("move"),
+    FSYNC("fsync"),
+    DB_LOOKUP("db-lookup"),
+    DB_SAVE("db-save"),
+    METADATA_CALL("metadata-call"),
+    CHUNK_WRITE("chunk-write"),
+    CHUNK_METADATA("chunk-metadata"),
+    ASSEMBLE("assemble"),               // streaming the parts through storeFile
+    CLEANUP("cleanup"),
+    STORE("store"),                     // the nested storeFile call
+    OPEN("open"),
+    READ("read"),                       // reading stored bytes
+    SEND("send");                       // handing bytes to gRPC
+
+    private final String tag;
+
+    PipelineStage(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
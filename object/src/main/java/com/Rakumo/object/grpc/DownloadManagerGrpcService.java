@@ -22,6 +22,7 @@ package com.rakumo.object.grpc;
 import com.rakumo.object.download.*;
 import com.rakumo.object.dto.DownloadRequest;
 import com.rakumo.object.dto.DownloadResponse;
+import com.rakumo.object.jfr.ObjectDownloadEvent;
 import com.rakumo.object.service.DownloadManagerService;
 import com.rakumo.object.exception.ObjectNotFoundException;
 import com.google.protobuf.ByteString;
@@ -33,6 +34,7 @@ import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.server.service.GrpcService;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -44,6 +46,10 @@ public class DownloadManagerGrpcService extends DownloadManagerServiceProtoGrpc.
     @Override
     public void retrieveFile(DownloadRequestMessage request,
                              StreamObserver<DownloadResponseMessage> responseObserver) {
+        ObjectDownloadEvent event = new ObjectDownloadEvent();
+        event.begin();
+        long size = 0;
+        boolean sent = false;
         try {
             // Validate request
             if (request.getBucketName().isEmpty() || request.getObjectKey().isEmpty()) {
@@ -65,7 +71,11 @@ public class DownloadManagerGrpcService extends DownloadManagerServiceProtoGrpc.
 
             // Convert file stream to bytes (for small files)
             // For large files, consider using streaming RPC
-            byte[] fileData = response.getDataStream().readAllBytes();
+            byte[] fileData;
+            try (InputStream dataStream = response.getDataStream()) {
+                fileData = dataStream.readAllBytes();
+            }
+            size = fileData.length;
 
             DownloadResponseMessage responseMessage = DownloadResponseMessage.newBuilder()
                     .setBucketName(response.getBucketName())
@@ -74,6 +84,8 @@ public class DownloadManagerGrpcService extends DownloadManagerServiceProtoGrpc.
                     .setContentLength(response.getContentLength())
                     .setContentType(response.getContentType() != null ? response.getContentType() : "")
                     .setChecksum(response.getChecksum() != null ? response.getChecksum() : "")
+                    .setMd5(response.getMd5() != null ? response.getMd5() : "")
+                    .setCrc32C(response.getCrc32c() != null ? response.getCrc32c() : "")
                     .setLastModified(Timestamp.newBuilder()
                             .setSeconds(response.getLastModified().getEpochSecond())
                             .setNanos(response.getLastModified().getNano())
@@ -83,6 +95,7 @@ public class DownloadManagerGrpcService extends DownloadManagerServiceProtoGrpc.
 
             responseObserver.onNext(responseMessage);
             responseObserver.onCompleted();
+            sent = true;
 
         } catch (ObjectNotFoundException e) {
             responseObserver.onError(Status.NOT_FOUND
@@ -98,6 +111,8 @@ public class DownloadManagerGrpcService extends DownloadManagerServiceProtoGrpc.
             responseObserver.onError(Status.INTERNAL
                     .withDescription("Internal error: " + e.getMessage())
                     .asRuntimeException());
+        } finally {
+            event.finish(request.getBucketName(), request.getObjectKey(), size, false, sent);
         }
     }
 }
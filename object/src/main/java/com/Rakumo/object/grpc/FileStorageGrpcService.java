@@ -21,22 +21,35 @@ package com.rakumo.object.grpc;
 
 import com.rakumo.object.storage.*;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.Timestamp;
+import com.rakumo.object.admission.UploadAdmissionInterceptor;
 import com.rakumo.object.service.FileStorageService;
+import com.rakumo.object.enumeration.Pipeline;
+import com.rakumo.object.enumeration.PipelineStage;
+import com.rakumo.object.jfr.ObjectDownloadEvent;
+import com.rakumo.object.metrics.PipelineMetrics;
+import com.rakumo.object.metrics.PipelineRecording;
 import com.rakumo.object.entity.RegularObjectEntity;
 import com.rakumo.object.exception.ChecksumMismatchException;
 import com.rakumo.object.exception.ObjectNotFoundException;
+import io.grpc.Context;
 import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ThreadFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.server.service.GrpcService;
 import org.springframework.core.io.Resource;
 
 import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.Instant;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -44,7 +57,10 @@ import java.io.InputStream;
 public class FileStorageGrpcService extends FileStorageServiceProtoGrpc.FileStorageServiceProtoImplBase {
 
     private final FileStorageService fileStorageService;
+    private final PipelineMetrics metrics;
     private static final int CHUNK_SIZE = 64 * 1024; // 64KB chunks
+    // Streamed uploads are written on their own thread while gRPC delivers the body
+    private static final ThreadFactory STORE_THREADS = Thread.ofVirtual().name("store-stream-", 0).factory();
 
     @Override
     public void storeFile(StoreFileRequestMessage request, StreamObserver<StoreFileResponseMessage> responseObserver) {
@@ -75,88 +91,88 @@ public class FileStorageGrpcService extends FileStorageServiceProtoGrpc.FileStor
                         request.getExpectedChecksum().isEmpty() ? null : request.getExpectedChecksum()
                 );
 
-                // Build response
-                StoreFileResponseMessage response = StoreFileResponseMessage.newBuilder()
-                        .setBucketName(entity.getBucketName())
-                        .setObjectKey(entity.getObjectKey())
-                        .setVersionId(entity.getVersionId())
-                        .setChecksum(entity.getChecksum())
-                        .setSizeBytes(entity.getSizeBytes())
-                        .build();
-
-                responseObserver.onNext(response);
+                responseObserver.onNext(toResponse(entity));
                 responseObserver.onCompleted();
             }
 
-        } catch (ChecksumMismatchException e) {
-            responseObserver.onError(Status.INVALID_ARGUMENT
-                    .withDescription("Checksum mismatch: " + e.getMessage())
-                    .asRuntimeException());
-        } catch (IOException e) {
-            log.error("File storage failed", e);
-            responseObserver.onError(Status.INTERNAL
-                    .withDescription("Storage failed: " + e.getMessage())
-                    .asRuntimeException());
         } catch (Exception e) {
-            log.error("Unexpected error in file storage", e);
-            responseObserver.onError(Status.INTERNAL
-                    .withDescription("Internal error: " + e.getMessage())
-                    .asRuntimeException());
+            responseObserver.onError(storeFailure(e));
         }
     }
 
+    @Override
+    public StreamObserver<StoreFileStreamMessage> storeFileStream(
+            StreamObserver<StoreFileResponseMessage> responseObserver) {
+        ServerCallStreamObserver<StoreFileResponseMessage> call =
+                (ServerCallStreamObserver<StoreFileResponseMessage>) responseObserver;
+        // The body is pulled as it is written to disk; see StreamedBody
+        call.disableAutoRequest();
+        StreamingStore store = new StreamingStore(call);
+        call.setOnCancelHandler(store::cancel);
+        call.request(1);
+        return store;
+    }
+
     @Override
     public void retrieveFileStream(RetrieveFileRequestMessage request,
                                    StreamObserver<FileChunkMessage> responseObserver) {
-        try {
-            // Validate request
-            if (request.getBucketName().isEmpty() || request.getObjectKey().isEmpty()) {
-                responseObserver.onError(Status.INVALID_ARGUMENT
-                        .withDescription("Bucket name and object key are required")
-                        .asRuntimeException());
-                return;
-            }
+        // Validate request
+        if (request.getBucketName().isEmpty() || request.getObjectKey().isEmpty()) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("Bucket name and object key are required")
+                    .asRuntimeException());
+            return;
+        }
+        if (request.getLength() < 0) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("Range length cannot be negative")
+                    .asRuntimeException());
+            return;
+        }
 
+        ObjectDownloadEvent event = new ObjectDownloadEvent();
+        event.begin();
+        PipelineRecording recording = metrics.start(Pipeline.STREAM);
+        InputStream inputStream = null;
+        try {
             // Get file from storage service
-            Resource resource = fileStorageService.retrieveFile(
+            RegularObjectEntity entity = fileStorageService.findObject(
                     request.getBucketName(),
                     request.getObjectKey(),
                     request.getVersionId().isEmpty() ? null : request.getVersionId()
             );
+            Resource resource = fileStorageService.retrieveFile(entity);
+            recording.lap(PipelineStage.DB_LOOKUP);
+
+            long size = resource.contentLength();
+            long start = request.getOffset() < 0
+                    ? Math.max(size + request.getOffset(), 0)
+                    : Math.min(request.getOffset(), size);
+            long length = request.getLength() == 0 ? size - start : Math.min(request.getLength(), size - start);
+            inputStream = resource.getInputStream();
+            inputStream.skipNBytes(start);
+            recording.lap(PipelineStage.OPEN);
+
+            responseObserver.onNext(FileChunkMessage.newBuilder()
+                    .setInfo(toInfo(entity, resource, size, start, length))
+                    .setIsLastChunk(length == 0)
+                    .build());
+            new ChunkSender(request, responseObserver, inputStream, length, recording, event).start();
 
-            // Stream file in chunks
-            try (InputStream inputStream = resource.getInputStream()) {
-                byte[] buffer = new byte[CHUNK_SIZE];
-                int bytesRead;
-
-                while ((bytesRead = inputStream.read(buffer)) != -1) {
-                    boolean isLastChunk = inputStream.available() == 0;
-
-                    FileChunkMessage chunk = FileChunkMessage.newBuilder()
-                            .setData(ByteString.copyFrom(buffer, 0, bytesRead))
-                            .setIsLastChunk(isLastChunk)
-                            .build();
-
-                    responseObserver.onNext(chunk);
-                }
-
-                responseObserver.onCompleted();
-            }
-
-        } catch (ObjectNotFoundException e) {
-            responseObserver.onError(Status.NOT_FOUND
-                    .withDescription("File not found: " + e.getMessage())
-                    .asRuntimeException());
-        } catch (IOException e) {
-            log.error("File retrieval failed", e);
-            responseObserver.onError(Status.INTERNAL
-                    .withDescription("Retrieval failed: " + e.getMessage())
-                    .asRuntimeException());
         } catch (Exception e) {
-            log.error("Unexpected error in file retrieval", e);
-            responseObserver.onError(Status.INTERNAL
-                    .withDescription("Internal error: " + e.getMessage())
-                    .asRuntimeException());
+            closeQuietly(inputStream);
+            recording.close();
+            event.finish(request.getBucketName(), request.getObjectKey(), 0, true, false);
+            if (e instanceof ObjectNotFoundException) {
+                responseObserver.onError(Status.NOT_FOUND
+                        .withDescription("File not found: " + e.getMessage())
+                        .asRuntimeException());
+            } else {
+                log.error("File retrieval failed", e);
+                responseObserver.onError(Status.INTERNAL
+                        .withDescription("Retrieval failed: " + e.getMessage())
+                        .asRuntimeException());
+            }
         }
     }
 
@@ -282,4 +298,249 @@ public class FileStorageGrpcService extends FileStorageServiceProtoGrpc.FileStor
                     .asRuntimeException());
         }
     }
+
+    private static StoreFileResponseMessage toResponse(RegularObjectEntity entity) {
+        return StoreFileResponseMessage.newBuilder()
+                .setBucketName(entity.getBucketName())
+                .setObjectKey(entity.getObjectKey())
+                .setVersionId(entity.getVersionId())
+                .setChecksum(entity.getChecksum())
+                .setSizeBytes(entity.getSizeBytes())
+                .setMd5(entity.getMd5() != null ? entity.getMd5() : "")
+                .setCrc32C(entity.getCrc32c())
+                .setChecksumAlgorithm(entity.getChecksumAlgorithm().name())
+                .build();
+    }
+
+    private static StatusRuntimeException storeFailure(Exception e) {
+        if (e instanceof ChecksumMismatchException) {
+            return Status.INVALID_ARGUMENT
+                    .withDescription("Checksum mismatch: " + e.getMessage())
+                    .asRuntimeException();
+        }
+        if (e instanceof IOException) {
+            log.error("File storage failed", e);
+            return Status.INTERNAL
+                    .withDescription("Storage failed: " + e.getMessage())
+                    .asRuntimeException();
+        }
+        log.error("Unexpected error in file storage", e);
+        return Status.INTERNAL
+                .withDescription("Internal error: " + e.getMessage())
+                .asRuntimeException();
+    }
+
+    private static ObjectInfo toInfo(RegularObjectEntity entity, Resource resource, long size,
+                                     long start, long length) throws IOException {
+        Instant lastModified = Instant.ofEpochMilli(resource.lastModified());
+        return ObjectInfo.newBuilder()
+                .setVersionId(entity.getVersionId() != null ? entity.getVersionId() : "")
+                .setSizeBytes(size)
+                .setContentType(entity.getContentType() != null ? entity.getContentType() : "")
+                .setChecksum(entity.getChecksum() != null ? entity.getChecksum() : "")
+                .setChecksumAlgorithm(entity.getChecksumAlgorithm() != null ? entity.getChecksumAlgorithm().name() : "")
+                .setLastModified(Timestamp.newBuilder()
+                        .setSeconds(lastModified.getEpochSecond())
+                        .setNanos(lastModified.getNano())
+                        .build())
+                .setRangeStart(start)
+                .setRangeLength(length)
+                .build();
+    }
+
+    private static void closeQuietly(InputStream in) {
+        if (in != null) {
+            try {
+                in.close();
+            } catch (IOException e) {
+                log.debug("Failed to close object stream: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Receiving side of StoreFileStream. The header starts {@code storeFile} on a thread of
+     * its own, reading the rest of the messages through a {@link StreamedBody}; only that
+     * thread answers the call from then on.
+     */
+    private final class StreamingStore implements StreamObserver<StoreFileStreamMessage> {
+
+        private final ServerCallStreamObserver<StoreFileResponseMessage> call;
+        private StreamedBody body;
+        private boolean rejected;
+
+        StreamingStore(ServerCallStreamObserver<StoreFileResponseMessage> call) {
+            this.call = call;
+        }
+
+        @Override
+        public void onNext(StoreFileStreamMessage message) {
+            if (rejected) {
+                return;
+            }
+            switch (message.getPartCase()) {
+                case HEADER -> {
+                    if (body != null) {
+                        body.fail(new IllegalArgumentException("Header sent twice"));
+                    } else {
+                        start(message.getHeader());
+                    }
+                }
+                case DATA -> {
+                    if (body == null) {
+                        reject("The first message must carry the header");
+                    } else {
+                        // Held until the store thread has read it, see StreamedBody
+                        body.add(message.getData(), UploadAdmissionInterceptor.claimReservation());
+                    }
+                }
+                default -> reject("Message carries neither header nor data");
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            cancel();
+        }
+
+        @Override
+        public void onCompleted() {
+            if (body != null) {
+                body.end();
+            } else if (!rejected) {
+                reject("Upload ended before its header");
+            }
+        }
+
+        void cancel() {
+            if (body != null) {
+                body.fail(Status.CANCELLED.withDescription("Upload cancelled by client").asRuntimeException());
+            }
+        }
+
+        private void start(StoreFileHeader header) {
+            if (header.getBucketName().isEmpty() || header.getObjectKey().isEmpty()) {
+                reject("Bucket name and object key are required");
+                return;
+            }
+            StreamedBody streamedBody = new StreamedBody(call);
+            body = streamedBody;
+            STORE_THREADS.newThread(Context.current().wrap(() -> store(header, streamedBody))).start();
+        }
+
+        private void store(StoreFileHeader header, StreamedBody streamedBody) {
+            try (InputStream inputStream = streamedBody) {
+                RegularObjectEntity entity = fileStorageService.storeFile(
+                        header.getOwnerId(),
+                        header.getBucketName(),
+                        header.getObjectKey(),
+                        inputStream,
+                        header.getContentType().isEmpty() ? null : header.getContentType(),
+                        header.getExpectedChecksum().isEmpty() ? null : header.getExpectedChecksum()
+                );
+                call.onNext(toResponse(entity));
+                call.onCompleted();
+            } catch (Exception e) {
+                if (call.isCancelled()) {
+                    log.debug("Streamed upload of {}/{} cancelled", header.getBucketName(), header.getObjectKey());
+                } else {
+                    call.onError(storeFailure(e));
+                }
+            }
+        }
+
+        private void reject(String description) {
+            rejected = true;
+            call.onError(Status.INVALID_ARGUMENT.withDescription(description).asRuntimeException());
+        }
+    }
+
+    /**
+     * Sends an object as FileChunkMessages only as fast as the transport takes them. Each
+     * onReady resumes reading, so a slow client holds back the disk reads instead of frames
+     * queueing up in memory. Runs on the call's serialized executor; plain observers
+     * (benchmarks) get the whole object in one go.
+     */
+    private final class ChunkSender implements Runnable {
+
+        private final RetrieveFileRequestMessage request;
+        private final StreamObserver<FileChunkMessage> observer;
+        private final ServerCallStreamObserver<FileChunkMessage> call;
+        private final InputStream inputStream;
+        private final PipelineRecording recording;
+        private final ObjectDownloadEvent event;
+        private final byte[] buffer = new byte[CHUNK_SIZE];
+        private long remaining;
+        private long sent;
+        private boolean done;
+
+        ChunkSender(RetrieveFileRequestMessage request, StreamObserver<FileChunkMessage> observer,
+                    InputStream inputStream, long length, PipelineRecording recording, ObjectDownloadEvent event) {
+            this.request = request;
+            this.observer = observer;
+            this.call = observer instanceof ServerCallStreamObserver<FileChunkMessage> server ? server : null;
+            this.inputStream = inputStream;
+            this.remaining = length;
+            this.recording = recording;
+            this.event = event;
+        }
+
+        void start() {
+            if (call != null) {
+                call.setOnReadyHandler(this);
+                call.setOnCancelHandler(() -> finish(false));
+            }
+            run();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!done && (call == null || call.isReady())) {
+                    if (remaining == 0) {
+                        observer.onCompleted();
+                        recording.bytes(PipelineStage.SEND, sent);
+                        recording.succeeded();
+                        finish(true);
+                        return;
+                    }
+
+                    int bytesRead = inputStream.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                    if (bytesRead < 0) {
+                        throw new EOFException("Object ended " + remaining + " bytes early");
+                    }
+                    remaining -= bytesRead;
+                    recording.lap(PipelineStage.READ);
+
+                    observer.onNext(FileChunkMessage.newBuilder()
+                            .setData(ByteString.copyFrom(buffer, 0, bytesRead))
+                            .setIsLastChunk(remaining == 0)
+                            .build());
+                    recording.lap(PipelineStage.SEND);
+                    sent += bytesRead;
+                }
+            } catch (IOException e) {
+                log.error("File retrieval failed", e);
+                observer.onError(Status.INTERNAL
+                        .withDescription("Retrieval failed: " + e.getMessage())
+                        .asRuntimeException());
+                finish(false);
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in file retrieval", e);
+                observer.onError(Status.INTERNAL
+                        .withDescription("Internal error: " + e.getMessage())
+                        .asRuntimeException());
+                finish(false);
+            }
+        }
+
+        private void finish(boolean completed) {
+            if (!done) {
+                done = true;
+                closeQuietly(inputStream);
+                recording.close();
+                event.finish(request.getBucketName(), request.getObjectKey(), sent, true, completed);
+            }
+        }
+    }
 }
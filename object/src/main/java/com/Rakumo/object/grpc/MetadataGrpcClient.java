@@ -19,7 +19,23 @@
 
 package com.rakumo.object.grpc;
 
+import com.rakumo.metadata.bucket.BucketListResponse;
+import com.rakumo.metadata.bucket.BucketServiceGrpc;
+import com.rakumo.metadata.bucket.GetUserBucketsRequest;
+import com.rakumo.metadata.object.BatchObjectResponse;
+import com.rakumo.metadata.object.CreateObjectRequest;
+import com.rakumo.metadata.object.CreateObjectWithVersionRequest;
+import com.rakumo.metadata.object.CreateObjectsRequest;
+import com.rakumo.metadata.object.CreateObjectsWithVersionRequest;
+import com.rakumo.metadata.object.DeleteObjectRequest;
+import com.rakumo.metadata.object.DeleteObjectsRequest;
 import com.rakumo.metadata.object.DeleteResponse;
+import com.rakumo.metadata.object.GetBucketObjectsRequest;
+import com.rakumo.metadata.object.GetObjectRequest;
+import com.rakumo.metadata.object.ObjectListResponse;
+import com.rakumo.metadata.object.ObjectResponse;
+import com.rakumo.metadata.object.ObjectServiceGrpc;
+import com.rakumo.metadata.object.UpdateObjectRequest;
 import com.rakumo.object.exception.MetadataServiceException;
 import com.rakumo.object.exception.ObjectNotFoundException;
 import io.grpc.Status;
@@ -28,6 +44,8 @@ import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.client.inject.GrpcClient;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Slf4j
 @Component
 public class MetadataGrpcClient {
@@ -91,6 +109,84 @@ public class MetadataGrpcClient {
         }
     }
 
+    /**
+     * Create or replace many objects in metadata service in one round-trip
+     */
+    public BatchObjectResponse createObjects(List<CreateObjectRequest> objects) throws MetadataServiceException {
+        try {
+            log.debug("Batch creating object metadata: count={}", objects.size());
+
+            CreateObjectsRequest request = CreateObjectsRequest.newBuilder()
+                    .addAllObjects(objects)
+                    .build();
+
+            BatchObjectResponse response = objectServiceStub.createObjects(request);
+            log.info("Batch created object metadata: {}/{} succeeded",
+                    response.getSucceededCount(), objects.size());
+            return response;
+
+        } catch (StatusRuntimeException e) {
+            log.error("Failed to batch create object metadata: count={}, error={}",
+                    objects.size(), e.getStatus().getCode(), e);
+            throw new MetadataServiceException("Failed to create objects: " + e.getStatus().getCode());
+        } catch (Exception e) {
+            log.error("Unexpected error batch creating object metadata: count={}", objects.size(), e);
+            throw new MetadataServiceException("Unexpected error creating objects");
+        }
+    }
+
+    /**
+     * Create or update many objects, each with its new latest version, in one round-trip
+     */
+    public BatchObjectResponse createObjectsWithVersion(List<CreateObjectWithVersionRequest> objects) throws MetadataServiceException {
+        try {
+            log.debug("Batch creating object metadata with versions: count={}", objects.size());
+
+            CreateObjectsWithVersionRequest request = CreateObjectsWithVersionRequest.newBuilder()
+                    .addAllObjects(objects)
+                    .build();
+
+            BatchObjectResponse response = objectServiceStub.createObjectsWithVersion(request);
+            log.info("Batch created object metadata with versions: {}/{} succeeded",
+                    response.getSucceededCount(), objects.size());
+            return response;
+
+        } catch (StatusRuntimeException e) {
+            log.error("Failed to batch create object metadata with versions: count={}, error={}",
+                    objects.size(), e.getStatus().getCode(), e);
+            throw new MetadataServiceException("Failed to create objects with versions: " + e.getStatus().getCode());
+        } catch (Exception e) {
+            log.error("Unexpected error batch creating object metadata with versions: count={}", objects.size(), e);
+            throw new MetadataServiceException("Unexpected error creating objects with versions");
+        }
+    }
+
+    /**
+     * Delete many objects from metadata service in one round-trip
+     */
+    public BatchObjectResponse deleteObjects(List<DeleteObjectRequest> objects) throws MetadataServiceException {
+        try {
+            log.debug("Batch deleting object metadata: count={}", objects.size());
+
+            DeleteObjectsRequest request = DeleteObjectsRequest.newBuilder()
+                    .addAllObjects(objects)
+                    .build();
+
+            BatchObjectResponse response = objectServiceStub.deleteObjects(request);
+            log.info("Batch deleted object metadata: {}/{} succeeded",
+                    response.getSucceededCount(), objects.size());
+            return response;
+
+        } catch (StatusRuntimeException e) {
+            log.error("Failed to batch delete object metadata: count={}, error={}",
+                    objects.size(), e.getStatus().getCode(), e);
+            throw new MetadataServiceException("Failed to delete objects: " + e.getStatus().getCode());
+        } catch (Exception e) {
+            log.error("Unexpected error batch deleting object metadata: count={}", objects.size(), e);
+            throw new MetadataServiceException("Unexpected error deleting objects");
+        }
+    }
+
     /**
      * Get object metadata
      */
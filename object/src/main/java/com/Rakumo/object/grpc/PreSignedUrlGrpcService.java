@@ -104,12 +104,19 @@ public class PreSignedUrlGrpcService extends PreSignedUrlServiceProtoGrpc.PreSig
                         .asRuntimeException());
                 return;
             }
+            if (!request.hasOperation()) {
+                responseObserver.onError(Status.INVALID_ARGUMENT
+                        .withDescription("Operation is required")
+                        .asRuntimeException());
+                return;
+            }
 
             // Validate the pre-signed URL
             boolean isValid = preSignedUrlService.validatePreSignedUrl(
                     request.getUrl(),
                     request.getBucketName(),
-                    request.getObjectKey()
+                    request.getObjectKey(),
+                    convertOperation(request.getOperation())
             );
 
             ValidatePreSignedUrlResponse response = ValidatePreSignedUrlResponse.newBuilder()
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.grpc;
+
+import com.google.protobuf.ByteString;
+import com.rakumo.object.admission.UploadAdmissionController.Reservation;
+import io.grpc.stub.CallStreamObserver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * The body of a client-streaming upload as an InputStream, read on a thread of its own
+ * while gRPC delivers the messages on the call's executor.
+ *
+ * <p>Messages are requested from the transport only as they are consumed, so at most
+ * {@value #PREFETCH} wait here and a slow disk holds the client back through HTTP/2 flow
+ * control instead of the body piling up in memory. Each part keeps its upload admission
+ * reservation until it has been read or the body is closed, so the frames held here count
+ * against the memory budget.
+ */
+final class StreamedBody extends InputStream {
+
+    private static final int PREFETCH = 2;
+    private static final Object END = new Object();
+
+    private final CallStreamObserver<?> call;
+    private final BlockingQueue<Object> parts = new LinkedBlockingQueue<>();
+    private ByteBuffer current;
+    private Reservation currentReservation;
+    private boolean finished;
+    private IOException failure;
+    private volatile boolean closed;
+
+    /**
+     * @param call the server side of the call, with automatic requests disabled
+     */
+    StreamedBody(CallStreamObserver<?> call) {
+        this.call = call;
+        call.request(PREFETCH);
+    }
+
+    /**
+     * @param reservation the message's admission reservation, or null if it has none
+     */
+    void add(ByteString data, Reservation reservation) {
+        parts.add(new Part(data, reservation));
+        if (closed) {
+            // Nobody will read it
+            releaseQueued();
+        }
+    }
+
+    void end() {
+        parts.add(END);
+    }
+
+    void fail(Throwable cause) {
+        parts.add(cause);
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] buffer, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (current == null || !current.hasRemaining()) {
+            releaseCurrent();
+            if (failure != null) {
+                throw failure;
+            }
+            if (finished) {
+                return -1;
+            }
+            Object part = take();
+            if (part == END) {
+                finished = true;
+                return -1;
+            }
+            if (part instanceof Throwable cause) {
+                failure = new IOException("Upload stream failed: " + cause.getMessage(), cause);
+                continue;
+            }
+            Part data = (Part) part;
+            current = data.data().asReadOnlyByteBuffer();
+            currentReservation = data.reservation();
+            call.request(1);
+        }
+        int n = Math.min(len, current.remaining());
+        current.get(buffer, off, n);
+        return n;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        releaseCurrent();
+        releaseQueued();
+    }
+
+    private void releaseCurrent() {
+        current = null;
+        if (currentReservation != null) {
+            currentReservation.close();
+            currentReservation = null;
+        }
+    }
+
+    private void releaseQueued() {
+        Object part;
+        while ((part = parts.poll()) != null) {
+            if (part instanceof Part data && data.reservation() != null) {
+                data.reservation().close();
+            }
+        }
+    }
+
+    private Object take() throws InterruptedIOException {
+        try {
+            return parts.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for upload data");
+        }
+    }
+
+    private record Part(ByteString data, Reservation reservation) {
+    }
+}
@@ -273,6 +273,8 @@ public class UploadManagerGrpcService extends UploadManagerServiceProtoGrpc.Uplo
                 .setVersionId(response.getVersionId())
                 .setChecksum(response.getChecksum())
                 .setSizeBytes(response.getSizeBytes())
+                .setMd5(response.getMd5() != null ? response.getMd5() : "")
+                .setCrc32C(response.getCrc32c() != null ? response.getCrc32c() : "")
                 .setUploadedAt(Timestamp.newBuilder()
                         .setSeconds(response.getUploadedAt().getEpochSecond())
                         .setNanos(response.getUploadedAt().getNano())
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name("com.rakumo.object.Checksum")
+@Label("Checksum")
+@Description("A digest computed by ChecksumUtils; copy-and-digest includes reading the source and writing the copy")
+@Threshold("10 ms")
+public class ChecksumEvent extends ObjectStorageEvent {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Size")
+    @DataAmount
+    long size;
+
+    public void finish(String operation, String algorithm, long size) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.algorithm = algorithm;
+            this.size = size;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name("com.rakumo.object.MetadataCall")
+@Label("Metadata Call")
+@Description("An RPC from the object service to the metadata service, from start until the response is closed")
+@Threshold("10 ms")
+public class MetadataCallEvent extends ObjectStorageEvent {
+
+    @Label("Method")
+    String method;
+
+    @Label("Status")
+    String status;
+
+    public void finish(String method, String status) {
+        end();
+        if (shouldCommit()) {
+            this.method = method;
+            this.status = status;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.rakumo.object.MultipartAssembly")
+@Label("Multipart Assembly")
+@Description("Completion of a multipart upload: parts concatenated, stored and cleaned up")
+public class MultipartAssemblyEvent extends ObjectStorageEvent {
+
+    @Label("Upload Id")
+    String uploadId;
+
+    @Label("Bucket")
+    String bucket;
+
+    @Label("Object Key")
+    String objectKey;
+
+    @Label("Parts")
+    int parts;
+
+    @Label("Size")
+    @DataAmount
+    long size;
+
+    @Label("Success")
+    boolean success;
+
+    public void finish(String uploadId, String bucket, String objectKey, int parts, long size, boolean success) {
+        end();
+        if (shouldCommit()) {
+            this.uploadId = uploadId;
+            this.bucket = bucket;
+            this.objectKey = objectKey;
+            this.parts = parts;
+            this.size = size;
+            this.success = success;
+            commit();
+        }
+    }
+}
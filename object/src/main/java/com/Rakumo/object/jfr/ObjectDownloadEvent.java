@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.rakumo.object.Download")
+@Label("Object Download")
+@Description("An object looked up, read and sent to the caller")
+public class ObjectDownloadEvent extends ObjectStorageEvent {
+
+    @Label("Bucket")
+    String bucket;
+
+    @Label("Object Key")
+    String objectKey;
+
+    @Label("Size")
+    @DataAmount
+    long size;
+
+    @Label("Streamed")
+    @Description("Sent as a stream of chunks rather than a single message")
+    boolean streamed;
+
+    @Label("Success")
+    boolean success;
+
+    public void finish(String bucket, String objectKey, long size, boolean streamed, boolean success) {
+        end();
+        if (shouldCommit()) {
+            this.bucket = bucket;
+            this.objectKey = objectKey;
+            this.size = size;
+            this.streamed = streamed;
+            this.success = success;
+            commit();
+        }
+    }
+}
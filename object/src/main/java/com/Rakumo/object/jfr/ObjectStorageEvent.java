@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Base of the object module's Flight Recorder events.
+ *
+ * <p>All of them are off unless a recording turns them on, e.g.
+ * {@code -XX:StartFlightRecording:settings=default,settings=object/jfr/object-storage.jfc}
+ * or {@code jcmd <pid> JFR.start settings=object/jfr/object-storage.jfc}. While off, the
+ * JIT removes the event code and the allocation, so call sites cost next to nothing.
+ * Once enabled, only operations that take longer than the threshold are committed.
+ */
+@Category({"Rakumo", "Object Storage"})
+@Enabled(false)
+@Threshold("20 ms")
+@StackTrace(false)
+public abstract class ObjectStorageEvent extends Event {
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.journal;
+
+import com.rakumo.object.entity.MetadataOutboxEntity;
+import com.rakumo.object.entity.RegularObjectEntity;
+import com.rakumo.object.enumeration.Pipeline;
+import com.rakumo.object.enumeration.PipelineStage;
+import com.rakumo.object.metrics.PipelineMetrics;
+import com.rakumo.object.repository.MetadataOutboxRepository;
+import com.rakumo.object.repository.RegularObjectRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Drains the intent journal in batches. Each batch saves its DB rows together with
+ * their metadata outbox events in one transaction; {@link com.rakumo.object.outbox.MetadataOutboxRelay}
+ * forwards the events. Rows are keyed by the pre-assigned object id; a batch skips ids
+ * that already have a row, so an intent replayed after its batch committed (e.g. when
+ * {@link IntentJournal#markApplied} failed) is not inserted twice.
+ *
+ * <p>Batches always commit in their own transaction, so callers that need an acknowledged
+ * object's row (e.g. a delete) can apply pending intents from inside their own.
+ */
+@Slf4j
+@Component
+public class IntentApplier {
+
+    private final IntentJournal intentJournal;
+    private final RegularObjectRepository regularObjectRepository;
+    private final MetadataOutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PipelineMetrics pipelineMetrics;
+
+    @Value("${storage.journal.batch-size:500}")
+    private int batchSize;
+
+    public IntentApplier(IntentJournal intentJournal, RegularObjectRepository regularObjectRepository,
+                         MetadataOutboxRepository outboxRepository, TransactionTemplate transactionTemplate,
+                         PipelineMetrics pipelineMetrics) {
+        this.intentJournal = intentJournal;
+        this.regularObjectRepository = regularObjectRepository;
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.pipelineMetrics = pipelineMetrics;
+    }
+
+    // Serialized so that a caller applying on demand returns only once the batch holding
+    // its intent has committed, even if the scheduled run picked it up first
+    @Scheduled(fixedDelayString = "${storage.journal.apply-interval-ms:200}")
+    public synchronized void applyPending() {
+        List<StoreIntent> batch;
+        while (!(batch = intentJournal.pending(batchSize)).isEmpty()) {
+            if (!applyBatch(batch)) {
+                // Back off until the next tick
+                return;
+            }
+        }
+    }
+
+    private boolean applyBatch(List<StoreIntent> batch) {
+        List<UUID> ids = batch.stream().map(StoreIntent::getObjectId).toList();
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // A row and its outbox event commit together, so an existing row means both were written
+                Set<UUID> existing = new HashSet<>(regularObjectRepository.findExistingIds(ids));
+                List<RegularObjectEntity> entities = batch.stream()
+                        .filter(intent -> !existing.contains(intent.getObjectId()))
+                        .map(StoreIntent::toEntity)
+                        .toList();
+                regularObjectRepository.saveAll(entities);
+                outboxRepository.saveAll(entities.stream().map(MetadataOutboxEntity::created).toList());
+            });
+            // Charged once per batch, after the upload itself was acknowledged
+            pipelineMetrics.record(Pipeline.STORE, PipelineStage.DB_SAVE, System.nanoTime() - start);
+        } catch (Exception e) {
+            log.warn("Failed to apply {} journaled objects to the database: {}", batch.size(), e.getMessage());
+            return false;
+        }
+
+        try {
+            intentJournal.markApplied(ids);
+        } catch (IOException e) {
+            // The intents will be replayed; rows that already exist are skipped then
+            log.error("Failed to record applied intents in journal", e);
+            return false;
+        }
+        log.debug("Applied {} journaled objects", ids.size());
+        return true;
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.journal;
+
+import com.rakumo.object.enumeration.ChecksumAlgorithm;
+import com.rakumo.object.util.ChecksumUtils;
+import com.rakumo.object.util.FileSyncer;
+import com.rakumo.object.util.FileUtils;
+import com.rakumo.object.util.JsonUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local write-ahead journal for stored objects.
+ *
+ * <p>An upload appends its intent, moves its file into place and is acknowledged once
+ * both are durable (see {@link FileSyncer}); only then is the intent committed and
+ * handed to {@link IntentApplier} for the DB row and metadata entry. Intents without
+ * an APPLIED marker are replayed on startup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IntentJournal {
+
+    private static final String JOURNAL_FILE = "intents.log";
+
+    private final FileSyncer fileSyncer;
+
+    @Value("${storage.root:./storage}")
+    private String storageRoot;
+
+    // Durable intents waiting to be applied
+    private final Map<UUID, StoreIntent> pending = new ConcurrentHashMap<>();
+    // Appended but not yet committed or discarded
+    private final Set<UUID> inflight = ConcurrentHashMap.newKeySet();
+    private Path journalPath;
+    private FileChannel channel;
+
+    @PostConstruct
+    public void init() throws IOException {
+        Path journalDir = Paths.get(storageRoot, ".journal");
+        FileUtils.createDirectory(journalDir);
+        journalPath = journalDir.resolve(JOURNAL_FILE);
+
+        replay();
+        compact();
+        fileSyncer.sync(journalDir);
+        channel = FileChannel.open(journalPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        log.info("Intent journal opened with {} pending intents", pending.size());
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    public Path getJournalPath() {
+        return journalPath;
+    }
+
+    /**
+     * Write an intent to the journal. Must be called before the object's file is moved
+     * into place; the caller makes both durable and then calls {@link #commit}.
+     */
+    public synchronized void append(StoreIntent intent) throws IOException {
+        write(List.of(JournalEntry.intent(intent)));
+        inflight.add(intent.getObjectId());
+    }
+
+    /**
+     * Hand a durable intent over to the applier.
+     */
+    public void commit(StoreIntent intent) {
+        pending.put(intent.getObjectId(), intent);
+        inflight.remove(intent.getObjectId());
+    }
+
+    /**
+     * Record that the given intents have reached the DB and metadata service.
+     */
+    public void markApplied(Collection<UUID> objectIds) throws IOException {
+        if (objectIds.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            write(objectIds.stream().map(JournalEntry::applied).toList());
+            objectIds.forEach(pending::remove);
+
+            // Nothing left to replay, so the log can start over
+            if (pending.isEmpty() && inflight.isEmpty()) {
+                channel.truncate(0);
+            }
+        }
+        fileSyncer.sync(journalPath);
+    }
+
+    /**
+     * Drop an intent whose file never made it into place.
+     */
+    public synchronized void discard(UUID objectId) throws IOException {
+        if (inflight.remove(objectId)) {
+            write(List.of(JournalEntry.applied(objectId)));
+        }
+    }
+
+    public List<StoreIntent> pending(int limit) {
+        return pending.values().stream().limit(limit).toList();
+    }
+
+    public boolean isPending(UUID objectId) {
+        return pending.containsKey(objectId);
+    }
+
+    public Optional<StoreIntent> findPending(String bucketName, String objectKey, String versionId) {
+        return pending.values().stream()
+                .filter(i -> i.getBucketName().equals(bucketName)
+                        && i.getObjectKey().equals(objectKey)
+                        && (versionId == null || versionId.equals(i.getVersionId())))
+                .findFirst();
+    }
+
+    public boolean hasPending(String bucketName, String checksum) {
+        return checksum != null && pending.values().stream()
+                .anyMatch(i -> i.getBucketName().equals(bucketName) && checksum.equals(i.getChecksum()));
+    }
+
+    private void write(List<JournalEntry> entries) throws IOException {
+        List<ByteBuffer> buffers = new ArrayList<>(entries.size());
+        for (JournalEntry entry : entries) {
+            byte[] json = JsonUtils.toBytes(entry);
+            ByteBuffer line = ByteBuffer.allocate(json.length + 1);
+            line.put(json).put((byte) '\n').flip();
+            buffers.add(line);
+        }
+        ByteBuffer[] batch = buffers.toArray(new ByteBuffer[0]);
+        while (batch[batch.length - 1].hasRemaining()) {
+            channel.write(batch);
+        }
+    }
+
+    private void replay() throws IOException {
+        if (!Files.exists(journalPath)) {
+            return;
+        }
+
+        Map<UUID, StoreIntent> replayed = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JournalEntry entry;
+                try {
+                    entry = JsonUtils.readValue(line, JournalEntry.class);
+                } catch (IOException e) {
+                    // A torn tail from a crash mid-append; nothing after it was acknowledged
+                    log.warn("Ignoring unreadable journal tail: {}", e.getMessage());
+                    break;
+                }
+                if (entry.getType() == JournalEntry.Type.INTENT) {
+                    replayed.put(entry.getObjectId(), entry.getIntent());
+                } else {
+                    replayed.remove(entry.getObjectId());
+                }
+            }
+        }
+
+        for (StoreIntent intent : replayed.values()) {
+            Path file = Paths.get(intent.getPhysicalPath());
+            if (Files.exists(file) && ChecksumUtils.verify(file, intent.getChecksum(),
+                    ChecksumAlgorithm.orDefault(intent.getChecksumAlgorithm()))) {
+                pending.put(intent.getObjectId(), intent);
+            } else {
+                // Crashed before the file was durable in place; the upload was never acknowledged
+                log.warn("Dropping intent {} for {}/{}: no intact file at {}",
+                        intent.getObjectId(), intent.getBucketName(), intent.getObjectKey(),
+                        intent.getPhysicalPath());
+            }
+        }
+    }
+
+    private void compact() throws IOException {
+        List<JournalEntry> entries = pending.values().stream().map(JournalEntry::intent).toList();
+        Path tempPath = journalPath.resolveSibling(JOURNAL_FILE + ".tmp");
+        try (FileChannel out = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (JournalEntry entry : entries) {
+                byte[] json = JsonUtils.toBytes(entry);
+                out.write(ByteBuffer.wrap(json));
+                out.write(ByteBuffer.wrap(new byte[]{'\n'}));
+            }
+        }
+        fileSyncer.sync(tempPath);
+        FileUtils.moveAtomic(tempPath, journalPath);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.journal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One line of the intent journal. An INTENT is written before the file is moved
+ * into place; an APPLIED marker is written once the DB row and metadata entry exist.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalEntry {
+
+    public enum Type { INTENT, APPLIED }
+
+    private Type type;
+    private UUID objectId;
+    private StoreIntent intent;
+
+    public static JournalEntry intent(StoreIntent intent) {
+        return new JournalEntry(Type.INTENT, intent.getObjectId(), intent);
+    }
+
+    public static JournalEntry applied(UUID objectId) {
+        return new JournalEntry(Type.APPLIED, objectId, null);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.journal;
+
+import com.rakumo.object.entity.RegularObjectEntity;
+import com.rakumo.object.enumeration.ChecksumAlgorithm;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Everything needed to (re)create a stored object's DB row and metadata entry
+ * once its file has been moved into place.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoreIntent {
+    private UUID objectId;
+    private String ownerId;
+    private String bucketName;
+    private String objectKey;
+    private String versionId;
+    private String fileName;
+    private String checksum;
+    private ChecksumAlgorithm checksumAlgorithm;
+    private String md5;
+    private String crc32c;
+    private long sizeBytes;
+    private String contentType;
+    private String physicalPath;
+    private Instant createdAt;
+
+    public RegularObjectEntity toEntity() {
+        RegularObjectEntity entity = new RegularObjectEntity();
+        entity.setId(objectId);
+        entity.setOwnerId(ownerId);
+        entity.setBucketName(bucketName);
+        entity.setObjectKey(objectKey);
+        entity.setVersionId(versionId);
+        entity.setFileName(fileName);
+        entity.setChecksum(checksum);
+        entity.setChecksumAlgorithm(checksumAlgorithm);
+        entity.setMd5(md5);
+        entity.setCrc32c(crc32c);
+        entity.setSizeBytes(sizeBytes);
+        entity.setContentType(contentType);
+        entity.setPhysicalPath(physicalPath);
+        return entity;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.metrics;
+
+import com.rakumo.object.enumeration.Pipeline;
+import com.rakumo.object.enumeration.PipelineStage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-stage timers and byte counters for the upload and download paths.
+ *
+ * <ul>
+ *   <li>{@code object.pipeline.duration} (pipeline, outcome): every operation, end to end</li>
+ *   <li>{@code object.pipeline.stage} (pipeline, stage): one operation in
+ *       {@code metrics.pipeline.sample-rate}, so the hot path usually skips the extra clock reads</li>
+ *   <li>{@code object.pipeline.bytes} (pipeline, stage): every byte received or sent</li>
+ * </ul>
+ *
+ * Percentile histograms are switched on through
+ * {@code management.metrics.distribution.percentiles-histogram.object.pipeline}.
+ *
+ * <p>When the operation runs inside a sampled trace, each stage is also reported as a child
+ * span of the current one (e.g. {@code store fsync}), regardless of the sample rate.
+ */
+@Component
+public class PipelineMetrics {
+
+    private static final PipelineStage[] STAGES = PipelineStage.values();
+
+    private final MeterRegistry registry;
+    private final Tracer tracer;
+    private final int sampleRate;
+
+    // Meters are cached here to keep registry lookups off the hot path; a racy double
+    // registration is harmless because the registry returns the existing meter
+    private final Timer[][] stageTimers = new Timer[Pipeline.values().length][STAGES.length];
+    private final Counter[][] byteCounters = new Counter[Pipeline.values().length][STAGES.length];
+    private final Timer[] succeeded = new Timer[Pipeline.values().length];
+    private final Timer[] failed = new Timer[Pipeline.values().length];
+
+    public PipelineMetrics(MeterRegistry registry, ObjectProvider<Tracer> tracer,
+                           @Value("${metrics.pipeline.sample-rate:8}") int sampleRate) {
+        this.registry = registry;
+        this.tracer = tracer.getIfAvailable(() -> Tracer.NOOP);
+        this.sampleRate = Math.max(sampleRate, 1);
+    }
+
+    /**
+     * Begin timing one operation. Close the returned recording when it ends.
+     */
+    public PipelineRecording start(Pipeline pipeline) {
+        boolean sampled = sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+        Span current = tracer.currentSpan();
+        TraceContext parent = current != null && Boolean.TRUE.equals(current.context().sampled())
+                ? current.context() : null;
+        return new PipelineRecording(this, pipeline, sampled, parent);
+    }
+
+    /**
+     * Record a stage outside any single operation, such as a batched DB save. Always recorded.
+     */
+    public void record(Pipeline pipeline, PipelineStage stage, long nanos) {
+        stageTimer(pipeline, stage).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Report a stage that has already finished as a child span of {@code parent}.
+     */
+    void span(TraceContext parent, Pipeline pipeline, PipelineStage stage, long startEpochNanos, long endEpochNanos) {
+        tracer.spanBuilder()
+                .setParent(parent)
+                .name(pipeline.tag() + " " + stage.tag())
+                .tag("pipeline", pipeline.tag())
+                .tag("stage", stage.tag())
+                .startTimestamp(startEpochNanos, TimeUnit.NANOSECONDS)
+                .start()
+                .end(endEpochNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void countBytes(Pipeline pipeline, PipelineStage stage, long bytes) {
+        Counter counter = byteCounters[pipeline.ordinal()][stage.ordinal()];
+        if (counter == null) {
+            counter = Counter.builder("object.pipeline.bytes")
+                    .baseUnit("bytes")
+                    .tag("pipeline", pipeline.tag())
+                    .tag("stage", stage.tag())
+                    .register(registry);
+            byteCounters[pipeline.ordinal()][stage.ordinal()] = counter;
+        }
+        counter.increment(bytes);
+    }
+
+    Timer stageTimer(Pipeline pipeline, PipelineStage stage) {
+        Timer timer = stageTimers[pipeline.ordinal()][stage.ordinal()];
+        if (timer == null) {
+            timer = Timer.builder("object.pipeline.stage")
+                    .tag("pipeline", pipeline.tag())
+                    .tag("stage", stage.tag())
+                    .register(registry);
+            stageTimers[pipeline.ordinal()][stage.ordinal()] = timer;
+        }
+        return timer;
+    }
+
+    Timer durationTimer(Pipeline pipeline, boolean success) {
+        Timer[] timers = success ? succeeded : failed;
+        Timer timer = timers[pipeline.ordinal()];
+        if (timer == null) {
+            timer = Timer.builder("object.pipeline.duration")
+                    .tag("pipeline", pipeline.tag())
+                    .tag("outcome", success ? "success" : "error")
+                    .register(registry);
+            timers[pipeline.ordinal()] = timer;
+        }
+        return timer;
+    }
+}
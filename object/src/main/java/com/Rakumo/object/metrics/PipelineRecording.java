@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.metrics;
+
+import com.rakumo.object.enumeration.Pipeline;
+import com.rakumo.object.enumeration.PipelineStage;
+import io.micrometer.tracing.TraceContext;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timing of a single operation, obtained from {@link PipelineMetrics#start}. Not thread-safe.
+ *
+ * <p>{@link #lap} charges the time since the previous lap to a stage. Stage timings are
+ * only taken when the operation was sampled or is part of a sampled trace; the end-to-end
+ * duration and byte counts always are.
+ */
+public final class PipelineRecording implements AutoCloseable {
+
+    private final PipelineMetrics metrics;
+    private final Pipeline pipeline;
+    private final boolean sampled;
+    private final TraceContext trace;
+    private final long startNanos;
+    private final long startEpochNanos;
+    private long lapNanos;
+    private boolean success;
+    private boolean closed;
+
+    PipelineRecording(PipelineMetrics metrics, Pipeline pipeline, boolean sampled, TraceContext trace) {
+        this.metrics = metrics;
+        this.pipeline = pipeline;
+        this.sampled = sampled;
+        this.trace = trace;
+        this.startNanos = System.nanoTime();
+        this.startEpochNanos = trace != null ? epochNanos() : 0;
+        this.lapNanos = startNanos;
+    }
+
+    /**
+     * Whether stage timings are being taken; callers timing a loop themselves check this
+     * first and report through {@link #add}.
+     */
+    public boolean isSampled() {
+        return sampled || trace != null;
+    }
+
+    public void lap(PipelineStage stage) {
+        if (isSampled()) {
+            long now = System.nanoTime();
+            record(stage, lapNanos, now);
+            lapNanos = now;
+        }
+    }
+
+    /**
+     * Charge time measured by the caller to a stage. Follow with {@link #mark} so the next
+     * lap does not count it again. In a trace, added stages appear back to back from the
+     * last lap, since the caller only reports totals.
+     */
+    public void add(PipelineStage stage, long nanos) {
+        if (isSampled()) {
+            record(stage, lapNanos, lapNanos + nanos);
+            lapNanos += nanos;
+        }
+    }
+
+    /**
+     * Restart the lap clock without charging anything.
+     */
+    public void mark() {
+        if (isSampled()) {
+            lapNanos = System.nanoTime();
+        }
+    }
+
+    private void record(PipelineStage stage, long fromNanos, long toNanos) {
+        if (sampled) {
+            metrics.stageTimer(pipeline, stage).record(toNanos - fromNanos, TimeUnit.NANOSECONDS);
+        }
+        if (trace != null) {
+            metrics.span(trace, pipeline, stage, startEpochNanos + (fromNanos - startNanos),
+                    startEpochNanos + (toNanos - startNanos));
+        }
+    }
+
+    private static long epochNanos() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000_000L + now.getNano();
+    }
+
+    public void bytes(PipelineStage stage, long bytes) {
+        metrics.countBytes(pipeline, stage, bytes);
+    }
+
+    /**
+     * Mark the operation successful; otherwise it is recorded with outcome=error.
+     */
+    public void succeeded() {
+        success = true;
+    }
+
+    /**
+     * Hand the rest of the operation to a stream: reads are counted (and timed, if
+     * sampled) as {@code stage}, and closing the stream closes this recording as a success.
+     */
+    public InputStream meter(InputStream in, PipelineStage stage) {
+        return new FilterInputStream(in) {
+            private long readNanos;
+            private long readBytes;
+
+            @Override
+            public int read() throws IOException {
+                long start = isSampled() ? System.nanoTime() : 0;
+                int b = super.read();
+                readNanos += isSampled() ? System.nanoTime() - start : 0;
+                if (b >= 0) {
+                    readBytes++;
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int off, int len) throws IOException {
+                long start = isSampled() ? System.nanoTime() : 0;
+                int n = super.read(buffer, off, len);
+                readNanos += isSampled() ? System.nanoTime() - start : 0;
+                if (n > 0) {
+                    readBytes += n;
+                }
+                return n;
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    add(stage, readNanos);
+                    bytes(stage, readBytes);
+                    succeeded();
+                    PipelineRecording.this.close();
+                }
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            metrics.durationTimer(pipeline, success).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.outbox;
+
+import com.rakumo.metadata.object.BatchItemStatus;
+import com.rakumo.metadata.object.BatchObjectResponse;
+import com.rakumo.metadata.object.CreateObjectWithVersionRequest;
+import com.rakumo.metadata.object.DeleteObjectRequest;
+import com.rakumo.object.entity.MetadataOutboxEntity;
+import com.rakumo.object.enumeration.OutboxEventType;
+import com.rakumo.object.enumeration.Pipeline;
+import com.rakumo.object.enumeration.PipelineStage;
+import com.rakumo.object.exception.MetadataServiceException;
+import com.rakumo.object.grpc.MetadataGrpcClient;
+import com.rakumo.object.metrics.PipelineMetrics;
+import com.rakumo.object.repository.MetadataOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Relays outbox events to the metadata service in batches, oldest first.
+ *
+ * <p>Each batch costs one CreateObjectsWithVersion and one DeleteObjects round-trip. Creates are
+ * upserts on the object id and deletes of an already-missing object succeed, so an
+ * event relayed twice is harmless. Failed events, and batches whose response does not
+ * carry one result per request, are retried with exponential backoff.
+ *
+ * <p>A delete never overtakes a create for the same object: deleting an object drops its
+ * unrelayed CREATE in the same transaction, retries only update events that still exist,
+ * and a delete is held back while any CREATE for its object is still in the outbox, in
+ * this batch or a later one.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MetadataOutboxRelay {
+
+    private static final String STORAGE_CLASS = "STANDARD";
+
+    private final MetadataOutboxRepository outboxRepository;
+    private final MetadataGrpcClient metadataGrpcClient;
+    private final PipelineMetrics pipelineMetrics;
+
+    @Value("${metadata.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${metadata.outbox.initial-backoff-ms:500}")
+    private long initialBackoffMs;
+
+    @Value("${metadata.outbox.max-backoff-ms:60000}")
+    private long maxBackoffMs;
+
+    @Scheduled(fixedDelayString = "${metadata.outbox.relay-interval-ms:200}")
+    public void relay() {
+        List<MetadataOutboxEntity> batch;
+        while (!(batch = outboxRepository.findReady(Instant.now(), PageRequest.of(0, batchSize))).isEmpty()) {
+            if (relayBatch(batch) == 0) {
+                return;
+            }
+        }
+    }
+
+    private int relayBatch(List<MetadataOutboxEntity> batch) {
+        List<MetadataOutboxEntity> creates = new ArrayList<>();
+        List<MetadataOutboxEntity> deletes = new ArrayList<>();
+        for (MetadataOutboxEntity event : batch) {
+            (event.getEventType() == OutboxEventType.CREATE ? creates : deletes).add(event);
+        }
+
+        List<UUID> delivered = new ArrayList<>(batch.size());
+        List<MetadataOutboxEntity> retries = new ArrayList<>();
+        Map<UUID, Instant> blocked = new HashMap<>();
+
+        // Creates go first so that a delete in the same batch never overtakes its create
+        if (!creates.isEmpty()) {
+            sendCreates(creates, delivered, retries, blocked);
+        }
+
+        if (!deletes.isEmpty()) {
+            blockBehindPendingCreates(deletes, delivered, blocked);
+        }
+
+        List<MetadataOutboxEntity> sendable = new ArrayList<>(deletes.size());
+        for (MetadataOutboxEntity event : deletes) {
+            Instant blockedUntil = blocked.get(event.getObjectId());
+            if (blockedUntil != null) {
+                event.setNextAttemptAt(blockedUntil);
+                retries.add(event);
+            } else {
+                sendable.add(event);
+            }
+        }
+        if (!sendable.isEmpty()) {
+            sendDeletes(sendable, delivered, retries);
+        }
+
+        outboxRepository.deleteAllByIdInBatch(delivered);
+        for (MetadataOutboxEntity event : retries) {
+            outboxRepository.reschedule(event.getId(), event.getAttempts(), event.getNextAttemptAt());
+        }
+        log.debug("Relayed {}/{} metadata events", delivered.size(), batch.size());
+        return delivered.size();
+    }
+
+    private void sendCreates(List<MetadataOutboxEntity> events, List<UUID> delivered,
+                             List<MetadataOutboxEntity> retries, Map<UUID, Instant> blocked) {
+        List<CreateObjectWithVersionRequest> requests = events.stream()
+                .map(event -> CreateObjectWithVersionRequest.newBuilder()
+                        .setId(event.getObjectId().toString())
+                        .setBucketId(event.getBucketName())
+                        .setObjectKey(event.getObjectKey())
+                        .setVersionId(event.getVersionId())
+                        .setEtag(event.getEtag())
+                        .setSize(event.getSizeBytes())
+                        .setStorageLocation(Objects.toString(event.getStorageLocation(), ""))
+                        .setContentType(Objects.toString(event.getContentType(), ""))
+                        .setStorageClass(STORAGE_CLASS)
+                        .build())
+                .toList();
+
+        try {
+            // Object row, version row and custom metadata land in one metadata transaction
+            long start = System.nanoTime();
+            BatchObjectResponse response = metadataGrpcClient.createObjectsWithVersion(requests);
+            pipelineMetrics.record(Pipeline.STORE, PipelineStage.METADATA_CALL, System.nanoTime() - start);
+            checkResultCount(response, events.size());
+            for (int i = 0; i < events.size(); i++) {
+                BatchItemStatus status = response.getResults(i);
+                if (status.getSuccess()) {
+                    delivered.add(events.get(i).getId());
+                } else {
+                    scheduleRetry(events.get(i), status.getMessage(), retries);
+                    blocked.put(events.get(i).getObjectId(), events.get(i).getNextAttemptAt());
+                }
+            }
+        } catch (MetadataServiceException e) {
+            for (MetadataOutboxEntity event : events) {
+                scheduleRetry(event, e.getMessage(), retries);
+                blocked.put(event.getObjectId(), event.getNextAttemptAt());
+            }
+        }
+    }
+
+    private void sendDeletes(List<MetadataOutboxEntity> events, List<UUID> delivered,
+                             List<MetadataOutboxEntity> retries) {
+        List<DeleteObjectRequest> requests = events.stream()
+                .map(event -> DeleteObjectRequest.newBuilder()
+                        .setBucketId(event.getBucketName())
+                        .setObjectId(event.getObjectId().toString())
+                        .build())
+                .toList();
+
+        try {
+            // Deleting an object that is already gone reports success
+            long start = System.nanoTime();
+            BatchObjectResponse response = metadataGrpcClient.deleteObjects(requests);
+            pipelineMetrics.record(Pipeline.DELETE, PipelineStage.METADATA_CALL, System.nanoTime() - start);
+            checkResultCount(response, events.size());
+            for (int i = 0; i < events.size(); i++) {
+                BatchItemStatus status = response.getResults(i);
+                if (status.getSuccess()) {
+                    delivered.add(events.get(i).getId());
+                } else {
+                    scheduleRetry(events.get(i), status.getMessage(), retries);
+                }
+            }
+        } catch (MetadataServiceException e) {
+            events.forEach(event -> scheduleRetry(event, e.getMessage(), retries));
+        }
+    }
+
+    /**
+     * Holds deletes whose object still has a CREATE waiting in the outbox, from an earlier
+     * batch that is backing off, until that create is due.
+     */
+    private void blockBehindPendingCreates(List<MetadataOutboxEntity> deletes, List<UUID> delivered,
+                                           Map<UUID, Instant> blocked) {
+        List<UUID> objectIds = deletes.stream().map(MetadataOutboxEntity::getObjectId).toList();
+        for (MetadataOutboxEntity create
+                : outboxRepository.findByEventTypeAndObjectIds(OutboxEventType.CREATE, objectIds)) {
+            if (!delivered.contains(create.getId())) {
+                blocked.merge(create.getObjectId(), create.getNextAttemptAt(),
+                        (a, b) -> a.isAfter(b) ? a : b);
+            }
+        }
+    }
+
+    // Results are matched to requests by position, so a short or long answer can't be trusted
+    private static void checkResultCount(BatchObjectResponse response, int expected)
+            throws MetadataServiceException {
+        if (response.getResultsCount() != expected) {
+            throw new MetadataServiceException("Metadata service returned " + response.getResultsCount()
+                    + " results for " + expected + " requests");
+        }
+    }
+
+    private void scheduleRetry(MetadataOutboxEntity event, String reason, List<MetadataOutboxEntity> retries) {
+        event.setAttempts(event.getAttempts() + 1);
+        event.setNextAttemptAt(Instant.now().plus(backoff(event.getAttempts())));
+        retries.add(event);
+        log.warn("Metadata {} for {}/{} failed (attempt {}): {}", event.getEventType(),
+                event.getBucketName(), event.getObjectKey(), event.getAttempts(), reason);
+    }
+
+    private Duration backoff(int attempts) {
+        long delay = initialBackoffMs << Math.min(attempts - 1, 20);
+        return Duration.ofMillis(Math.min(delay, maxBackoffMs));
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.repository;
+
+import com.rakumo.object.entity.MetadataOutboxEntity;
+import com.rakumo.object.enumeration.OutboxEventType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface MetadataOutboxRepository extends JpaRepository<MetadataOutboxEntity, UUID> {
+
+    @Query("SELECT e FROM MetadataOutboxEntity e WHERE e.nextAttemptAt <= :now ORDER BY e.createdAt")
+    List<MetadataOutboxEntity> findReady(@Param("now") Instant now, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM MetadataOutboxEntity e WHERE e.objectId = :objectId AND e.eventType = :eventType")
+    int deleteByObjectIdAndEventType(@Param("objectId") UUID objectId,
+                                     @Param("eventType") OutboxEventType eventType);
+
+    @Query("SELECT e FROM MetadataOutboxEntity e WHERE e.eventType = :eventType AND e.objectId IN :objectIds")
+    List<MetadataOutboxEntity> findByEventTypeAndObjectIds(@Param("eventType") OutboxEventType eventType,
+                                                           @Param("objectIds") Collection<UUID> objectIds);
+
+    /**
+     * Records a failed attempt without re-creating an event that was removed meanwhile,
+     * e.g. a CREATE dropped because its object was deleted.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE MetadataOutboxEntity e SET e.attempts = :attempts, e.nextAttemptAt = :nextAttemptAt " +
+            "WHERE e.id = :id")
+    int reschedule(@Param("id") UUID id,
+                   @Param("attempts") int attempts,
+                   @Param("nextAttemptAt") Instant nextAttemptAt);
+}
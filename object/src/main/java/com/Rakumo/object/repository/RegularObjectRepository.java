@@ -26,6 +26,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -50,4 +51,7 @@ public interface RegularObjectRepository extends JpaRepository<RegularObjectEnti
             @Param("checksum") String checksum,
             @Param("bucketId") String bucketId
     );
+
+    @Query("SELECT r.id FROM RegularObjectEntity r WHERE r.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
 }
@@ -36,6 +36,11 @@ public interface FileStorageService {
     Resource retrieveFile(String bucketName, String objectKey, String versionId)
             throws ObjectNotFoundException, IOException;
 
+    RegularObjectEntity findObject(String bucketName, String objectKey, String versionId)
+            throws ObjectNotFoundException;
+
+    Resource retrieveFile(RegularObjectEntity entity) throws ObjectNotFoundException, IOException;
+
     void deleteFile(String ownerId, String bucketName, String objectKey, String fileHash)
             throws ObjectNotFoundException, IOException, MetadataServiceException;
 }
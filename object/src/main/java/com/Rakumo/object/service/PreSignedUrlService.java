@@ -24,5 +24,6 @@ import com.rakumo.object.dto.PreSignedUrlResponse;
 
 public interface PreSignedUrlService {
     PreSignedUrlResponse generatePreSignedUrl(PreSignedUrlRequest request);
-    boolean validatePreSignedUrl(String url, String bucketName, String objectKey);
+    boolean validatePreSignedUrl(String url, String bucketName, String objectKey,
+                                 PreSignedUrlRequest.PreSignedUrlOperation operation);
 }
@@ -22,7 +22,13 @@ package com.rakumo.object.service.implementation;
 
 import com.rakumo.object.dto.DownloadRequest;
 import com.rakumo.object.dto.DownloadResponse;
+import com.rakumo.object.entity.RegularObjectEntity;
+import com.rakumo.object.enumeration.ChecksumAlgorithm;
+import com.rakumo.object.enumeration.Pipeline;
+import com.rakumo.object.enumeration.PipelineStage;
 import com.rakumo.object.exception.ObjectNotFoundException;
+import com.rakumo.object.metrics.PipelineMetrics;
+import com.rakumo.object.metrics.PipelineRecording;
 import com.rakumo.object.service.DownloadManagerService;
 import com.rakumo.object.service.FileStorageService;
 import com.rakumo.object.util.ChecksumUtils;
@@ -44,34 +50,51 @@ import java.time.Instant;
 public class DownloadManagerServiceImpl implements DownloadManagerService {
 
     private final FileStorageService fileStorageService;
-    private final ChecksumUtils checksumUtils;
+    private final PipelineMetrics pipelineMetrics;
 
     @Override
     public DownloadResponse retrieveFile(DownloadRequest request) throws ObjectNotFoundException, IOException {
-        // Use FileStorageService to get the resource
-        Resource resource = fileStorageService.retrieveFile(
-                request.getBucketName(),
-                request.getObjectKey(),
-                request.getVersionId()
-        );
+        PipelineRecording recording = pipelineMetrics.start(Pipeline.DOWNLOAD);
+        try {
+            // Use FileStorageService to get the object and its resource
+            RegularObjectEntity entity = fileStorageService.findObject(
+                    request.getBucketName(),
+                    request.getObjectKey(),
+                    request.getVersionId()
+            );
+            recording.lap(PipelineStage.DB_LOOKUP);
+            Resource resource = fileStorageService.retrieveFile(entity);
 
-        Path filePath = Paths.get(resource.getURI());
+            Path filePath = Paths.get(resource.getURI());
+            String contentType = entity.getContentType() != null ? entity.getContentType() : Files.probeContentType(filePath);
+            long contentLength = Files.size(filePath);
+            Instant lastModified = Files.getLastModifiedTime(filePath).toInstant();
+            recording.lap(PipelineStage.OPEN);
 
-        // Get file metadata
-        String checksum = checksumUtils.sha256(filePath);
-        String contentType = Files.probeContentType(filePath);
-        long contentLength = Files.size(filePath);
-        Instant lastModified = Files.getLastModifiedTime(filePath).toInstant();
+            // Digests were computed at upload; only objects stored without them are re-hashed
+            String checksum = entity.getChecksum();
+            if (checksum == null) {
+                checksum = ChecksumUtils.checksumOf(filePath,
+                        ChecksumAlgorithm.orDefault(entity.getChecksumAlgorithm())).hex();
+                recording.lap(PipelineStage.HASH);
+            }
 
-        return DownloadResponse.builder()
-                .bucketName(request.getBucketName())
-                .objectKey(request.getObjectKey())
-                .versionId(request.getVersionId())
-                .dataStream(resource.getInputStream())
-                .contentType(contentType)
-                .checksum(checksum)
-                .contentLength(contentLength)
-                .lastModified(lastModified)
-                .build();
+            // The recording completes when the caller closes the stream
+            return DownloadResponse.builder()
+                    .bucketName(request.getBucketName())
+                    .objectKey(request.getObjectKey())
+                    .versionId(request.getVersionId())
+                    .dataStream(recording.meter(resource.getInputStream(), PipelineStage.READ))
+                    .contentType(contentType)
+                    .checksum(checksum)
+                    .md5(entity.getMd5())
+                    .crc32c(entity.getCrc32c())
+                    .contentLength(contentLength)
+                    .lastModified(lastModified)
+                    .build();
+        } catch (ObjectNotFoundException | IOException | RuntimeException e) {
+            recording.close();
+            throw e;
+        }
     }
 }
@@ -19,6 +19,7 @@
 
 package com.rakumo.object.service.implementation;
 
+import com.rakumo.object.enumeration.ChecksumAlgorithm;
 import com.rakumo.object.exception.InvalidChunkException;
 import com.rakumo.object.entity.FileChunkInfo;
 import com.rakumo.object.entity.LocalObjectReference;
@@ -29,8 +30,10 @@ import com.rakumo.object.util.FileUtils;
 import com.rakumo.object.util.JsonUtils;
 import com.fasterxml.jackson.core.type.TypeReference;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
@@ -40,6 +43,8 @@ import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -51,6 +56,10 @@ public class FileChunkServiceImpl implements FileChunkService {
 
     private Path tempRoot;
 
+    // Activity seen since the last flush, keyed by sanitized upload id. Entries are
+    // dropped once persisted, so metadata.json lags by at most one flush interval.
+    private final ConcurrentMap<String, Instant> pendingActivity = new ConcurrentHashMap<>();
+
     @PostConstruct
     public void init() {
         this.tempRoot = Paths.get(tempRootPath);
@@ -97,29 +106,55 @@ public class FileChunkServiceImpl implements FileChunkService {
         // 2. Update activity timestamp
         updateLastActivity(chunk.getUploadId());
 
-        // 3. Validate checksum if provided
-        if (chunk.getChecksum() != null) {
+        // 3. Validate checksum if provided, preferring the much cheaper CRC32C
+        if (chunk.getCrc32c() != null || chunk.getChecksum() != null) {
             Path chunkPath = getChunkPath(chunk.getUploadId(), chunk.getChunkIndex());
-            if (Files.exists(chunkPath) && !ChecksumUtils.verify(chunkPath, chunk.getChecksum())) {
-                throw new InvalidChunkException("Chunk checksum mismatch");
+            if (Files.exists(chunkPath)) {
+                boolean valid = chunk.getCrc32c() != null
+                        ? ChecksumUtils.verifyCrc32c(chunkPath, chunk.getCrc32c())
+                        : ChecksumUtils.verify(chunkPath, chunk.getChecksum(),
+                                ChecksumAlgorithm.orDefault(chunk.getChecksumAlgorithm()));
+                if (!valid) {
+                    throw new InvalidChunkException("Chunk checksum mismatch");
+                }
             }
         }
     }
 
     private void updateLastActivity(String uploadId) {
-        try {
-            Path metadataFile = getMetadataPath(uploadId);
-            if (Files.exists(metadataFile)) {
-                Map<String, String> metadata = JsonUtils.readValue(metadataFile,
-                        new TypeReference<Map<String, String>>(){});
-                metadata.put("lastActivity", Instant.now().toString());
-                JsonUtils.write(metadataFile, metadata);
+        pendingActivity.put(FilePathUtils.sanitize(uploadId), Instant.now());
+    }
+
+    /**
+     * Persist buffered lastActivity timestamps to each upload's metadata.json.
+     * Runs periodically and on shutdown instead of once per validated chunk.
+     */
+    @Scheduled(fixedDelayString = "${upload.multipart.activity-flush-interval-ms:30000}")
+    public void flushActivity() {
+        for (Map.Entry<String, Instant> entry : pendingActivity.entrySet()) {
+            String safeUploadId = entry.getKey();
+            Instant lastActivity = entry.getValue();
+            try {
+                Path metadataFile = tempRoot.resolve(safeUploadId).resolve("metadata.json");
+                if (Files.exists(metadataFile)) {
+                    Map<String, String> metadata = JsonUtils.readValue(metadataFile,
+                            new TypeReference<Map<String, String>>(){});
+                    metadata.put("lastActivity", lastActivity.toString());
+                    JsonUtils.write(metadataFile, metadata);
+                }
+                // Keep the entry if a newer chunk arrived while we were writing
+                pendingActivity.remove(safeUploadId, lastActivity);
+            } catch (IOException e) {
+                log.warn("Failed to flush lastActivity for upload {}: {}", safeUploadId, e.getMessage());
             }
-        } catch (IOException e) {
-            log.warn("Failed to update lastActivity for upload {}: {}", uploadId, e.getMessage());
         }
     }
 
+    @PreDestroy
+    public void shutdown() {
+        flushActivity();
+    }
+
     @Override
     public List<FileChunkInfo> listChunks(String uploadId) {
         Path chunksFile = getChunksDataPath(uploadId);
@@ -145,10 +180,17 @@ public class FileChunkServiceImpl implements FileChunkService {
                 try {
                     Path metadataFile = uploadDir.resolve("metadata.json");
                     if (Files.exists(metadataFile)) {
+                        // Unflushed activity is newer than anything on disk
+                        Instant pending = pendingActivity.get(uploadDir.getFileName().toString());
+                        if (pending != null && !pending.isBefore(cutoff)) {
+                            return;
+                        }
+
                         Map<String, String> metadata = JsonUtils.readValue(metadataFile,
                                 new TypeReference<Map<String, String>>(){});
                         Instant lastActivity = Instant.parse(metadata.get("lastActivity"));
                         if (lastActivity.isBefore(cutoff)) {
+                            pendingActivity.remove(uploadDir.getFileName().toString());
                             FileUtils.deleteDirectory(uploadDir);
                             log.info("Cleaned up stale upload: {}", uploadDir.getFileName());
                         }
@@ -166,6 +208,7 @@ public class FileChunkServiceImpl implements FileChunkService {
     public void cleanupUpload(String uploadId) throws IOException {
         String safeUploadId = FilePathUtils.sanitize(uploadId);
         Path uploadDir = tempRoot.resolve(safeUploadId);
+        pendingActivity.remove(safeUploadId);
         if (Files.exists(uploadDir)) {
             FileUtils.deleteDirectory(uploadDir);
             log.info("Cleaned up upload: {}", uploadId);
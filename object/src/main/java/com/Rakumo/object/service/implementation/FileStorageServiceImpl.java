@@ -19,16 +19,32 @@
 
 package com.rakumo.object.service.implementation;
 
+import com.rakumo.object.config.ChecksumProperties;
+import com.rakumo.object.entity.MetadataOutboxEntity;
 import com.rakumo.object.entity.RegularObjectEntity;
+import com.rakumo.object.enumeration.ChecksumAlgorithm;
+import com.rakumo.object.enumeration.OutboxEventType;
+import com.rakumo.object.enumeration.Pipeline;
+import com.rakumo.object.enumeration.PipelineStage;
 import com.rakumo.object.exception.ChecksumMismatchException;
 import com.rakumo.object.exception.MetadataServiceException;
 import com.rakumo.object.exception.ObjectNotFoundException;
-import com.rakumo.object.grpc.MetadataGrpcClient;
+import com.rakumo.object.jfr.ObjectDeleteEvent;
+import com.rakumo.object.jfr.ObjectUploadEvent;
+import com.rakumo.object.journal.IntentApplier;
+import com.rakumo.object.journal.IntentJournal;
+import com.rakumo.object.journal.StoreIntent;
+import com.rakumo.object.metrics.PipelineMetrics;
+import com.rakumo.object.metrics.PipelineRecording;
+import com.rakumo.object.repository.MetadataOutboxRepository;
 import com.rakumo.object.repository.RegularObjectRepository;
 import com.rakumo.object.service.FileStorageService;
 import com.rakumo.object.util.ChecksumUtils;
+import com.rakumo.object.util.MultiDigest;
 import com.rakumo.object.util.ContentTypeResolver;
 import com.rakumo.object.util.FilePathUtils;
+import com.rakumo.object.util.FileSyncer;
+import com.rakumo.object.util.FileUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -42,7 +58,6 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
@@ -54,8 +69,12 @@ import java.util.stream.Stream;
 public class FileStorageServiceImpl implements FileStorageService {
 
     private final RegularObjectRepository regularObjectRepository;
-    private final MetadataGrpcClient metadataGrpcClient;
-    private final ChecksumUtils checksumUtils;
+    private final MetadataOutboxRepository outboxRepository;
+    private final IntentJournal intentJournal;
+    private final IntentApplier intentApplier;
+    private final FileSyncer fileSyncer;
+    private final ChecksumProperties checksumProperties;
+    private final PipelineMetrics pipelineMetrics;
 
     @Value("${storage.root:./storage}")
     private String storageRoot;
@@ -65,24 +84,34 @@ public class FileStorageServiceImpl implements FileStorageService {
                                          String contentType, String expectedChecksum)
             throws IOException, ChecksumMismatchException {
 
-        // throw error if file with same checksum already exists
-        if (regularObjectRepository.existsByChecksumAndBucketId(expectedChecksum, bucketId)) {
-            throw new IOException("File already exists inside the bucket");
-        }
-
-        Path tempPath = createTempFile();
+        PipelineRecording recording = pipelineMetrics.start(Pipeline.STORE);
+        ObjectUploadEvent event = new ObjectUploadEvent();
+        event.begin();
+        ChecksumAlgorithm algorithm = checksumProperties.forBucket(bucketId);
+        Path tempPath = null;
+        long received = 0;
+        boolean stored = false;
         try {
-            // Copy to temp file first
-            Files.copy(inputStream, tempPath, StandardCopyOption.REPLACE_EXISTING);
+            // throw error if file with same checksum already exists
+            if (regularObjectRepository.existsByChecksumAndBucketId(expectedChecksum, bucketId)
+                    || intentJournal.hasPending(bucketId, expectedChecksum)) {
+                throw new IOException("File already exists inside the bucket");
+            }
+            recording.lap(PipelineStage.DEDUPE_CHECK);
+
+            tempPath = createTempFile();
 
-            // Calculate actual checksum
-            String actualChecksum = checksumUtils.sha256(tempPath);
+            // Copy to temp file, computing the bucket's checksum and CRC32C in the same pass
+            MultiDigest.Digests digests = ChecksumUtils.copyAndDigest(inputStream, tempPath, algorithm, recording);
+            received = digests.length();
+            recording.bytes(PipelineStage.RECEIVE, received);
 
             // Verify checksum if provided
-            if (expectedChecksum != null && !expectedChecksum.equals(actualChecksum)) {
-                throw new ChecksumMismatchException(
-                        String.format("Checksum mismatch. Expected: %s, Actual: %s", expectedChecksum, actualChecksum));
+            if (expectedChecksum != null && !digests.checksum().matches(expectedChecksum)) {
+                throw new ChecksumMismatchException(String.format("Checksum mismatch. Expected: %s, Actual: %s",
+                        expectedChecksum, digests.checksum().hex()));
             }
+            String actualChecksum = digests.checksum().hex();
 
             // Detect content type if not provided
             String detectedContentType = contentType != null ? contentType :
@@ -90,61 +119,82 @@ public class FileStorageServiceImpl implements FileStorageService {
 
             // Create file metadata
             String versionId = UUID.randomUUID().toString();
-            long fileSize = Files.size(tempPath);
+            long fileSize = digests.length();
 
-            // Resolve final path
-            Path finalPath = resolveFilePath(ownerId, bucketId, objectKey, actualChecksum);
+            // Resolve final path, unique to this object
+            UUID objectId = UUID.randomUUID();
+            Path finalPath = resolveFilePath(ownerId, bucketId, objectId, objectKey, actualChecksum);
             Files.createDirectories(finalPath.getParent());
 
-            // Move to final location
-            Files.move(tempPath, finalPath, StandardCopyOption.REPLACE_EXISTING);
+            // Record the intent before the file becomes visible; the DB row and
+            // metadata entry are applied asynchronously by IntentApplier
+            StoreIntent intent = StoreIntent.builder()
+                    .objectId(objectId)
+                    .ownerId(ownerId)
+                    .bucketName(bucketId)
+                    .objectKey(objectKey)
+                    .versionId(versionId)
+                    .fileName(Paths.get(objectKey).getFileName().toString())
+                    .checksum(actualChecksum)
+                    .checksumAlgorithm(algorithm)
+                    .md5(digests.md5Hex())
+                    .crc32c(digests.crc32cHex())
+                    .sizeBytes(fileSize)
+                    .contentType(detectedContentType)
+                    .physicalPath(finalPath.toString())
+                    .createdAt(Instant.now())
+                    .build();
+            intentJournal.append(intent);
+            recording.lap(PipelineStage.JOURNAL);
 
-            // Create and save entity FIRST
-            RegularObjectEntity entity = new RegularObjectEntity();
-            entity.setOwnerId(ownerId);
-            entity.setBucketName(bucketId);
-            entity.setObjectKey(objectKey);
-            entity.setVersionId(versionId);
-            entity.setFileName(Paths.get(objectKey).getFileName().toString());
-            entity.setChecksum(actualChecksum);
-            entity.setSizeBytes(fileSize);
-            entity.setContentType(detectedContentType);
-            entity.setPhysicalPath(finalPath.toString());
-
-            RegularObjectEntity savedEntity = regularObjectRepository.save(entity);
-
-            // call metadata service with the saved entity's ID
             try {
-                metadataGrpcClient.createObject(
-                        savedEntity.getId().toString(),
-                        bucketId,
-                        objectKey,
-                        versionId,
-                        actualChecksum,
-                        fileSize
-                );
-            } catch (MetadataServiceException e) {
-                // Rollback BOTH file and database entry
+                // Move to final location; the path carries the object id, so nothing else is there
+                FileUtils.moveAtomic(tempPath, finalPath);
+                recording.lap(PipelineStage.MOVE);
+
+                // Journal, file data and directory entry become durable together; with
+                // group commit this fsync is shared with concurrent uploads
+                fileSyncer.sync(intentJournal.getJournalPath(), finalPath, finalPath.getParent());
+                recording.lap(PipelineStage.FSYNC);
+            } catch (IOException e) {
+                // The upload is not acknowledged, so its file and intent are dropped
                 Files.deleteIfExists(finalPath);
-                regularObjectRepository.delete(savedEntity);
-                log.error("Failed to create object in metadata service: {}", e.getMessage());
-                throw new IOException("Failed to create object in metadata service: " + e.getMessage(), e);
+                intentJournal.discard(intent.getObjectId());
+                throw e;
             }
+            intentJournal.commit(intent);
+            recording.succeeded();
+            stored = true;
 
             log.info("Stored file: {}/{} ({} bytes)", bucketId, objectKey, fileSize);
-            return savedEntity;
+            return intent.toEntity();
         } finally {
-            Files.deleteIfExists(tempPath);
+            if (tempPath != null) {
+                Files.deleteIfExists(tempPath);
+            }
+            recording.close();
+            event.finish(bucketId, objectKey, received, algorithm.name(), stored);
         }
     }
 
     @Override
     public Resource retrieveFile(String bucketName, String objectKey, String versionId)
             throws ObjectNotFoundException, IOException {
-        RegularObjectEntity entity = regularObjectRepository.findByBucketAndKeyAndVersion(bucketName, objectKey, versionId)
+        return retrieveFile(findObject(bucketName, objectKey, versionId));
+    }
+
+    @Override
+    public RegularObjectEntity findObject(String bucketName, String objectKey, String versionId)
+            throws ObjectNotFoundException {
+        return regularObjectRepository.findByBucketAndKeyAndVersion(bucketName, objectKey, versionId)
+                // Objects acknowledged but not yet applied to the database
+                .or(() -> intentJournal.findPending(bucketName, objectKey, versionId).map(StoreIntent::toEntity))
                 .orElseThrow(() -> new ObjectNotFoundException(
                         String.format("Object not found: %s/%s (version: %s)", bucketName, objectKey, versionId)));
+    }
 
+    @Override
+    public Resource retrieveFile(RegularObjectEntity entity) throws ObjectNotFoundException, IOException {
         Path filePath = Paths.get(entity.getPhysicalPath());
 
         if (!Files.exists(filePath)) {
@@ -160,36 +210,50 @@ public class FileStorageServiceImpl implements FileStorageService {
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public void deleteFile(String ownerId, String bucketName, String objectKey, String fileId)
             throws ObjectNotFoundException, IOException, MetadataServiceException {
-        RegularObjectEntity entity = regularObjectRepository.findById(UUID.fromString(fileId))
-                .orElseThrow(() -> new ObjectNotFoundException(
-                        String.format("Object not found: %s/%s (id: %s)", bucketName, objectKey, fileId)));
+        ObjectDeleteEvent event = new ObjectDeleteEvent();
+        event.begin();
+        boolean deleted = false;
+        try {
+            deleteStoredFile(ownerId, bucketName, objectKey, fileId);
+            deleted = true;
+        } finally {
+            event.finish(bucketName, objectKey, deleted);
+        }
+    }
 
-        String bucketObjectId = metadataGrpcClient.getBucketObjects(bucketName).getObjectsList()
-                .stream()
-                .filter(obj -> obj.getObjectKey().equals(objectKey))
-                .findFirst()
-                .orElseThrow(() -> new ObjectNotFoundException(
-                        String.format("Object metadata not found in bucket: %s/%s (version: %s)", bucketName, objectKey, entity.getVersionId())))
-                .getId();
+    private void deleteStoredFile(String ownerId, String bucketName, String objectKey, String fileId)
+            throws ObjectNotFoundException, IOException {
+        UUID objectId = UUID.fromString(fileId);
+        if (intentJournal.isPending(objectId)) {
+            // Acknowledged but not yet in the database: apply it first, or the delete would
+            // miss the row now and the applier would create it afterwards
+            intentApplier.applyPending();
+            if (intentJournal.isPending(objectId)) {
+                throw new IOException(String.format("Object %s/%s (id: %s) is still being stored, retry later",
+                        bucketName, objectKey, fileId));
+            }
+        }
 
-        // Create file hash
-        String fileHash = regularObjectRepository.getChecksumById(UUID.fromString(fileId));
+        RegularObjectEntity entity = regularObjectRepository.findById(objectId)
+                .orElseThrow(() -> new ObjectNotFoundException(
+                        String.format("Object not found: %s/%s (id: %s)", bucketName, objectKey, fileId)));
 
-        // Resolve the file path using checksum
-        Path filePath = FilePathUtils.resolveRegularFilePath(ownerId, bucketName, objectKey, fileHash);
+        // The path recorded at store time; the layout may have changed since
+        Path filePath = Paths.get(entity.getPhysicalPath());
 
         if (!Files.exists(filePath)) {
             throw new ObjectNotFoundException("File not found: " + filePath);
         }
 
         try {
-            // delete object from bucket
-            metadataGrpcClient.deleteObject(bucketName, bucketObjectId);
-
-            // delete the file from db
+            // delete the file from db; the metadata entry shares the object's id and is
+            // removed by the outbox relay. A create that was never relayed is dropped.
             regularObjectRepository.delete(entity);
+            outboxRepository.deleteByObjectIdAndEventType(entity.getId(), OutboxEventType.CREATE);
+            outboxRepository.save(MetadataOutboxEntity.deleted(entity));
 
             // Delete the file from storage
             Files.delete(filePath);
@@ -201,8 +265,6 @@ public class FileStorageServiceImpl implements FileStorageService {
         } catch (IOException e) {
             log.error("Failed to delete file: {}", filePath, e);
             throw new IOException("Failed to delete file: " + e.getMessage(), e);
-        } catch (MetadataServiceException e) {
-            throw new RuntimeException(e);
         }
     }
 
@@ -239,10 +301,12 @@ public class FileStorageServiceImpl implements FileStorageService {
         }
     }
 
-    private Path resolveFilePath(String ownerId, String bucketName, String objectKey, String fileHash) {
+    private Path resolveFilePath(String ownerId, String bucketName, UUID objectId, String objectKey,
+                                 String fileHash) {
         return FilePathUtils.resolveRegularFilePath(
                 FilePathUtils.sanitize(ownerId),
                 FilePathUtils.sanitize(bucketName),
+                objectId,
                 objectKey,
                 fileHash
         );
@@ -23,32 +23,42 @@ import com.rakumo.object.dto.PreSignedUrlRequest;
 import com.rakumo.object.dto.PreSignedUrlResponse;
 import com.rakumo.object.service.PreSignedUrlService;
 import com.rakumo.object.util.ChecksumUtils;
+import com.rakumo.object.util.HmacSigner;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Base64;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Issues and checks pre-signed URLs without keeping any state. The token carries the
+ * operation, version and expiry and is signed together with the bucket and key, so
+ * any node holding the secret can validate it. A token is only accepted on the route
+ * of the operation it was issued for.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PreSignedUrlServiceImpl implements PreSignedUrlService {
 
-    private final ChecksumUtils checksumUtils;
-
     @Value("${app.pre-signed-url.base-url}")
     private String baseUrl;
 
     @Value("${app.pre-signed-url.secret-key}")
     private String secretKey;
 
-    private final Map<String, PreSignedUrlRequest> urlCache = new ConcurrentHashMap<>();
+    private HmacSigner signer;
+
+    @PostConstruct
+    void initSigner() {
+        // Key is expanded once; each thread reuses its own initialised Mac
+        signer = ChecksumUtils.hmacSha256(secretKey);
+    }
 
     @Override
     public PreSignedUrlResponse generatePreSignedUrl(PreSignedUrlRequest request) {
@@ -65,9 +75,6 @@ public class PreSignedUrlServiceImpl implements PreSignedUrlService {
             // Build the pre-signed URL
             String preSignedUrl = buildPreSignedUrl(request, token, expiresAt);
 
-            // Cache the request for validation
-            urlCache.put(token, request);
-
             log.info("Generated pre-signed URL for {}/{} operation: {}",
                     request.getBucketName(), request.getObjectKey(), request.getOperation());
 
@@ -88,77 +95,65 @@ public class PreSignedUrlServiceImpl implements PreSignedUrlService {
     }
 
     @Override
-    public boolean validatePreSignedUrl(String url, String bucketName, String objectKey) {
+    public boolean validatePreSignedUrl(String url, String bucketName, String objectKey,
+                                        PreSignedUrlRequest.PreSignedUrlOperation operation) {
         try {
-            String query = extractQueryFromUrl(url);
-
-            if (query == null || !query.contains("token=")) {
-                return false;
-            }
-
-            String token = extractTokenFromQuery(query);
-
+            String token = extractTokenFromUrl(url);
             if (token == null) {
                 return false;
             }
 
-            if (!urlCache.containsKey(token)) {
+            int dot = token.indexOf('.');
+            if (dot <= 0 || dot == token.length() - 1) {
                 return false;
             }
 
-            PreSignedUrlRequest cachedRequest = urlCache.get(token);
-
-            // Validate bucket and object key match
-            if (!cachedRequest.getBucketName().equals(bucketName)) {
+            // Payload is operation:versionId:expiresAt; bucket and key come from the caller
+            String payload = new String(Base64.getUrlDecoder().decode(token.substring(0, dot)),
+                    StandardCharsets.UTF_8);
+            int firstColon = payload.indexOf(':');
+            int lastColon = payload.lastIndexOf(':');
+            if (firstColon < 0 || lastColon == firstColon) {
                 return false;
             }
 
-            if (!cachedRequest.getObjectKey().equals(objectKey)) {
+            // A download link must not open the upload or delete route for the same key
+            if (!payload.substring(0, firstColon).equals(operation.name())) {
                 return false;
             }
 
-            // Validate expiration
-            Instant expiresAt = extractExpirationFromToken(token);
-
-            if (expiresAt.isBefore(Instant.now())) {
-                urlCache.remove(token);
+            long expiresAt = Long.parseLong(payload.substring(lastColon + 1));
+            if (expiresAt < Instant.now().getEpochSecond()) {
                 return false;
             }
 
-            return true;
+            return signer.verify(signingData(bucketName, objectKey, payload), token.substring(dot + 1));
 
         } catch (Exception e) {
             return false;
         }
     }
 
-    // Helper method to extract query from URL
-    private String extractQueryFromUrl(String url) {
-        int queryIndex = url.indexOf('?');
-        if (queryIndex == -1) {
-            return null;
-        }
-        return url.substring(queryIndex + 1);
-    }
-
     private String generateToken(PreSignedUrlRequest request, Instant expiresAt) {
-        String data = String.format("%s:%s:%s:%s:%d",
-                request.getBucketName(),
-                request.getObjectKey(),
-                request.getOperation().name(),
-                request.getVersionId() != null ? request.getVersionId() : "",
-                expiresAt.getEpochSecond());
+        String payload = request.getOperation().name() + ":"
+                + (request.getVersionId() != null ? request.getVersionId() : "") + ":"
+                + expiresAt.getEpochSecond();
 
-        log.info("🔐 GENERATING TOKEN:");
-        log.info("🔐 Data to sign: {}", data);
+        String signature = signer.sign(signingData(request.getBucketName(), request.getObjectKey(), payload)).hex();
 
-        String signature = checksumUtils.hmacSha256(data, secretKey);
-        String tokenData = String.format("%s:%d", data, expiresAt.getEpochSecond());
-
-        String token = Base64.getUrlEncoder().encodeToString(tokenData.getBytes()) + "." + signature;
-        log.info("🔐 Generated token: {}", token);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "." + signature;
+    }
 
-        return token;
+    // The signature covers bucket, key, operation, version and expiry. Each field is
+    // length-prefixed, so a key containing ':' cannot shift where the bucket or payload starts
+    private static String signingData(String bucketName, String objectKey, String payload) {
+        StringBuilder data = new StringBuilder(bucketName.length() + objectKey.length()
+                + payload.length() + 16);
+        for (String field : new String[] {bucketName, objectKey, payload}) {
+            data.append(field.length()).append(':').append(field);
+        }
+        return data.toString();
     }
 
     private String buildPreSignedUrl(PreSignedUrlRequest request, String token, Instant expiresAt) {
@@ -190,40 +185,22 @@ public class PreSignedUrlServiceImpl implements PreSignedUrlService {
         return java.net.URLEncoder.encode(objectKey, java.nio.charset.StandardCharsets.UTF_8);
     }
 
-    private String extractTokenFromQuery(String query) {
-        String[] params = query.split("&");
-        for (String param : params) {
-            if (param.startsWith("token=")) {
-                return param.substring(6);
-            }
+    private String extractTokenFromUrl(String url) {
+        int queryIndex = url.indexOf('?');
+        if (queryIndex == -1) {
+            return null;
         }
-        return null;
-    }
 
-    private Instant extractExpirationFromToken(String token) {
-        try {
-            String[] parts = token.split("\\.");
-            if (parts.length != 2) return Instant.MIN;
-
-            String decoded = new String(Base64.getUrlDecoder().decode(parts[0]));
-            String[] dataParts = decoded.split(":");
-            if (dataParts.length >= 5) {
-                long epochSecond = Long.parseLong(dataParts[4]);
-                return Instant.ofEpochSecond(epochSecond);
-            }
-        } catch (Exception e) {
-            log.error("Failed to extract expiration from token", e);
+        int start = url.indexOf("token=", queryIndex);
+        while (start != -1 && url.charAt(start - 1) != '?' && url.charAt(start - 1) != '&') {
+            start = url.indexOf("token=", start + 1);
+        }
+        if (start == -1) {
+            return null;
         }
-        return Instant.MIN;
-    }
 
-    // Clean up expired tokens periodically
-    public void cleanupExpiredTokens() {
-        Instant now = Instant.now();
-        urlCache.entrySet().removeIf(entry -> {
-            Instant expiresAt = extractExpirationFromToken(entry.getKey());
-            return expiresAt.isBefore(now);
-        });
-        log.debug("Cleaned up expired pre-signed URL tokens");
+        start += "token=".length();
+        int end = url.indexOf('&', start);
+        return end == -1 ? url.substring(start) : url.substring(start, end);
     }
 }
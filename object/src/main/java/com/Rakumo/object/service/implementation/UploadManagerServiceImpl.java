@@ -19,21 +19,29 @@
 
 package com.rakumo.object.service.implementation;
 
+import com.rakumo.object.config.ChecksumProperties;
 import com.rakumo.object.dto.UploadRequest;
 import com.rakumo.object.dto.UploadResponse;
 import com.rakumo.object.entity.FileChunkInfo;
 import com.rakumo.object.entity.MultipartUploadEntity;
 import com.rakumo.object.entity.RegularObjectEntity;
+import com.rakumo.object.enumeration.Pipeline;
+import com.rakumo.object.enumeration.PipelineStage;
 import com.rakumo.object.enumeration.UploadStatus;
 import com.rakumo.object.exception.ChecksumMismatchException;
 import com.rakumo.object.exception.MetadataServiceException;
 import com.rakumo.object.exception.ObjectNotFoundException;
 import com.rakumo.object.grpc.MetadataGrpcClient;
+import com.rakumo.object.jfr.MultipartAssemblyEvent;
+import com.rakumo.object.jfr.PartWriteEvent;
+import com.rakumo.object.metrics.PipelineMetrics;
+import com.rakumo.object.metrics.PipelineRecording;
 import com.rakumo.object.repository.MultipartUploadRepository;
 import com.rakumo.object.service.FileChunkService;
 import com.rakumo.object.service.FileStorageService;
 import com.rakumo.object.service.UploadManagerService;
 import com.rakumo.object.util.ChecksumUtils;
+import com.rakumo.object.util.MultiDigest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -59,8 +67,9 @@ public class UploadManagerServiceImpl implements UploadManagerService {
     private final FileChunkService fileChunkService;
     private final FileChunkServiceImpl fileChunkServiceImpl;
     private final MultipartUploadRepository multipartUploadRepository;
-    private final ChecksumUtils checksumUtils;
     private final MetadataGrpcClient metadataGrpcClient;
+    private final ChecksumProperties checksumProperties;
+    private final PipelineMetrics pipelineMetrics;
 
     private static final long MEMORY_THRESHOLD = 10 * 1024 * 1024; // 10MB
 
@@ -70,10 +79,14 @@ public class UploadManagerServiceImpl implements UploadManagerService {
             throws IOException, MetadataServiceException {
         validateUploadRequest(request);
 
-        try {
+        try (PipelineRecording recording = pipelineMetrics.start(Pipeline.REGULAR_UPLOAD)) {
             // For small files, read into memory for efficiency
             byte[] fileBytes = fileData.readAllBytes();
-            String checksum = checksumUtils.sha256(new ByteArrayInputStream(fileBytes));
+            recording.lap(PipelineStage.RECEIVE);
+            recording.bytes(PipelineStage.RECEIVE, fileBytes.length);
+            String checksum = ChecksumUtils.checksumOf(fileBytes,
+                    checksumProperties.forBucket(request.getBucketName())).hex();
+            recording.lap(PipelineStage.HASH);
 
             if (fileBytes.length > MEMORY_THRESHOLD) {
                 log.warn("Large file upload detected: {} bytes. Consider multipart upload.", fileBytes.length);
@@ -88,6 +101,8 @@ public class UploadManagerServiceImpl implements UploadManagerService {
                     request.getContentType(),
                     checksum
             );
+            recording.lap(PipelineStage.STORE);
+            recording.succeeded();
 
             // Convert entity to response DTO
             return UploadResponse.builder()
@@ -95,6 +110,8 @@ public class UploadManagerServiceImpl implements UploadManagerService {
                     .objectKey(entity.getObjectKey())
                     .versionId(entity.getVersionId())
                     .checksum(entity.getChecksum())
+                    .md5(entity.getMd5())
+                    .crc32c(entity.getCrc32c())
                     .sizeBytes(entity.getSizeBytes())
                     .uploadedAt(Instant.now())
                     .objectId(entity.getId().toString())
@@ -130,86 +147,130 @@ public class UploadManagerServiceImpl implements UploadManagerService {
     @Override
     @Transactional
     public void uploadChunk(String uploadId, int chunkIndex, InputStream chunkData) throws IOException {
-        MultipartUploadEntity upload = multipartUploadRepository.findById(uploadId)
-                .orElseThrow(() -> new IllegalArgumentException("Upload not found: " + uploadId));
-
-        if (upload.getStatus() != UploadStatus.IN_PROGRESS) {
-            throw new IllegalStateException("Upload is not in progress: " + uploadId);
-        }
-
-        // Read chunk data
-        byte[] chunkBytes = chunkData.readAllBytes();
-
-        // Calculate checksum
-        String actualChecksum = checksumUtils.sha256(new ByteArrayInputStream(chunkBytes));
-
-        // Store chunk to filesystem
-        Path chunkPath = fileChunkServiceImpl.getChunkPath(uploadId, chunkIndex);
-        Files.write(chunkPath, chunkBytes);
+        PartWriteEvent event = new PartWriteEvent();
+        event.begin();
+        String bucketName = null;
+        long size = 0;
+        boolean written = false;
+        try (PipelineRecording recording = pipelineMetrics.start(Pipeline.CHUNK_UPLOAD)) {
+            MultipartUploadEntity upload = multipartUploadRepository.findById(uploadId)
+                    .orElseThrow(() -> new IllegalArgumentException("Upload not found: " + uploadId));
+            recording.lap(PipelineStage.DB_LOOKUP);
+            bucketName = upload.getBucketName();
+
+            if (upload.getStatus() != UploadStatus.IN_PROGRESS) {
+                throw new IllegalStateException("Upload is not in progress: " + uploadId);
+            }
 
-        // Create chunk metadata
-        FileChunkInfo chunkInfo = FileChunkInfo.builder()
-                .uploadId(uploadId)
-                .chunkIndex(chunkIndex)
-                .chunkSize(chunkBytes.length)
-                .checksum(actualChecksum)
-                .bucketName(upload.getBucketName())
-                .objectKey(upload.getObjectKey())
-                .filePath(chunkPath.toString())
-                .uploadedAt(Instant.now())
-                .build();
+            // Read chunk data
+            byte[] chunkBytes = chunkData.readAllBytes();
+            size = chunkBytes.length;
+            recording.lap(PipelineStage.RECEIVE);
+            recording.bytes(PipelineStage.RECEIVE, chunkBytes.length);
+
+            // Bucket checksum and CRC32C in one pass; CRC32C makes later part verification cheap
+            MultiDigest.Digests digests = ChecksumUtils.digestAll(chunkBytes,
+                    checksumProperties.forBucket(upload.getBucketName()));
+            recording.lap(PipelineStage.HASH);
+
+            // Store chunk to filesystem
+            Path chunkPath = fileChunkServiceImpl.getChunkPath(uploadId, chunkIndex);
+            Files.write(chunkPath, chunkBytes);
+            recording.lap(PipelineStage.CHUNK_WRITE);
+
+            // Create chunk metadata
+            FileChunkInfo chunkInfo = FileChunkInfo.builder()
+                    .uploadId(uploadId)
+                    .chunkIndex(chunkIndex)
+                    .chunkSize(chunkBytes.length)
+                    .checksum(digests.checksum().hex())
+                    .checksumAlgorithm(digests.algorithm())
+                    .md5(digests.md5Hex())
+                    .crc32c(digests.crc32cHex())
+                    .bucketName(upload.getBucketName())
+                    .objectKey(upload.getObjectKey())
+                    .filePath(chunkPath.toString())
+                    .uploadedAt(Instant.now())
+                    .build();
 
-        // Add to chunk metadata
-        fileChunkServiceImpl.addChunkMetadata(uploadId, chunkInfo);
-        log.debug("Uploaded chunk {} for upload {}", chunkIndex, uploadId);
+            // Add to chunk metadata
+            fileChunkServiceImpl.addChunkMetadata(uploadId, chunkInfo);
+            recording.lap(PipelineStage.CHUNK_METADATA);
+            recording.succeeded();
+            written = true;
+            log.debug("Uploaded chunk {} for upload {}", chunkIndex, uploadId);
+        } finally {
+            event.finish(uploadId, bucketName, chunkIndex, size, written);
+        }
     }
 
     @Override
     @Transactional
     public UploadResponse completeMultipartUpload(String uploadId)
             throws IOException, MetadataServiceException, ChecksumMismatchException {
-        MultipartUploadEntity upload = multipartUploadRepository.findById(uploadId)
-                .orElseThrow(() -> new IllegalArgumentException("Upload not found: " + uploadId));
-
-        // Get all chunks in order
-        List<FileChunkInfo> chunks = fileChunkService.listChunks(uploadId);
-        if (chunks.isEmpty()) {
-            throw new IOException("No chunks found for upload: " + uploadId);
-        }
-
-        // Assemble chunks into single input stream
-        InputStream assembledStream = assembleChunks(chunks);
-
-        try {
-            // Store assembled file using FileStorageService
-            RegularObjectEntity entity = fileStorageService.storeFile(
-                    upload.getUserId(),
-                    upload.getBucketName(),
-                    upload.getObjectKey(),
-                    assembledStream,
-                    null, // Content type will be auto-detected
-                    null  // Checksum will be calculated
-            );
-
-            // Update upload status
-            upload.setStatus(UploadStatus.COMPLETED);
-            multipartUploadRepository.save(upload);
-
-            // Cleanup temp files
-            fileChunkService.cleanupUpload(uploadId);
-
-            log.info("Completed multipart upload: {}", uploadId);
-            return UploadResponse.builder()
-                    .bucketName(entity.getBucketName())
-                    .objectKey(entity.getObjectKey())
-                    .versionId(entity.getVersionId())
-                    .checksum(entity.getChecksum())
-                    .sizeBytes(entity.getSizeBytes())
-                    .uploadedAt(Instant.now())
-                    .objectId(entity.getId().toString())
-                    .build();
+        MultipartAssemblyEvent event = new MultipartAssemblyEvent();
+        event.begin();
+        MultipartUploadEntity upload = null;
+        List<FileChunkInfo> chunks = List.of();
+        long size = 0;
+        boolean assembled = false;
+        try (PipelineRecording recording = pipelineMetrics.start(Pipeline.MULTIPART_COMPLETE)) {
+            upload = multipartUploadRepository.findById(uploadId)
+                    .orElseThrow(() -> new IllegalArgumentException("Upload not found: " + uploadId));
+            recording.lap(PipelineStage.DB_LOOKUP);
+
+            // Get all chunks in order
+            chunks = fileChunkService.listChunks(uploadId);
+            if (chunks.isEmpty()) {
+                throw new IOException("No chunks found for upload: " + uploadId);
+            }
+            recording.lap(PipelineStage.CHUNK_METADATA);
+
+            // Assemble chunks into single input stream
+            InputStream assembledStream = assembleChunks(chunks);
+
+            try {
+                // Store assembled file using FileStorageService
+                RegularObjectEntity entity = fileStorageService.storeFile(
+                        upload.getUserId(),
+                        upload.getBucketName(),
+                        upload.getObjectKey(),
+                        assembledStream,
+                        null, // Content type will be auto-detected
+                        null  // Checksum will be calculated
+                );
+                recording.lap(PipelineStage.ASSEMBLE);
+
+                // Update upload status
+                upload.setStatus(UploadStatus.COMPLETED);
+                multipartUploadRepository.save(upload);
+                recording.lap(PipelineStage.DB_SAVE);
+
+                // Cleanup temp files
+                fileChunkService.cleanupUpload(uploadId);
+                recording.lap(PipelineStage.CLEANUP);
+                recording.succeeded();
+                size = entity.getSizeBytes();
+                assembled = true;
+
+                log.info("Completed multipart upload: {}", uploadId);
+                return UploadResponse.builder()
+                        .bucketName(entity.getBucketName())
+                        .objectKey(entity.getObjectKey())
+                        .versionId(entity.getVersionId())
+                        .checksum(entity.getChecksum())
+                        .md5(entity.getMd5())
+                        .crc32c(entity.getCrc32c())
+                        .sizeBytes(entity.getSizeBytes())
+                        .uploadedAt(Instant.now())
+                        .objectId(entity.getId().toString())
+                        .build();
+            } finally {
+                assembledStream.close();
+            }
         } finally {
-            assembledStream.close();
+            event.finish(uploadId, upload != null ? upload.getBucketName() : null,
+                    upload != null ? upload.getObjectKey() : null, chunks.size(), size, assembled);
         }
     }
 
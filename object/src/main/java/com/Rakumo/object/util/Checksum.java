@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.util;
+
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Raw digest bytes with the hex form computed only when asked for.
+ * The backing array is shared, so callers must not modify {@link #bytes()}.
+ */
+public final class Checksum {
+    private static final HexFormat HEX_FORMAT = HexFormat.of();
+
+    private final byte[] bytes;
+    private String hex;
+
+    private Checksum(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    public static Checksum of(byte[] bytes) {
+        return new Checksum(bytes);
+    }
+
+    public static Checksum fromHex(String hex) {
+        return new Checksum(HEX_FORMAT.parseHex(hex));
+    }
+
+    public byte[] bytes() {
+        return bytes;
+    }
+
+    public String hex() {
+        String result = hex;
+        if (result == null) {
+            result = HEX_FORMAT.formatHex(bytes);
+            hex = result;
+        }
+        return result;
+    }
+
+    /**
+     * Compares against a hex string without formatting this checksum. Case-insensitive.
+     */
+    public boolean matches(String expectedHex) {
+        if (expectedHex == null || expectedHex.length() != bytes.length * 2) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            int high = Character.digit(expectedHex.charAt(2 * i), 16);
+            int low = Character.digit(expectedHex.charAt(2 * i + 1), 16);
+            if (high < 0 || low < 0 || (byte) ((high << 4) | low) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean matches(Checksum other) {
+        return other != null && MessageDigest.isEqual(bytes, other.bytes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Checksum other && matches(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bytes);
+    }
+
+    @Override
+    public String toString() {
+        return hex();
+    }
+}
@@ -19,93 +19,306 @@
 
 package com.rakumo.object.util;
 
-import org.springframework.stereotype.Component;
+import com.rakumo.object.enumeration.ChecksumAlgorithm;
+import com.rakumo.object.enumeration.PipelineStage;
+import com.rakumo.object.jfr.ChecksumEvent;
+import com.rakumo.object.metrics.PipelineRecording;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.HexFormat;
-import java.util.zip.CRC32;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
 
-@Component
+/**
+ * Object hashing helpers backed by pooled digests and read buffers, so hashing a
+ * file or buffer allocates nothing beyond the result. Overloads without a
+ * {@link ChecksumAlgorithm} use SHA-256. The {@code digestAll} and {@code copyAndDigest}
+ * variants also produce MD5 and CRC32C in the same pass.
+ */
 public final class ChecksumUtils {
-    private static final int STREAM_BUFFER_SIZE = 8192; // 8KB buffer
-    private static final HexFormat HEX_FORMAT = HexFormat.of();
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024; // 64KB buffer
+
+    private static final Map<ChecksumAlgorithm, ObjectPool<MessageDigest>> DIGESTS =
+            new EnumMap<>(ChecksumAlgorithm.class);
+    private static final ObjectPool<ByteBuffer> BUFFERS =
+            new ObjectPool<>(() -> ByteBuffer.allocate(STREAM_BUFFER_SIZE));
+
+    static {
+        for (ChecksumAlgorithm algorithm : ChecksumAlgorithm.values()) {
+            DIGESTS.put(algorithm, new ObjectPool<>(algorithm::newDigest));
+        }
+    }
 
     // Prevent instantiation
     private ChecksumUtils() {}
 
-    public static String sha256(Path file) throws IOException {
-        try (InputStream is = new BufferedInputStream(Files.newInputStream(file))) {
-            return sha256(is);
+    public static Checksum sha256Of(Path file) throws IOException {
+        return checksumOf(file, ChecksumAlgorithm.SHA256);
+    }
+
+    public static Checksum sha256Of(FileChannel channel) throws IOException {
+        return checksumOf(channel, ChecksumAlgorithm.SHA256);
+    }
+
+    public static Checksum sha256Of(InputStream data) throws IOException {
+        MessageDigest digest = digest(ChecksumAlgorithm.SHA256);
+        ByteBuffer pooled = BUFFERS.acquire();
+        try {
+            byte[] buffer = pooled.array();
+            int bytesRead;
+            while ((bytesRead = data.read(buffer)) != -1) {
+                digest.update(buffer, 0, bytesRead);
+            }
+            return Checksum.of(digest.digest());
+        } finally {
+            BUFFERS.release(pooled);
+            release(ChecksumAlgorithm.SHA256, digest);
+        }
+    }
+
+    /**
+     * Hashes the remaining bytes of the buffer, leaving its position at the limit.
+     */
+    public static Checksum sha256Of(ByteBuffer data) {
+        MessageDigest digest = digest(ChecksumAlgorithm.SHA256);
+        try {
+            digest.update(data);
+            return Checksum.of(digest.digest());
+        } finally {
+            release(ChecksumAlgorithm.SHA256, digest);
+        }
+    }
+
+    public static Checksum sha256Of(byte[] data) {
+        return checksumOf(data, 0, data.length, ChecksumAlgorithm.SHA256);
+    }
+
+    public static Checksum sha256Of(byte[] data, int offset, int length) {
+        return checksumOf(data, offset, length, ChecksumAlgorithm.SHA256);
+    }
+
+    public static Checksum checksumOf(Path file, ChecksumAlgorithm algorithm) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return checksumOf(channel, algorithm);
+        }
+    }
+
+    public static Checksum checksumOf(FileChannel channel, ChecksumAlgorithm algorithm) throws IOException {
+        ChecksumEvent event = new ChecksumEvent();
+        event.begin();
+        MessageDigest digest = digest(algorithm);
+        ByteBuffer buffer = BUFFERS.acquire();
+        try {
+            buffer.clear();
+            long size = 0;
+            int bytesRead;
+            while ((bytesRead = channel.read(buffer)) != -1) {
+                size += bytesRead;
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+            Checksum checksum = Checksum.of(digest.digest());
+            event.finish("file", algorithm.name(), size);
+            return checksum;
+        } finally {
+            BUFFERS.release(buffer);
+            release(algorithm, digest);
+        }
+    }
+
+    public static Checksum checksumOf(byte[] data, ChecksumAlgorithm algorithm) {
+        return checksumOf(data, 0, data.length, algorithm);
+    }
+
+    public static Checksum checksumOf(byte[] data, int offset, int length, ChecksumAlgorithm algorithm) {
+        ChecksumEvent event = new ChecksumEvent();
+        event.begin();
+        MessageDigest digest = digest(algorithm);
+        try {
+            digest.update(data, offset, length);
+            Checksum checksum = Checksum.of(digest.digest());
+            event.finish("bytes", algorithm.name(), length);
+            return checksum;
+        } finally {
+            release(algorithm, digest);
         }
     }
 
+    public static String sha256(Path file) throws IOException {
+        return sha256Of(file).hex();
+    }
+
     public static String sha256(InputStream data) throws IOException {
-        return hashStream(data, "SHA-256");
+        return sha256Of(data).hex();
     }
 
     public static boolean verify(Path file, String expectedChecksum) throws IOException {
+        return verify(file, expectedChecksum, ChecksumAlgorithm.SHA256);
+    }
+
+    public static boolean verify(Path file, String expectedChecksum, ChecksumAlgorithm algorithm) throws IOException {
         if (expectedChecksum == null) return true;
-        String actual = sha256(file);
-        return actual.equals(expectedChecksum);
+        return checksumOf(file, algorithm).matches(expectedChecksum);
     }
 
-    private static String hashStream(InputStream data, String algorithm)
+    public static MultiDigest.Digests digestAll(byte[] data) {
+        return digestAll(data, ChecksumAlgorithm.SHA256);
+    }
+
+    public static MultiDigest.Digests digestAll(byte[] data, ChecksumAlgorithm algorithm) {
+        ChecksumEvent event = new ChecksumEvent();
+        event.begin();
+        MultiDigest.Digests digests = MultiDigest.start(algorithm).update(data, 0, data.length).finish();
+        event.finish("digest-all", algorithm.name(), data.length);
+        return digests;
+    }
+
+    public static MultiDigest.Digests digestAll(Path file) throws IOException {
+        return digestAll(file, ChecksumAlgorithm.SHA256);
+    }
+
+    public static MultiDigest.Digests digestAll(Path file, ChecksumAlgorithm algorithm) throws IOException {
+        ChecksumEvent event = new ChecksumEvent();
+        event.begin();
+        ByteBuffer buffer = BUFFERS.acquire();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MultiDigest digest = MultiDigest.start(algorithm);
+            buffer.clear();
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+            MultiDigest.Digests digests = digest.finish();
+            event.finish("digest-all-file", algorithm.name(), digests.length());
+            return digests;
+        } finally {
+            BUFFERS.release(buffer);
+        }
+    }
+
+    /**
+     * Writes the stream to {@code target} while digesting it, so the data is read once.
+     */
+    public static MultiDigest.Digests copyAndDigest(InputStream data, Path target) throws IOException {
+        return copyAndDigest(data, target, ChecksumAlgorithm.SHA256);
+    }
+
+    public static MultiDigest.Digests copyAndDigest(InputStream data, Path target, ChecksumAlgorithm algorithm)
             throws IOException {
-        try {
-            MessageDigest digest = MessageDigest.getInstance(algorithm);
-            byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+        ChecksumEvent event = new ChecksumEvent();
+        event.begin();
+        MultiDigest digest = MultiDigest.start(algorithm);
+        ByteBuffer pooled = BUFFERS.acquire();
+        try (OutputStream out = Files.newOutputStream(target)) {
+            byte[] buffer = pooled.array();
             int bytesRead;
-
             while ((bytesRead = data.read(buffer)) != -1) {
                 digest.update(buffer, 0, bytesRead);
+                out.write(buffer, 0, bytesRead);
             }
-
-            return HEX_FORMAT.formatHex(digest.digest());
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException(algorithm + " not supported", e);
+        } finally {
+            BUFFERS.release(pooled);
         }
+        MultiDigest.Digests digests = digest.finish();
+        event.finish("copy-and-digest", algorithm.name(), digests.length());
+        return digests;
     }
 
-    public String hmacSha256(String data, String secretKey) {
-        try {
-            Mac hmac = Mac.getInstance("HmacSHA256");
-            SecretKeySpec secretKeySpec = new SecretKeySpec(
-                    secretKey.getBytes(StandardCharsets.UTF_8),
-                    "HmacSHA256"
-            );
-            hmac.init(secretKeySpec);
-
-            byte[] hash = hmac.doFinal(data.getBytes(StandardCharsets.UTF_8));
-            return HEX_FORMAT.formatHex(hash);
-
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to generate HMAC", e);
+    /**
+     * As {@link #copyAndDigest(InputStream, Path, ChecksumAlgorithm)}, charging read, hash and
+     * write time to the recording's RECEIVE, HASH and TEMP_WRITE stages when it is sampled.
+     */
+    public static MultiDigest.Digests copyAndDigest(InputStream data, Path target, ChecksumAlgorithm algorithm,
+                                                    PipelineRecording recording) throws IOException {
+        if (!recording.isSampled()) {
+            return copyAndDigest(data, target, algorithm);
         }
+        ChecksumEvent event = new ChecksumEvent();
+        event.begin();
+        MultiDigest digest = MultiDigest.start(algorithm);
+        ByteBuffer pooled = BUFFERS.acquire();
+        long receive = 0;
+        long hash = 0;
+        long write = 0;
+        try (OutputStream out = Files.newOutputStream(target)) {
+            byte[] buffer = pooled.array();
+            int bytesRead;
+            long t0 = System.nanoTime();
+            while ((bytesRead = data.read(buffer)) != -1) {
+                long t1 = System.nanoTime();
+                digest.update(buffer, 0, bytesRead);
+                long t2 = System.nanoTime();
+                out.write(buffer, 0, bytesRead);
+                long t3 = System.nanoTime();
+                receive += t1 - t0;
+                hash += t2 - t1;
+                write += t3 - t2;
+                t0 = t3;
+            }
+        } finally {
+            BUFFERS.release(pooled);
+        }
+        MultiDigest.Digests digests = digest.finish();
+        event.finish("copy-and-digest", algorithm.name(), digests.length());
+        recording.add(PipelineStage.RECEIVE, receive);
+        recording.add(PipelineStage.HASH, hash);
+        recording.add(PipelineStage.TEMP_WRITE, write);
+        recording.mark();
+        return digests;
     }
 
-    public String hmacSha256(byte[] data, String secretKey) {
-        try {
-            Mac hmac = Mac.getInstance("HmacSHA256");
-            SecretKeySpec secretKeySpec = new SecretKeySpec(
-                    secretKey.getBytes(StandardCharsets.UTF_8),
-                    "HmacSHA256"
-            );
-            hmac.init(secretKeySpec);
-
-            byte[] hash = hmac.doFinal(data);
-            return HEX_FORMAT.formatHex(hash);
-
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to generate HMAC", e);
+    public static int crc32c(Path file) throws IOException {
+        ChecksumEvent event = new ChecksumEvent();
+        event.begin();
+        ByteBuffer buffer = BUFFERS.acquire();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            CRC32C crc = new CRC32C();
+            buffer.clear();
+            long size = 0;
+            int bytesRead;
+            while ((bytesRead = channel.read(buffer)) != -1) {
+                size += bytesRead;
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+            event.finish("crc32c", "CRC32C", size);
+            return (int) crc.getValue();
+        } finally {
+            BUFFERS.release(buffer);
         }
     }
+
+    public static boolean verifyCrc32c(Path file, String expectedCrc32c) throws IOException {
+        if (expectedCrc32c == null) return true;
+        return MultiDigest.Digests.toHex(crc32c(file)).equalsIgnoreCase(expectedCrc32c);
+    }
+
+    public static HmacSigner hmacSha256(String secretKey) {
+        return new HmacSigner(secretKey);
+    }
+
+    /**
+     * A pooled digest for the algorithm, reset and ready for input. Hand it back with
+     * {@link #release} when done.
+     */
+    private static MessageDigest digest(ChecksumAlgorithm algorithm) {
+        MessageDigest digest = DIGESTS.get(algorithm).acquire();
+        digest.reset();
+        return digest;
+    }
+
+    private static void release(ChecksumAlgorithm algorithm, MessageDigest digest) {
+        DIGESTS.get(algorithm).release(digest);
+    }
 }
@@ -21,18 +21,21 @@ package com.rakumo.object.util;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.UUID;
 
 public class FilePathUtils {
 
     private static final String ILLEGAL_CHARS = "[^a-zA-Z0-9-_]";
 
-    // Regular files
-    public static Path resolveRegularFilePath(String userId, String bucketId, String objectKey, String fileHash) {
+    // Regular files. The hash prefix only spreads files across directories; the object id
+    // keeps the name unique, so keys with the same basename never share a file
+    public static Path resolveRegularFilePath(String userId, String bucketId, UUID objectId, String objectKey,
+                                              String fileHash) {
         String dir1 = fileHash.substring(0, 2);
         String dir2 = fileHash.substring(2, 4);
 
         // Extract filename from objectKey
-        String fileName = Paths.get(objectKey).getFileName().toString();
+        String fileName = objectId + "-" + Paths.get(objectKey).getFileName().toString();
 
         return Paths.get("Object-Storage")
                 .resolve(userId)
@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.util;
+
+import com.rakumo.object.enumeration.DurabilityMode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Makes files and directory entries durable according to {@code storage.durability.mode}.
+ *
+ * <p>In GROUP_COMMIT mode callers block on a future while a single commit thread
+ * gathers every request that arrives within the commit window, fsyncs each distinct
+ * path once and then releases all of them together.
+ */
+@Slf4j
+@Component
+public class FileSyncer {
+
+    private static final int MAX_BATCH = 1024;
+
+    private final DurabilityMode mode;
+    private final long windowNanos;
+    private final BlockingQueue<SyncRequest> queue = new LinkedBlockingQueue<>();
+    private volatile boolean running;
+    private Thread commitThread;
+
+    public FileSyncer(@Value("${storage.durability.mode:GROUP_COMMIT}") DurabilityMode mode,
+                      @Value("${storage.durability.group-commit-window-micros:500}") long windowMicros) {
+        this.mode = mode;
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (mode != DurabilityMode.GROUP_COMMIT) {
+            return;
+        }
+        running = true;
+        commitThread = new Thread(this::commitLoop, "fsync-group-commit");
+        commitThread.setDaemon(true);
+        commitThread.start();
+        log.info("Group commit enabled with a {}us window", TimeUnit.NANOSECONDS.toMicros(windowNanos));
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (commitThread != null) {
+            commitThread.interrupt();
+            commitThread.join();
+        }
+        SyncRequest request;
+        while ((request = queue.poll()) != null) {
+            request.done().completeExceptionally(new IOException("File syncer is stopped"));
+        }
+    }
+
+    public DurabilityMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Block until the contents of every given path (files or directories) are on stable storage.
+     */
+    public void sync(Path... paths) throws IOException {
+        switch (mode) {
+            case NONE:
+                return;
+            case PER_OBJECT:
+                for (Path path : new LinkedHashSet<>(List.of(paths))) {
+                    force(path);
+                }
+                return;
+            case GROUP_COMMIT:
+                awaitGroupCommit(paths);
+                return;
+            default:
+                throw new IllegalStateException("Unsupported durability mode: " + mode);
+        }
+    }
+
+    private void awaitGroupCommit(Path[] paths) throws IOException {
+        SyncRequest request = new SyncRequest(List.of(paths), new CompletableFuture<>());
+        if (!running) {
+            throw new IOException("File syncer is stopped");
+        }
+        queue.add(request);
+        if (!running && queue.remove(request)) {
+            // stop() drained the queue before this request arrived; nothing would complete it
+            throw new IOException("File syncer is stopped");
+        }
+        try {
+            request.done().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for fsync");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("fsync failed", e.getCause());
+        }
+    }
+
+    private void commitLoop() {
+        List<SyncRequest> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                SyncRequest first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Give concurrent uploads a short window to join this commit
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < MAX_BATCH) {
+                    long remaining = deadline - System.nanoTime();
+                    SyncRequest next = remaining > 0
+                            ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+                            : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Shutting down: commit whatever is already queued
+                queue.drainTo(batch);
+            }
+
+            if (!batch.isEmpty()) {
+                commit(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<SyncRequest> batch) {
+        Set<Path> distinct = new LinkedHashSet<>();
+        batch.forEach(r -> distinct.addAll(r.paths()));
+
+        Map<Path, IOException> failures = new HashMap<>();
+        for (Path path : distinct) {
+            try {
+                force(path);
+            } catch (IOException e) {
+                failures.put(path, e);
+            }
+        }
+
+        for (SyncRequest request : batch) {
+            IOException failure = request.paths().stream()
+                    .map(failures::get)
+                    .filter(f -> f != null)
+                    .findFirst()
+                    .orElse(null);
+            if (failure == null) {
+                request.done().complete(null);
+            } else {
+                request.done().completeExceptionally(failure);
+            }
+        }
+        log.trace("Group commit: {} requests, {} paths", batch.size(), distinct.size());
+    }
+
+    private static void force(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private record SyncRequest(List<Path> paths, CompletableFuture<Void> done) {}
+}
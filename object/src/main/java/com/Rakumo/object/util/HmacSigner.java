@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.util;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+
+/**
+ * HMAC-SHA256 signer bound to one key. {@link Mac} instances are initialised with the
+ * key once and pooled, so signing allocates only the result.
+ */
+public final class HmacSigner {
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final ObjectPool<Mac> macs;
+
+    public HmacSigner(String secretKey) {
+        this.key = new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.macs = new ObjectPool<>(this::newMac);
+        // Fail fast on a bad key rather than on the first request
+        this.macs.release(newMac());
+    }
+
+    public Checksum sign(byte[] data) {
+        Mac m = macs.acquire();
+        try {
+            return Checksum.of(m.doFinal(data));
+        } finally {
+            macs.release(m);
+        }
+    }
+
+    public Checksum sign(ByteBuffer data) {
+        Mac m = macs.acquire();
+        try {
+            m.update(data);
+            return Checksum.of(m.doFinal());
+        } finally {
+            // doFinal resets the Mac, but an update that threw may have left input behind
+            m.reset();
+            macs.release(m);
+        }
+    }
+
+    public Checksum sign(String data) {
+        return sign(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Constant-time check of a hex signature.
+     */
+    public boolean verify(String data, String hexSignature) {
+        if (hexSignature == null) {
+            return false;
+        }
+        byte[] expected;
+        try {
+            expected = Checksum.fromHex(hexSignature).bytes();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(sign(data).bytes(), expected);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac m = Mac.getInstance(ALGORITHM);
+            m.init(key);
+            return m;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to initialise " + ALGORITHM, e);
+        }
+    }
+}
@@ -51,6 +51,14 @@ public final class JsonUtils {
         return mapper.readValue(path.toFile(), type);
     }
 
+    public static <T> T readValue(String json, Class<T> type) throws IOException {
+        return mapper.readValue(json, type);
+    }
+
+    public static byte[] toBytes(Object data) throws IOException {
+        return mapper.writeValueAsBytes(data);
+    }
+
     public static void write(Path path, Object data) throws IOException {
         Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
         try {
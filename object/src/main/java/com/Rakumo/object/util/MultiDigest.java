@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.util;
+
+import com.rakumo.object.enumeration.ChecksumAlgorithm;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.CRC32C;
+
+/**
+ * Feeds each buffer once into the bucket's identity hash, MD5 (S3-style ETag) and
+ * CRC32C (cheap part verification), so all of them come out of a single pass over
+ * the data. MD5 is computed whatever the identity hash, since S3 clients expect it as
+ * the ETag; buckets with a faster identity hash are then bound by MD5. Instances are pooled;
+ * {@link #start} takes one and {@link #finish} returns it, so a digest must not be
+ * used after it is finished. One abandoned before finishing is simply not reused.
+ */
+public final class MultiDigest {
+    private static final ObjectPool<MultiDigest> POOL = new ObjectPool<>(MultiDigest::new);
+
+    private final MessageDigest[] identities = new MessageDigest[ChecksumAlgorithm.values().length];
+    private final MessageDigest md5 = newDigest("MD5");
+    private final CRC32C crc32c = new CRC32C();
+    private ChecksumAlgorithm algorithm;
+    private MessageDigest identity;
+    private long length;
+
+    private MultiDigest() {}
+
+    public static MultiDigest start() {
+        return start(ChecksumAlgorithm.SHA256);
+    }
+
+    public static MultiDigest start(ChecksumAlgorithm algorithm) {
+        MultiDigest digest = POOL.acquire();
+        digest.algorithm = algorithm;
+        digest.identity = digest.identityDigest(algorithm);
+        digest.identity.reset();
+        digest.md5.reset();
+        digest.crc32c.reset();
+        digest.length = 0;
+        return digest;
+    }
+
+    public MultiDigest update(byte[] data, int offset, int len) {
+        identity.update(data, offset, len);
+        md5.update(data, offset, len);
+        crc32c.update(data, offset, len);
+        length += len;
+        return this;
+    }
+
+    /**
+     * Consumes the remaining bytes of the buffer.
+     */
+    public MultiDigest update(ByteBuffer data) {
+        int position = data.position();
+        int remaining = data.remaining();
+        identity.update(data);
+        data.position(position);
+        md5.update(data);
+        data.position(position);
+        crc32c.update(data);
+        length += remaining;
+        return this;
+    }
+
+    public Digests finish() {
+        Digests digests = new Digests(
+                algorithm,
+                Checksum.of(identity.digest()),
+                Checksum.of(md5.digest()),
+                (int) crc32c.getValue(),
+                length);
+        POOL.release(this);
+        return digests;
+    }
+
+    private MessageDigest identityDigest(ChecksumAlgorithm algorithm) {
+        MessageDigest digest = identities[algorithm.ordinal()];
+        if (digest == null) {
+            digest = algorithm.newDigest();
+            identities[algorithm.ordinal()] = digest;
+        }
+        return digest;
+    }
+
+    private static MessageDigest newDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(algorithm + " not supported", e);
+        }
+    }
+
+    /**
+     * Results of one pass.
+     */
+    public record Digests(ChecksumAlgorithm algorithm, Checksum checksum, Checksum md5, int crc32c, long length) {
+
+        public String md5Hex() {
+            return md5.hex();
+        }
+
+        public String crc32cHex() {
+            return toHex(crc32c);
+        }
+
+        public static String toHex(int crc32c) {
+            return String.format("%08x", crc32c);
+        }
+    }
+}
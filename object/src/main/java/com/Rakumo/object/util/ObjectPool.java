@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * A bounded free list of reusable objects shared by all threads. Unlike a ThreadLocal it
+ * keeps at most {@code capacity} idle instances however many threads use it, which matters
+ * once handlers run on a virtual thread per call. An empty pool creates a new instance and
+ * a full one drops what is returned to it, so neither side ever blocks.
+ */
+public final class ObjectPool<T> {
+
+    // Hashing is CPU bound, so more concurrent users than this gain nothing from reuse
+    public static final int DEFAULT_CAPACITY = Runtime.getRuntime().availableProcessors() * 2;
+
+    private final ArrayBlockingQueue<T> idle;
+    private final Supplier<T> factory;
+
+    public ObjectPool(int capacity, Supplier<T> factory) {
+        this.idle = new ArrayBlockingQueue<>(capacity);
+        this.factory = factory;
+    }
+
+    public ObjectPool(Supplier<T> factory) {
+        this(DEFAULT_CAPACITY, factory);
+    }
+
+    public T acquire() {
+        T instance = idle.poll();
+        return instance != null ? instance : factory.get();
+    }
+
+    /**
+     * Hand an instance back once the caller is done with it; it may be given out again
+     * straight away.
+     */
+    public void release(T instance) {
+        idle.offer(instance);
+    }
+}
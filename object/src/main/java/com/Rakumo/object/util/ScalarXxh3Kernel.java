@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+final class ScalarXxh3Kernel implements Xxh3Kernel {
+    static final ScalarXxh3Kernel INSTANCE = new ScalarXxh3Kernel();
+
+    private static final VarHandle LONG_LE =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private ScalarXxh3Kernel() {}
+
+    @Override
+    public void accumulate(long[] acc, byte[] input, int offset, int secretStripe, int stripes) {
+        for (int n = 0; n < stripes; n++) {
+            accumulate512(acc, input, offset + n * 64, Xxh3Digest.SECRET_WORDS, secretStripe + n);
+        }
+    }
+
+    static void accumulate512(long[] acc, byte[] input, int offset, long[] secret, int secretOffset) {
+        for (int i = 0; i < 8; i++) {
+            long data = (long) LONG_LE.get(input, offset + 8 * i);
+            long key = data ^ secret[secretOffset + i];
+            acc[i ^ 1] += data;
+            acc[i] += (key & 0xFFFFFFFFL) * (key >>> 32);
+        }
+    }
+
+    @Override
+    public void scramble(long[] acc) {
+        for (int i = 0; i < 8; i++) {
+            long a = acc[i];
+            a ^= a >>> 47;
+            a ^= Xxh3Digest.SCRAMBLE_WORDS[i];
+            acc[i] = a * Xxh3Digest.PRIME32_1;
+        }
+    }
+
+    @Override
+    public String description() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.util;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.nio.ByteOrder;
+
+/**
+ * XXH3 stripe loop on the Vector API: one 512-bit vector (or two 256-bit halves)
+ * holds the eight accumulators, and the adjacent-lane swap is a single shuffle.
+ * Must only be loaded when {@code jdk.incubator.vector} is in the boot layer.
+ */
+final class VectorXxh3Kernel implements Xxh3Kernel {
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED.length() > 8
+            ? LongVector.SPECIES_512 : LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED.withShape(LONGS.vectorShape());
+    private static final int LANES = LONGS.length();
+    private static final VectorShuffle<Long> SWAP_PAIRS = VectorShuffle.fromOp(LONGS, i -> i ^ 1);
+
+    static boolean isSupported() {
+        // Byte-to-long reinterpretation follows native order; XXH3 reads little-endian
+        return LANES >= 4 && ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+    }
+
+    @Override
+    public void accumulate(long[] acc, byte[] input, int offset, int secretStripe, int stripes) {
+        for (int part = 0; part < 8; part += LANES) {
+            LongVector a = LongVector.fromArray(LONGS, acc, part);
+            for (int n = 0; n < stripes; n++) {
+                LongVector data = ByteVector.fromArray(BYTES, input, offset + n * 64 + part * 8)
+                        .reinterpretAsLongs();
+                LongVector key = data.lanewise(VectorOperators.XOR,
+                        LongVector.fromArray(LONGS, Xxh3Digest.SECRET_WORDS, secretStripe + n + part));
+                LongVector product = key.and(0xFFFFFFFFL).mul(key.lanewise(VectorOperators.LSHR, 32));
+                a = a.add(data.rearrange(SWAP_PAIRS)).add(product);
+            }
+            a.intoArray(acc, part);
+        }
+    }
+
+    @Override
+    public void scramble(long[] acc) {
+        for (int part = 0; part < 8; part += LANES) {
+            LongVector a = LongVector.fromArray(LONGS, acc, part);
+            a = a.lanewise(VectorOperators.XOR, a.lanewise(VectorOperators.LSHR, 47))
+                    .lanewise(VectorOperators.XOR, LongVector.fromArray(LONGS, Xxh3Digest.SCRAMBLE_WORDS, part))
+                    .mul(Xxh3Digest.PRIME32_1);
+            a.intoArray(acc, part);
+        }
+    }
+
+    @Override
+    public String description() {
+        return "vector (" + LONGS.vectorBitSize() + "-bit)";
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.security.MessageDigest;
+
+/**
+ * Pure-Java streaming XXH3-64 (seed 0, default secret), matching the reference
+ * xxHash 0.8 output. The 8-byte digest is big-endian, the canonical form printed
+ * by {@code xxh64sum}-style tools. Not cryptographic: it detects corruption, not
+ * tampering. The stripe loop runs on {@link Xxh3Kernel#selected()}.
+ */
+public final class Xxh3Digest extends MessageDigest {
+    public static final String ALGORITHM = "XXH3";
+
+    static final long PRIME32_1 = 0x9E3779B1L;
+    private static final long PRIME32_2 = 0x85EBCA77L;
+    private static final long PRIME32_3 = 0xC2B2AE3DL;
+    private static final long PRIME64_1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME64_3 = 0x165667B19E3779F9L;
+    private static final long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME64_5 = 0x27D4EB2F165667C5L;
+    private static final long PRIME_MX1 = 0x165667919E3779F9L;
+    private static final long PRIME_MX2 = 0x9FB21C651E98DF25L;
+
+    private static final int STRIPE_LEN = 64;
+    private static final int SECRET_SIZE = 192;
+    private static final int STRIPES_PER_BLOCK = (SECRET_SIZE - STRIPE_LEN) / 8;
+    private static final int BUFFER_SIZE = 256;
+    private static final int BUFFER_STRIPES = BUFFER_SIZE / STRIPE_LEN;
+    private static final int MIDSIZE_MAX = 240;
+
+    private static final byte[] SECRET = {
+            (byte) 0xb8, (byte) 0xfe, (byte) 0x6c, (byte) 0x39, (byte) 0x23, (byte) 0xa4, (byte) 0x4b, (byte) 0xbe,
+            (byte) 0x7c, (byte) 0x01, (byte) 0x81, (byte) 0x2c, (byte) 0xf7, (byte) 0x21, (byte) 0xad, (byte) 0x1c,
+            (byte) 0xde, (byte) 0xd4, (byte) 0x6d, (byte) 0xe9, (byte) 0x83, (byte) 0x90, (byte) 0x97, (byte) 0xdb,
+            (byte) 0x72, (byte) 0x40, (byte) 0xa4, (byte) 0xa4, (byte) 0xb7, (byte) 0xb3, (byte) 0x67, (byte) 0x1f,
+            (byte) 0xcb, (byte) 0x79, (byte) 0xe6, (byte) 0x4e, (byte) 0xcc, (byte) 0xc0, (byte) 0xe5, (byte) 0x78,
+            (byte) 0x82, (byte) 0x5a, (byte) 0xd0, (byte) 0x7d, (byte) 0xcc, (byte) 0xff, (byte) 0x72, (byte) 0x21,
+            (byte) 0xb8, (byte) 0x08, (byte) 0x46, (byte) 0x74, (byte) 0xf7, (byte) 0x43, (byte) 0x24, (byte) 0x8e,
+            (byte) 0xe0, (byte) 0x35, (byte) 0x90, (byte) 0xe6, (byte) 0x81, (byte) 0x3a, (byte) 0x26, (byte) 0x4c,
+            (byte) 0x3c, (byte) 0x28, (byte) 0x52, (byte) 0xbb, (byte) 0x91, (byte) 0xc3, (byte) 0x00, (byte) 0xcb,
+            (byte) 0x88, (byte) 0xd0, (byte) 0x65, (byte) 0x8b, (byte) 0x1b, (byte) 0x53, (byte) 0x2e, (byte) 0xa3,
+            (byte) 0x71, (byte) 0x64, (byte) 0x48, (byte) 0x97, (byte) 0xa2, (byte) 0x0d, (byte) 0xf9, (byte) 0x4e,
+            (byte) 0x38, (byte) 0x19, (byte) 0xef, (byte) 0x46, (byte) 0xa9, (byte) 0xde, (byte) 0xac, (byte) 0xd8,
+            (byte) 0xa8, (byte) 0xfa, (byte) 0x76, (byte) 0x3f, (byte) 0xe3, (byte) 0x9c, (byte) 0x34, (byte) 0x3f,
+            (byte) 0xf9, (byte) 0xdc, (byte) 0xbb, (byte) 0xc7, (byte) 0xc7, (byte) 0x0b, (byte) 0x4f, (byte) 0x1d,
+            (byte) 0x8a, (byte) 0x51, (byte) 0xe0, (byte) 0x4b, (byte) 0xcd, (byte) 0xb4, (byte) 0x59, (byte) 0x31,
+            (byte) 0xc8, (byte) 0x9f, (byte) 0x7e, (byte) 0xc9, (byte) 0xd9, (byte) 0x78, (byte) 0x73, (byte) 0x64,
+            (byte) 0xea, (byte) 0xc5, (byte) 0xac, (byte) 0x83, (byte) 0x34, (byte) 0xd3, (byte) 0xeb, (byte) 0xc3,
+            (byte) 0xc5, (byte) 0x81, (byte) 0xa0, (byte) 0xff, (byte) 0xfa, (byte) 0x13, (byte) 0x63, (byte) 0xeb,
+            (byte) 0x17, (byte) 0x0d, (byte) 0xdd, (byte) 0x51, (byte) 0xb7, (byte) 0xf0, (byte) 0xda, (byte) 0x49,
+            (byte) 0xd3, (byte) 0x16, (byte) 0x55, (byte) 0x26, (byte) 0x29, (byte) 0xd4, (byte) 0x68, (byte) 0x9e,
+            (byte) 0x2b, (byte) 0x16, (byte) 0xbe, (byte) 0x58, (byte) 0x7d, (byte) 0x47, (byte) 0xa1, (byte) 0xfc,
+            (byte) 0x8f, (byte) 0xf8, (byte) 0xb8, (byte) 0xd1, (byte) 0x7a, (byte) 0xd0, (byte) 0x31, (byte) 0xce,
+            (byte) 0x45, (byte) 0xcb, (byte) 0x3a, (byte) 0x8f, (byte) 0x95, (byte) 0x16, (byte) 0x04, (byte) 0x28,
+            (byte) 0xaf, (byte) 0xd7, (byte) 0xfb, (byte) 0xca, (byte) 0xbb, (byte) 0x4b, (byte) 0x40, (byte) 0x7e,
+    };
+
+    private static final VarHandle LONG_LE =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT_LE =
+            MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    // Secret words at 8-byte steps, so stripe n uses words n..n+7
+    static final long[] SECRET_WORDS = new long[SECRET_SIZE / 8];
+    static final long[] SCRAMBLE_WORDS = new long[8];
+    private static final long[] LAST_STRIPE_WORDS = new long[8];
+
+    static {
+        for (int i = 0; i < SECRET_WORDS.length; i++) {
+            SECRET_WORDS[i] = readLong(SECRET, i * 8);
+        }
+        for (int i = 0; i < 8; i++) {
+            SCRAMBLE_WORDS[i] = readLong(SECRET, SECRET_SIZE - STRIPE_LEN + i * 8);
+            LAST_STRIPE_WORDS[i] = readLong(SECRET, SECRET_SIZE - STRIPE_LEN - 7 + i * 8);
+        }
+    }
+
+    private final Xxh3Kernel kernel;
+    private final long[] acc = new long[8];
+    private final long[] finalAcc = new long[8];
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final byte[] lastStripe = new byte[STRIPE_LEN];
+    private int bufferedSize;
+    private int stripesSoFar;
+    private long totalLength;
+
+    public Xxh3Digest() {
+        this(Xxh3Kernel.selected());
+    }
+
+    public Xxh3Digest(Xxh3Kernel kernel) {
+        super(ALGORITHM);
+        this.kernel = kernel;
+        engineReset();
+    }
+
+    @Override
+    protected int engineGetDigestLength() {
+        return 8;
+    }
+
+    @Override
+    protected void engineReset() {
+        acc[0] = PRIME32_3;
+        acc[1] = PRIME64_1;
+        acc[2] = PRIME64_2;
+        acc[3] = PRIME64_3;
+        acc[4] = PRIME64_4;
+        acc[5] = PRIME32_2;
+        acc[6] = PRIME64_5;
+        acc[7] = PRIME32_1;
+        bufferedSize = 0;
+        stripesSoFar = 0;
+        totalLength = 0;
+    }
+
+    @Override
+    protected void engineUpdate(byte input) {
+        engineUpdate(new byte[]{input}, 0, 1);
+    }
+
+    @Override
+    protected void engineUpdate(byte[] input, int offset, int len) {
+        totalLength += len;
+        if (len <= BUFFER_SIZE - bufferedSize) {
+            System.arraycopy(input, offset, buffer, bufferedSize, len);
+            bufferedSize += len;
+            return;
+        }
+
+        int end = offset + len;
+        if (bufferedSize > 0) {
+            int fill = BUFFER_SIZE - bufferedSize;
+            System.arraycopy(input, offset, buffer, bufferedSize, fill);
+            offset += fill;
+            consumeStripes(acc, buffer, 0, BUFFER_STRIPES);
+            bufferedSize = 0;
+        }
+
+        // Always leave at least one byte buffered; the final stripe is handled in digest
+        if (end - offset > BUFFER_SIZE) {
+            // Whole buffers in one kernel call, keeping 1..BUFFER_SIZE bytes back as the reference does
+            int buffers = (end - offset - 1) / BUFFER_SIZE;
+            consumeStripes(acc, input, offset, buffers * BUFFER_STRIPES);
+            offset += buffers * BUFFER_SIZE;
+            // Keep the previous stripe for a final stripe that straddles the boundary
+            System.arraycopy(input, offset - STRIPE_LEN, buffer, BUFFER_SIZE - STRIPE_LEN, STRIPE_LEN);
+        }
+
+        System.arraycopy(input, offset, buffer, 0, end - offset);
+        bufferedSize = end - offset;
+    }
+
+    @Override
+    protected byte[] engineDigest() {
+        long hash = totalLength > MIDSIZE_MAX ? digestLong() : hashShort(buffer, (int) totalLength);
+        engineReset();
+        byte[] out = new byte[8];
+        for (int i = 0; i < 8; i++) {
+            out[i] = (byte) (hash >>> (56 - 8 * i));
+        }
+        return out;
+    }
+
+    /**
+     * One-shot XXH3-64 of a byte range.
+     */
+    public static long hash(byte[] input, int offset, int len) {
+        if (len <= MIDSIZE_MAX) {
+            byte[] data = offset == 0 ? input : java.util.Arrays.copyOfRange(input, offset, offset + len);
+            return hashShort(data, len);
+        }
+        Xxh3Digest digest = new Xxh3Digest();
+        digest.engineUpdate(input, offset, len);
+        return digest.digestLong();
+    }
+
+    private long digestLong() {
+        System.arraycopy(acc, 0, finalAcc, 0, 8);
+        int savedStripes = stripesSoFar;
+        if (bufferedSize >= STRIPE_LEN) {
+            int stripes = (bufferedSize - 1) / STRIPE_LEN;
+            consumeStripes(finalAcc, buffer, 0, stripes);
+            ScalarXxh3Kernel.accumulate512(finalAcc, buffer, bufferedSize - STRIPE_LEN, LAST_STRIPE_WORDS, 0);
+        } else {
+            int fromPrevious = STRIPE_LEN - bufferedSize;
+            System.arraycopy(buffer, BUFFER_SIZE - fromPrevious, lastStripe, 0, fromPrevious);
+            System.arraycopy(buffer, 0, lastStripe, fromPrevious, bufferedSize);
+            ScalarXxh3Kernel.accumulate512(finalAcc, lastStripe, 0, LAST_STRIPE_WORDS, 0);
+        }
+        stripesSoFar = savedStripes;
+        return mergeAccs(finalAcc, totalLength * PRIME64_1);
+    }
+
+    private void consumeStripes(long[] accumulators, byte[] input, int offset, int stripes) {
+        while (stripes > 0) {
+            int count = Math.min(stripes, STRIPES_PER_BLOCK - stripesSoFar);
+            kernel.accumulate(accumulators, input, offset, stripesSoFar, count);
+            offset += count * STRIPE_LEN;
+            stripes -= count;
+            stripesSoFar += count;
+            if (stripesSoFar == STRIPES_PER_BLOCK) {
+                kernel.scramble(accumulators);
+                stripesSoFar = 0;
+            }
+        }
+    }
+
+    private static long mergeAccs(long[] accumulators, long start) {
+        long result = start;
+        for (int i = 0; i < 4; i++) {
+            result += mul128Fold64(
+                    accumulators[2 * i] ^ readLong(SECRET, 11 + 16 * i),
+                    accumulators[2 * i + 1] ^ readLong(SECRET, 11 + 16 * i + 8));
+        }
+        return avalanche(result);
+    }
+
+    private static long hashShort(byte[] in, int len) {
+        if (len <= 16) {
+            if (len > 8) {
+                long bitflip1 = readLong(SECRET, 24) ^ readLong(SECRET, 32);
+                long bitflip2 = readLong(SECRET, 40) ^ readLong(SECRET, 48);
+                long lo = readLong(in, 0) ^ bitflip1;
+                long hi = readLong(in, len - 8) ^ bitflip2;
+                long acc = len + Long.reverseBytes(lo) + hi + mul128Fold64(lo, hi);
+                return avalanche(acc);
+            }
+            if (len >= 4) {
+                long input1 = readInt(in, 0) & 0xFFFFFFFFL;
+                long input2 = readInt(in, len - 4) & 0xFFFFFFFFL;
+                long bitflip = readLong(SECRET, 8) ^ readLong(SECRET, 16);
+                long keyed = (input2 + (input1 << 32)) ^ bitflip;
+                return rrmxmx(keyed, len);
+            }
+            if (len > 0) {
+                int c1 = in[0] & 0xFF;
+                int c2 = in[len >> 1] & 0xFF;
+                int c3 = in[len - 1] & 0xFF;
+                long combined = ((c1 << 16) | (c2 << 24) | c3 | (len << 8)) & 0xFFFFFFFFL;
+                long bitflip = (readInt(SECRET, 0) & 0xFFFFFFFFL) ^ (readInt(SECRET, 4) & 0xFFFFFFFFL);
+                return xxh64Avalanche(combined ^ bitflip);
+            }
+            return xxh64Avalanche(readLong(SECRET, 56) ^ readLong(SECRET, 64));
+        }
+
+        long acc = len * PRIME64_1;
+        if (len <= 128) {
+            if (len > 32) {
+                if (len > 64) {
+                    if (len > 96) {
+                        acc += mix16(in, 48, 96);
+                        acc += mix16(in, len - 64, 112);
+                    }
+                    acc += mix16(in, 32, 64);
+                    acc += mix16(in, len - 48, 80);
+                }
+                acc += mix16(in, 16, 32);
+                acc += mix16(in, len - 32, 48);
+            }
+            acc += mix16(in, 0, 0);
+            acc += mix16(in, len - 16, 16);
+            return avalanche(acc);
+        }
+
+        int rounds = len / 16;
+        for (int i = 0; i < 8; i++) {
+            acc += mix16(in, 16 * i, 16 * i);
+        }
+        acc = avalanche(acc);
+        for (int i = 8; i < rounds; i++) {
+            acc += mix16(in, 16 * i, 16 * (i - 8) + 3);
+        }
+        acc += mix16(in, len - 16, 136 - 17);
+        return avalanche(acc);
+    }
+
+    private static long mix16(byte[] in, int offset, int secretOffset) {
+        long lo = readLong(in, offset);
+        long hi = readLong(in, offset + 8);
+        return mul128Fold64(lo ^ readLong(SECRET, secretOffset), hi ^ readLong(SECRET, secretOffset + 8));
+    }
+
+    private static long mul128Fold64(long a, long b) {
+        return (a * b) ^ Math.unsignedMultiplyHigh(a, b);
+    }
+
+    private static long avalanche(long h) {
+        h ^= h >>> 37;
+        h *= PRIME_MX1;
+        return h ^ (h >>> 32);
+    }
+
+    private static long rrmxmx(long h, long len) {
+        h ^= Long.rotateLeft(h, 49) ^ Long.rotateLeft(h, 24);
+        h *= PRIME_MX2;
+        h ^= (h >>> 35) + len;
+        h *= PRIME_MX2;
+        return h ^ (h >>> 28);
+    }
+
+    private static long xxh64Avalanche(long h) {
+        h ^= h >>> 33;
+        h *= PRIME64_2;
+        h ^= h >>> 29;
+        h *= PRIME64_3;
+        return h ^ (h >>> 32);
+    }
+
+    private static long readLong(byte[] data, int offset) {
+        return (long) LONG_LE.get(data, offset);
+    }
+
+    private static int readInt(byte[] data, int offset) {
+        return (int) INT_LE.get(data, offset);
+    }
+}
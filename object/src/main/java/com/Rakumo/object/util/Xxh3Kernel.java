@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The XXH3 stripe loop, which is where long inputs spend nearly all their time.
+ * {@link #selected()} is chosen once at startup: the Vector API kernel when the JVM
+ * runs with {@code --add-modules jdk.incubator.vector} on a little-endian CPU with at
+ * least 256-bit vectors, otherwise the scalar kernel. {@code -Dstorage.xxh3.vector=false}
+ * forces the scalar kernel. Both produce identical accumulators.
+ */
+public interface Xxh3Kernel {
+
+    /**
+     * Accumulates {@code stripes} 64-byte stripes starting at {@code offset}; stripe n
+     * is keyed with secret words {@code secretStripe + n} onward.
+     */
+    void accumulate(long[] acc, byte[] input, int offset, int secretStripe, int stripes);
+
+    void scramble(long[] acc);
+
+    String description();
+
+    static Xxh3Kernel scalar() {
+        return ScalarXxh3Kernel.INSTANCE;
+    }
+
+    static Xxh3Kernel selected() {
+        return Selection.KERNEL;
+    }
+
+    @Slf4j
+    final class Selection {
+        private static final String VECTOR_MODULE = "jdk.incubator.vector";
+        private static final Xxh3Kernel KERNEL = select();
+
+        private Selection() {}
+
+        private static Xxh3Kernel select() {
+            Xxh3Kernel kernel = ScalarXxh3Kernel.INSTANCE;
+            if (Boolean.parseBoolean(System.getProperty("storage.xxh3.vector", "true"))
+                    && ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+                try {
+                    // Only loaded once the module is known to be present
+                    if (VectorXxh3Kernel.isSupported()) {
+                        kernel = new VectorXxh3Kernel();
+                    }
+                } catch (LinkageError e) {
+                    log.warn("Vector XXH3 kernel unavailable: {}", e.toString());
+                }
+            }
+            log.info("XXH3 kernel: {}", kernel.description());
+            return kernel;
+        }
+    }
+}
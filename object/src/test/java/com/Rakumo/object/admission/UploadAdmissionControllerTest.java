@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.admission;
+
+import com.rakumo.object.admission.UploadAdmissionController.Reservation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadAdmissionControllerTest {
+
+    @TempDir
+    private Path storageRoot;
+
+    private UploadAdmissionController admission;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        admission = new UploadAdmissionController(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(admission, "configuredBudget", 100L);
+        ReflectionTestUtils.setField(admission, "storageRoot", storageRoot.toString());
+        admission.init();
+    }
+
+    @Test
+    void tryReserveRefusesOverBudgetUntilReleased() {
+        Reservation first = admission.tryReserve(60).orElseThrow();
+        assertThat(admission.tryReserve(60)).isEmpty();
+
+        first.close();
+        // A second close must not free the bytes twice
+        first.close();
+
+        Optional<Reservation> second = admission.tryReserve(60);
+        assertThat(second).isPresent();
+        assertThat(admission.inflightBytes()).isEqualTo(60);
+    }
+
+    @Test
+    void oversizedRequestIsAdmittedOnlyWhenIdle() {
+        Reservation small = admission.tryReserve(10).orElseThrow();
+        assertThat(admission.tryReserve(500)).isEmpty();
+
+        small.close();
+        assertThat(admission.tryReserve(500)).isPresent();
+    }
+
+    @Test
+    void queuedRequestsAreGrantedInArrivalOrder() {
+        Reservation held = admission.tryReserve(100).orElseThrow();
+        List<String> granted = new ArrayList<>();
+        List<Reservation> reservations = new ArrayList<>();
+
+        admission.reserve(50, r -> { granted.add("first"); reservations.add(r); });
+        admission.reserve(50, r -> { granted.add("second"); reservations.add(r); });
+        // Small enough to fit, but it may not jump the queue
+        assertThat(admission.tryReserve(1)).isEmpty();
+        assertThat(granted).isEmpty();
+
+        held.close();
+
+        assertThat(granted).containsExactly("first", "second");
+        assertThat(admission.inflightBytes()).isEqualTo(100);
+        reservations.forEach(Reservation::close);
+        assertThat(admission.inflightBytes()).isZero();
+    }
+
+    @Test
+    void cancelledWaiterIsSkipped() {
+        Reservation held = admission.tryReserve(100).orElseThrow();
+        List<String> granted = new ArrayList<>();
+
+        UploadAdmissionController.Waiter cancelled = admission.reserve(80, r -> granted.add("cancelled"));
+        admission.reserve(80, r -> granted.add("kept"));
+        cancelled.cancel();
+
+        held.close();
+
+        assertThat(granted).containsExactly("kept");
+        assertThat(cancelled.isGranted()).isFalse();
+        assertThat(admission.inflightBytes()).isEqualTo(80);
+    }
+
+    @Test
+    void shrinkingAReservationWakesWaiters() {
+        Reservation estimate = admission.tryReserve(100).orElseThrow();
+        List<Reservation> granted = new ArrayList<>();
+        admission.reserve(40, granted::add);
+
+        estimate.resize(60);
+
+        assertThat(granted).hasSize(1);
+        assertThat(admission.inflightBytes()).isEqualTo(100);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetadataOutboxEntityTest {
+
+    @Test
+    void relaysMd5AsEtag() {
+        RegularObjectEntity object = object("b3checksum", "9e107d9d372bb6826bd81d3542a419d6");
+
+        assertThat(MetadataOutboxEntity.created(object).getEtag()).isEqualTo("9e107d9d372bb6826bd81d3542a419d6");
+        assertThat(MetadataOutboxEntity.deleted(object).getEtag()).isEqualTo("9e107d9d372bb6826bd81d3542a419d6");
+    }
+
+    @Test
+    void fallsBackToChecksumWithoutMd5() {
+        RegularObjectEntity object = object("b3checksum", null);
+
+        assertThat(MetadataOutboxEntity.created(object).getEtag()).isEqualTo("b3checksum");
+    }
+
+    private static RegularObjectEntity object(String checksum, String md5) {
+        RegularObjectEntity object = new RegularObjectEntity();
+        object.setId(UUID.randomUUID());
+        object.setBucketName("bucket");
+        object.setObjectKey("key");
+        object.setChecksum(checksum);
+        object.setMd5(md5);
+        return object;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.grpc;
+
+import com.rakumo.object.dto.PreSignedUrlRequest.PreSignedUrlOperation;
+import com.rakumo.object.presigned.Operation;
+import com.rakumo.object.presigned.ValidatePreSignedUrlRequest;
+import com.rakumo.object.presigned.ValidatePreSignedUrlResponse;
+import com.rakumo.object.service.PreSignedUrlService;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PreSignedUrlGrpcServiceTest {
+
+    private static final String URL = "http://localhost:9093/api/objects/presigned/redirect/upload/b/k?token=t";
+
+    @Mock
+    private PreSignedUrlService preSignedUrlService;
+
+    @Mock
+    private StreamObserver<ValidatePreSignedUrlResponse> responseObserver;
+
+    @InjectMocks
+    private PreSignedUrlGrpcService service;
+
+    @Test
+    void rejectsValidationWithoutOperation() {
+        service.validatePreSignedUrl(ValidatePreSignedUrlRequest.newBuilder()
+                .setUrl(URL)
+                .setBucketName("b")
+                .setObjectKey("k")
+                .build(), responseObserver);
+
+        ArgumentCaptor<Throwable> error = ArgumentCaptor.forClass(Throwable.class);
+        verify(responseObserver).onError(error.capture());
+        assertThat(((StatusRuntimeException) error.getValue()).getStatus().getCode())
+                .isEqualTo(Status.Code.INVALID_ARGUMENT);
+        verify(responseObserver, never()).onNext(any());
+        verifyNoInteractions(preSignedUrlService);
+    }
+
+    @Test
+    void validatesAgainstRequestedOperation() {
+        when(preSignedUrlService.validatePreSignedUrl(URL, "b", "k", PreSignedUrlOperation.UPLOAD))
+                .thenReturn(true);
+
+        service.validatePreSignedUrl(ValidatePreSignedUrlRequest.newBuilder()
+                .setUrl(URL)
+                .setBucketName("b")
+                .setObjectKey("k")
+                .setOperation(Operation.UPLOAD)
+                .build(), responseObserver);
+
+        verify(responseObserver).onNext(ValidatePreSignedUrlResponse.newBuilder().setIsValid(true).build());
+        verify(responseObserver).onCompleted();
+    }
+}
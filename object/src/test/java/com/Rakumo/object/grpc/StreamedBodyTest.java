@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.grpc;
+
+import com.google.protobuf.ByteString;
+import com.rakumo.object.admission.UploadAdmissionController;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class StreamedBodyTest {
+
+    @Mock
+    private ServerCallStreamObserver<Object> call;
+
+    @TempDir
+    private Path storageRoot;
+
+    private UploadAdmissionController admission;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        admission = new UploadAdmissionController(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(admission, "configuredBudget", 1024L);
+        ReflectionTestUtils.setField(admission, "storageRoot", storageRoot.toString());
+        admission.init();
+    }
+
+    @Test
+    void keepsPartsReservedUntilTheyAreRead() throws IOException {
+        StreamedBody body = new StreamedBody(call);
+        body.add(bytes("first"), admission.tryReserve(100).orElseThrow());
+        body.add(bytes("second"), admission.tryReserve(100).orElseThrow());
+        body.end();
+        assertThat(admission.inflightBytes()).isEqualTo(200);
+
+        byte[] buffer = new byte[16];
+        assertThat(body.read(buffer, 0, buffer.length)).isEqualTo(5);
+        // The first part is still buffered until the reader moves past it
+        assertThat(admission.inflightBytes()).isEqualTo(200);
+
+        assertThat(body.read(buffer, 0, buffer.length)).isEqualTo(6);
+        assertThat(admission.inflightBytes()).isEqualTo(100);
+
+        assertThat(body.read(buffer, 0, buffer.length)).isEqualTo(-1);
+        assertThat(admission.inflightBytes()).isZero();
+        // One more message per part taken, on top of the prefetch
+        verify(call).request(2);
+        verify(call, times(2)).request(1);
+    }
+
+    @Test
+    void closeReleasesUnreadParts() throws IOException {
+        StreamedBody body = new StreamedBody(call);
+        body.add(bytes("first"), admission.tryReserve(100).orElseThrow());
+        body.add(bytes("second"), admission.tryReserve(100).orElseThrow());
+        body.read(new byte[2], 0, 2);
+
+        body.close();
+        assertThat(admission.inflightBytes()).isZero();
+
+        // A message delivered after the reader gave up is released straight away
+        body.add(bytes("late"), admission.tryReserve(100).orElseThrow());
+        assertThat(admission.inflightBytes()).isZero();
+    }
+
+    @Test
+    void failureReleasesTheCurrentPart() throws IOException {
+        StreamedBody body = new StreamedBody(call);
+        body.add(bytes("data"), admission.tryReserve(100).orElseThrow());
+        body.fail(new IllegalStateException("boom"));
+
+        byte[] buffer = new byte[16];
+        assertThat(body.read(buffer, 0, buffer.length)).isEqualTo(4);
+        assertThatThrownBy(() -> body.read(buffer, 0, buffer.length)).isInstanceOf(IOException.class);
+        assertThat(admission.inflightBytes()).isZero();
+    }
+
+    private static ByteString bytes(String text) {
+        return ByteString.copyFrom(text, StandardCharsets.UTF_8);
+    }
+}
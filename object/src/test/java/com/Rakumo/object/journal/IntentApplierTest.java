@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.journal;
+
+import com.rakumo.object.entity.RegularObjectEntity;
+import com.rakumo.object.enumeration.ChecksumAlgorithm;
+import com.rakumo.object.enumeration.DurabilityMode;
+import com.rakumo.object.metrics.PipelineMetrics;
+import com.rakumo.object.repository.MetadataOutboxRepository;
+import com.rakumo.object.repository.RegularObjectRepository;
+import com.rakumo.object.util.ChecksumUtils;
+import com.rakumo.object.util.FileSyncer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replays journaled intents against the real schema, so the entity mapping and the
+ * applier's transaction are exercised the way they run in production.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+// The applier commits its own transactions
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IntentApplierTest {
+
+    @Autowired
+    private RegularObjectRepository regularObjectRepository;
+
+    @Autowired
+    private MetadataOutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path storageRoot;
+
+    private FileSyncer fileSyncer;
+
+    @BeforeEach
+    void setUp() {
+        fileSyncer = new FileSyncer(DurabilityMode.NONE, 500);
+        fileSyncer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        fileSyncer.stop();
+        outboxRepository.deleteAll();
+        regularObjectRepository.deleteAll();
+    }
+
+    @Test
+    void appliesCommittedIntentWithPreassignedId() throws IOException {
+        IntentJournal journal = openJournal();
+        StoreIntent intent = intent();
+        journal.append(intent);
+        journal.commit(intent);
+
+        applier(journal).applyPending();
+
+        RegularObjectEntity row = regularObjectRepository.findById(intent.getObjectId()).orElseThrow();
+        assertThat(row.getChecksum()).isEqualTo(intent.getChecksum());
+        assertThat(outboxRepository.count()).isEqualTo(1);
+        assertThat(journal.pending(10)).isEmpty();
+        journal.close();
+    }
+
+    @Test
+    void replayAfterAppliedBatchDoesNotDuplicate() throws IOException {
+        StoreIntent intent = intent();
+        regularObjectRepository.save(intent.toEntity());
+
+        // The previous run committed the row but crashed before recording it as applied
+        IntentJournal journal = openJournal();
+        journal.append(intent);
+        journal.close();
+        journal = openJournal();
+        assertThat(journal.pending(10)).hasSize(1);
+
+        applier(journal).applyPending();
+
+        assertThat(journal.pending(10)).isEmpty();
+        assertThat(regularObjectRepository.count()).isEqualTo(1);
+        // The event went out with the original row
+        assertThat(outboxRepository.count()).isZero();
+        journal.close();
+    }
+
+    private IntentJournal openJournal() throws IOException {
+        IntentJournal journal = new IntentJournal(fileSyncer);
+        ReflectionTestUtils.setField(journal, "storageRoot", storageRoot.toString());
+        journal.init();
+        return journal;
+    }
+
+    private IntentApplier applier(IntentJournal journal) {
+        PipelineMetrics metrics = new PipelineMetrics(new SimpleMeterRegistry(),
+                new StaticListableBeanFactory().getBeanProvider(Tracer.class), 1);
+        IntentApplier applier = new IntentApplier(journal, regularObjectRepository, outboxRepository,
+                new TransactionTemplate(transactionManager), metrics);
+        ReflectionTestUtils.setField(applier, "batchSize", 500);
+        return applier;
+    }
+
+    private StoreIntent intent() throws IOException {
+        Path file = storageRoot.resolve("object.bin");
+        Files.writeString(file, "journaled content", StandardCharsets.UTF_8);
+        return StoreIntent.builder()
+                .objectId(UUID.randomUUID())
+                .ownerId("owner")
+                .bucketName("bucket")
+                .objectKey("docs/object.bin")
+                .versionId(UUID.randomUUID().toString())
+                .fileName("object.bin")
+                .checksum(ChecksumUtils.sha256(file))
+                .checksumAlgorithm(ChecksumAlgorithm.SHA256)
+                .sizeBytes(Files.size(file))
+                .contentType("application/octet-stream")
+                .physicalPath(file.toString())
+                .createdAt(Instant.now())
+                .build();
+    }
+}
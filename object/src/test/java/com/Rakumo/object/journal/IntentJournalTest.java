@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.journal;
+
+import com.rakumo.object.enumeration.ChecksumAlgorithm;
+import com.rakumo.object.enumeration.DurabilityMode;
+import com.rakumo.object.util.ChecksumUtils;
+import com.rakumo.object.util.FileSyncer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntentJournalTest {
+
+    @TempDir
+    private Path storageRoot;
+
+    private FileSyncer fileSyncer;
+
+    @BeforeEach
+    void setUp() {
+        fileSyncer = new FileSyncer(DurabilityMode.NONE, 500);
+        fileSyncer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        fileSyncer.stop();
+    }
+
+    @Test
+    void replaysOnlyIntentsWithIntactFilesAndNoAppliedMarker() throws IOException {
+        IntentJournal journal = open();
+        StoreIntent applied = intent("applied.bin");
+        StoreIntent unapplied = intent("unapplied.bin");
+        StoreIntent missingFile = intent("missing.bin");
+        StoreIntent discarded = intent("discarded.bin");
+        for (StoreIntent intent : List.of(applied, unapplied, missingFile, discarded)) {
+            journal.append(intent);
+        }
+        journal.commit(applied);
+        journal.commit(unapplied);
+        journal.markApplied(List.of(applied.getObjectId()));
+        journal.discard(discarded.getObjectId());
+        journal.close();
+        Files.delete(Path.of(missingFile.getPhysicalPath()));
+
+        journal = open();
+
+        assertThat(journal.pending(10)).extracting(StoreIntent::getObjectId)
+                .containsExactly(unapplied.getObjectId());
+        assertThat(journal.findPending("bucket", unapplied.getObjectKey(), null)).isPresent();
+        assertThat(journal.hasPending("bucket", unapplied.getChecksum())).isTrue();
+        journal.close();
+    }
+
+    @Test
+    void ignoresTornTail() throws IOException {
+        IntentJournal journal = open();
+        StoreIntent intent = intent("object.bin");
+        journal.append(intent);
+        journal.close();
+        // A crash in the middle of the next append
+        Files.writeString(journal.getJournalPath(), "{\"type\":\"INTE", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+
+        journal = open();
+
+        assertThat(journal.pending(10)).extracting(StoreIntent::getObjectId)
+                .containsExactly(intent.getObjectId());
+        journal.close();
+    }
+
+    @Test
+    void truncatesOnceEverythingIsApplied() throws IOException {
+        IntentJournal journal = open();
+        StoreIntent intent = intent("object.bin");
+        journal.append(intent);
+        journal.commit(intent);
+        assertThat(Files.size(journal.getJournalPath())).isPositive();
+
+        journal.markApplied(List.of(intent.getObjectId()));
+
+        assertThat(Files.size(journal.getJournalPath())).isZero();
+        assertThat(journal.pending(10)).isEmpty();
+        journal.close();
+    }
+
+    private IntentJournal open() throws IOException {
+        IntentJournal journal = new IntentJournal(fileSyncer);
+        ReflectionTestUtils.setField(journal, "storageRoot", storageRoot.toString());
+        journal.init();
+        return journal;
+    }
+
+    private StoreIntent intent(String name) throws IOException {
+        Path file = storageRoot.resolve(name);
+        Files.writeString(file, "content of " + name, StandardCharsets.UTF_8);
+        return StoreIntent.builder()
+                .objectId(UUID.randomUUID())
+                .ownerId("owner")
+                .bucketName("bucket")
+                .objectKey("docs/" + name)
+                .versionId(UUID.randomUUID().toString())
+                .fileName(name)
+                .checksum(ChecksumUtils.sha256(file))
+                .checksumAlgorithm(ChecksumAlgorithm.SHA256)
+                .sizeBytes(Files.size(file))
+                .contentType("application/octet-stream")
+                .physicalPath(file.toString())
+                .createdAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.outbox;
+
+import com.rakumo.metadata.object.BatchItemStatus;
+import com.rakumo.metadata.object.BatchObjectResponse;
+import com.rakumo.object.entity.MetadataOutboxEntity;
+import com.rakumo.object.enumeration.OutboxEventType;
+import com.rakumo.object.grpc.MetadataGrpcClient;
+import com.rakumo.object.metrics.PipelineMetrics;
+import com.rakumo.object.repository.MetadataOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MetadataOutboxRelayTest {
+
+    @Mock
+    private MetadataOutboxRepository outboxRepository;
+
+    @Mock
+    private MetadataGrpcClient metadataGrpcClient;
+
+    private MetadataOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        PipelineMetrics metrics = new PipelineMetrics(new SimpleMeterRegistry(),
+                new StaticListableBeanFactory().getBeanProvider(Tracer.class), 1);
+        relay = new MetadataOutboxRelay(outboxRepository, metadataGrpcClient, metrics);
+        ReflectionTestUtils.setField(relay, "batchSize", 500);
+        ReflectionTestUtils.setField(relay, "initialBackoffMs", 500L);
+        ReflectionTestUtils.setField(relay, "maxBackoffMs", 60_000L);
+    }
+
+    @Test
+    void retriesWholeBatchWhenResultsDoNotMatchRequests() throws Exception {
+        MetadataOutboxEntity first = event(OutboxEventType.CREATE, UUID.randomUUID());
+        MetadataOutboxEntity second = event(OutboxEventType.CREATE, UUID.randomUUID());
+        when(outboxRepository.findReady(any(), any())).thenReturn(List.of(first, second));
+        when(metadataGrpcClient.createObjectsWithVersion(any())).thenReturn(BatchObjectResponse.newBuilder()
+                .addResults(BatchItemStatus.newBuilder().setSuccess(true))
+                .build());
+
+        relay.relay();
+
+        verify(outboxRepository).deleteAllByIdInBatch(List.of());
+        verify(outboxRepository).reschedule(eq(first.getId()), eq(1), any());
+        verify(outboxRepository).reschedule(eq(second.getId()), eq(1), any());
+    }
+
+    @Test
+    void holdsDeleteBehindCreateFromEarlierBatch() throws Exception {
+        UUID objectId = UUID.randomUUID();
+        MetadataOutboxEntity create = event(OutboxEventType.CREATE, objectId);
+        create.setNextAttemptAt(Instant.now().plusSeconds(30));
+        MetadataOutboxEntity delete = event(OutboxEventType.DELETE, objectId);
+        when(outboxRepository.findReady(any(), any())).thenReturn(List.of(delete));
+        when(outboxRepository.findByEventTypeAndObjectIds(OutboxEventType.CREATE, List.of(objectId)))
+                .thenReturn(List.of(create));
+
+        relay.relay();
+
+        verify(metadataGrpcClient, never()).deleteObjects(any());
+        verify(outboxRepository).reschedule(delete.getId(), 0, create.getNextAttemptAt());
+        verify(outboxRepository, never()).reschedule(eq(create.getId()), anyInt(), any());
+    }
+
+    private static MetadataOutboxEntity event(OutboxEventType type, UUID objectId) {
+        Instant now = Instant.now();
+        return MetadataOutboxEntity.builder()
+                .id(UUID.randomUUID())
+                .objectId(objectId)
+                .eventType(type)
+                .bucketName("bucket")
+                .objectKey("key")
+                .versionId("v1")
+                .etag("etag")
+                .sizeBytes(1L)
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.service.implementation;
+
+import com.rakumo.object.config.ChecksumProperties;
+import com.rakumo.object.entity.MetadataOutboxEntity;
+import com.rakumo.object.enumeration.ChecksumAlgorithm;
+import com.rakumo.object.enumeration.DurabilityMode;
+import com.rakumo.object.enumeration.OutboxEventType;
+import com.rakumo.object.journal.IntentApplier;
+import com.rakumo.object.journal.IntentJournal;
+import com.rakumo.object.journal.StoreIntent;
+import com.rakumo.object.metrics.PipelineMetrics;
+import com.rakumo.object.repository.MetadataOutboxRepository;
+import com.rakumo.object.repository.RegularObjectRepository;
+import com.rakumo.object.util.ChecksumUtils;
+import com.rakumo.object.util.FilePathUtils;
+import com.rakumo.object.util.FileSyncer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+// deleteFile runs in a transaction of its own, as it does behind the service proxy
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FileStorageServiceImplTest {
+
+    @Autowired
+    private RegularObjectRepository regularObjectRepository;
+
+    @Autowired
+    private MetadataOutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path storageRoot;
+
+    private FileSyncer fileSyncer;
+    private IntentJournal journal;
+    private FileStorageServiceImpl service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fileSyncer = new FileSyncer(DurabilityMode.NONE, 500);
+        fileSyncer.start();
+        journal = new IntentJournal(fileSyncer);
+        ReflectionTestUtils.setField(journal, "storageRoot", storageRoot.toString());
+        journal.init();
+
+        PipelineMetrics metrics = new PipelineMetrics(new SimpleMeterRegistry(),
+                new StaticListableBeanFactory().getBeanProvider(Tracer.class), 1);
+        IntentApplier applier = new IntentApplier(journal, regularObjectRepository, outboxRepository,
+                new TransactionTemplate(transactionManager), metrics);
+        ReflectionTestUtils.setField(applier, "batchSize", 500);
+        service = new FileStorageServiceImpl(regularObjectRepository, outboxRepository, journal, applier,
+                fileSyncer, new ChecksumProperties(), metrics);
+        ReflectionTestUtils.setField(service, "storageRoot", storageRoot.toString());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        journal.close();
+        fileSyncer.stop();
+        outboxRepository.deleteAll();
+        regularObjectRepository.deleteAll();
+    }
+
+    @Test
+    void deletesObjectStillPendingInJournal() throws Exception {
+        StoreIntent intent = intent();
+        journal.append(intent);
+        journal.commit(intent);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try {
+                service.deleteFile(intent.getOwnerId(), intent.getBucketName(), intent.getObjectKey(),
+                        intent.getObjectId().toString());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(journal.isPending(intent.getObjectId())).isFalse();
+        assertThat(regularObjectRepository.existsById(intent.getObjectId())).isFalse();
+        assertThat(Path.of(intent.getPhysicalPath())).doesNotExist();
+        // The create was never relayed, so only the delete goes out
+        assertThat(outboxRepository.findAll()).extracting(MetadataOutboxEntity::getEventType)
+                .containsExactly(OutboxEventType.DELETE);
+    }
+
+    private StoreIntent intent() throws Exception {
+        UUID objectId = UUID.randomUUID();
+        byte[] content = "journaled content".getBytes(StandardCharsets.UTF_8);
+        String checksum = ChecksumUtils.sha256(new ByteArrayInputStream(content));
+        Path file = storageRoot.resolve(FilePathUtils.resolveRegularFilePath("owner", "bucket", objectId,
+                "docs/object.bin", checksum));
+        Files.createDirectories(file.getParent());
+        Files.write(file, content);
+        return StoreIntent.builder()
+                .objectId(objectId)
+                .ownerId("owner")
+                .bucketName("bucket")
+                .objectKey("docs/object.bin")
+                .versionId(UUID.randomUUID().toString())
+                .fileName("object.bin")
+                .checksum(checksum)
+                .checksumAlgorithm(ChecksumAlgorithm.SHA256)
+                .sizeBytes(Files.size(file))
+                .contentType("application/octet-stream")
+                .physicalPath(file.toString())
+                .createdAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.service.implementation;
+
+import com.rakumo.object.dto.PreSignedUrlRequest;
+import com.rakumo.object.dto.PreSignedUrlRequest.PreSignedUrlOperation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PreSignedUrlServiceImplTest {
+
+    private PreSignedUrlServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PreSignedUrlServiceImpl();
+        ReflectionTestUtils.setField(service, "baseUrl", "http://localhost:9093");
+        ReflectionTestUtils.setField(service, "secretKey", "test-secret-key-0123456789abcdef");
+        service.initSigner();
+    }
+
+    @Test
+    void acceptsTokenOnlyForItsOwnOperation() {
+        String url = generate("photos", "2024/cat.jpg", PreSignedUrlOperation.DOWNLOAD);
+
+        assertThat(service.validatePreSignedUrl(url, "photos", "2024/cat.jpg",
+                PreSignedUrlOperation.DOWNLOAD)).isTrue();
+        assertThat(service.validatePreSignedUrl(url, "photos", "2024/cat.jpg",
+                PreSignedUrlOperation.UPLOAD)).isFalse();
+        assertThat(service.validatePreSignedUrl(url, "photos", "2024/cat.jpg",
+                PreSignedUrlOperation.DELETE)).isFalse();
+    }
+
+    @Test
+    void colonInKeyCannotMoveTheBucketBoundary() {
+        String url = generate("photos", "a:b", PreSignedUrlOperation.DOWNLOAD);
+
+        assertThat(service.validatePreSignedUrl(url, "photos", "a:b",
+                PreSignedUrlOperation.DOWNLOAD)).isTrue();
+        assertThat(service.validatePreSignedUrl(url, "photos:a", "b",
+                PreSignedUrlOperation.DOWNLOAD)).isFalse();
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        String url = generate("photos", "cat.jpg", PreSignedUrlOperation.DOWNLOAD,
+                Duration.ofSeconds(-5));
+
+        assertThat(service.validatePreSignedUrl(url, "photos", "cat.jpg",
+                PreSignedUrlOperation.DOWNLOAD)).isFalse();
+    }
+
+    private String generate(String bucket, String key, PreSignedUrlOperation operation) {
+        return generate(bucket, key, operation, Duration.ofMinutes(5));
+    }
+
+    private String generate(String bucket, String key, PreSignedUrlOperation operation,
+                            Duration expiration) {
+        return service.generatePreSignedUrl(PreSignedUrlRequest.builder()
+                .bucketName(bucket)
+                .objectKey(key)
+                .operation(operation)
+                .expiration(expiration)
+                .build()).getPreSignedUrl();
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FilePathUtilsTest {
+
+    private static final String HASH = "ab12cd34";
+
+    @Test
+    void sameBasenameAndHashPrefixStillGetDistinctFiles() {
+        Path first = FilePathUtils.resolveRegularFilePath("owner", "bucket", UUID.randomUUID(), "a/report.pdf", HASH);
+        Path second = FilePathUtils.resolveRegularFilePath("owner", "bucket", UUID.randomUUID(), "b/report.pdf", HASH);
+
+        assertThat(first).isNotEqualTo(second);
+        assertThat(first.getParent()).isEqualTo(second.getParent());
+        assertThat(first.getFileName().toString()).endsWith("-report.pdf");
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.util;
+
+import com.rakumo.object.enumeration.DurabilityMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileSyncerTest {
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void groupCommitSyncsUntilStopped() throws Exception {
+        Path file = Files.writeString(dir.resolve("object.bin"), "content");
+        FileSyncer syncer = new FileSyncer(DurabilityMode.GROUP_COMMIT, 500);
+        syncer.start();
+
+        syncer.sync(file, dir);
+        syncer.stop();
+
+        assertThatThrownBy(() -> syncer.sync(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("stopped");
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.util;
+
+import com.rakumo.object.enumeration.ChecksumAlgorithm;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MultiDigestTest {
+
+    private static final byte[] DATA = "The quick brown fox jumps over the lazy dog".getBytes(StandardCharsets.US_ASCII);
+
+    @ParameterizedTest
+    @EnumSource(ChecksumAlgorithm.class)
+    void everyBucketGetsAnMd5Etag(ChecksumAlgorithm algorithm) throws Exception {
+        String expected = HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(DATA));
+
+        MultiDigest.Digests fromArray = MultiDigest.start(algorithm).update(DATA, 0, DATA.length).finish();
+        MultiDigest.Digests fromBuffer = MultiDigest.start(algorithm).update(ByteBuffer.wrap(DATA)).finish();
+
+        assertThat(fromArray.md5Hex()).isEqualTo(expected).isEqualTo("9e107d9d372bb6826bd81d3542a419d6");
+        assertThat(fromBuffer.md5Hex()).isEqualTo(expected);
+        assertThat(fromBuffer.checksum()).isEqualTo(fromArray.checksum());
+    }
+}
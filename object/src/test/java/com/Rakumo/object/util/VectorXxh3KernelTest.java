@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VectorXxh3KernelTest {
+
+    private static final int STRIPES_PER_BLOCK = 16;
+
+    // Fixed seed so a mismatch reproduces
+    private final Random random = new Random(0x5EED_C0DEL);
+    private Xxh3Kernel vector;
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(),
+                "needs --add-modules jdk.incubator.vector");
+        assumeTrue(VectorXxh3Kernel.isSupported(), "needs 256-bit little-endian vectors");
+        vector = new VectorXxh3Kernel();
+    }
+
+    @Test
+    void accumulateAndScrambleMatchScalarAtRandomOffsets() {
+        byte[] input = new byte[STRIPES_PER_BLOCK * 64 + 64];
+        for (int round = 0; round < 2_000; round++) {
+            random.nextBytes(input);
+            long[] expected = randomAccumulators();
+            long[] actual = expected.clone();
+            int stripes = 1 + random.nextInt(STRIPES_PER_BLOCK);
+            int secretStripe = random.nextInt(STRIPES_PER_BLOCK - stripes + 1);
+            int offset = random.nextInt(input.length - stripes * 64 + 1);
+
+            Xxh3Kernel.scalar().accumulate(expected, input, offset, secretStripe, stripes);
+            vector.accumulate(actual, input, offset, secretStripe, stripes);
+            assertThat(actual).as("accumulate round %d", round).containsExactly(expected);
+
+            Xxh3Kernel.scalar().scramble(expected);
+            vector.scramble(actual);
+            assertThat(actual).as("scramble round %d", round).containsExactly(expected);
+        }
+    }
+
+    @Test
+    void digestMatchesScalarOverRandomLengthsAndOffsets() {
+        byte[] input = new byte[64 * 1024];
+        random.nextBytes(input);
+        for (int round = 0; round < 500; round++) {
+            int length = random.nextInt(round % 2 == 0 ? 2_048 : input.length);
+            int offset = random.nextInt(input.length - length + 1);
+            int step = 1 + random.nextInt(1_500);
+
+            assertThat(digest(vector, input, offset, length, step))
+                    .as("length %d, offset %d, step %d", length, offset, step)
+                    .isEqualTo(digest(Xxh3Kernel.scalar(), input, offset, length, length));
+        }
+    }
+
+    private long[] randomAccumulators() {
+        long[] acc = new long[8];
+        for (int i = 0; i < acc.length; i++) {
+            acc[i] = random.nextLong();
+        }
+        return acc;
+    }
+
+    private static long digest(Xxh3Kernel kernel, byte[] input, int offset, int length, int step) {
+        Xxh3Digest digest = new Xxh3Digest(kernel);
+        for (int position = 0; position < length; position += Math.max(step, 1)) {
+            digest.update(input, offset + position, Math.min(step, length - position));
+        }
+        return ByteBuffer.wrap(digest.digest()).getLong();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.rakumo.object.util;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seed-0 XXH3-64 values over the xxHash sanity-check buffer, covering every length
+ * class: 0, 1-3, 4-8, 9-16, 17-128, 129-240 and the striped path beyond 240 bytes.
+ */
+class Xxh3DigestTest {
+
+    private static final long PRIME32 = 2654435761L;
+    private static final long PRIME64 = 0x9E3779B185EBCA87L;
+    private static final byte[] SANITY_BUFFER = sanityBuffer(4096);
+
+    @ParameterizedTest(name = "{0} bytes")
+    @CsvSource({
+            "0, 2D06800538D394C2",
+            "1, C44BDFF4074EECDB",
+            "2, 7A9978044CB8A8BB",
+            "3, 3F968B83E9A87DC3",
+            "4, CEB277F560083438",
+            "6, 3CC50D1B34772C2C",
+            "8, 92731F68D8A8A634",
+            "9, 56D6BD7878198283",
+            "12, 08662ADD2C628C21",
+            "16, 027B4CB04C597E4B",
+            "17, 0E1175449B89E26F",
+            "24, 6CBF7A5DC0F3B4AB",
+            "48, 7DEC70F0C65E9E15",
+            "80, 343EA68F9ABB0DA5",
+            "128, E774EFC8B7526505",
+            "129, FD683CD797A1F6F8",
+            "195, 64586F630891D72F",
+            "240, C0D6647A0E620F7E",
+            "241, 281410FD53152172",
+            "403, 8F23B428730C6887",
+            "512, 2670A49459B231DA",
+            "1024, 95C63C696323768E",
+            "2048, 8C9A8E3F25D392D6",
+            "2240, 644826E2B5FAFEAE",
+            "2367, D4771B3A18E7F2FE",
+    })
+    void matchesSanityValues(int length, String expectedHex) {
+        long expected = Long.parseUnsignedLong(expectedHex, 16);
+
+        assertThat(Xxh3Digest.hash(SANITY_BUFFER, 0, length)).isEqualTo(expected);
+        assertThat(digestValue(new Xxh3Digest(Xxh3Kernel.scalar()), 0, length, length)).isEqualTo(expected);
+        assertThat(digestValue(new Xxh3Digest(), 0, length, length)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest(name = "{0}-byte updates")
+    @ValueSource(ints = {1, 3, 63, 64, 65, 255, 256, 257, 1023, 1024, 1025})
+    void streamingAcrossStripeAndBlockBoundariesMatchesOneShot(int step) {
+        // 4096 bytes spans four 1024-byte blocks plus the buffered tail
+        for (int length : new int[] {240, 241, 256, 257, 1024, 1088, 4095, 4096}) {
+            long expected = Xxh3Digest.hash(SANITY_BUFFER, 0, length);
+
+            assertThat(digestValue(new Xxh3Digest(Xxh3Kernel.scalar()), 0, length, step))
+                    .as("%d bytes", length)
+                    .isEqualTo(expected);
+        }
+    }
+
+    @ParameterizedTest(name = "offset {0}")
+    @ValueSource(ints = {1, 7, 8, 63})
+    void hashIgnoresBytesOutsideTheRange(int offset) {
+        byte[] shifted = new byte[2367 + offset + 5];
+        System.arraycopy(SANITY_BUFFER, 0, shifted, offset, 2367);
+
+        assertThat(Xxh3Digest.hash(shifted, offset, 2367)).isEqualTo(Xxh3Digest.hash(SANITY_BUFFER, 0, 2367));
+    }
+
+    private static long digestValue(Xxh3Digest digest, int offset, int length, int step) {
+        for (int position = 0; position < length; position += Math.max(step, 1)) {
+            digest.update(SANITY_BUFFER, offset + position, Math.min(step, length - position));
+        }
+        return ByteBuffer.wrap(digest.digest()).getLong();
+    }
+
+    private static byte[] sanityBuffer(int size) {
+        byte[] buffer = new byte[size];
+        long byteGen = PRIME32;
+        for (int i = 0; i < size; i++) {
+            buffer[i] = (byte) (byteGen >>> 56);
+            byteGen *= PRIME64;
+        }
+        return buffer;
+    }
+}